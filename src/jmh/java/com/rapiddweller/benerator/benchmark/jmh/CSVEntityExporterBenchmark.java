@@ -0,0 +1,73 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.platform.csv.CSVEntityExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link CSVEntityExporter}. Each iteration writes to a new temporary file.<br/><br/>
+ * Created: 22.03.2022 11:02:35
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CSVEntityExporterBenchmark {
+
+  private final DefaultDescriptorProvider provider = new DefaultDescriptorProvider("bench", new DataModel());
+  private File file;
+  private CSVEntityExporter exporter;
+  private ProductWrapper<Entity> wrapper;
+  private long count;
+
+  @Setup(Level.Iteration)
+  public void setUp() throws IOException {
+    file = File.createTempFile("benerator-jmh", ".csv");
+    exporter = new CSVEntityExporter(file.getAbsolutePath(), "id,name,amount,active");
+    wrapper = new ProductWrapper<>();
+    count = 0;
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    exporter.close();
+    if (!file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+
+  @Benchmark
+  public void export() {
+    Entity entity = new Entity("item", provider,
+        "id", count++, "name", "Item, \"special\"", "amount", new BigDecimal("12.34"), "active", true);
+    wrapper.wrap(entity);
+    exporter.startConsuming(wrapper);
+    exporter.finishConsuming(wrapper);
+  }
+
+}
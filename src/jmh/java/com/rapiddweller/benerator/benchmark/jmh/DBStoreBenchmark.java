@@ -0,0 +1,85 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.platform.db.DefaultDBSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link DefaultDBSystem#store(Entity)} against an in-memory H2 database,
+ * with and without JDBC batches. The table is created once per trial and emptied for each iteration,
+ * so the cached table metadata stays valid.<br/><br/>
+ * Created: 22.03.2022 11:25:09
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DBStoreBenchmark {
+
+  private static final String URL = "jdbc:h2:mem:benerator_jmh;DB_CLOSE_DELAY=-1";
+
+  @Param({ "false", "true" })
+  public boolean batch;
+
+  private DefaultDBSystem db;
+  private long id;
+
+  @Setup(Level.Trial)
+  public void setUpDatabase() {
+    db = new DefaultDBSystem("db", URL, "org.h2.Driver", "sa", "", new DataModel());
+    db.setSchema("PUBLIC");
+    db.setBatch(batch);
+    db.execute("drop table if exists JMH_ITEM");
+    db.execute("create table JMH_ITEM (ID bigint primary key, NAME varchar(40), AMOUNT decimal(10,2), " +
+        "CREATED timestamp, ACTIVE boolean)");
+    db.invalidate();
+  }
+
+  @Setup(Level.Iteration)
+  public void clearTable() {
+    db.execute("delete from JMH_ITEM");
+    db.commit();
+    id = 0;
+  }
+
+  @TearDown(Level.Iteration)
+  public void commit() {
+    db.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownDatabase() {
+    db.execute("drop table if exists JMH_ITEM");
+    db.close();
+  }
+
+  @Benchmark
+  public void store() {
+    db.store(new Entity("JMH_ITEM", db, "ID", id++, "NAME", "Item " + id,
+        "AMOUNT", new BigDecimal("12.34"), "CREATED", new Timestamp(1647948309000L), "ACTIVE", true));
+  }
+
+}
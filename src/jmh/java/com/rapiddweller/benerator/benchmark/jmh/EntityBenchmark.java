@@ -0,0 +1,75 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.PartDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of populating an {@link Entity} by {@link Entity#setComponent(String, Object)}
+ * with and without a frozen descriptor.<br/><br/>
+ * Created: 22.03.2022 10:40:17
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityBenchmark {
+
+  @Param({ "10", "50" })
+  public int attributeCount;
+
+  @Param({ "false", "true" })
+  public boolean frozen;
+
+  private ComplexTypeDescriptor type;
+  private String[] names;
+  private Object[] values;
+
+  @Setup
+  public void setUp() {
+    DefaultDescriptorProvider provider = new DefaultDescriptorProvider("bench", new DataModel());
+    type = new ComplexTypeDescriptor("bench_entity", provider);
+    names = new String[attributeCount];
+    values = new Object[attributeCount];
+    for (int i = 0; i < attributeCount; i++) {
+      names[i] = "attr" + i;
+      boolean numeric = (i % 2 == 0);
+      type.addComponent(new PartDescriptor(names[i], provider, numeric ? "int" : "string"));
+      values[i] = (numeric ? (Object) i : "value" + i);
+    }
+    if (frozen) {
+      type.freeze();
+    }
+  }
+
+  @Benchmark
+  public Entity setComponents() {
+    Entity entity = new Entity(type);
+    for (int i = 0; i < names.length; i++) {
+      entity.setComponent(names[i], values[i]);
+    }
+    return entity;
+  }
+
+}
@@ -0,0 +1,58 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.benerator.engine.ExecutionPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the cost each {@link ExecutionPolicy} adds to the creation of a tiny product,
+ * which is simulated by a few nanoseconds of CPU work. 'yield:1' reproduces the former behaviour
+ * of yielding after each product. The benchmark runs with more threads than usual cores,
+ * so that yields actually hand over the CPU.<br/><br/>
+ * Created: 23.03.2022 15:10:44
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ExecutionPolicyBenchmark {
+
+  @Param({ "tight", "yield:1", "yield:1000", "virtual" })
+  public String policySpec;
+
+  private ExecutionPolicy policy;
+  private long executionCount;
+
+  @Setup
+  public void setUp() {
+    policy = ExecutionPolicy.parse(policySpec);
+    executionCount = 0;
+  }
+
+  @Benchmark
+  public void afterProduct() {
+    Blackhole.consumeCPU(20);
+    policy.afterExecution(++executionCount);
+  }
+
+}
@@ -0,0 +1,98 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.composite.AbstractGenerationStep;
+import com.rapiddweller.benerator.composite.GenerationStep;
+import com.rapiddweller.benerator.composite.GenerationStepSupport;
+import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the per-entity overhead of {@link GenerationStepSupport}, which is used by the
+ * CompositeEntityGenerator. Run it with '-prof gc' for checking the allocation rate.<br/><br/>
+ * Created: 22.03.2022 11:48:26
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationStepBenchmark {
+
+  private BeneratorContext context;
+  private GenerationStepSupport<Entity> support;
+  private Entity entity;
+
+  @Setup
+  public void setUp() {
+    context = BeneratorFactory.getInstance().createRootContext(".");
+    List<GenerationStep<Entity>> steps = List.of(new SetVariableStep("a"), new SetVariableStep("b"));
+    support = new GenerationStepSupport<>("item", steps);
+    support.init(context);
+    entity = new Entity("item", new DefaultDescriptorProvider("bench", new DataModel()));
+  }
+
+  @Benchmark
+  public boolean apply() {
+    return support.apply(entity, context);
+  }
+
+  /** Sets a variable in the sub context, as variable generation steps do. */
+  static class SetVariableStep extends AbstractGenerationStep<Entity> {
+
+    private final String name;
+
+    SetVariableStep(String name) {
+      super(null);
+      this.name = name;
+    }
+
+    @Override
+    public boolean execute(BeneratorContext subContext) {
+      subContext.set(name, subContext.get("this"));
+      return true;
+    }
+
+    @Override
+    public void reset() {
+      // nothing to do
+    }
+
+    @Override
+    public void close() {
+      // nothing to do
+    }
+
+    @Override
+    public boolean isParallelizable() {
+      return true;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+      return true;
+    }
+
+  }
+
+}
@@ -0,0 +1,94 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.distribution.WeightedLongGenerator;
+import com.rapiddweller.benerator.distribution.function.GaussianFunction;
+import com.rapiddweller.benerator.primitive.RegexStringGenerator;
+import com.rapiddweller.benerator.sample.AttachedWeightSampleGenerator;
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import com.rapiddweller.domain.person.Person;
+import com.rapiddweller.domain.person.PersonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of frequently used generators.<br/><br/>
+ * Created: 22.03.2022 10:12:44
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+  private RegexStringGenerator regexGenerator;
+  private WeightedLongGenerator weightedLongGenerator;
+  private AttachedWeightSampleGenerator<String> sampleGenerator;
+  private PersonGenerator personGenerator;
+  private ProductWrapper<String> stringWrapper;
+
+  @Setup
+  public void setUp() {
+    GeneratorContext context = BeneratorFactory.getInstance().createRootContext(".");
+    regexGenerator = new RegexStringGenerator("[A-Z][a-z]{3,12}( [A-Z][a-z]{3,12}){0,2}");
+    regexGenerator.init(context);
+    weightedLongGenerator = new WeightedLongGenerator(0, 1000, 1, new GaussianFunction(500, 100));
+    weightedLongGenerator.init(context);
+    sampleGenerator = new AttachedWeightSampleGenerator<>(String.class);
+    for (int i = 0; i < 1000; i++) {
+      sampleGenerator.addSample("value" + i, 1 + i % 17);
+    }
+    sampleGenerator.init(context);
+    personGenerator = new PersonGenerator("US", Locale.US);
+    personGenerator.init(context);
+    stringWrapper = new ProductWrapper<>();
+  }
+
+  @TearDown
+  public void tearDown() {
+    regexGenerator.close();
+    weightedLongGenerator.close();
+    sampleGenerator.close();
+    personGenerator.close();
+  }
+
+  @Benchmark
+  public String regexString() {
+    return regexGenerator.generate();
+  }
+
+  @Benchmark
+  public Long weightedLong() {
+    return weightedLongGenerator.generate();
+  }
+
+  @Benchmark
+  public String attachedWeightSample() {
+    return sampleGenerator.generate(stringWrapper).unwrap();
+  }
+
+  @Benchmark
+  public Person person() {
+    return personGenerator.generate();
+  }
+
+}
@@ -0,0 +1,169 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Renders JMH results in CSV format ('-rf csv') as a stable, sorted text table that can be diffed
+ * between releases, and compares two result files.
+ * Usage:
+ * <ul>
+ *   <li>{@code JmhResultComparison result.csv} prints the summary of a result file</li>
+ *   <li>{@code JmhResultComparison baseline.csv current.csv [maxRegressionPercent]} prints the relative change
+ *       of each benchmark and exits with status 1 if one of them got slower by more than maxRegressionPercent
+ *       (default: 10)</li>
+ * </ul>
+ * Created: 22.03.2022 12:10:53
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class JmhResultComparison {
+
+  private static final double DEFAULT_MAX_REGRESSION_PERCENT = 10.;
+  private static final MathContext PRECISION = new MathContext(3);
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 1) {
+      printSummary(parse(Path.of(args[0])), System.out);
+    } else if (args.length == 2 || args.length == 3) {
+      double maxRegression = (args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_MAX_REGRESSION_PERCENT);
+      int regressions = compare(parse(Path.of(args[0])), parse(Path.of(args[1])), maxRegression, System.out);
+      if (regressions > 0) {
+        System.exit(1);
+      }
+    } else {
+      System.err.println("Usage: JmhResultComparison result.csv | baseline.csv current.csv [maxRegressionPercent]");
+      System.exit(2);
+    }
+  }
+
+  /** Parses a JMH CSV result file into a map of results, sorted by benchmark name and parameters. */
+  public static Map<String, Result> parse(Path file) throws IOException {
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    Map<String, Result> results = new TreeMap<>();
+    if (lines.isEmpty()) {
+      return results;
+    }
+    List<String> header = splitCsvLine(lines.get(0));
+    int benchmarkCol = header.indexOf("Benchmark");
+    int modeCol = header.indexOf("Mode");
+    int scoreCol = header.indexOf("Score");
+    int unitCol = header.indexOf("Unit");
+    for (String line : lines.subList(1, lines.size())) {
+      if (line.isBlank()) {
+        continue;
+      }
+      List<String> cells = splitCsvLine(line);
+      StringBuilder key = new StringBuilder(cells.get(benchmarkCol));
+      for (int i = 0; i < header.size(); i++) {
+        if (header.get(i).startsWith("Param: ")) {
+          key.append(' ').append(header.get(i).substring(7)).append('=').append(cells.get(i));
+        }
+      }
+      double score = Double.parseDouble(cells.get(scoreCol).replace(',', '.')); // JMH uses the default locale
+      results.put(key.toString(), new Result(cells.get(modeCol), score, cells.get(unitCol)));
+    }
+    return results;
+  }
+
+  public static void printSummary(Map<String, Result> results, PrintStream out) {
+    for (Map.Entry<String, Result> entry : results.entrySet()) {
+      Result result = entry.getValue();
+      out.println(entry.getKey() + '\t' + result.mode + '\t' + round(result.score) + '\t' + result.unit);
+    }
+  }
+
+  /** Prints the relative change of each benchmark and returns the number of regressions beyond the threshold. */
+  public static int compare(Map<String, Result> baseline, Map<String, Result> current,
+                            double maxRegressionPercent, PrintStream out) {
+    int regressions = 0;
+    for (Map.Entry<String, Result> entry : current.entrySet()) {
+      String name = entry.getKey();
+      Result now = entry.getValue();
+      Result before = baseline.get(name);
+      if (before == null || !before.mode.equals(now.mode) || !before.unit.equals(now.unit)) {
+        out.println(name + '\t' + now.mode + "\tnew\t" + round(now.score) + '\t' + now.unit);
+        continue;
+      }
+      double changePercent = (now.score - before.score) * 100. / before.score;
+      double slowdownPercent = (now.higherIsBetter() ? -changePercent : changePercent);
+      boolean regression = (slowdownPercent > maxRegressionPercent);
+      if (regression) {
+        regressions++;
+      }
+      out.println(name + '\t' + now.mode + '\t' + round(before.score) + '\t' + round(now.score) + '\t' + now.unit +
+          '\t' + String.format(Locale.US, "%+.1f%%", changePercent) + (regression ? "\tREGRESSION" : ""));
+    }
+    for (String name : baseline.keySet()) {
+      if (!current.containsKey(name)) {
+        out.println(name + "\tremoved");
+      }
+    }
+    return regressions;
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static String round(double value) {
+    return new BigDecimal(value).round(PRECISION).stripTrailingZeros().toPlainString();
+  }
+
+  static List<String> splitCsvLine(String line) {
+    List<String> cells = new ArrayList<>();
+    StringBuilder cell = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          cell.append('"');
+          i++;
+        } else {
+          quoted = !quoted;
+        }
+      } else if (c == ',' && !quoted) {
+        cells.add(cell.toString());
+        cell.setLength(0);
+      } else {
+        cell.append(c);
+      }
+    }
+    cells.add(cell.toString());
+    return cells;
+  }
+
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  public static class Result {
+
+    final String mode;
+    final double score;
+    final String unit;
+
+    Result(String mode, double score, String unit) {
+      this.mode = mode;
+      this.score = score;
+      this.unit = unit;
+    }
+
+    boolean higherIsBetter() {
+      return "thrpt".equals(mode);
+    }
+
+  }
+
+}
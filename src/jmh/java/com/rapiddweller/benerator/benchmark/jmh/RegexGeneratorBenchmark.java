@@ -0,0 +1,82 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.NonNullGenerator;
+import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.factory.RegexGeneratorFactory;
+import com.rapiddweller.benerator.factory.StochasticGeneratorFactory;
+import com.rapiddweller.benerator.primitive.regex.CompiledRegexGenerator;
+import com.rapiddweller.model.data.Uniqueness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of regex-based string generation with a {@link CompiledRegexGenerator}
+ * compared to the tree of generators which is composed by the {@link RegexGeneratorFactory},
+ * for random and unique generation of typical codes and phone numbers. The phone number pattern
+ * is ambiguous, so its unique generation falls back to the tree in both benchmarks.<br/><br/>
+ * Created: 30.03.2022 15:20:36
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegexGeneratorBenchmark {
+
+  @Param({ "[A-Z]{3}-[0-9]{6}", "\\+[1-9][0-9]{1,2}/[0-9]{1,5}/[0-9]{5,8}", "(DE|AT|CH)[0-9]{2}( [0-9]{4}){4}" })
+  public String pattern;
+
+  @Param({ "NONE", "SIMPLE" })
+  public Uniqueness uniqueness;
+
+  private NonNullGenerator<String> tree;
+  private NonNullGenerator<String> compiled;
+
+  @Setup
+  public void setUp() {
+    BeneratorContext context = BeneratorFactory.getInstance().createRootContext(".");
+    StochasticGeneratorFactory factory = new StochasticGeneratorFactory();
+    tree = RegexGeneratorFactory.create(pattern, Locale.ENGLISH, 0, null, uniqueness, factory);
+    tree.init(context);
+    compiled = factory.createRegexStringGenerator(pattern, Locale.ENGLISH, 0, null, uniqueness);
+    compiled.init(context);
+  }
+
+  @Benchmark
+  public String generatorTree() {
+    return restartIfExhausted(tree);
+  }
+
+  @Benchmark
+  public String compiledProgram() {
+    return restartIfExhausted(compiled);
+  }
+
+  private static String restartIfExhausted(NonNullGenerator<String> generator) {
+    String product = generator.generate();
+    if (product == null) {
+      generator.reset();
+      product = generator.generate();
+    }
+    return product;
+  }
+
+}
@@ -0,0 +1,93 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark.jmh;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.distribution.AliasTable;
+import com.rapiddweller.benerator.sample.AttachedWeightSampleGenerator;
+import com.rapiddweller.benerator.util.SplittableRandomProvider;
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of weighted sampling with an {@link AliasTable} compared to the binary search
+ * in cumulative weights, which was used before, for Zipf-like weights of small and large sample sets.<br/><br/>
+ * Created: 25.03.2022 10:40:18
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeightedSamplingBenchmark {
+
+  @Param({ "100", "10000", "1000000" })
+  public int size;
+
+  private RandomProvider random;
+  private AliasTable aliasTable;
+  private double[] cumulativeWeights;
+  private AttachedWeightSampleGenerator<Integer> generator;
+  private ProductWrapper<Integer> wrapper;
+
+  @Setup
+  public void setUp() {
+    random = new SplittableRandomProvider(42);
+    double[] weights = new double[size];
+    SplittableRandom weightRandom = new SplittableRandom(42);
+    for (int i = 0; i < size; i++) {
+      weights[i] = 1. / (1 + weightRandom.nextInt(size));
+    }
+    aliasTable = new AliasTable(weights);
+    cumulativeWeights = new double[size];
+    double sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += weights[i];
+      cumulativeWeights[i] = sum;
+    }
+    for (int i = 0; i < size; i++) {
+      cumulativeWeights[i] /= sum;
+    }
+    generator = new AttachedWeightSampleGenerator<>(Integer.class);
+    for (int i = 0; i < size; i++) {
+      generator.addSample(i, weights[i]);
+    }
+    generator.init(BeneratorFactory.getInstance().createRootContext("."));
+    wrapper = new ProductWrapper<>();
+  }
+
+  @Benchmark
+  public int aliasTable() {
+    return aliasTable.sample(random);
+  }
+
+  @Benchmark
+  public int binarySearch() {
+    int i = Arrays.binarySearch(cumulativeWeights, random.randomDouble());
+    return Math.min(i < 0 ? -i - 1 : i, size - 1);
+  }
+
+  @Benchmark
+  public Integer attachedWeightSampleGenerator() {
+    return generator.generate(wrapper).unwrap();
+  }
+
+}
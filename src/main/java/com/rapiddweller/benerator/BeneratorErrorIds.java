@@ -108,6 +108,7 @@ public class BeneratorErrorIds {
   public static final String SYN_SETUP_DEF_SOURCE_SCRIPTED     = "BEN-0213";
   public static final String SYN_SETUP_ACCEPT_UNK_SIMPLE_TYPES = "BEN-0214";
   public static final String SYN_SETUP_GENERATOR_FACTORY       = "BEN-0215";
+  public static final String SYN_SETUP_RANDOM_SEED             = "BEN-0216";
 
   // Syntax Errors regarding <comment> -------------------------------------------------------------------------------
 
@@ -295,6 +296,8 @@ public class BeneratorErrorIds {
   public static final String SYN_GENERATE_ON_ERROR     = "BEN-0421";
   public static final String SYN_GENERATE_TEMPLATE     = "BEN-0422";
   public static final String SYN_GENERATE_CONSUMER     = "BEN-0423";
+  public static final String SYN_GENERATE_CONSUMER_BUFFER = "BEN-0424";
+  public static final String SYN_GENERATE_EXECUTION_POLICY = "BEN-0425";
 
   // Syntax Errors regarding <iterate> -------------------------------------------------------------------------------
 
@@ -335,6 +338,8 @@ public class BeneratorErrorIds {
   public static final String SYN_ITERATE_ON_ERROR        = "BEN-0484";
   public static final String SYN_ITERATE_TEMPLATE        = "BEN-0485";
   public static final String SYN_ITERATE_CONSUMER        = "BEN-0486";
+  public static final String SYN_ITERATE_CONSUMER_BUFFER = "BEN-0487";
+  public static final String SYN_ITERATE_EXECUTION_POLICY = "BEN-0488";
 
   // Syntax Errors regarding <variable> -----------------------------------------------------------------------------
 
@@ -464,6 +469,10 @@ public class BeneratorErrorIds {
   public static final String SYN_DB_LAZY                 = "BEN-1018";
   public static final String SYN_DB_META_CACHE           = "BEN-1019";
   public static final String SYN_DB_ACCEPT_UNK_COL_TYPES = "BEN-1020";
+  public static final String SYN_DB_BATCH_SIZE           = "BEN-1025";
+  public static final String SYN_DB_COMMIT_INTERVAL      = "BEN-1026";
+  public static final String SYN_DB_READ_THREADS         = "BEN-1027";
+  public static final String SYN_DB_READ_ORDERED         = "BEN-1028";
 
   public static final String SYN_DB_URL_GROUP_INCOMPLETE = "BEN-1021";
   public static final String SYN_DB_ENV_GROUP_INCOMPLETE = "BEN-1022";
@@ -482,6 +491,7 @@ public class BeneratorErrorIds {
   public static final String SYN_TRANSCODING_TASK_TARGET         = "BEN-1203";
   public static final String SYN_TRANSCODING_TASK_PAGE_SIZE      = "BEN-1204";
   public static final String SYN_TRANSCODING_TASK_ON_ERROR       = "BEN-1205";
+  public static final String SYN_TRANSCODING_TASK_KEY_MAPPER     = "BEN-1206";
 
   public static final String SYN_TRANSCODE_ILLEGAL_ATTR = "BEN-1210";
   public static final String SYN_TRANSCODE_SOURCE       = "BEN-1211";
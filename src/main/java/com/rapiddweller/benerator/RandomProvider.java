@@ -2,9 +2,12 @@
 
 package com.rapiddweller.benerator;
 
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Service provider interface for custom implementation of random functions.<br/><br/>
@@ -43,4 +46,31 @@ public interface RandomProvider {
   Date randomDate(Date min, Date max);
   Object randomFromWeightLiteral(String literal);
 
+  /** Returns a provider of an independent random stream, e.g. for exclusive use by one generator.
+   *  Implementations that do not support derived streams return themselves. */
+  default RandomProvider split() {
+    return this;
+  }
+
+  /** Reseeds the provider, so that the values and streams it provides subsequently are reproducible.
+   *  Implementations that cannot be seeded throw an exception. */
+  default void setSeed(long seed) {
+    throw BeneratorExceptionFactory.getInstance().illegalOperation(
+        getClass().getSimpleName() + " does not support seeding");
+  }
+
+  /** Derives the random stream of a parallel worker. It is called in the thread which sets up the workers,
+   *  one worker after the other, so a seeded provider derives the same worker streams in each run.
+   *  The returned action must be run in the worker's thread before it draws random values.
+   *  Implementations without thread-specific streams return an action which does nothing. */
+  default Runnable workerStreamBinding() {
+    return () -> { };
+  }
+
+  /** Returns a {@link Random} for components which require one. It draws from a stream derived from this provider
+   *  if the implementation supports it. */
+  default Random createRandom() {
+    return new Random();
+  }
+
 }
@@ -26,6 +26,7 @@
 
 package com.rapiddweller.benerator.composite;
 
+import com.rapiddweller.benerator.GeneratorContext;
 import com.rapiddweller.benerator.util.ThreadSafeGenerator;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 import com.rapiddweller.common.Assert;
@@ -47,6 +48,13 @@ public BlankEntityGenerator(ComplexTypeDescriptor descriptor) {
     this.descriptor = descriptor;
   }
 
+  @Override
+  public void init(GeneratorContext context) {
+    // the component builders have been created, so the entity type is complete
+    descriptor.freeze();
+    super.init(context);
+  }
+
   @Override
   public Class<Entity> getGeneratedType() {
     return Entity.class;
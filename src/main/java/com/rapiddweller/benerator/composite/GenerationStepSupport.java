@@ -28,6 +28,7 @@
 
 import com.rapiddweller.benerator.BeneratorConstants;
 import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.BeneratorSubContext;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 import com.rapiddweller.common.MessageHolder;
@@ -42,7 +43,8 @@
 import java.util.List;
 
 /**
- * Offers support for entity or array component generation with or without variable generation.<br/><br/>
+ * Offers support for entity or array component generation with or without variable generation.
+ * Each thread reuses one sub context per parent context for all generated products.<br/><br/>
  * Created: 13.01.2011 10:52:43
  * @param <E> the type parameter
  * @author Volker Bergmann
@@ -55,11 +57,13 @@
 
   private final String instanceName;
   private final List<GenerationStep<E>> steps;
+  private final ThreadLocal<SubContextSlot<E>> subContexts;
   private String message;
 
   public GenerationStepSupport(String instanceName, List<GenerationStep<E>> steps) {
     this.instanceName = instanceName;
     this.steps = (steps != null ? steps : new ArrayList<>());
+    this.subContexts = ThreadLocal.withInitial(SubContextSlot::new);
   }
 
   public void init(BeneratorContext context) {
@@ -69,8 +73,22 @@ public void init(BeneratorContext context) {
   }
 
   public boolean apply(E target, BeneratorContext context) {
-    BeneratorContext subContext = context.createSubContext(instanceName);
-    subContext.setCurrentProduct(new ProductWrapper<>(target));
+    SubContextSlot<E> slot = subContexts.get();
+    if (slot.inUse) {
+      // recursive application: the slot's sub context still serves the enclosing product
+      BeneratorContext subContext = context.createSubContext(instanceName);
+      subContext.setCurrentProduct(new ProductWrapper<>(target));
+      return applySteps(target, subContext);
+    }
+    slot.inUse = true;
+    try {
+      return applySteps(target, slot.prepare(target, context, instanceName));
+    } finally {
+      slot.inUse = false;
+    }
+  }
+
+  private boolean applySteps(E target, BeneratorContext subContext) {
     for (GenerationStep<E> step : steps) {
       try {
         if (!step.execute(subContext)) {
@@ -84,7 +102,6 @@ public boolean apply(E target, BeneratorContext context) {
       }
     }
     logger.debug("Generated {}", target);
-    subContext.close();
     return true;
   }
 
@@ -128,4 +145,29 @@ public String toString() {
     return getClass().getSimpleName() + steps;
   }
 
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Holds the sub context of one thread for this nesting level. The sub context is reused
+   *  for all products generated with the same parent context, its variables being cleared for each product. */
+  static class SubContextSlot<E> {
+
+    private final ProductWrapper<E> wrapper = new ProductWrapper<>();
+    private BeneratorContext parent;
+    private BeneratorContext subContext;
+    boolean inUse;
+
+    BeneratorContext prepare(E target, BeneratorContext context, String instanceName) {
+      if (subContext instanceof BeneratorSubContext && parent == context) {
+        ((BeneratorSubContext) subContext).clearLocalVariables();
+      } else {
+        subContext = context.createSubContext(instanceName);
+        parent = context;
+      }
+      subContext.setCurrentProduct(wrapper.wrap(target));
+      return subContext;
+    }
+
+  }
+
 }
@@ -0,0 +1,226 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.consumer;
+
+import com.rapiddweller.benerator.Consumer;
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import com.rapiddweller.common.ErrorHandler;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Consumer} proxy which decouples the generation of products from their consumption:
+ * Calls to {@link #startConsuming(ProductWrapper)}, {@link #finishConsuming(ProductWrapper)}
+ * and {@link #flush()} are put into a bounded buffer and forwarded to the target consumer
+ * by a dedicated writer thread, preserving their order. When the buffer is full,
+ * the producing thread blocks until the writer has caught up.
+ * Failures of the target are collected and rethrown in the producing thread on its next call
+ * or reported to an {@link ErrorHandler} by {@link #awaitConsumption(ErrorHandler)}.<br/><br/>
+ * Created: 19.03.2022 09:41:12
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class AsyncConsumerProxy extends ConsumerProxy {
+
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+
+  private final BlockingQueue<Command> buffer;
+  private final Queue<Exception> failures;
+  private final String name;
+  private Writer writer;
+
+  public AsyncConsumerProxy(Consumer target, int bufferSize, String name) {
+    super(target);
+    if (bufferSize <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal consumer buffer size: " + bufferSize);
+    }
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.failures = new ConcurrentLinkedQueue<>();
+    this.name = name;
+    this.writer = null;
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public void startConsuming(ProductWrapper<?> wrapper) {
+    rethrowFailure();
+    enqueue(new Command(CommandType.START, wrapper.copy()));
+  }
+
+  @Override
+  public void finishConsuming(ProductWrapper<?> wrapper) {
+    rethrowFailure();
+    enqueue(new Command(CommandType.FINISH, wrapper.copy()));
+  }
+
+  @Override
+  public void flush() {
+    rethrowFailure();
+    enqueue(new Command(CommandType.FLUSH, null));
+  }
+
+  /** Blocks until all buffered calls have been forwarded to the target and flushes it.
+   *  Failures that occurred meanwhile are reported to the errorHandler. */
+  public void awaitConsumption(ErrorHandler errorHandler) {
+    Command barrier = new Command(CommandType.FLUSH, null);
+    barrier.await(enqueue(barrier));
+    Exception failure;
+    while ((failure = failures.poll()) != null) {
+      errorHandler.handleError("Error in asynchronous consumption by " + target, failure);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      if (writer != null) {
+        enqueue(new Command(CommandType.STOP, null));
+        try {
+          writer.join();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw ExceptionFactory.getInstance().operationCancelled("Interrupted while closing " + this);
+        }
+        writer = null;
+      }
+      rethrowFailure();
+    } finally {
+      super.close();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + target + ']';
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private synchronized Writer getWriter() {
+    if (writer == null) {
+      writer = new Writer();
+      writer.start();
+    }
+    return writer;
+  }
+
+  private Writer enqueue(Command command) {
+    Writer currentWriter = getWriter();
+    try {
+      while (!buffer.offer(command, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        if (!currentWriter.isAlive()) {
+          throw ExceptionFactory.getInstance().programmerStateError(
+              "Writer thread of " + this + " terminated unexpectedly");
+        }
+      }
+      return currentWriter;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ExceptionFactory.getInstance().operationCancelled("Interrupted while waiting for " + this);
+    }
+  }
+
+  private void rethrowFailure() {
+    Exception failure = failures.poll();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure != null) {
+      throw ExceptionFactory.getInstance().operationFailed("Error in asynchronous consumption by " + target, failure);
+    }
+  }
+
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  enum CommandType {
+    START, FINISH, FLUSH, STOP
+  }
+
+  /** A buffered consumer call, which can be awaited to be processed. */
+  static class Command {
+
+    final CommandType type;
+    final ProductWrapper<?> wrapper;
+    private boolean done;
+
+    Command(CommandType type, ProductWrapper<?> wrapper) {
+      this.type = type;
+      this.wrapper = wrapper;
+      this.done = false;
+    }
+
+    synchronized void markDone() {
+      done = true;
+      notifyAll();
+    }
+
+    synchronized void await(Thread worker) {
+      try {
+        while (!done && worker.isAlive()) {
+          wait(POLL_TIMEOUT_MILLIS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw ExceptionFactory.getInstance().operationCancelled("Interrupted while waiting for consumption");
+      }
+    }
+
+  }
+
+  /** Daemon thread which forwards the buffered calls to the target consumer. */
+  class Writer extends Thread {
+
+    Writer() {
+      super("benerator-consumer-" + name);
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      List<Command> batch = new ArrayList<>();
+      try {
+        while (true) {
+          batch.add(buffer.take());
+          buffer.drainTo(batch);
+          for (Command command : batch) {
+            if (command.type == CommandType.STOP) {
+              return;
+            }
+            process(command);
+          }
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void process(Command command) {
+      try {
+        switch (command.type) {
+          case START: target.startConsuming(command.wrapper); break;
+          case FINISH: target.finishConsuming(command.wrapper); break;
+          default: target.flush();
+        }
+      } catch (Exception e) {
+        failures.add(e);
+      } finally {
+        command.markDone();
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,67 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.consumer;
+
+import com.rapiddweller.benerator.Consumer;
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+
+/**
+ * {@link Consumer} proxy which funnels the products of several concurrent threads
+ * into a single delegate that does not need to be thread-safe.
+ * A thread's call to {@link #startConsuming(ProductWrapper)} is deferred until the
+ * matching call to {@link #finishConsuming(ProductWrapper)}, then both are forwarded
+ * to the delegate in one synchronized block, so the delegate never sees
+ * the consumption of products from different threads interleaved.
+ * Like the {@link NonClosingConsumerProxy}, it does not close its delegate;
+ * this is the responsibility of the delegate's originator.<br/><br/>
+ * Created: 18.03.2022 11:03:27
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class SynchronizedConsumerProxy extends ConsumerProxy {
+
+  private final ThreadLocal<ProductWrapper<?>> pendingStart;
+
+  public SynchronizedConsumerProxy(Consumer target) {
+    super(target);
+    this.pendingStart = new ThreadLocal<>();
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public void startConsuming(ProductWrapper<?> wrapper) {
+    pendingStart.set(wrapper);
+  }
+
+  @Override
+  public void finishConsuming(ProductWrapper<?> wrapper) {
+    ProductWrapper<?> started = pendingStart.get();
+    pendingStart.remove();
+    synchronized (this) {
+      if (started != null) {
+        target.startConsuming(started);
+      }
+      target.finishConsuming(wrapper);
+    }
+  }
+
+  @Override
+  public synchronized void flush() {
+    target.flush();
+  }
+
+  @Override
+  public void close() {
+    // don't close the target here, that's the job of the target's originator
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + target + ']';
+  }
+
+}
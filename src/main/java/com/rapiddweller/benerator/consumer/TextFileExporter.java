@@ -26,21 +26,30 @@
 
 package com.rapiddweller.benerator.consumer;
 
+import com.rapiddweller.benerator.engine.BeneratorMonitor;
+import com.rapiddweller.benerator.util.ChannelWriter;
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.SystemInfo;
 import com.rapiddweller.common.exception.ExceptionFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
 
 /**
- * Parent class for Exporters that export data to a text file.<br/><br/>
+ * Parent class for Exporters that export data to a text file.
+ * If a buffer size or a compression is configured, the file is written by a {@link ChannelWriter},
+ * which encodes text directly into a large direct buffer and writes it through a FileChannel.
+ * This requires the uri to denote a local file.<br/><br/>
  * Created: 11.07.2008 09:50:46
  * @author Volker Bergmann
  * @since 0.5.4
  */
 public class TextFileExporter extends FormattingConsumer implements FileExporter {
 
+  public static final String GZIP = "gzip";
+
   // attributes ------------------------------------------------------------------------------------------------------
 
   protected String uri;
@@ -48,8 +57,11 @@ public class TextFileExporter extends FormattingConsumer implements FileExporter
   protected String lineSeparator;
   protected boolean append;
   protected boolean wasAppended;
+  protected int bufferSize;
+  protected String compression;
 
   protected PrintWriter printer;
+  private long reportedFileLength;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -127,6 +139,36 @@ public void setAppend(boolean append) {
     this.append = append;
   }
 
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /** Sets the size of the direct buffer for writing the file through a FileChannel.
+   *  0 (the default) means writing with a standard PrintWriter */
+  public void setBufferSize(int bufferSize) {
+    if (bufferSize < 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal buffer size: " + bufferSize);
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  public String getCompression() {
+    return compression;
+  }
+
+  /** Sets the compression to apply to the file. Supported values are 'gzip' and null for no compression. */
+  public void setCompression(String compression) {
+    if (compression != null && !GZIP.equalsIgnoreCase(compression)) {
+      throw ExceptionFactory.getInstance().illegalArgument("Unsupported compression: " + compression);
+    }
+    this.compression = compression;
+  }
+
+  /** @return true if the file is written by a {@link ChannelWriter} */
+  protected boolean isChannelOutput() {
+    return (bufferSize > 0 || compression != null);
+  }
+
   // Consumer interface ----------------------------------------------------------------------------------------------
 
   @Override
@@ -141,6 +183,7 @@ public final synchronized void startProductConsumption(Object data) {
   public void flush() {
     if (printer != null) {
       printer.flush();
+      reportBytesWritten();
     }
   }
 
@@ -154,6 +197,7 @@ public void close() {
     } finally {
       assert printer != null;
       printer.close();
+      reportBytesWritten();
     }
   }
 
@@ -177,10 +221,36 @@ protected void initPrinter(Object data) {
       }
     }
 
-    printer = IOUtil.getPrinterForURI(uri, encoding, append, lineSeparator, true);
+    reportedFileLength = (wasAppended ? new File(uri).length() : 0);
+    printer = (isChannelOutput() ?
+        createChannelPrinter() : IOUtil.getPrinterForURI(uri, encoding, append, lineSeparator, true));
     postInitPrinter(data);
   }
 
+  private PrintWriter createChannelPrinter() {
+    try {
+      ChannelWriter writer = new ChannelWriter(new File(uri), Charset.forName(encoding), append, compression != null,
+          (bufferSize > 0 ? bufferSize : ChannelWriter.DEFAULT_BUFFER_SIZE));
+      return new PrintWriter(writer) {
+        @Override
+        public void println() {
+          print(lineSeparator);
+        }
+      };
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().fileCreationFailed("Error creating file " + uri, e);
+    }
+  }
+
+  /** Reports the growth of the file since the last call to the {@link BeneratorMonitor}. */
+  private void reportBytesWritten() {
+    long fileLength = new File(uri).length(); // 0 for URIs which do not denote a local file
+    if (fileLength > reportedFileLength) {
+      BeneratorMonitor.INSTANCE.countBytesWritten(fileLength - reportedFileLength);
+      reportedFileLength = fileLength;
+    }
+  }
+
   protected void println() {
     printer.print(lineSeparator);
   }
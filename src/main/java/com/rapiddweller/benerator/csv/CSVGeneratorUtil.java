@@ -70,6 +70,10 @@ public static <T> List<WeightedSample<T>> parseFile(String filename, char separa
 
   public static <T> List<WeightedSample<T>> parseFile(String filename, char separator, String encoding,
                                                       Converter<String, T> converter, List<WeightedSample<T>> samples) {
+    CSVSnapshot snapshot = CSVSnapshot.forBundledFile(filename, separator, encoding);
+    if (snapshot != null) {
+      return parseSnapshot(snapshot, converter, samples);
+    }
     try (CSVLineIterator iterator = new CSVLineIterator(filename, separator, encoding)) {
       DataContainer<String[]> container = new DataContainer<>();
       while ((container = iterator.next(container)) != null) {
@@ -86,4 +90,18 @@ public static <T> List<WeightedSample<T>> parseFile(String filename, char separa
     }
   }
 
+  private static <T> List<WeightedSample<T>> parseSnapshot(
+      CSVSnapshot snapshot, Converter<String, T> converter, List<WeightedSample<T>> samples) {
+    for (int row = 0; row < snapshot.rowCount(); row++) {
+      int cellCount = snapshot.cellCount(row);
+      if (cellCount == 0) {
+        continue;
+      }
+      double weight = (cellCount < 2 ? 1. : snapshot.number(row, 1, 1.));
+      T value = converter.convert(snapshot.cell(row, 0));
+      samples.add(new WeightedSample<>(value, weight));
+    }
+    return samples;
+  }
+
 }
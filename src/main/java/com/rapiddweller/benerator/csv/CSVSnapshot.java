@@ -0,0 +1,369 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.csv;
+
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.common.ConfigUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.format.csv.CSVLineIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, memory-mapped binary representation of the cells of a CSV file,
+ * which is used for the CSV files bundled with Benerator, since they are parsed in each run.
+ * On first use, the CSV file is parsed and a snapshot is written to the cache folder,
+ * subsequent runs map the snapshot into memory and decode each distinct cell text only once
+ * when it is accessed. A snapshot consists of a string pool, a row index and the pool indices of each row's cells,
+ * numeric cells like weights are parsed once per distinct text. Snapshots are invalidated when
+ * the URL of the CSV resource changes or the size or modification time of the file which contains it,
+ * which is the jar file for resources in a jar. They can be deleted with '--clearCaches'.
+ * Instances are immutable and thread-safe.<br/><br/>
+ * Created: 24.03.2022 13:41:27
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class CSVSnapshot {
+
+  private static final Logger logger = LoggerFactory.getLogger(CSVSnapshot.class);
+
+  private static final int MAGIC = 0x42435356; // 'BCSV'
+  private static final int VERSION = 2;
+  private static final int HEADER_SIZE = 44;
+  private static final int NULL_CELL = -1;
+
+  private static final Map<String, CSVSnapshot> loadedSnapshots = new HashMap<>();
+
+  private final String[] pool;          // decoded strings, filled lazily for mapped snapshots
+  private final double[] numbers;       // parsed numbers, filled lazily, NaN if not parsed yet
+  private final int[] poolOffsets;      // byte offsets of the pool entries in 'poolBytes', for mapped snapshots
+  private final ByteBuffer poolBytes;   // UTF-8 encoded pool, for mapped snapshots
+  private final int[] rowStarts;
+  private final int[] cells;
+
+  private CSVSnapshot(String[] pool, int[] poolOffsets, ByteBuffer poolBytes, int[] rowStarts, int[] cells) {
+    this.pool = pool;
+    this.numbers = new double[pool.length];
+    Arrays.fill(numbers, Double.NaN);
+    this.poolOffsets = poolOffsets;
+    this.poolBytes = poolBytes;
+    this.rowStarts = rowStarts;
+    this.cells = cells;
+  }
+
+
+  // factory methods -------------------------------------------------------------------------------------------------
+
+  /** Provides the snapshot of a CSV file which is bundled as resource on the class path,
+   *  creating it if necessary.
+   *  @return the snapshot, or null if the uri does not denote a class path resource
+   *  or if snapshots are turned off by the system property {@link BeneratorOpts#OPTS_DATASET_SNAPSHOTS} */
+  public static CSVSnapshot forBundledFile(String uri, char separator, String encoding) {
+    if (!BeneratorOpts.isDatasetSnapshots() || !uri.startsWith("/") || new File(uri).exists()) {
+      return null;
+    }
+    URL url = CSVSnapshot.class.getResource(uri);
+    if (url == null) {
+      return null;
+    }
+    String key = uri + '|' + separator + '|' + encoding;
+    synchronized (loadedSnapshots) {
+      return loadedSnapshots.computeIfAbsent(key, k -> loadOrCreate(uri, url, separator, encoding));
+    }
+  }
+
+  /** Parses a CSV file into a snapshot in memory. */
+  public static CSVSnapshot parse(String uri, char separator, String encoding) {
+    Map<String, Integer> poolIndices = new HashMap<>();
+    List<String> pool = new ArrayList<>();
+    IntList rowStarts = new IntList();
+    IntList cells = new IntList();
+    try (CSVLineIterator iterator = new CSVLineIterator(uri, separator, encoding)) {
+      DataContainer<String[]> container = new DataContainer<>();
+      while ((container = iterator.next(container)) != null) {
+        rowStarts.add(cells.size());
+        for (String cell : container.getData()) {
+          if (cell == null) {
+            cells.add(NULL_CELL);
+          } else {
+            cells.add(poolIndices.computeIfAbsent(cell, c -> {
+              pool.add(c);
+              return pool.size() - 1;
+            }));
+          }
+        }
+      }
+    }
+    rowStarts.add(cells.size());
+    return new CSVSnapshot(pool.toArray(new String[0]), null, null, rowStarts.toArray(), cells.toArray());
+  }
+
+  /** Maps a snapshot file into memory.
+   *  @return the snapshot or null if the file was not created for a source of the given id, size and modification time */
+  public static CSVSnapshot load(File file, String sourceId, long sourceLength, long sourceLastModified)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+          || buffer.getLong() != sourceLength || buffer.getLong() != sourceLastModified) {
+        return null;
+      }
+      byte[] sourceIdBytes = new byte[buffer.getInt()];
+      buffer.get(sourceIdBytes);
+      if (!sourceId.equals(new String(sourceIdBytes, StandardCharsets.UTF_8))) {
+        return null;
+      }
+      int poolSize = buffer.getInt();
+      int rowCount = buffer.getInt();
+      int cellCount = buffer.getInt();
+      int poolByteCount = buffer.getInt();
+      int[] poolOffsets = readInts(buffer, poolSize + 1);
+      int[] rowStarts = readInts(buffer, rowCount + 1);
+      int[] cells = readInts(buffer, cellCount);
+      ByteBuffer poolBytes = buffer.slice();
+      poolBytes.limit(poolByteCount);
+      return new CSVSnapshot(new String[poolSize], poolOffsets, poolBytes, rowStarts, cells);
+    }
+  }
+
+  /** Writes the snapshot to a file, tagged with the id, size and modification time of its source. */
+  public void save(File file, String sourceId, long sourceLength, long sourceLastModified) throws IOException {
+    byte[] sourceIdBytes = sourceId.getBytes(StandardCharsets.UTF_8);
+    byte[][] encodedPool = new byte[pool.length][];
+    int poolByteCount = 0;
+    for (int i = 0; i < pool.length; i++) {
+      encodedPool[i] = stringAt(i).getBytes(StandardCharsets.UTF_8);
+      poolByteCount += encodedPool[i].length;
+    }
+    int size = HEADER_SIZE + sourceIdBytes.length + 4 * (pool.length + 1 + rowStarts.length + cells.length)
+        + poolByteCount;
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceLength).putLong(sourceLastModified);
+    buffer.putInt(sourceIdBytes.length).put(sourceIdBytes);
+    buffer.putInt(pool.length).putInt(rowStarts.length - 1).putInt(cells.length).putInt(poolByteCount);
+    int offset = 0;
+    for (byte[] bytes : encodedPool) {
+      buffer.putInt(offset);
+      offset += bytes.length;
+    }
+    buffer.putInt(offset);
+    buffer.asIntBuffer().put(rowStarts);
+    buffer.position(buffer.position() + 4 * rowStarts.length);
+    buffer.asIntBuffer().put(cells);
+    buffer.position(buffer.position() + 4 * cells.length);
+    for (byte[] bytes : encodedPool) {
+      buffer.put(bytes);
+    }
+    File directory = file.getParentFile();
+    if (directory != null) {
+      Files.createDirectories(directory.toPath());
+    }
+    Path tempFile = Files.createTempFile(directory != null ? directory.toPath() : null, file.getName(), ".tmp");
+    try {
+      Files.write(tempFile, buffer.array());
+      Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+
+  // data access -----------------------------------------------------------------------------------------------------
+
+  public int rowCount() {
+    return rowStarts.length - 1;
+  }
+
+  public int cellCount(int row) {
+    return rowStarts[row + 1] - rowStarts[row];
+  }
+
+  public String cell(int row, int column) {
+    int poolIndex = cells[rowStarts[row] + column];
+    return (poolIndex != NULL_CELL ? stringAt(poolIndex) : null);
+  }
+
+  /** Returns the numerical value of a cell, parsing each distinct cell text only once.
+   *  Empty and null cells yield the defaultValue. */
+  public double number(int row, int column, double defaultValue) {
+    int poolIndex = cells[rowStarts[row] + column];
+    if (poolIndex == NULL_CELL) {
+      return defaultValue;
+    }
+    double result = numbers[poolIndex];
+    if (Double.isNaN(result)) { // not parsed yet, empty or NaN
+      String text = stringAt(poolIndex).trim();
+      if (text.isEmpty()) {
+        return defaultValue;
+      }
+      result = Double.parseDouble(text);
+      numbers[poolIndex] = result; // concurrent parsing yields equal values, so no synchronization is needed
+    }
+    return result;
+  }
+
+  public String[] row(int row) {
+    String[] result = new String[cellCount(row)];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = cell(row, i);
+    }
+    return result;
+  }
+
+  /** Returns an iterator over the rows, which can be used like a {@link CSVLineIterator}. */
+  public DataIterator<String[]> iterator() {
+    return new RowIterator();
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static CSVSnapshot loadOrCreate(String uri, URL url, char separator, String encoding) {
+    File file = snapshotFile(uri, separator, encoding);
+    String sourceId = url.toExternalForm();
+    long sourceLength;
+    long sourceLastModified;
+    try {
+      File sourceFile = sourceFile(url);
+      if (sourceFile == null || !sourceFile.isFile()) {
+        logger.debug("Not using a snapshot of {}, since its source file cannot be determined", uri);
+        return parse(uri, separator, encoding);
+      }
+      sourceLength = sourceFile.length();
+      sourceLastModified = sourceFile.lastModified();
+      if (file.exists()) {
+        CSVSnapshot snapshot = load(file, sourceId, sourceLength, sourceLastModified);
+        if (snapshot != null) {
+          logger.debug("Using snapshot {} of {}", file, uri);
+          return snapshot;
+        }
+      }
+    } catch (IOException e) {
+      logger.debug("Unable to use snapshot {} of {}", file, uri, e);
+      return parse(uri, separator, encoding);
+    }
+    CSVSnapshot snapshot = parse(uri, separator, encoding);
+    try {
+      snapshot.save(file, sourceId, sourceLength, sourceLastModified);
+      logger.debug("Created snapshot {} of {}", file, uri);
+    } catch (IOException e) {
+      logger.debug("Unable to write snapshot {} of {}", file, uri, e);
+    }
+    return snapshot;
+  }
+
+  /** Determines the file which contains a resource: the resource file itself or the jar file which contains it.
+   *  @return the file or null if the resource is not provided by a local file */
+  private static File sourceFile(URL url) throws IOException {
+    URL fileUrl = url;
+    URLConnection connection = url.openConnection();
+    if (connection instanceof JarURLConnection) {
+      fileUrl = ((JarURLConnection) connection).getJarFileURL();
+    }
+    if (!"file".equals(fileUrl.getProtocol())) {
+      return null;
+    }
+    try {
+      return new File(fileUrl.toURI());
+    } catch (URISyntaxException e) {
+      throw new IOException("Illegal file URL: " + fileUrl, e);
+    }
+  }
+
+  private static File snapshotFile(String uri, char separator, String encoding) {
+    String name = uri.substring(1) + '.' + Integer.toHexString(separator) + '.' + encoding + ".bin";
+    return new File(new File(ConfigUtil.commonCacheFolder(), "datasets"), name);
+  }
+
+  private static int[] readInts(ByteBuffer buffer, int count) {
+    int[] result = new int[count];
+    buffer.asIntBuffer().get(result);
+    buffer.position(buffer.position() + 4 * count);
+    return result;
+  }
+
+  private String stringAt(int poolIndex) {
+    String result = pool[poolIndex];
+    if (result == null) { // concurrent decoding yields equal strings, so no synchronization is needed
+      int offset = poolOffsets[poolIndex];
+      byte[] bytes = new byte[poolOffsets[poolIndex + 1] - offset];
+      poolBytes.duplicate().position(offset).get(bytes);
+      result = new String(bytes, StandardCharsets.UTF_8);
+      pool[poolIndex] = result;
+    }
+    return result;
+  }
+
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  private class RowIterator implements DataIterator<String[]> {
+
+    private int nextRow = 0;
+
+    @Override
+    public Class<String[]> getType() {
+      return String[].class;
+    }
+
+    @Override
+    public DataContainer<String[]> next(DataContainer<String[]> container) {
+      if (nextRow >= rowCount()) {
+        return null;
+      }
+      return container.setData(row(nextRow++));
+    }
+
+    @Override
+    public void close() {
+      // nothing to do
+    }
+  }
+
+  private static class IntList {
+
+    private int[] values = new int[1024];
+    private int size = 0;
+
+    void add(int value) {
+      if (size == values.length) {
+        int[] newValues = new int[size * 2];
+        System.arraycopy(values, 0, newValues, 0, size);
+        values = newValues;
+      }
+      values[size++] = value;
+    }
+
+    int size() {
+      return size;
+    }
+
+    int[] toArray() {
+      int[] result = new int[size];
+      System.arraycopy(values, 0, result, 0, size);
+      return result;
+    }
+  }
+
+}
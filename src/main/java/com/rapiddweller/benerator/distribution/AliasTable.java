@@ -0,0 +1,109 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
+/**
+ * Chooses indices with probabilities proportional to a list of weights in constant time,
+ * using Vose's variant of Walker's alias method. Setup takes linear time, each draw consumes
+ * a single random double, which selects a column and decides between the column's own index and its alias.
+ * Instances are immutable and thread-safe.<br/><br/>
+ * Created: 25.03.2022 09:14:52
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public final class AliasTable {
+
+  private final double[] probabilities;
+  private final int[] aliases;
+
+  /** Creates an alias table for the given weights. If all weights are zero, the indices are uniformly distributed.
+   *  @param weights the non-negative weights of the indices 0 to weights.length - 1 */
+  public AliasTable(double[] weights) {
+    int n = weights.length;
+    if (n == 0) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Cannot create an alias table without weights");
+    }
+    double total = 0;
+    for (double weight : weights) {
+      if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument("Illegal weight: " + weight);
+      }
+      total += weight;
+    }
+    this.probabilities = new double[n];
+    this.aliases = new int[n];
+    // scale the weights to an average of 1 and sort them into columns below and above average
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = (total > 0 ? weights[i] * n / total : 1.);
+      if (scaled[i] < 1.) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+    // fill each small column up with an alias from a large one
+    while (smallCount > 0 && largeCount > 0) {
+      int s = small[--smallCount];
+      int l = large[--largeCount];
+      probabilities[s] = scaled[s];
+      aliases[s] = l;
+      scaled[l] = (scaled[l] + scaled[s]) - 1.;
+      if (scaled[l] < 1.) {
+        small[smallCount++] = l;
+      } else {
+        large[largeCount++] = l;
+      }
+    }
+    // remaining columns are full, up to rounding errors
+    while (largeCount > 0) {
+      int l = large[--largeCount];
+      probabilities[l] = 1.;
+      aliases[l] = l;
+    }
+    while (smallCount > 0) {
+      int s = small[--smallCount];
+      probabilities[s] = 1.;
+      aliases[s] = s;
+    }
+  }
+
+  public int size() {
+    return probabilities.length;
+  }
+
+  /** Maps a uniformly distributed random number to an index.
+   *  @param uniform a random number between 0 (inclusive) and 1 (exclusive) */
+  public int sample(double uniform) {
+    double scaled = uniform * probabilities.length;
+    int column = (int) scaled;
+    if (column >= probabilities.length) { // protects against rounding up of values close to 1
+      column = probabilities.length - 1;
+    }
+    return (scaled - column < probabilities[column] ? column : aliases[column]);
+  }
+
+  public int sample(RandomProvider random) {
+    return sample(random.randomDouble());
+  }
+
+  /** Calculates the probability with which an index is chosen. This takes linear time. */
+  public double probability(int index) {
+    int n = probabilities.length;
+    double result = probabilities[index];
+    for (int column = 0; column < n; column++) {
+      if (aliases[column] == index && column != index) {
+        result += 1. - probabilities[column];
+      }
+    }
+    return result / n;
+  }
+
+}
@@ -26,6 +26,7 @@
 
 package com.rapiddweller.benerator.distribution;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.Generator;
 import com.rapiddweller.benerator.NonNullGenerator;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
@@ -95,7 +96,7 @@ public String toString() {
   public static class IPINumberGenerator<E extends Number> extends AbstractNonNullNumberGenerator<E> {
 
     private final CumulativeDistributionFunction fcn;
-    private final Random random = new Random();
+    private final Random random = BeneratorFactory.getInstance().getRandomProvider().createRandom();
     private final Converter<Double, E> converter;
     private final double minProb;
     private final double probScale;
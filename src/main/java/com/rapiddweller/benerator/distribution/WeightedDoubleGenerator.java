@@ -26,6 +26,7 @@
 
 package com.rapiddweller.benerator.distribution;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
 import com.rapiddweller.benerator.InvalidGeneratorSetupException;
 import com.rapiddweller.benerator.distribution.function.ConstantFunction;
@@ -58,7 +59,7 @@ public WeightedDoubleGenerator() {
   public WeightedDoubleGenerator(double min, double max, double granularity, WeightFunction function) {
     super(Double.class, min, max, granularity);
     this.function = function;
-    this.random = new Random();
+    this.random = BeneratorFactory.getInstance().getRandomProvider().createRandom();
   }
 
   public Distribution getDistribution() {
@@ -26,6 +26,7 @@
 
 package com.rapiddweller.benerator.distribution;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
 import com.rapiddweller.benerator.InvalidGeneratorSetupException;
 import com.rapiddweller.benerator.distribution.function.ConstantFunction;
@@ -69,7 +70,7 @@ public WeightedLongGenerator(long min, long max, WeightFunction function) {
   public WeightedLongGenerator(long min, long max, long granularity, WeightFunction function) {
     super(Long.class, min, max, granularity);
     this.function = function;
-    this.randomizer = new Random();
+    this.randomizer = BeneratorFactory.getInstance().getRandomProvider().createRandom();
   }
 
   // properties ------------------------------------------------------------------------------------------------------
@@ -0,0 +1,40 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.NonNullGenerator;
+import com.rapiddweller.benerator.distribution.Sequence;
+import com.rapiddweller.benerator.wrapper.WrapperFactory;
+import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.common.NumberUtil;
+
+import static com.rapiddweller.common.NumberUtil.toDouble;
+import static com.rapiddweller.common.NumberUtil.toLong;
+
+/**
+ * {@link Sequence} implementation which provides each number of a range exactly once
+ * in a pseudo-random order, using a {@link PermutedLongGenerator}.
+ * In contrast to the 'shuffle' and 'bitreverse' sequences, the order looks random,
+ * and in contrast to unique 'random' sequences, no memory is needed for tracking used values.<br/><br/>
+ * Created: 27.03.2022 11:03:55
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PermutationSequence extends DetachedSequence {
+
+  @Override
+  public <T extends Number> NonNullGenerator<T> createNumberGenerator(
+      Class<T> numberType, T min, T max, T granularity, boolean unique) {
+    if (max == null) {
+      max = NumberUtil.maxValue(numberType);
+    }
+    NonNullGenerator<? extends Number> base;
+    if (BeanUtil.isIntegralNumberType(numberType)) {
+      base = new PermutedLongGenerator(toLong(min), toLong(max), toLong(granularity));
+    } else {
+      base = new PermutedDoubleGenerator(toDouble(min), toDouble(max), toDouble(granularity));
+    }
+    return WrapperFactory.asNonNullNumberGeneratorOfType(numberType, base, min, granularity);
+  }
+
+}
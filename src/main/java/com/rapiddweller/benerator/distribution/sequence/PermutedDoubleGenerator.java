@@ -0,0 +1,69 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.primitive.number.AbstractNonNullNumberGenerator;
+
+/**
+ * Generates each number of the range min..max (with the given granularity) exactly once
+ * in a pseudo-random order. It permutes the indices of the values with a {@link PermutedLongGenerator}.<br/><br/>
+ * Created: 27.03.2022 11:27:30
+ * @author Volker Bergmann
+ * @since 2.1.0
+ * @see PermutedLongGenerator
+ */
+public class PermutedDoubleGenerator extends AbstractNonNullNumberGenerator<Double> {
+
+  private final Long seed;
+  private PermutedLongGenerator indexGenerator;
+
+  public PermutedDoubleGenerator(double min, double max, double granularity) {
+    this(min, max, granularity, null);
+  }
+
+  public PermutedDoubleGenerator(double min, double max, double granularity, Long seed) {
+    super(Double.class, min, max, granularity);
+    this.seed = seed;
+  }
+
+  // Generator interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  public void init(GeneratorContext context) {
+    assertNotInitialized();
+    if (granularity <= 0) {
+      throw new InvalidGeneratorSetupException("Granularity must be greater than zero, but is " + granularity);
+    }
+    long maxIndex = (long) Math.min(Math.floor((max - min) / granularity + 1e-9), Long.MAX_VALUE - 1.);
+    indexGenerator = new PermutedLongGenerator(0, maxIndex, 1, seed);
+    indexGenerator.init(context);
+    super.init(context);
+  }
+
+  @Override
+  public Double generate() {
+    assertInitialized();
+    Long index = indexGenerator.generate();
+    return (index != null ? min + index * granularity : null);
+  }
+
+  @Override
+  public boolean isParallelizable() {
+    return false;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    indexGenerator.reset();
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    indexGenerator.close();
+  }
+
+}
@@ -0,0 +1,146 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.primitive.number.AbstractNonNullNumberGenerator;
+import com.rapiddweller.benerator.util.Permutation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates each number of the range min..max (with the given granularity) exactly once
+ * in a pseudo-random order, using a {@link Permutation}. It takes constant memory for any range size
+ * and each value can be calculated directly from its index with {@link #valueAt(long)}.
+ * Generation is lock-free and thread-safe. For parallel generation in separate processes or threads,
+ * the index range can be split into disjoint partitions with {@link #partition(int, int)}.
+ * If no seed is configured, it is taken from Benerator's random provider,
+ * so a configured random seed makes the order reproducible.
+ * Ranges of more than {@link Long#MAX_VALUE} values are cut at that size.<br/><br/>
+ * Created: 27.03.2022 10:12:08
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PermutedLongGenerator extends AbstractNonNullNumberGenerator<Long> {
+
+  private Long seed;
+  private long fromIndex;
+  private long toIndex; // exclusive, negative for the end of the range
+  private Permutation permutation;
+  private final AtomicLong cursor;
+
+  public PermutedLongGenerator() {
+    this(0, Long.MAX_VALUE);
+  }
+
+  public PermutedLongGenerator(long min, long max) {
+    this(min, max, 1);
+  }
+
+  public PermutedLongGenerator(long min, long max, long granularity) {
+    this(min, max, granularity, null);
+  }
+
+  public PermutedLongGenerator(long min, long max, long granularity, Long seed) {
+    super(Long.class, min, max, granularity);
+    this.seed = seed;
+    this.fromIndex = 0;
+    this.toIndex = -1;
+    this.cursor = new AtomicLong();
+  }
+
+  // config properties -----------------------------------------------------------------------------------------------
+
+  public Long getSeed() {
+    return seed;
+  }
+
+  public void setSeed(Long seed) {
+    this.seed = seed;
+  }
+
+  // Generator interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  public void init(GeneratorContext context) {
+    assertNotInitialized();
+    if (granularity <= 0) {
+      throw new InvalidGeneratorSetupException("Granularity must be greater than zero, but is " + granularity);
+    }
+    if (seed == null) {
+      seed = BeneratorFactory.getInstance().getRandomProvider().randomLong(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    permutation = new Permutation(rangeSize(), seed);
+    if (toIndex < 0) {
+      toIndex = permutation.size();
+    }
+    cursor.set(fromIndex);
+    super.init(context);
+  }
+
+  @Override
+  public Long generate() {
+    assertInitialized();
+    long index = cursor.getAndIncrement();
+    return (index < toIndex ? valueAt(index) : null);
+  }
+
+  /** Calculates the value at a given position of the generated sequence.
+   *  @param index a number between 0 (inclusive) and the size of the range (exclusive) */
+  public long valueAt(long index) {
+    return min + permutation.apply(index) * granularity;
+  }
+
+  /** Creates a generator which provides a disjoint part of this generator's values.
+   *  The partitions with index 0 to partitionCount - 1 together provide all values of this generator.
+   *  If this generator has no seed yet, it is determined here, so that the partitions share it. */
+  public PermutedLongGenerator partition(int partitionIndex, int partitionCount) {
+    if (partitionIndex < 0 || partitionIndex >= partitionCount) {
+      throw new InvalidGeneratorSetupException(
+          "Illegal partition " + partitionIndex + " of " + partitionCount + " partitions");
+    }
+    if (seed == null) {
+      seed = BeneratorFactory.getInstance().getRandomProvider().randomLong(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    long size = (toIndex >= 0 ? toIndex : rangeSize()) - fromIndex;
+    long chunk = size / partitionCount;
+    long remainder = size % partitionCount;
+    PermutedLongGenerator result = new PermutedLongGenerator(min, max, granularity, seed);
+    result.fromIndex = fromIndex + partitionIndex * chunk + Math.min(partitionIndex, remainder);
+    result.toIndex = result.fromIndex + chunk + (partitionIndex < remainder ? 1 : 0);
+    return result;
+  }
+
+  /** Multiple instances would repeat each other's values, so instances are shared between threads. */
+  @Override
+  public boolean isParallelizable() {
+    return false;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    cursor.set(fromIndex);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[min=" + min + ", max=" + max + ", granularity=" + granularity + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private long rangeSize() {
+    long steps;
+    try {
+      steps = Math.subtractExact(max, min) / granularity;
+    } catch (ArithmeticException e) {
+      // the range exceeds Long.MAX_VALUE, calculate in unsigned arithmetic
+      steps = Long.divideUnsigned(max - min, granularity);
+    }
+    return (steps >= 0 && steps < Long.MAX_VALUE ? steps + 1 : Long.MAX_VALUE);
+  }
+
+}
@@ -26,13 +26,13 @@
 
 package com.rapiddweller.benerator.distribution.sequence;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
 import com.rapiddweller.benerator.InvalidGeneratorSetupException;
 import com.rapiddweller.benerator.PropertyMessage;
+import com.rapiddweller.benerator.RandomProvider;
 import com.rapiddweller.benerator.primitive.number.AbstractNonNullNumberGenerator;
 
-import java.util.Random;
-
 /**
  * Creates random {@link Integer} values with a uniform distribution.<br/><br/>
  * Created at 24.06.2009 00:57:52
@@ -45,8 +45,6 @@ public class RandomIntegerGenerator extends AbstractNonNullNumberGenerator<Integ
   private static final int DEFAULT_MAX = Integer.MAX_VALUE / 2 - 1;
   private static final int DEFAULT_GRANULARITY = 1;
 
-  private static final Random random = new Random();
-
   // constructors ----------------------------------------------------------------------------------------------------
 
   public RandomIntegerGenerator() {
@@ -82,12 +80,13 @@ public static int generate(int min, int max, int granularity) {
     if (min > max) {
       throw new InvalidGeneratorSetupException(new PropertyMessage("min", "greater than max"));
     }
+    RandomProvider random = BeneratorFactory.getInstance().getRandomProvider(); // resolved on each call to apply a replaced provider
     int range = (max - min + granularity) / granularity;
     int result;
     if (range != 0) {
-      result = min + Math.abs(random.nextInt() % range) * granularity;
+      result = min + Math.abs(randomInt(random) % range) * granularity;
     } else {
-      result = random.nextInt() * granularity;
+      result = randomInt(random) * granularity;
     }
     if (result < min) {
       result += range;
@@ -95,4 +94,8 @@ public static int generate(int min, int max, int granularity) {
     return result;
   }
 
+  private static int randomInt(RandomProvider random) {
+    return (int) random.randomLong(Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
+
 }
@@ -36,6 +36,7 @@
 import com.rapiddweller.model.data.DescriptorProvider;
 import com.rapiddweller.model.data.TypeDescriptor;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map.Entry;
@@ -296,6 +297,13 @@ public void set(String key, Object value) {
     localContext.set(key, value);
   }
 
+  @Override
+  public void clearLocalVariables() {
+    for (String key : new ArrayList<>(localContext.keySet())) {
+      localContext.remove(key);
+    }
+  }
+
   @Override
   public Set<String> keySet() {
     Set<String> keySet = new HashSet<>(parent.keySet());
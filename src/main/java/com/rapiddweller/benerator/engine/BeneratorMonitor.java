@@ -27,6 +27,7 @@
 package com.rapiddweller.benerator.engine;
 
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.sensor.SensorMetrics;
 import com.rapiddweller.common.ThreadUtil;
 import com.rapiddweller.jdbacl.DBUtil;
 
@@ -35,6 +36,9 @@
 import javax.management.ObjectName;
 import java.io.Closeable;
 import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * MBean implementation for monitoring Benerator.<br/><br/>
@@ -67,30 +71,38 @@ public class BeneratorMonitor implements BeneratorMonitorMBean, Closeable {
     }
   }
 
-  private boolean active;
+  private volatile boolean active;
   long latestTimeStamp;
   long latestGenerationCount;
-  long totalGenerationCount;
-  int currentThroughput;
+  final LongAdder totalGenerationCount;
+  volatile int currentThroughput;
+  long latestBytesWritten;
+  final LongAdder totalBytesWritten;
+  volatile long currentByteThroughput;
+  private final Map<String, SensorMetrics> sensors;
 
   private BeneratorMonitor() {
     this.active = true;
     this.latestTimeStamp = 0;
     this.latestGenerationCount = 0;
-    this.totalGenerationCount = 0;
+    this.totalGenerationCount = new LongAdder();
     this.currentThroughput = 0;
+    this.latestBytesWritten = 0;
+    this.totalBytesWritten = new LongAdder();
+    this.currentByteThroughput = 0;
+    this.sensors = new ConcurrentSkipListMap<>();
     BeneratorMonitorThread monitorThread = new BeneratorMonitorThread();
     monitorThread.setDaemon(true);
     monitorThread.start();
   }
 
-  public synchronized void countGenerations(int newGenerations) {
-    totalGenerationCount += newGenerations;
+  public void countGenerations(int newGenerations) {
+    totalGenerationCount.add(newGenerations);
   }
 
   @Override
   public long getTotalGenerationCount() {
-    return totalGenerationCount;
+    return totalGenerationCount.sum();
   }
 
   @Override
@@ -99,7 +111,55 @@ public long getCurrentThroughput() {
   }
 
   public void setTotalGenerationCount(long totalGenerationCount) {
-    this.totalGenerationCount = totalGenerationCount;
+    this.totalGenerationCount.reset();
+    this.totalGenerationCount.add(totalGenerationCount);
+  }
+
+  public void countBytesWritten(long bytes) {
+    totalBytesWritten.add(bytes);
+  }
+
+  @Override
+  public long getTotalBytesWritten() {
+    return totalBytesWritten.sum();
+  }
+
+  @Override
+  public long getCurrentByteThroughput() {
+    return currentByteThroughput;
+  }
+
+  /** Provides the metrics of the named sensor, creating them if necessary. */
+  public SensorMetrics getSensorMetrics(String sensor) {
+    return sensors.computeIfAbsent(sensor, SensorMetrics::new);
+  }
+
+  @Override
+  public String[] getSensors() {
+    return sensors.keySet().toArray(new String[0]);
+  }
+
+  @Override
+  public String[] getSensorSummaries() {
+    return sensors.values().stream().map(SensorMetrics::summary).toArray(String[]::new);
+  }
+
+  @Override
+  public long sensorThroughput(String sensor) {
+    SensorMetrics metrics = sensors.get(sensor);
+    return (metrics != null ? metrics.currentThroughput() : 0);
+  }
+
+  @Override
+  public long sensorLatencyP50(String sensor) {
+    SensorMetrics metrics = sensors.get(sensor);
+    return (metrics != null ? metrics.latencyPercentileMicros(50) : 0);
+  }
+
+  @Override
+  public long sensorLatencyP99(String sensor) {
+    SensorMetrics metrics = sensors.get(sensor);
+    return (metrics != null ? metrics.latencyPercentileMicros(99) : 0);
   }
 
   @Override
@@ -126,8 +186,14 @@ public int getOpenPreparedStatementCount() {
   public void reset() {
     this.latestTimeStamp = 0;
     this.latestGenerationCount = 0;
-    this.totalGenerationCount = 0;
+    this.totalGenerationCount.reset();
     this.currentThroughput = 0;
+    this.latestBytesWritten = 0;
+    this.totalBytesWritten.reset();
+    this.currentByteThroughput = 0;
+    for (SensorMetrics metrics : sensors.values()) {
+      metrics.reset();
+    }
   }
 
   @Override
@@ -157,11 +223,18 @@ public void run() {
     }
 
     public void update() {
-      long currentGenerationCount = totalGenerationCount;
+      long currentGenerationCount = totalGenerationCount.sum();
+      long currentBytesWritten = totalBytesWritten.sum();
       long currentTime = System.nanoTime();
-      currentThroughput = (int) ((currentGenerationCount - latestGenerationCount) * 1000000000 / (currentTime - latestTimeStamp));
+      long dt = currentTime - latestTimeStamp;
+      currentThroughput = (int) ((currentGenerationCount - latestGenerationCount) * 1000000000 / dt);
+      currentByteThroughput = (currentBytesWritten - latestBytesWritten) * 1000000000 / dt;
       latestTimeStamp = currentTime;
       latestGenerationCount = currentGenerationCount;
+      latestBytesWritten = currentBytesWritten;
+      for (SensorMetrics metrics : sensors.values()) {
+        metrics.update(currentTime);
+      }
     }
   }
 
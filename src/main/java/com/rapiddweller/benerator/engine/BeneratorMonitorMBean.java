@@ -39,5 +39,12 @@ public interface BeneratorMonitorMBean {
   int getOpenResultSetCount();
   int getOpenStatementCount();
   int getOpenPreparedStatementCount();
+  long getTotalBytesWritten();
+  long getCurrentByteThroughput();
+  String[] getSensors();
+  String[] getSensorSummaries();
+  long sensorThroughput(String sensor);
+  long sensorLatencyP50(String sensor);
+  long sensorLatencyP99(String sensor);
   void reset();
 }
@@ -28,6 +28,8 @@
 
 import com.rapiddweller.common.StringUtil;
 
+import java.io.File;
+
 /**
  * Provides support for Benerator's system property settings.<br/><br/>
  * Created: 30.07.2010 18:25:01
@@ -38,8 +40,18 @@ public class BeneratorOpts {
 
   public static final String OPTS_VALIDATE = "benerator.validate";
   public static final String OPTS_CACHE_SIZE = "benerator.cacheSize";
+  public static final String OPTS_RANDOM_SEED = "benerator.randomSeed";
+  public static final String OPTS_DATASET_SNAPSHOTS = "benerator.datasetSnapshots";
+  public static final String OPTS_UNIQUE_HEAP_LIMIT = "benerator.uniqueHeapLimit";
+  public static final String OPTS_UNIQUE_SPILL_DIR = "benerator.uniqueSpillDir";
+  public static final String OPTS_CSV_READ_THREADS = "benerator.csvReadThreads";
+  public static final String OPTS_CSV_READ_ORDERED = "benerator.csvReadOrdered";
+  public static final String OPTS_KEY_MAPPER_OFF_HEAP_MB = "benerator.keyMapperOffHeapMB";
+  public static final String OPTS_KEY_MAPPER_SPILL_DIR = "benerator.keyMapperSpillDir";
 
   private static final int DEFAULT_CACHE_SIZE = 100000;
+  private static final int DEFAULT_UNIQUE_HEAP_LIMIT = 8000000;
+  private static final int DEFAULT_KEY_MAPPER_OFF_HEAP_MB = 512;
 
   private BeneratorOpts() {
     // private constructor to prevent instantiation
@@ -57,6 +69,48 @@ public static int getCacheSize() {
     return parseIntProperty(OPTS_CACHE_SIZE, DEFAULT_CACHE_SIZE);
   }
 
+  public static boolean isDatasetSnapshots() {
+    return !("false".equals(System.getProperty(OPTS_DATASET_SNAPSHOTS)));
+  }
+
+  /** @return the number of fingerprints a uniqueness filter keeps on the heap before it spills them to disk */
+  public static int getUniqueHeapLimit() {
+    return parseIntProperty(OPTS_UNIQUE_HEAP_LIMIT, DEFAULT_UNIQUE_HEAP_LIMIT);
+  }
+
+  /** @return the directory for spill files of uniqueness filters, or null for the system's temp directory */
+  public static File getUniqueSpillDirectory() {
+    String propertyValue = System.getProperty(OPTS_UNIQUE_SPILL_DIR);
+    return (StringUtil.isEmpty(propertyValue) ? null : new File(propertyValue));
+  }
+
+  /** @return the number of threads for parsing large local CSV files, 1 means serial reading */
+  public static int getCsvReadThreads() {
+    return parseIntProperty(OPTS_CSV_READ_THREADS, 1);
+  }
+
+  /** @return false if entities read in parallel from CSV files may be provided in a different order than in the file */
+  public static boolean isCsvReadOrdered() {
+    return !("false".equals(System.getProperty(OPTS_CSV_READ_ORDERED)));
+  }
+
+  /** @return the number of bytes an off-heap key mapper keeps in direct memory before it spills to disk */
+  public static long getKeyMapperOffHeapLimit() {
+    return parseIntProperty(OPTS_KEY_MAPPER_OFF_HEAP_MB, DEFAULT_KEY_MAPPER_OFF_HEAP_MB) * 1024L * 1024L;
+  }
+
+  /** @return the directory for spill files of off-heap key mappers, or null for the system's temp directory */
+  public static File getKeyMapperSpillDirectory() {
+    String propertyValue = System.getProperty(OPTS_KEY_MAPPER_SPILL_DIR);
+    return (StringUtil.isEmpty(propertyValue) ? null : new File(propertyValue));
+  }
+
+  /** @return the seed configured for random generation, or null if none was set */
+  public static Long getRandomSeed() {
+    String propertyValue = System.getProperty(OPTS_RANDOM_SEED);
+    return (StringUtil.isEmpty(propertyValue) ? null : Long.parseLong(propertyValue.trim()));
+  }
+
   private static int parseIntProperty(String propertyKey, int defaultValue) {
     String propertyValue = System.getProperty(propertyKey);
     return (StringUtil.isEmpty(propertyValue) ? defaultValue : Integer.parseInt(propertyValue));
@@ -25,4 +25,5 @@ public interface BeneratorRootContext extends BeneratorContext {
   void setDefaultImports(boolean defaultImports);
   void setDefaultOneToOne(boolean defaultOneToOne);
   void setAcceptUnknownSimpleTypes(boolean acceptUnknownSimpleTypes);
+  void setRandomSeed(long randomSeed);
 }
@@ -34,4 +34,6 @@
  */
 public interface BeneratorSubContext extends BeneratorContext {
   BeneratorContext getParent();
+  /** Removes the variables set in this context, so that it can be reused for the next product. */
+  void clearLocalVariables();
 }
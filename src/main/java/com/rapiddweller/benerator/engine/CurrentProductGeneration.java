@@ -49,6 +49,14 @@ public CurrentProductGeneration(String instanceName, Generator<?> source) {
     this.provider = new WrapperProvider<>();
   }
 
+  public String getInstanceName() {
+    return instanceName;
+  }
+
+  public Generator<?> getSource() {
+    return source;
+  }
+
   @Override
   public void init(BeneratorContext context) {
     source.init(context);
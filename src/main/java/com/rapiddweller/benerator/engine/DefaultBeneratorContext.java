@@ -367,6 +367,12 @@ public void setAcceptUnknownSimpleTypes(boolean acceptUnknownSimpleTypes) {
     dataModel.setAcceptUnknownPrimitives(acceptUnknownSimpleTypes);
   }
 
+  /** Reseeds the random provider, so that the following generations are reproducible. */
+  @Override
+  public void setRandomSeed(long randomSeed) {
+    BeneratorFactory.getInstance().getRandomProvider().setSeed(randomSeed);
+  }
+
   public static char getDefaultCellSeparator() {
     String tmp = System.getProperty(CELL_SEPARATOR_SYSPROP);
     if (tmp == null) {
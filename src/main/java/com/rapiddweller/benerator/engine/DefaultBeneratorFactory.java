@@ -42,7 +42,7 @@
 import com.rapiddweller.benerator.main.Benerator;
 import com.rapiddweller.benerator.primitive.DefaultVarLengthStringGenerator;
 import com.rapiddweller.benerator.primitive.VarLengthStringGenerator;
-import com.rapiddweller.benerator.util.DefaultRandomProvider;
+import com.rapiddweller.benerator.util.SplittableRandomProvider;
 import com.rapiddweller.common.ArrayBuilder;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Converter;
@@ -81,7 +81,7 @@ public class DefaultBeneratorFactory extends BeneratorFactory {
   private final List<XMLStatementParser> customParsers;
 
   public DefaultBeneratorFactory() {
-    this(new DefaultRandomProvider(), new DefaultXMLModule());
+    this(createDefaultRandomProvider(), new DefaultXMLModule());
   }
 
   public DefaultBeneratorFactory(RandomProvider randomProvider, XMLModule xmlModule) {
@@ -258,6 +258,13 @@ public void importDefaultClasses(BeneratorContext context) {
     Importer.importPlatformClasses(defaultCEPlatformNames(), true, context);
   }
 
+  /** Creates a {@link SplittableRandomProvider}, which uses the seed of the system property
+   *  {@link BeneratorOpts#OPTS_RANDOM_SEED} if it has been set. */
+  private static RandomProvider createDefaultRandomProvider() {
+    Long seed = BeneratorOpts.getRandomSeed();
+    return (seed != null ? new SplittableRandomProvider(seed) : new SplittableRandomProvider());
+  }
+
   private String[] defaultCEPlatformNames() {
     return new String[] { "csv", "db", "dbunit", "fixedwidth",
         "memstore", "result", "template", "xls", "xml" };
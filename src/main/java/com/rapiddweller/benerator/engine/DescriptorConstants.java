@@ -54,6 +54,7 @@ public class DescriptorConstants {
   public static final String ATT_DEFAULT_SOURCE_SCRIPTED = "defaultSourceScripted";
   public static final String ATT_ACCEPT_UNKNOWN_SIMPLE_TYPES = "acceptUnknownSimpleTypes";
   public static final String ATT_GENERATOR_FACTORY = "generatorFactory";
+  public static final String ATT_RANDOM_SEED = "randomSeed";
   public static final String ATT_DEFAULT_IMPORTS = "defaultImports";
 
   public static final String EL_IF = "if";
@@ -116,6 +117,8 @@ public class DescriptorConstants {
   public static final String ATT_NAME = "name";
   public static final String ATT_ON_ERROR = "onError";
   public static final String ATT_CONSUMER = "consumer";
+  public static final String ATT_CONSUMER_BUFFER = "consumerBuffer";
+  public static final String ATT_EXECUTION_POLICY = "executionPolicy";
   public static final String ATT_THREADS = "threads";
   public static final String ATT_PAGESIZE = "pageSize";
   public static final String ATT_PAGER = "pager";
@@ -123,6 +126,7 @@ public class DescriptorConstants {
   public static final String ATT_PORT = "port";
   public static final String ATT_DATABASE = "database";
   public static final String ATT_CLEAN = "clean";
+  public static final String ATT_WRITE_CONCERN = "writeConcern";
 
   public static final String ATT_COUNT = "count";
   public static final String ATT_MIN_COUNT = "minCount";
@@ -146,6 +150,10 @@ public class DescriptorConstants {
   public static final String ATT_ACC_UNK_COL_TYPES = "acceptUnknownColumnTypes";
   public static final String ATT_FETCH_SIZE = "fetchSize";
   public static final String ATT_BATCH = "batch";
+  public static final String ATT_BATCH_SIZE = "batchSize";
+  public static final String ATT_COMMIT_INTERVAL = "commitInterval";
+  public static final String ATT_READ_THREADS = "readThreads";
+  public static final String ATT_READ_ORDERED = "readOrdered";
   public static final String ATT_META_CACHE = "metaCache";
   public static final String ATT_CATALOG = "catalog";
   public static final String ATT_SCHEMA = "schema";
@@ -202,13 +210,15 @@ public class DescriptorConstants {
 
   public static final String ATT_DEFAULT_SOURCE = "defaultSource";
   public static final String ATT_IDENTITY = "identity";
+  public static final String ATT_KEY_MAPPER = "keyMapper";
 
   public static final String ATT_NAMESPACE_AWARE = "namespaceAware";
   public static final String ATT_INPUT_URI = "inputUri";
   public static final String ATT_OUTPUT_URI = "outputUri";
 
   public static final Collection<String> CREATE_ENTITIES_EXT_SETUP = Collections.unmodifiableSet(
-      CollectionUtil.toSet(ATT_PAGESIZE, ATT_THREADS, ATT_SENSOR, ATT_CONSUMER, ATT_ON_ERROR));
+      CollectionUtil.toSet(ATT_PAGESIZE, ATT_THREADS, ATT_SENSOR, ATT_CONSUMER, ATT_CONSUMER_BUFFER,
+          ATT_EXECUTION_POLICY, ATT_ON_ERROR));
 
   public static final Collection<String> COMPONENT_TYPES = Collections.unmodifiableSet(
       CollectionUtil.toSet(EL_ATTRIBUTE, EL_ID, EL_REFERENCE, EL_PART));
@@ -0,0 +1,156 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Decides how a task behaves towards the thread scheduler between the creation of two products.
+ * The policy is called by the executing thread after each product with the number of products
+ * created so far by this thread. Implementations are stateless and thus can be shared between threads.
+ * Supported specifications are:
+ * <ul>
+ *   <li>'tight': runs in a tight loop without scheduler hints (the default)</li>
+ *   <li>'yield' or 'yield:&lt;n&gt;': calls {@link Thread#yield()} after each n products (default: 1000)</li>
+ *   <li>'virtual' or 'virtual:&lt;n&gt;': yields after each n products (default: 1000)
+ *       only when running on a virtual thread, which is not preempted by the scheduler</li>
+ * </ul>
+ * Created: 23.03.2022 14:12:40
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public interface ExecutionPolicy {
+
+  int DEFAULT_YIELD_INTERVAL = 1000;
+
+  ExecutionPolicy TIGHT = new TightLoop();
+
+  void afterExecution(long executionCount);
+
+  static ExecutionPolicy parse(String spec) {
+    if (spec == null || spec.isBlank()) {
+      return TIGHT;
+    }
+    String[] tokens = spec.trim().split(":", 2);
+    String name = tokens[0].trim();
+    int interval = DEFAULT_YIELD_INTERVAL;
+    if (tokens.length == 2) {
+      try {
+        interval = Integer.parseInt(tokens[1].trim());
+      } catch (NumberFormatException e) {
+        throw BeneratorExceptionFactory.getInstance().syntaxErrorForText("Illegal yield interval", spec);
+      }
+      if (interval <= 0) {
+        throw BeneratorExceptionFactory.getInstance().syntaxErrorForText("Yield interval must be positive", spec);
+      }
+    }
+    switch (name) {
+      case "tight":
+        if (tokens.length == 2) {
+          throw BeneratorExceptionFactory.getInstance().syntaxErrorForText("'tight' does not take an interval", spec);
+        }
+        return TIGHT;
+      case "yield":
+        return new CooperativeYield(interval);
+      case "virtual":
+        return new VirtualThreadFriendly(interval);
+      default:
+        throw BeneratorExceptionFactory.getInstance().syntaxErrorForText("Unknown execution policy", spec);
+    }
+  }
+
+
+  // implementations -------------------------------------------------------------------------------------------------
+
+  /** Runs without any scheduler hints, leaving preemption to the operating system. */
+  final class TightLoop implements ExecutionPolicy {
+
+    @Override
+    public void afterExecution(long executionCount) {
+      // nothing to do
+    }
+
+    @Override
+    public String toString() {
+      return "tight";
+    }
+  }
+
+  /** Calls {@link Thread#yield()} after each n products. */
+  class CooperativeYield implements ExecutionPolicy {
+
+    protected final int interval;
+
+    public CooperativeYield(int interval) {
+      if (interval <= 0) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument("Yield interval must be positive: " + interval);
+      }
+      this.interval = interval;
+    }
+
+    public int getInterval() {
+      return interval;
+    }
+
+    @Override
+    public void afterExecution(long executionCount) {
+      if (executionCount % interval == 0) {
+        Thread.yield();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "yield:" + interval;
+    }
+  }
+
+  /** Yields after each n products on virtual threads, which are only unmounted from their carrier thread
+   *  on blocking calls or yields, so that long-running CPU-bound generation would starve other virtual threads.
+   *  Platform threads are preempted by the operating system and run without scheduler hints. */
+  final class VirtualThreadFriendly extends CooperativeYield {
+
+    private static final MethodHandle IS_VIRTUAL = lookupIsVirtual();
+
+    public VirtualThreadFriendly(int interval) {
+      super(interval);
+    }
+
+    @Override
+    public void afterExecution(long executionCount) {
+      if (executionCount % interval == 0 && isVirtual(Thread.currentThread())) {
+        Thread.yield();
+      }
+    }
+
+    /** Tells if the thread is a virtual thread. This always returns false on Java versions before 21. */
+    public static boolean isVirtual(Thread thread) {
+      if (IS_VIRTUAL == null) {
+        return false;
+      }
+      try {
+        return (boolean) IS_VIRTUAL.invokeExact(thread);
+      } catch (Throwable e) {
+        return false;
+      }
+    }
+
+    private static MethodHandle lookupIsVirtual() {
+      try {
+        return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        return null; // Java version without virtual threads
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "virtual:" + interval;
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine.parser.attr;
+
+import com.rapiddweller.benerator.engine.parser.string.ScriptableParser;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.parser.NonNegativeIntegerParser;
+import com.rapiddweller.format.xml.AttrInfo;
+
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_CONSUMER_BUFFER;
+
+/**
+ * {@link AttrInfo} for the size of the buffer used for asynchronous consumption,
+ * 0 meaning synchronous consumption.<br/><br/>
+ * Created: 19.03.2022 10:22:05
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ConsumerBufferAttribute extends AttrInfo<Expression<Integer>> {
+  public ConsumerBufferAttribute(String errorId) {
+    super(ATT_CONSUMER_BUFFER, false, errorId, new ScriptableParser<>(new NonNegativeIntegerParser()), "0");
+  }
+}
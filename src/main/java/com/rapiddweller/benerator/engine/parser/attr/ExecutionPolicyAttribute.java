@@ -0,0 +1,21 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine.parser.attr;
+
+import com.rapiddweller.benerator.engine.ExecutionPolicy;
+import com.rapiddweller.benerator.engine.parser.string.ExecutionPolicyParser;
+import com.rapiddweller.format.xml.AttrInfo;
+
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_EXECUTION_POLICY;
+
+/**
+ * {@link AttrInfo} for the {@link ExecutionPolicy} of a task.<br/><br/>
+ * Created: 23.03.2022 14:38:51
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ExecutionPolicyAttribute extends AttrInfo<ExecutionPolicy> {
+  public ExecutionPolicyAttribute(String errorId) {
+    super(ATT_EXECUTION_POLICY, false, errorId, new ExecutionPolicyParser(), "tight");
+  }
+}
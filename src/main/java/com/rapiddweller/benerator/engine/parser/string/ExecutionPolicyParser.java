@@ -0,0 +1,25 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine.parser.string;
+
+import com.rapiddweller.benerator.engine.ExecutionPolicy;
+import com.rapiddweller.common.parser.AbstractTypedParser;
+
+/**
+ * Parses {@link ExecutionPolicy} specifications like 'tight', 'yield:100' or 'virtual'.<br/><br/>
+ * Created: 23.03.2022 14:35:08
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ExecutionPolicyParser extends AbstractTypedParser<ExecutionPolicy> {
+
+  public ExecutionPolicyParser() {
+    super("execution policy", ExecutionPolicy.class);
+  }
+
+  @Override
+  protected ExecutionPolicy parseImpl(String spec) {
+    return ExecutionPolicy.parse(spec);
+  }
+
+}
@@ -38,9 +38,11 @@
 import com.rapiddweller.benerator.engine.expression.xml.XMLConsumerExpression;
 import com.rapiddweller.benerator.engine.parser.GenerationInterceptor;
 import com.rapiddweller.benerator.engine.parser.attr.ConsumerAttribute;
+import com.rapiddweller.benerator.engine.parser.attr.ConsumerBufferAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.CountAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.CountDistributionAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.CountGranularityAttribute;
+import com.rapiddweller.benerator.engine.parser.attr.ExecutionPolicyAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.ErrorHandlerAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.MinMaxCountAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.NameAttribute;
@@ -125,6 +127,8 @@ public abstract class AbstractGenIterParser extends AbstractBeneratorDescriptorP
   protected final ErrorHandlerAttribute onErrorAttr = new ErrorHandlerAttribute(null);
   protected final AttrInfo<String> templateAttr = new AttrInfo<>(ATT_TEMPLATE, false, null, null, null);
   protected final ConsumerAttribute consumerAttr = new ConsumerAttribute(null);
+  protected final ConsumerBufferAttribute consumerBufferAttr = new ConsumerBufferAttribute(null);
+  protected final ExecutionPolicyAttribute executionPolicyAttr = new ExecutionPolicyAttribute(null);
   protected final AttrInfo<String> scopeAttr = new AttrInfo<>(ATT_SCOPE, false, null, null, null);
 
   protected final AttrInfo<String> validatorAttr = new AttrInfo<>(ATT_VALIDATOR, false, SYN_GENERATE_VALIDATOR, null, null);
@@ -196,6 +200,16 @@ public GenIterStatement parseGenerate(Element element, Element[] parentXmlPath,
     InstanceDescriptor descriptor = elementToInstanceDesciptorParser.parse(element, context);
     GenIterTask task = parseTask(element, parentXmlPath, statementPath, parsingContext, descriptor, infoLog, context, childContext);
     statement.setTask(task);
+
+    // provide equivalent tasks for multithreaded execution
+    statement.setWorkerTaskSource(new DynamicExpression<>() {
+      @Override
+      public GenIterTask evaluate(Context workerContext) {
+        InstanceDescriptor workerDescriptor = elementToInstanceDesciptorParser.parse(element, context);
+        return parseTask(element, parentXmlPath, statementPath, parsingContext, workerDescriptor, false,
+            context, (BeneratorContext) workerContext);
+      }
+    });
     return statement;
   }
 
@@ -354,6 +368,8 @@ private GenIterTask parseTask(
     boolean consumerExpected = CONSUMER_EXPECTING_ELEMENTS.contains(element.getNodeName());
     Expression consumer = parseConsumers(element, consumerExpected, task.getResourceManager());
     task.setConsumer(consumer);
+    task.setConsumerBufferSize(consumerBufferAttr.parse(element));
+    task.setExecutionPolicy(executionPolicyAttr.parse(element));
 
     return task;
   }
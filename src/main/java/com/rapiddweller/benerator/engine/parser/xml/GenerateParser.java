@@ -42,6 +42,8 @@ public GenerateParser() {
     this.onErrorAttr.setErrorId(SYN_GENERATE_ON_ERROR);
     this.templateAttr.setErrorId(SYN_GENERATE_TEMPLATE);
     this.consumerAttr.setErrorId(SYN_GENERATE_CONSUMER);
+    this.consumerBufferAttr.setErrorId(SYN_GENERATE_CONSUMER_BUFFER);
+    this.executionPolicyAttr.setErrorId(SYN_GENERATE_EXECUTION_POLICY);
     this.scopeAttr.setErrorId(SYN_GENERATE_SCOPE);
 
     this.validatorAttr.setErrorId(SYN_GENERATE_VALIDATOR);
@@ -55,7 +57,8 @@ public GenerateParser() {
     this.attrSupport = new AttrInfoSupport(SYN_GENERATE_ILLEGAL_ATTR, new GenerateValidator(),
         nameAttr, typeAttr, GENERATOR,
         countAttr, minCountAttr, maxCountAttr, countGranularityAttr, countDistributionAttr,
-        threadsAttr, pagesizeAttr, statsAttr, onErrorAttr, templateAttr, consumerAttr, scopeAttr,
+        threadsAttr, pagesizeAttr, statsAttr, onErrorAttr, templateAttr, consumerAttr, consumerBufferAttr,
+        executionPolicyAttr, scopeAttr,
         validatorAttr, converterAttr, nullQuotaAttr, uniqueAttr, distributionAttr,
         cyclicAttr, offsetAttr, sensorAttr);
   }
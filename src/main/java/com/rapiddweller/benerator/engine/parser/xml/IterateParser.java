@@ -61,6 +61,8 @@ public IterateParser() {
     this.onErrorAttr.setErrorId(SYN_ITERATE_ON_ERROR);
     this.templateAttr.setErrorId(SYN_ITERATE_TEMPLATE);
     this.consumerAttr.setErrorId(SYN_ITERATE_CONSUMER);
+    this.consumerBufferAttr.setErrorId(SYN_ITERATE_CONSUMER_BUFFER);
+    this.executionPolicyAttr.setErrorId(SYN_ITERATE_EXECUTION_POLICY);
     this.scopeAttr.setErrorId(SYN_ITERATE_SCOPE);
 
     this.validatorAttr.setErrorId(SYN_ITERATE_VALIDATOR);
@@ -74,7 +76,8 @@ public IterateParser() {
     this.attrSupport = new AttrInfoSupport(BeneratorErrorIds.SYN_ITERATE_ILLEGAL_ATTR,
         nameAttr, typeAttr, SOURCE,
         countAttr, minCountAttr, maxCountAttr, countGranularityAttr, countDistributionAttr,
-        threadsAttr, pagesizeAttr, onErrorAttr, statsAttr, templateAttr, consumerAttr, scopeAttr,
+        threadsAttr, pagesizeAttr, onErrorAttr, statsAttr, templateAttr, consumerAttr, consumerBufferAttr,
+        executionPolicyAttr, scopeAttr,
         validatorAttr, converterAttr, nullQuotaAttr, uniqueAttr, distributionAttr, cyclicAttr, offsetAttr, sensorAttr,
         DATASET, NESTING, LOCALE, ENCODING, SEPARATOR, FORMAT, SOURCE_SCRIPTED,
         SEGMENT, ROW_BASED, EMPTY_MARKER, SELECTOR, SUB_SELECTOR, FILTER);
@@ -63,9 +63,18 @@ public class MongoDBParser extends AbstractBeneratorDescriptorParser {
             ATT_CLEAN, false, SYN_SYSTEM_STORAGE_ATTR,
             new ScriptableParser<>(new BooleanParser()), "true");
 
+    private static final AttrInfo<Expression<Integer>> BATCH_SIZE_ATT_INFO = new AttrInfo<>(
+            ATT_BATCH_SIZE, false, SYN_SYSTEM_STORAGE_ATTR,
+            new ScriptableParser<>(new PositiveIntegerParser()), null);
+
+    private static final AttrInfo<Expression<String>> WRITE_CONCERN_ATT_INFO = new AttrInfo<>(
+            ATT_WRITE_CONCERN, false, SYN_SYSTEM_STORAGE_ATTR,
+            new ScriptableParser<>(new StringParser("mongodb write concern")), null);
+
     private static final AttrInfoSupport ATTR_INFO_SUPPORT =
             new AttrInfoSupport(SYN_SYSTEM_STORAGE_ATTR, ID_ATT_INFO, ENVIRONMENT_ATT_INFO, SYSTEM_ATT_INFO,
-                    HOST_ATT_INFO, PORT_ATT_INFO, DATABASE_ATT_INFO, USER_ATT_INFO, PASSWORD_ATT_INFO, CLEAN_ATT_INFO);
+                    HOST_ATT_INFO, PORT_ATT_INFO, DATABASE_ATT_INFO, USER_ATT_INFO, PASSWORD_ATT_INFO, CLEAN_ATT_INFO,
+                    BATCH_SIZE_ATT_INFO, WRITE_CONCERN_ATT_INFO);
 
     protected MongoDBParser() {
         super(EL_MONGO_DB, ATTR_INFO_SUPPORT, BeneratorRootStatement.class, IfStatement.class);
@@ -82,8 +91,10 @@ public Statement doParse(Element element, Element[] parentXmlPath, Statement[] p
         Expression<String> user = parseScriptableStringAttribute(ATT_USER, element);
         Expression<String> password = parseScriptableStringAttribute(ATT_PASSWORD, element);
         Expression<Boolean> clean = parseBooleanExpressionAttribute(ATT_CLEAN, element);
+        Expression<Integer> batchSize = BATCH_SIZE_ATT_INFO.parse(element);
+        Expression<String> writeConcern = WRITE_CONCERN_ATT_INFO.parse(element);
         return new MongoDBStatement(id, environment, system, host, port, database, user, password, clean,
-                context.getResourceManager());
+                batchSize, writeConcern, context.getResourceManager());
     }
 
 }
@@ -119,6 +119,9 @@ public class SetupParser extends AbstractBeneratorDescriptorParser {
   protected static final AttrInfo<String> GENERATOR_FACTORY = new AttrInfo<>(
       ATT_GENERATOR_FACTORY, false, SYN_SETUP_GENERATOR_FACTORY, new FullyQualifiedClassNameParser(true));
 
+  protected static final AttrInfo<Long> RANDOM_SEED = new AttrInfo<>(
+      ATT_RANDOM_SEED, false, SYN_SETUP_RANDOM_SEED, new SeedParser());
+
   protected static final AttrInfoSupport ATTR_SUPPORT;
 
   static {
@@ -126,7 +129,7 @@ public class SetupParser extends AbstractBeneratorDescriptorParser {
         COUNT, DEFAULT_SCRIPT, DEFAULT_NULL, DEFAULT_ENCODING, DEFAULT_LINE_SEPARATOR,
         DEFAULT_LOCALE, DEFAULT_DATASET, DEFAULT_PAGE_SIZE, DEFAULT_SEPARATOR, DEFAULT_ONE_TO_ONE,
         DEFAULT_ERR_HANDLER, DEFAULT_IMPORTS, DEFAULT_SOURCE_SCRIPTED, ACCEPT_UNKNOWN_SIMPLE_TYPES,
-        GENERATOR_FACTORY);
+        GENERATOR_FACTORY, RANDOM_SEED);
   }
 
   public SetupParser() {
@@ -187,4 +190,16 @@ protected String parseImpl(String spec) {
       return spec;
     }
   }
+
+  static class SeedParser extends AbstractParser<Long> {
+
+    protected SeedParser() {
+      super("random seed");
+    }
+
+    @Override
+    protected Long parseImpl(String spec) {
+      return Long.parseLong(spec.trim());
+    }
+  }
 }
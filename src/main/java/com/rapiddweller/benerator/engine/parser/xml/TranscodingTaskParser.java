@@ -59,6 +59,7 @@ public class TranscodingTaskParser extends AbstractTranscodeParser {
     ATTR_INFO.add(ATT_DEFAULT_SOURCE, false, BeneratorErrorIds.SYN_TRANSCODING_TASK_DEFAULT_SOURCE);
     ATTR_INFO.add(ATT_PAGESIZE, false, BeneratorErrorIds.SYN_TRANSCODING_TASK_PAGE_SIZE);
     ATTR_INFO.add(ATT_ON_ERROR, false, BeneratorErrorIds.SYN_TRANSCODING_TASK_ON_ERROR);
+    ATTR_INFO.add(ATT_KEY_MAPPER, false, BeneratorErrorIds.SYN_TRANSCODING_TASK_KEY_MAPPER);
   }
 
   public TranscodingTaskParser() {
@@ -73,7 +74,8 @@ public Statement doParse(Element element, Element[] parentXmlPath, Statement[] p
         parseTarget(element),
         parseIdentity(element),
         parsePageSize(element),
-        errorHandlerExpression);
+        errorHandlerExpression,
+        parseKeyMapper(element));
     Element[] subXmlPath = ArrayUtil.append(element, parentXmlPath);
     Statement[] subComponentPath = parsingContext.createSubPath(parentComponentPath, statement);
     statement.setSubStatements(parsingContext.parseChildElementsOf(element, subXmlPath, subComponentPath));
@@ -84,6 +86,10 @@ private static Expression<String> parseIdentity(Element element) {
     return parseScriptableStringAttribute("identity", element);
   }
 
+  private static Expression<String> parseKeyMapper(Element element) {
+    return parseScriptableStringAttribute(ATT_KEY_MAPPER, element);
+  }
+
   @SuppressWarnings("unchecked")
   protected Expression<AbstractDBSystem> parseDefaultSource(Element element) {
     return (Expression<AbstractDBSystem>) parseScriptAttribute("defaultSource", element);
@@ -26,7 +26,9 @@
 
 package com.rapiddweller.benerator.engine.statement;
 
+import com.rapiddweller.benerator.Consumer;
 import com.rapiddweller.benerator.Generator;
+import com.rapiddweller.benerator.consumer.SynchronizedConsumerProxy;
 import com.rapiddweller.benerator.engine.BeneratorContext;
 import com.rapiddweller.benerator.engine.BeneratorMonitor;
 import com.rapiddweller.benerator.engine.Statement;
@@ -43,6 +45,7 @@
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.stat.CounterRepository;
 import com.rapiddweller.task.PageListener;
+import com.rapiddweller.task.ParallelTaskExecutor;
 import com.rapiddweller.task.TaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,6 +88,7 @@ public class GenIterStatement extends AbstractStatement implements Closeable, Pa
   // mutable attributes ------------------------------------------------------------------------------------------------
 
   protected GenIterTask task;
+  protected Expression<GenIterTask> workerTaskSource;
   protected PageListener pageListener;
 
   // constructor -------------------------------------------------------------------------------------------------------
@@ -130,12 +134,19 @@ public boolean isIterate() {
 
   public void setTask(GenIterTask task) {
     this.task = task;
+    task.setSensor(sensor);
   }
 
   public GenIterTask getTask() {
     return task;
   }
 
+  /** Sets an {@link Expression} which creates a new equivalent of the {@link #task}
+   *  for the context it is evaluated with. This is required for multithreaded execution. */
+  public void setWorkerTaskSource(Expression<GenIterTask> workerTaskSource) {
+    this.workerTaskSource = workerTaskSource;
+  }
+
   public BeneratorContext getContext() {
     return context;
   }
@@ -235,8 +246,60 @@ protected boolean beInitialized(BeneratorContext context) {
 
   protected void executeTask(Long reqExecutions, Long minExecutions, Long pageSizeValue,
                              List<PageListener> pageListeners, ErrorHandler errorHandler) {
-    TaskExecutor.execute(task, childContext, reqExecutions, minExecutions,
-        pageListeners, pageSizeValue, false, errorHandler, infoLog);
+    int threadCount = evaluateThreadCount();
+    if (threadCount > 1 && isParallelizable()) {
+      executeInParallel(threadCount, reqExecutions, minExecutions, pageSizeValue, pageListeners, errorHandler);
+    } else {
+      TaskExecutor.execute(task, childContext, reqExecutions, minExecutions,
+          pageListeners, pageSizeValue, false, errorHandler, infoLog);
+    }
+    task.awaitConsumption(errorHandler);
+  }
+
+  private int evaluateThreadCount() {
+    Integer threadCount = (threads != null ? threads.evaluate(childContext) : null);
+    return (threadCount != null ? threadCount : 1);
+  }
+
+  private boolean isParallelizable() {
+    String reason = null;
+    if (isSubCreator) {
+      reason = "it is nested in another generation";
+    } else if (workerTaskSource == null) {
+      reason = "it does not support worker creation";
+    } else if (!task.isParallelizable()) {
+      reason = "it has sub generations or non-parallelizable generation steps";
+    }
+    if (reason != null) {
+      logger.info("Running '{}' in a single thread, since {}", sensor, reason);
+    }
+    return (reason == null);
+  }
+
+  /** Runs one worker task in each thread, each with an own sub context and its share of the requested count.
+   *  All workers feed their products into a synchronized proxy of the task's consumer. */
+  private void executeInParallel(int threadCount, Long reqExecutions, Long minExecutions, Long pageSizeValue,
+                                 List<PageListener> pageListeners, ErrorHandler errorHandler) {
+    Consumer consumer = task.getConsumer();
+    Consumer funnel = (consumer != null ? new SynchronizedConsumerProxy(consumer) : null);
+    List<GenIterTask> workers = new ArrayList<>(threadCount);
+    List<BeneratorContext> workerContexts = new ArrayList<>(threadCount);
+    try {
+      for (int i = 0; i < threadCount; i++) {
+        BeneratorContext workerContext = context.createSubContext(productName).createSubContext(productName);
+        GenIterTask worker = workerTaskSource.evaluate(workerContext);
+        worker.configureAsWorker(task, funnel);
+        worker.init(workerContext);
+        workers.add(worker);
+        workerContexts.add(workerContext);
+      }
+      ParallelTaskExecutor.execute(workers, workerContexts, reqExecutions, minExecutions,
+          pageListeners, pageSizeValue, errorHandler, infoLog);
+    } finally {
+      for (GenIterTask worker : workers) {
+        worker.close();
+      }
+    }
   }
 
   private void logPerformance(int dt, long dc) {
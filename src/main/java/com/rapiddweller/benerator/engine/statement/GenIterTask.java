@@ -26,30 +26,43 @@
 
 package com.rapiddweller.benerator.engine.statement;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.Consumer;
+import com.rapiddweller.benerator.Generator;
 import com.rapiddweller.benerator.composite.ComponentBuilder;
+import com.rapiddweller.benerator.consumer.AsyncConsumerProxy;
 import com.rapiddweller.benerator.consumer.ConsumerChain;
 import com.rapiddweller.benerator.engine.BeneratorContext;
 import com.rapiddweller.benerator.engine.BeneratorMonitor;
 import com.rapiddweller.benerator.engine.CurrentProductGeneration;
+import com.rapiddweller.benerator.engine.ExecutionPolicy;
 import com.rapiddweller.benerator.engine.LifeCycleHolder;
 import com.rapiddweller.benerator.engine.ResourceManager;
 import com.rapiddweller.benerator.engine.ResourceManagerSupport;
 import com.rapiddweller.benerator.engine.ScopedLifeCycleHolder;
 import com.rapiddweller.benerator.engine.Statement;
 import com.rapiddweller.benerator.engine.StatementUtil;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.sensor.SensorMetrics;
+import com.rapiddweller.benerator.wrapper.NonClosingGeneratorProxy;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import com.rapiddweller.benerator.wrapper.SynchronizedGeneratorProxy;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.ErrorHandler;
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.MessageHolder;
 import com.rapiddweller.common.Resettable;
 import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.ThreadAware;
+import com.rapiddweller.script.expression.ConstantExpression;
 import com.rapiddweller.script.expression.ExpressionUtil;
 import com.rapiddweller.task.PageListener;
 import com.rapiddweller.task.Task;
 import com.rapiddweller.task.TaskResult;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.List;
@@ -62,6 +75,8 @@
  */
 public class GenIterTask implements Task, PageListener, ResourceManager, MessageHolder {
 
+  private static final Logger logger = LoggerFactory.getLogger(GenIterTask.class);
+
   // attributes --------------------------------------------------------------------------------------------------------
 
   private final String taskName;
@@ -72,9 +87,16 @@ public class GenIterTask implements Task, PageListener, ResourceManager, Message
   protected List<Statement> statements;
   private final List<ScopedLifeCycleHolder> scopes;
   private Expression<Consumer> consumerExpr;
+  private Expression<Integer> consumerBufferSizeExpr;
+  private int consumerBufferSize;
   private final AtomicBoolean initialized;
   private Consumer consumer;
+  private Generator<?> synchronizedProductSource;
   private String message;
+  private SensorMetrics sensorMetrics;
+  private ExecutionPolicy executionPolicy;
+  private long executionCount;
+  private Runnable randomStreamBinding;
 
 
   // constructor -------------------------------------------------------------------------------------------------------
@@ -86,6 +108,9 @@ public GenIterTask(String taskName, String productName) {
     this.initialized = new AtomicBoolean(false);
     this.statements = new ArrayList<>();
     this.scopes = new ArrayList<>();
+    this.consumerBufferSize = 0;
+    this.executionPolicy = ExecutionPolicy.TIGHT;
+    this.executionCount = 0;
   }
 
 
@@ -102,6 +127,12 @@ public void setStatements(List<Statement> statements) {
     }
   }
 
+  /** Sets the name of the sensor under which the latency and throughput of product creation
+   *  are reported to the {@link BeneratorMonitor}. */
+  public void setSensor(String sensor) {
+    this.sensorMetrics = (sensor != null ? BeneratorMonitor.INSTANCE.getSensorMetrics(sensor) : null);
+  }
+
   public ResourceManager getResourceManager() {
     return resourceManager;
   }
@@ -114,11 +145,81 @@ public Consumer getConsumer() {
     return consumer;
   }
 
+  /** Sets the size of the buffer for asynchronous consumption, see {@link AsyncConsumerProxy}.
+   *  The expression is evaluated in {@link #init(BeneratorContext)}, a null or 0 value means synchronous consumption.
+   *  This method must be called before {@link #init(BeneratorContext)}. */
+  public void setConsumerBufferSize(Expression<Integer> consumerBufferSizeExpr) {
+    this.consumerBufferSizeExpr = consumerBufferSizeExpr;
+  }
+
+  /** Sets the policy for cooperating with the thread scheduler between two products,
+   *  see {@link ExecutionPolicy}. */
+  public void setExecutionPolicy(ExecutionPolicy executionPolicy) {
+    this.executionPolicy = (executionPolicy != null ? executionPolicy : ExecutionPolicy.TIGHT);
+  }
+
+  public ExecutionPolicy getExecutionPolicy() {
+    return executionPolicy;
+  }
+
+  /** Waits until all products have been consumed, if asynchronous consumption is used,
+   *  and reports consumption failures to the errorHandler. */
+  public void awaitConsumption(ErrorHandler errorHandler) {
+    if (consumer instanceof AsyncConsumerProxy) {
+      ((AsyncConsumerProxy) consumer).awaitConsumption(errorHandler);
+    }
+  }
+
+  /** Prepares this task for running as one of several parallel workers of an equivalent master task
+   *  which has already been initialized. Products are sent to the given thread-safe consumer
+   *  instead of the task's own one. Thread-safe statements of the master are shared by all workers,
+   *  parallelizable ones are kept as worker-specific instances. The master's product source
+   *  is shared too, if it is thread-safe or not parallelizable (using synchronization in the latter case).
+   *  The worker derives its random stream here and binds it to the thread which executes it,
+   *  so workers which are configured in the same order draw the same random values in each run.
+   *  This method must be called before {@link #init(BeneratorContext)}. */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void configureAsWorker(GenIterTask master, Consumer consumer) {
+    this.consumerExpr = new ConstantExpression<>(consumer);
+    this.consumerBufferSizeExpr = null; // buffering is done by the master's consumer
+    this.sensorMetrics = master.sensorMetrics;
+    this.executionPolicy = master.executionPolicy;
+    this.randomStreamBinding = BeneratorFactory.getInstance().getRandomProvider().workerStreamBinding();
+    List<Statement> masterStatements = new ArrayList<>(master.statements.size());
+    for (Statement statement : master.statements) {
+      if (!(statement instanceof ConsumptionStatement)) {
+        masterStatements.add(statement);
+      }
+    }
+    if (masterStatements.size() != statements.size()) {
+      throw BeneratorExceptionFactory.getInstance().programmerStateError(
+          "Worker task " + this + " does not match its master " + master);
+    }
+    for (int i = 0; i < statements.size(); i++) {
+      Statement masterStatement = StatementUtil.getRealStatement(masterStatements.get(i), master.context);
+      if (masterStatement instanceof CurrentProductGeneration) {
+        CurrentProductGeneration masterGeneration = (CurrentProductGeneration) masterStatement;
+        Generator<?> source = masterGeneration.getSource();
+        if (source.isThreadSafe() || !source.isParallelizable()) {
+          Generator<?> sharedSource = new NonClosingGeneratorProxy(master.getSynchronizedProductSource());
+          statements.set(i, new CurrentProductGeneration(masterGeneration.getInstanceName(), sharedSource));
+        }
+      } else if (masterStatement instanceof ThreadAware && ((ThreadAware) masterStatement).isThreadSafe()) {
+        statements.set(i, new SharedStatement(masterStatement));
+      }
+    }
+  }
+
   public void init(BeneratorContext context) {
     synchronized (initialized) {
       if (!initialized.get()) {
         this.context = context;
         this.consumer = ExpressionUtil.evaluate(consumerExpr, context);
+        Integer bufferSize = ExpressionUtil.evaluate(consumerBufferSizeExpr, context);
+        this.consumerBufferSize = (bufferSize != null ? bufferSize : 0);
+        if (consumerBufferSize > 0 && consumersExist()) {
+          this.consumer = createAsyncConsumer(context);
+        }
         resourceManager.addResource(consumer);
         if (consumersExist()) {
           injectConsumptionStart();
@@ -151,9 +252,25 @@ public boolean isThreadSafe() {
     return false;
   }
 
+  /** Tells if worker instances of this task can be executed concurrently, see
+   *  {@link #configureAsWorker(GenIterTask, Consumer)}. This requires each generation step
+   *  to be thread-safe or parallelizable and the absence of sub generations,
+   *  since they may have consumers of their own which cannot be funneled.
+   *  The product source is not checked, since it can always be shared using synchronization. */
   @Override
   public boolean isParallelizable() {
-    return false;
+    for (Statement statement : statements) {
+      statement = StatementUtil.getRealStatement(statement, context);
+      if (statement instanceof GenIterStatement) {
+        return false;
+      } else if (!(statement instanceof CurrentProductGeneration) && statement instanceof ThreadAware) {
+        ThreadAware threadAware = (ThreadAware) statement;
+        if (!threadAware.isThreadSafe() && !threadAware.isParallelizable()) {
+          return false;
+        }
+      }
+    }
+    return true;
   }
 
   @Override
@@ -162,6 +279,11 @@ public TaskResult execute(Context ctx, ErrorHandler errorHandler) {
     if (!initialized.get()) {
       init((BeneratorContext) ctx);
     }
+    if (randomStreamBinding != null) {
+      randomStreamBinding.run();
+      randomStreamBinding = null;
+    }
+    long startNanos = System.nanoTime();
     try {
       boolean success = true;
       for (int i = 0; i < statements.size(); i++) {
@@ -181,9 +303,12 @@ public TaskResult execute(Context ctx, ErrorHandler errorHandler) {
       }
       if (success) {
         BeneratorMonitor.INSTANCE.countGenerations(1);
+        if (sensorMetrics != null) {
+          sensorMetrics.addSample(System.nanoTime() - startNanos);
+        }
       }
       enqueueResets();
-      Thread.yield();
+      executionPolicy.afterExecution(++executionCount);
       return (success ? TaskResult.EXECUTING : TaskResult.UNAVAILABLE);
     } catch (Exception e) {
       errorHandler.handleError("Error in execution of task " + getTaskName(), e);
@@ -264,6 +389,17 @@ private boolean consumersExist() {
     return true;
   }
 
+  private Consumer createAsyncConsumer(BeneratorContext context) {
+    for (Statement statement : statements) {
+      if (StatementUtil.getRealStatement(statement, context) instanceof GenIterStatement) {
+        // sub generations must not be consumed before their parent
+        logger.info("Consuming '{}' synchronously, since it has sub generations", taskName);
+        return consumer;
+      }
+    }
+    return new AsyncConsumerProxy(consumer, consumerBufferSize, taskName);
+  }
+
   private void injectConsumptionStart() {
     // find last sub member generation...
     int lastMemberIndex = -1;
@@ -326,4 +462,38 @@ private void enqueueResets() {
     }
   }
 
+  private synchronized Generator<?> getSynchronizedProductSource() {
+    if (synchronizedProductSource == null) {
+      for (Statement statement : statements) {
+        if (statement instanceof CurrentProductGeneration) {
+          Generator<?> source = ((CurrentProductGeneration) statement).getSource();
+          synchronizedProductSource = SynchronizedGeneratorProxy.synchronize(source);
+        }
+      }
+    }
+    return synchronizedProductSource;
+  }
+
+  /** Makes a thread-safe statement of a master task available to its workers,
+   *  leaving its life cycle control to the master. */
+  static class SharedStatement implements Statement {
+
+    private final Statement realStatement;
+
+    SharedStatement(Statement realStatement) {
+      this.realStatement = realStatement;
+    }
+
+    @Override
+    public boolean execute(BeneratorContext context) {
+      return realStatement.execute(context);
+    }
+
+    @Override
+    public String toString() {
+      return realStatement.toString();
+    }
+
+  }
+
 }
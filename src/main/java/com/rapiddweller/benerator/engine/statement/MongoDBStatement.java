@@ -5,6 +5,7 @@
 import com.rapiddweller.benerator.engine.Statement;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.platform.nosql.mongo.MongoDBSystem;
+import com.rapiddweller.script.expression.ExpressionUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,11 +23,14 @@ public class MongoDBStatement implements Statement {
     private final Expression<String> user;
     private final Expression<String> password;
     private final Expression<Boolean> clean;
+    private final Expression<Integer> batchSize;
+    private final Expression<String> writeConcern;
     private final ResourceManager resourceManager;
 
     public MongoDBStatement(Expression<String> id, Expression<String> environment, Expression<String> system, Expression<String> host, Expression<Integer> port,
                             Expression<String> database, Expression<String> user, Expression<String> password,
-                            Expression<Boolean> clean, ResourceManager resourceManager) {
+                            Expression<Boolean> clean, Expression<Integer> batchSize, Expression<String> writeConcern,
+                            ResourceManager resourceManager) {
         this.id = id;
         this.environment = environment;
         this.system = system;
@@ -36,6 +40,8 @@ public MongoDBStatement(Expression<String> id, Expression<String> environment, E
         this.user = user;
         this.password = password;
         this.clean = clean;
+        this.batchSize = batchSize;
+        this.writeConcern = writeConcern;
         this.resourceManager = resourceManager;
     }
 
@@ -50,12 +56,18 @@ public boolean execute(BeneratorContext context) {
     }
 
     private MongoDBSystem createMongoDBSystem(BeneratorContext context) {
+        Integer batchSizeValue = ExpressionUtil.evaluate(batchSize, context);
         if (environment != null) {
-            return new MongoDBSystem(
+            MongoDBSystem mongoDBSystem = new MongoDBSystem(
                     id.evaluate(context),
                     environment.evaluate(context),
                     system.evaluate(context),
+                    ExpressionUtil.evaluate(writeConcern, context),
                     context);
+            if (batchSizeValue != null) {
+                mongoDBSystem.setBatchSize(batchSizeValue);
+            }
+            return mongoDBSystem;
         }
         return new MongoDBSystem(
                 context.getDataModel(),
@@ -65,7 +77,9 @@ private MongoDBSystem createMongoDBSystem(BeneratorContext context) {
                 database.evaluate(context),
                 user.evaluate(context),
                 password.evaluate(context),
-                clean.evaluate(context));
+                clean.evaluate(context),
+                batchSizeValue,
+                ExpressionUtil.evaluate(writeConcern, context));
     }
  }
 
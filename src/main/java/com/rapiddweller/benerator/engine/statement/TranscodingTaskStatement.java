@@ -27,6 +27,7 @@
 package com.rapiddweller.benerator.engine.statement;
 
 import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.BeneratorOpts;
 import com.rapiddweller.benerator.engine.Statement;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.CollectionUtil;
@@ -47,6 +48,7 @@
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.ReferenceDescriptor;
 import com.rapiddweller.platform.db.AbstractDBSystem;
+import com.rapiddweller.platform.db.OffHeapKeyMapper;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.expression.ExpressionUtil;
 import org.w3c.dom.Document;
@@ -65,22 +67,28 @@
  */
 public class TranscodingTaskStatement extends SequentialStatement {
 
+  public static final String KEY_MAPPER_MEM = "mem";
+  public static final String KEY_MAPPER_OFF_HEAP = "offheap";
+
   final Expression<AbstractDBSystem> sourceEx;
   final Expression<AbstractDBSystem> targetEx;
   final Expression<String> identityEx;
   final Expression<Long> pageSizeEx;
   final Expression<ErrorHandler> errorHandlerExpression;
+  final Expression<String> keyMapperEx;
   final IdentityProvider identityProvider;
   KeyMapper mapper;
   final Map<String, Boolean> tableNkRequirements = OrderedNameMap.createCaseIgnorantMap();
 
   public TranscodingTaskStatement(Expression<AbstractDBSystem> sourceEx, Expression<AbstractDBSystem> targetEx, Expression<String> identityEx,
-                                  Expression<Long> pageSizeEx, Expression<ErrorHandler> errorHandlerExpression) {
+                                  Expression<Long> pageSizeEx, Expression<ErrorHandler> errorHandlerExpression,
+                                  Expression<String> keyMapperEx) {
     this.sourceEx = cache(sourceEx);
     this.targetEx = cache(targetEx);
     this.identityEx = cache(identityEx);
     this.pageSizeEx = cache(pageSizeEx);
     this.errorHandlerExpression = cache(errorHandlerExpression);
+    this.keyMapperEx = cache(keyMapperEx);
     this.identityProvider = new IdentityProvider();
   }
 
@@ -112,12 +120,31 @@ KeyMapper getKeyMapper() {
   public boolean execute(BeneratorContext context) {
     AbstractDBSystem target = getTarget(context);
     Database database = target.getDbMetaData();
-    mapper = new MemKeyMapper(null, null, target.getConnection(), target.getId(), identityProvider, database);
-    checkPrecoditions(context);
-    super.execute(context);
+    mapper = createKeyMapper(target, database, context);
+    try {
+      checkPrecoditions(context);
+      super.execute(context);
+    } finally {
+      if (mapper instanceof OffHeapKeyMapper) {
+        ((OffHeapKeyMapper) mapper).close();
+      }
+    }
     return true;
   }
 
+  private KeyMapper createKeyMapper(AbstractDBSystem target, Database database, BeneratorContext context) {
+    String type = ExpressionUtil.evaluate(keyMapperEx, context);
+    if (type == null || KEY_MAPPER_MEM.equals(type)) {
+      return new MemKeyMapper(null, null, target.getConnection(), target.getId(), identityProvider, database);
+    } else if (KEY_MAPPER_OFF_HEAP.equals(type)) {
+      return new OffHeapKeyMapper(target.getConnection(), target.getId(), database,
+          BeneratorOpts.getKeyMapperOffHeapLimit(), BeneratorOpts.getKeyMapperSpillDirectory());
+    } else {
+      throw ExceptionFactory.getInstance().configurationError("Illegal keyMapper in <transcodingTask>: '" + type
+          + "'. Supported values are '" + KEY_MAPPER_MEM + "' and '" + KEY_MAPPER_OFF_HEAP + "'");
+    }
+  }
+
   private void checkPrecoditions(BeneratorContext context) {
     AbstractDBSystem target = targetEx.evaluate(context);
     boolean identitiesRequired = collectPreconditions(subStatements, context);
@@ -163,6 +163,7 @@ private static ComponentBuilder<?> createPartBuilder(
       }
     }
     Generator<?> generator = createSingleInstanceGenerator(part, ownerUniqueness, context);
+    generator = createUniqueFilter(part, generator, context);
     generator = createMultiplicityWrapper(part, generator, context);
     return builderFromGenerator(generator, part, context);
   }
@@ -375,6 +376,16 @@ private static ComponentBuilder<?> builderFromGenerator(
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
+  /** Filters out duplicates of a unique attribute's final values. Scripts, custom generators and converters
+   *  are not aware of uniqueness, and converters may map different values to the same one. */
+  static Generator<?> createUniqueFilter(ComponentDescriptor part, Generator<?> generator, BeneratorContext context) {
+    if (generator == null || !(part.getTypeDescriptor() instanceof SimpleTypeDescriptor)
+        || DescriptorUtil.getUniqueness(part, context) != Uniqueness.SIMPLE) {
+      return generator;
+    }
+    return WrapperFactory.applyUniqueFilter(generator, part.getName());
+  }
+
   static Generator<?> createMultiplicityWrapper(
       ComponentDescriptor instance, Generator<?> generator, BeneratorContext context) {
     if (generator == null) {
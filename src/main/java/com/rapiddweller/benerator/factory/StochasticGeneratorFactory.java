@@ -35,6 +35,8 @@
 import com.rapiddweller.benerator.primitive.BooleanGenerator;
 import com.rapiddweller.benerator.primitive.IncrementalStringGenerator;
 import com.rapiddweller.benerator.primitive.UniqueScrambledStringGenerator;
+import com.rapiddweller.benerator.primitive.regex.CompiledRegexGenerator;
+import com.rapiddweller.benerator.primitive.regex.RegexProgram;
 import com.rapiddweller.benerator.sample.AttachedWeightSampleGenerator;
 import com.rapiddweller.benerator.sample.ConstantGenerator;
 import com.rapiddweller.benerator.sample.OneShotGenerator;
@@ -50,11 +52,14 @@
 import com.rapiddweller.common.converter.ConverterManager;
 import com.rapiddweller.common.converter.ToStringConverter;
 import com.rapiddweller.format.array.ArrayDataSource;
+import com.rapiddweller.format.regex.RegexParser;
+import com.rapiddweller.format.regex.RegexPart;
 import com.rapiddweller.model.data.Uniqueness;
 import com.rapiddweller.script.DatabeneScriptParser;
 import com.rapiddweller.script.WeightedSample;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -159,6 +164,25 @@ public NonNullGenerator<String> createStringGenerator(Set<Character> chars,
     }
   }
 
+  /** Compiles the regular expression to a {@link RegexProgram}, which generates strings without walking a tree
+   *  of generators. If the program cannot satisfy the length limits or the uniqueness requirement,
+   *  the generator is composed by the {@link RegexGeneratorFactory}. */
+  @Override
+  public NonNullGenerator<String> createRegexStringGenerator(
+      String pattern, Locale locale, int minLength, Integer maxLength, Uniqueness uniqueness) {
+    if (pattern != null) {
+      RegexPart regex = new RegexParser(locale).parseRegex(pattern);
+      if (regex != null) {
+        int lengthBudget = (maxLength != null ? maxLength : defaultsProvider.defaultMaxLength());
+        RegexProgram program = RegexProgram.compile(regex, lengthBudget);
+        if (CompiledRegexGenerator.supports(program, minLength, maxLength, uniqueness)) {
+          return new CompiledRegexGenerator(pattern, program, minLength, maxLength, uniqueness);
+        }
+      }
+    }
+    return super.createRegexStringGenerator(pattern, locale, minLength, maxLength, uniqueness);
+  }
+
   @Override
   public Generator<?> applyNullSettings(Generator<?> source, Boolean nullable, Double nullQuota) {
     if (nullQuota == null) {
@@ -26,6 +26,7 @@
 
 package com.rapiddweller.benerator.primitive;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.util.ThreadSafeNonNullGenerator;
 
 import java.util.Random;
@@ -60,7 +61,7 @@ public BooleanGenerator() {
    */
   public BooleanGenerator(double trueQuota) {
     this.trueQuota = trueQuota;
-    this.random = new Random();
+    this.random = BeneratorFactory.getInstance().getRandomProvider().createRandom();
   }
 
   // config properties -----------------------------------------------------------------------------------------------
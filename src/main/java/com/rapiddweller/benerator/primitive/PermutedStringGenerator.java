@@ -0,0 +1,215 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.primitive;
+
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.distribution.sequence.PermutedLongGenerator;
+import com.rapiddweller.benerator.util.AbstractNonNullGenerator;
+import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.format.regex.Factor;
+import com.rapiddweller.format.regex.Group;
+import com.rapiddweller.format.regex.Quantifier;
+import com.rapiddweller.format.regex.RegexChar;
+import com.rapiddweller.format.regex.RegexCharClass;
+import com.rapiddweller.format.regex.RegexParser;
+import com.rapiddweller.format.regex.RegexPart;
+import com.rapiddweller.format.regex.RegexString;
+import com.rapiddweller.format.regex.Sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates each string of a fixed-length format exactly once in a pseudo-random order,
+ * taking constant memory. The format is defined by a regular expression which consists of
+ * characters, character classes and groups with fixed quantities, e.g. '[A-Z]{3}-[0-9]{6}',
+ * or by a character set and a length. Each string is calculated from its index in a
+ * {@link PermutedLongGenerator}, interpreting the index as a number with one digit per character position.<br/><br/>
+ * Created: 27.03.2022 12:05:46
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PermutedStringGenerator extends AbstractNonNullGenerator<String> {
+
+  private static final String DEFAULT_PATTERN = "[A-Z]{8}";
+
+  private String pattern;
+  private Long seed;
+  private char[][] positions;
+  private PermutedLongGenerator indexGenerator;
+
+  public PermutedStringGenerator() {
+    this(DEFAULT_PATTERN);
+  }
+
+  public PermutedStringGenerator(String pattern) {
+    this.pattern = pattern;
+  }
+
+  public PermutedStringGenerator(Set<Character> chars, int length) {
+    this.pattern = null;
+    char[] symbols = CollectionUtil.toCharArray(new TreeSet<>(chars));
+    this.positions = new char[length][];
+    for (int i = 0; i < length; i++) {
+      positions[i] = symbols;
+    }
+  }
+
+  // config properties -----------------------------------------------------------------------------------------------
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  public void setPattern(String pattern) {
+    this.pattern = pattern;
+    this.positions = null;
+  }
+
+  public Long getSeed() {
+    return seed;
+  }
+
+  public void setSeed(Long seed) {
+    this.seed = seed;
+  }
+
+  /** @return the number of different strings */
+  public long size() {
+    assertInitialized();
+    return indexGenerator.getMax() + 1;
+  }
+
+  // Generator interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  public Class<String> getGeneratedType() {
+    return String.class;
+  }
+
+  @Override
+  public void init(GeneratorContext context) {
+    assertNotInitialized();
+    if (positions == null) {
+      positions = parsePositions(pattern);
+    }
+    long size = 1;
+    for (char[] position : positions) {
+      try {
+        size = Math.multiplyExact(size, position.length);
+      } catch (ArithmeticException e) {
+        throw new InvalidGeneratorSetupException("Too many combinations for a permutation: " + this);
+      }
+    }
+    indexGenerator = new PermutedLongGenerator(0, size - 1, 1, seed);
+    indexGenerator.init(context);
+    super.init(context);
+  }
+
+  @Override
+  public String generate() {
+    assertInitialized();
+    Long index = indexGenerator.generate();
+    return (index != null ? format(index) : null);
+  }
+
+  /** Calculates the string at a given position of the generated sequence. */
+  public String valueAt(long index) {
+    assertInitialized();
+    return format(indexGenerator.valueAt(index));
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public boolean isParallelizable() {
+    return false;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    indexGenerator.reset();
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    indexGenerator.close();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + (pattern != null ? pattern : positions.length + " characters") + ']';
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private String format(long number) {
+    char[] result = new char[positions.length];
+    for (int i = positions.length - 1; i >= 0; i--) {
+      char[] symbols = positions[i];
+      result[i] = symbols[(int) (number % symbols.length)];
+      number /= symbols.length;
+    }
+    return new String(result);
+  }
+
+  private char[][] parsePositions(String pattern) {
+    if (pattern == null) {
+      throw new InvalidGeneratorSetupException("No pattern defined for " + getClass().getSimpleName());
+    }
+    List<char[]> result = new ArrayList<>();
+    addPositions(new RegexParser(Locale.getDefault()).parseRegex(pattern), 1, result);
+    return result.toArray(new char[0][]);
+  }
+
+  private void addPositions(RegexPart part, int count, List<char[]> result) {
+    if (part instanceof Factor) {
+      Quantifier quantifier = ((Factor) part).getQuantifier();
+      if (quantifier.getMax() == null || quantifier.getMin() != quantifier.getMax()) {
+        throw new InvalidGeneratorSetupException("Permutations require fixed quantities, but the pattern '"
+            + pattern + "' contains the quantifier " + quantifier);
+      }
+      addPositions(((Factor) part).getAtom(), count * quantifier.getMin(), result);
+    } else if (part instanceof Sequence) {
+      for (int i = 0; i < count; i++) {
+        for (RegexPart factor : ((Sequence) part).getFactors()) {
+          addPositions(factor, 1, result);
+        }
+      }
+    } else if (part instanceof Group) {
+      for (int i = 0; i < count; i++) {
+        addPositions(((Group) part).getRegex(), 1, result);
+      }
+    } else if (part instanceof RegexCharClass) {
+      char[] symbols = CollectionUtil.toCharArray(new TreeSet<>(((RegexCharClass) part).getCharSet().getSet()));
+      addPositions(symbols, count, result);
+    } else if (part instanceof RegexChar) {
+      addPositions(new char[] { ((RegexChar) part).getChar() }, count, result);
+    } else if (part instanceof RegexString) {
+      for (int i = 0; i < count; i++) {
+        for (char c : ((RegexString) part).getString().toCharArray()) {
+          result.add(new char[] { c });
+        }
+      }
+    } else {
+      throw new InvalidGeneratorSetupException("Permutations do not support the regex part '" + part
+          + "' in the pattern '" + pattern + "'");
+    }
+  }
+
+  private static void addPositions(char[] symbols, int count, List<char[]> result) {
+    for (int i = 0; i < count; i++) {
+      result.add(symbols);
+    }
+  }
+
+}
@@ -0,0 +1,169 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.primitive.regex;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.distribution.sequence.PermutedLongGenerator;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.util.AbstractNonNullGenerator;
+import com.rapiddweller.benerator.util.ValidatingGenerator;
+import com.rapiddweller.model.data.Uniqueness;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates strings which match a regular expression by executing a {@link RegexProgram}.
+ * Random strings are built in a reusable {@link StringBuilder} per thread. Unique strings are
+ * calculated from indices of the program's enumeration, which are permuted for {@link Uniqueness#SIMPLE}
+ * and consecutive for {@link Uniqueness#ORDERED}. Use {@link #supports(RegexProgram, int, Integer, Uniqueness)}
+ * to check if a program can fulfill the requirements.<br/><br/>
+ * Created: 30.03.2022 11:37:05
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class CompiledRegexGenerator extends AbstractNonNullGenerator<String> {
+
+  private final String pattern;
+  private final RegexProgram program;
+  private final int minLength;
+  private final int maxLength;
+  private final Uniqueness uniqueness;
+  private final boolean lengthChecked;
+  private final RandomProvider random;
+  private final ThreadLocal<Machine> machines;
+  private final AtomicLong cursor;
+  private PermutedLongGenerator permutation;
+
+  public CompiledRegexGenerator(String pattern, RegexProgram program, int minLength, Integer maxLength,
+                                Uniqueness uniqueness) {
+    this.pattern = pattern;
+    this.program = program;
+    this.minLength = minLength;
+    this.maxLength = (maxLength != null ? maxLength : Integer.MAX_VALUE);
+    this.uniqueness = uniqueness;
+    this.lengthChecked = (program.minLength() < this.minLength || program.maxLength() > this.maxLength);
+    this.random = BeneratorFactory.getInstance().getRandomProvider().split();
+    this.machines = ThreadLocal.withInitial(() -> new Machine(program.registerCount()));
+    this.cursor = new AtomicLong();
+  }
+
+  /** Tells if a program can generate strings of the given length and uniqueness:
+   *  Random generation requires that the program can produce strings within the length limits,
+   *  unique generation requires an enumerable language of strings which all comply to the length limits. */
+  public static boolean supports(RegexProgram program, int minLength, Integer maxLength, Uniqueness uniqueness) {
+    int max = (maxLength != null ? maxLength : Integer.MAX_VALUE);
+    if (uniqueness.isUnique()) {
+      return program.isEnumerable() && program.minLength() >= minLength && program.maxLength() <= max;
+    } else {
+      return program.maxLength() >= minLength && program.minLength() <= max;
+    }
+  }
+
+  // Generator interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  public Class<String> getGeneratedType() {
+    return String.class;
+  }
+
+  @Override
+  public void init(GeneratorContext context) {
+    assertNotInitialized();
+    if (!supports(program, minLength, maxLength, uniqueness)) {
+      throw BeneratorExceptionFactory.getInstance().configurationError(
+          "Regular expression does not support the requested length or uniqueness: " + this);
+    }
+    if (uniqueness == Uniqueness.SIMPLE) {
+      permutation = new PermutedLongGenerator(0, program.size() - 1, 1, null);
+      permutation.init(context);
+    }
+    super.init(context);
+  }
+
+  @Override
+  public String generate() {
+    assertInitialized();
+    if (uniqueness == Uniqueness.SIMPLE) {
+      Long index = permutation.generate();
+      return (index != null ? valueAt(index) : null);
+    } else if (uniqueness == Uniqueness.ORDERED) {
+      long index = cursor.getAndIncrement();
+      return (index < program.size() ? valueAt(index) : null);
+    } else {
+      return generateRandom();
+    }
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public boolean isParallelizable() {
+    return !uniqueness.isUnique();
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    cursor.set(0);
+    if (permutation != null) {
+      permutation.reset();
+    }
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    if (permutation != null) {
+      permutation.close();
+    }
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + (uniqueness.isUnique() ? "unique '" : "'") + pattern + "']";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private String generateRandom() {
+    Machine machine = machines.get();
+    StringBuilder out = machine.out;
+    int tries = 0;
+    do {
+      if (++tries > ValidatingGenerator.ERROR_THRESHOLD) {
+        throw BeneratorExceptionFactory.getInstance().illegalGeneratorState("Aborting generation, because of "
+            + ValidatingGenerator.ERROR_THRESHOLD + " consecutive generations of a wrong length: " + this);
+      }
+      out.setLength(0);
+      program.generate(random, out, machine.registers);
+    } while (lengthChecked && (out.length() < minLength || out.length() > maxLength));
+    return out.toString();
+  }
+
+  private String valueAt(long index) {
+    StringBuilder out = machines.get().out;
+    out.setLength(0);
+    program.valueAt(index, out);
+    return out.toString();
+  }
+
+  /** The working memory of one thread */
+  private static class Machine {
+
+    final StringBuilder out;
+    final int[] registers;
+
+    Machine(int registerCount) {
+      this.out = new StringBuilder();
+      this.registers = new int[registerCount];
+    }
+  }
+
+}
@@ -0,0 +1,693 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.primitive.regex;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.format.regex.Choice;
+import com.rapiddweller.format.regex.Factor;
+import com.rapiddweller.format.regex.Group;
+import com.rapiddweller.format.regex.Quantifier;
+import com.rapiddweller.format.regex.RegexChar;
+import com.rapiddweller.format.regex.RegexCharClass;
+import com.rapiddweller.format.regex.RegexPart;
+import com.rapiddweller.format.regex.RegexString;
+import com.rapiddweller.format.regex.Sequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Flat, compiled form of a parsed regular expression for fast string generation.
+ * The regex tree is compiled to an int array of instructions which refer to precomputed tables
+ * of characters and literal texts, so a random string is created by one loop that appends
+ * to a {@link StringBuilder} without any intermediate objects. Quantifiers are limited by a length budget,
+ * which is shared by the factors of a sequence, so no generated string exceeds the budget.<br/>
+ * Besides random generation, a program can enumerate its language: Each string is calculated from its
+ * index, interpreting the index as a mixed-radix number over the alternatives, repetition counts
+ * and characters of the expression. This is used for unique generation if the expression is
+ * unambiguous (see {@link #isEnumerable()}).<br/><br/>
+ * Created: 30.03.2022 09:12:44
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public final class RegexProgram {
+
+  // instruction set -------------------------------------------------------------------------------------------------
+
+  /** TEXT textIndex: appends a literal text */
+  private static final int TEXT = 0;
+  /** CHAR tableIndex: appends a random character of a table */
+  private static final int CHAR = 1;
+  /** CHARS tableIndex min max: appends a random number of random characters of a table */
+  private static final int CHARS = 2;
+  /** CHOICE n address_1 ... address_n: continues at a random one of n addresses */
+  private static final int CHOICE = 3;
+  /** JUMP address: continues at the address */
+  private static final int JUMP = 4;
+  /** LOOP register min max exitAddress: stores a random repetition count in the register, skips to exit if 0 */
+  private static final int LOOP = 5;
+  /** NEXT register bodyAddress: decrements the register and repeats the body if it is still positive */
+  private static final int NEXT = 6;
+  /** END: finishes the generation */
+  private static final int END = 7;
+
+  // attributes ------------------------------------------------------------------------------------------------------
+
+  private final int[] code;
+  private final char[][] tables;
+  private final int registerCount;
+  private final Node root;
+
+  private RegexProgram(Node root) {
+    Emitter emitter = new Emitter();
+    root.emit(emitter);
+    emitter.add(END);
+    this.code = emitter.code();
+    this.tables = emitter.tables.toArray(new char[0][]);
+    this.registerCount = emitter.registerCount;
+    this.root = root;
+  }
+
+  /** Compiles a parsed regular expression.
+   *  @param regex the regular expression as returned by the RegexParser
+   *  @param lengthBudget the maximum length to assume for unbounded quantifiers
+   *  @return the compiled program */
+  public static RegexProgram compile(RegexPart regex, int lengthBudget) {
+    int slack = Math.max(0, lengthBudget - regex.minLength());
+    return new RegexProgram(build(regex, slack));
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  /** @return the minimum length of the generated strings */
+  public int minLength() {
+    return root.minLength;
+  }
+
+  /** @return the maximum length of the generated strings */
+  public int maxLength() {
+    return root.maxLength;
+  }
+
+  /** @return the number of registers which need to be provided to {@link #generate(RandomProvider, StringBuilder, int[])} */
+  public int registerCount() {
+    return registerCount;
+  }
+
+  /** @return the number of strings which can be enumerated, or -1 if they are too many to be indexed by a long */
+  public long size() {
+    return root.count;
+  }
+
+  /** @return true if each index of 0 to {@link #size()}-1 maps to another string */
+  public boolean isEnumerable() {
+    return (root.count > 0 && root.injective);
+  }
+
+  // operations ------------------------------------------------------------------------------------------------------
+
+  /** Appends a random string of the language to the builder.
+   *  @param random the source of random numbers
+   *  @param out the builder to append to
+   *  @param registers a working array of at least {@link #registerCount()} elements */
+  public void generate(RandomProvider random, StringBuilder out, int[] registers) {
+    int[] code = this.code;
+    int pc = 0;
+    while (true) {
+      switch (code[pc]) {
+        case TEXT:
+          out.append(tables[code[pc + 1]]);
+          pc += 2;
+          break;
+        case CHAR: {
+          char[] table = tables[code[pc + 1]];
+          out.append(table[random.randomInt(table.length)]);
+          pc += 2;
+          break;
+        }
+        case CHARS: {
+          char[] table = tables[code[pc + 1]];
+          for (int n = random.randomInt(code[pc + 2], code[pc + 3]); n > 0; n--) {
+            out.append(table[random.randomInt(table.length)]);
+          }
+          pc += 4;
+          break;
+        }
+        case CHOICE:
+          pc = code[pc + 2 + random.randomInt(code[pc + 1])];
+          break;
+        case JUMP:
+          pc = code[pc + 1];
+          break;
+        case LOOP: {
+          int n = random.randomInt(code[pc + 2], code[pc + 3]);
+          if (n > 0) {
+            registers[code[pc + 1]] = n;
+            pc += 5;
+          } else {
+            pc = code[pc + 4];
+          }
+          break;
+        }
+        case NEXT:
+          pc = (--registers[code[pc + 1]] > 0 ? code[pc + 2] : pc + 3);
+          break;
+        default: // END
+          return;
+      }
+    }
+  }
+
+  /** Appends the string with the given index in the enumeration of the language to the builder.
+   *  @param index a number from 0 to {@link #size()}-1
+   *  @param out the builder to append to */
+  public void valueAt(long index, StringBuilder out) {
+    if (root.count < 0 || index < 0 || index >= root.count) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Index out of range: " + index);
+    }
+    root.decode(index, out);
+  }
+
+  // compiler --------------------------------------------------------------------------------------------------------
+
+  /** Builds the node of a regex part, which generates strings of at most 'slack' characters more
+   *  than the part's minimum length. */
+  private static Node build(RegexPart part, int slack) {
+    if (part instanceof Factor) {
+      Quantifier quantifier = ((Factor) part).getQuantifier();
+      RegexPart atom = ((Factor) part).getAtom();
+      int min = quantifier.getMin();
+      Integer quantifierMax = quantifier.getMax();
+      // the mandatory repetitions of the atom and the optional ones share the slack
+      boolean optionalRepetitions = (quantifierMax == null || quantifierMax > min);
+      Node body = build(atom, slack / Math.max(1, optionalRepetitions ? min + 1 : min));
+      int remainingSlack = slack - multiplyLength(min, body.maxLength - body.minLength);
+      int max = min + remainingSlack / Math.max(1, body.maxLength);
+      if (quantifierMax != null) {
+        max = Math.max(min, Math.min(quantifierMax, max));
+      }
+      return repeat(body, min, max);
+    } else if (part instanceof Sequence) {
+      RegexPart[] factors = ((Sequence) part).getFactors();
+      int[] shares = shareSlack(factors, slack);
+      List<Node> children = new ArrayList<>(factors.length);
+      for (int i = 0; i < factors.length; i++) {
+        Node child = build(factors[i], shares[i]);
+        int last = children.size() - 1;
+        if (child instanceof Text && last >= 0 && children.get(last) instanceof Text) {
+          children.set(last, ((Text) children.get(last)).concat((Text) child)); // merge adjacent literals
+        } else {
+          children.add(child);
+        }
+      }
+      return (children.size() == 1 ? children.get(0) : new Seq(children.toArray(new Node[0])));
+    } else if (part instanceof Group) {
+      return build(((Group) part).getRegex(), slack);
+    } else if (part instanceof Choice) {
+      RegexPart[] alternatives = ((Choice) part).getAlternatives();
+      Node[] nodes = new Node[alternatives.length];
+      for (int i = 0; i < alternatives.length; i++) {
+        // an alternative which is longer than the shortest one has less slack
+        int excess = alternatives[i].minLength() - part.minLength();
+        nodes[i] = build(alternatives[i], Math.max(0, slack - excess));
+      }
+      return (nodes.length == 1 ? nodes[0] : new Alt(nodes));
+    } else if (part instanceof RegexCharClass) {
+      char[] table = CollectionUtil.toCharArray(new TreeSet<>(((RegexCharClass) part).getCharSet().getSet()));
+      if (table.length == 0) {
+        throw BeneratorExceptionFactory.getInstance().configurationError(
+            "Character class does not match any character: " + part);
+      }
+      return (table.length == 1 ? new Text(table) : new Chars(table));
+    } else if (part instanceof RegexChar) {
+      return new Text(new char[] { ((RegexChar) part).getChar() });
+    } else if (part instanceof RegexString) {
+      return new Text(((RegexString) part).getString().toCharArray());
+    } else {
+      throw BeneratorExceptionFactory.getInstance().programmerUnsupported(
+          "Unsupported regex part type: " + (part != null ? part.getClass().getName() : null));
+    }
+  }
+
+  /** Splits the slack among the factors of a sequence: Each factor which needs less than an equal share
+   *  gets what it needs, and the remainder is shared equally by the other factors. */
+  static int[] shareSlack(RegexPart[] factors, int slack) {
+    int[] shares = new int[factors.length];
+    boolean[] open = new boolean[factors.length];
+    int openCount = 0;
+    for (int i = 0; i < factors.length; i++) {
+      Integer maxLength = factors[i].maxLength();
+      shares[i] = (maxLength != null ? maxLength - factors[i].minLength() : Integer.MAX_VALUE);
+      if (shares[i] > 0) {
+        open[i] = true;
+        openCount++;
+      }
+    }
+    int remaining = slack;
+    boolean satisfied = true;
+    while (openCount > 0 && satisfied) {
+      satisfied = false;
+      int share = remaining / openCount;
+      for (int i = 0; i < factors.length; i++) {
+        if (open[i] && shares[i] <= share) {
+          open[i] = false;
+          openCount--;
+          remaining -= shares[i];
+          satisfied = true;
+        }
+      }
+    }
+    for (int i = 0; i < factors.length && openCount > 0; i++) {
+      if (open[i]) {
+        shares[i] = remaining / openCount;
+        remaining -= shares[i];
+        openCount--;
+      }
+    }
+    return shares;
+  }
+
+  private static Node repeat(Node body, int min, int max) {
+    if (min == 1 && max == 1) {
+      return body;
+    } else if (min == max && body instanceof Text) {
+      return ((Text) body).times(min);
+    } else {
+      return new Repeat(body, min, max);
+    }
+  }
+
+  // arithmetic helpers ----------------------------------------------------------------------------------------------
+
+  /** multiplies two counts, yielding -1 on overflow */
+  static long multiply(long a, long b) {
+    if (a < 0 || b < 0) {
+      return -1;
+    }
+    try {
+      return Math.multiplyExact(a, b);
+    } catch (ArithmeticException e) {
+      return -1;
+    }
+  }
+
+  /** adds two counts, yielding -1 on overflow */
+  static long add(long a, long b) {
+    if (a < 0 || b < 0) {
+      return -1;
+    }
+    try {
+      return Math.addExact(a, b);
+    } catch (ArithmeticException e) {
+      return -1;
+    }
+  }
+
+  /** multiplies two lengths, saturating at Integer.MAX_VALUE */
+  static int multiplyLength(int a, int b) {
+    return (int) Math.min(Integer.MAX_VALUE, (long) a * b);
+  }
+
+  /** adds two lengths, saturating at Integer.MAX_VALUE */
+  static int addLength(int a, int b) {
+    return (int) Math.min(Integer.MAX_VALUE, (long) a + b);
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Collects instructions and tables */
+  private static class Emitter {
+
+    private int[] code = new int[64];
+    private int size = 0;
+    final List<char[]> tables = new ArrayList<>();
+    int registerCount = 0;
+
+    int add(int value) {
+      if (size == code.length) {
+        code = Arrays.copyOf(code, size * 2);
+      }
+      code[size] = value;
+      return size++;
+    }
+
+    int position() {
+      return size;
+    }
+
+    void set(int address, int value) {
+      code[address] = value;
+    }
+
+    int table(char[] table) {
+      tables.add(table);
+      return tables.size() - 1;
+    }
+
+    int[] code() {
+      return Arrays.copyOf(code, size);
+    }
+  }
+
+  /**
+   * Node of the compiled regex tree, which knows the size of its language and whether
+   * its enumeration is unambiguous. A node is 'injective' if different indices yield different strings
+   * and 'prefix-free' ('suffix-free') if it is injective and none of its strings is a proper prefix (suffix)
+   * of another one. A concatenation can be decoded unambiguously from left to right as long as the
+   * parts are prefix-free, and from right to left as long as they are suffix-free.
+   */
+  private abstract static class Node {
+
+    int minLength;
+    int maxLength;
+    long count;
+    boolean injective;
+    boolean prefixFree;
+    boolean suffixFree;
+    /** the possible first characters of non-empty strings */
+    BitSet first;
+    /** the possible last characters of non-empty strings */
+    BitSet last;
+
+    abstract void emit(Emitter emitter);
+
+    abstract void decode(long index, StringBuilder out);
+
+    boolean fixedLength() {
+      return minLength == maxLength;
+    }
+
+    /** tells if no string of this node's language is a prefix of a string of the other node's language */
+    boolean prefixDisjoint(Node that) {
+      return (this.minLength > 0 && that.minLength > 0 && !this.first.intersects(that.first));
+    }
+
+    /** tells if no string of this node's language is a suffix of a string of the other node's language */
+    boolean suffixDisjoint(Node that) {
+      return (this.minLength > 0 && that.minLength > 0 && !this.last.intersects(that.last));
+    }
+
+    void completeProperties() {
+      if (injective && fixedLength()) {
+        prefixFree = suffixFree = true;
+      }
+    }
+  }
+
+  private static class Text extends Node {
+
+    final char[] text;
+
+    Text(char[] text) {
+      this.text = text;
+      this.minLength = this.maxLength = text.length;
+      this.count = 1;
+      this.injective = this.prefixFree = this.suffixFree = true;
+      this.first = new BitSet();
+      this.last = new BitSet();
+      if (text.length > 0) {
+        first.set(text[0]);
+        last.set(text[text.length - 1]);
+      }
+    }
+
+    Text concat(Text that) {
+      char[] result = Arrays.copyOf(this.text, this.text.length + that.text.length);
+      System.arraycopy(that.text, 0, result, this.text.length, that.text.length);
+      return new Text(result);
+    }
+
+    Text times(int n) {
+      char[] result = new char[text.length * n];
+      for (int i = 0; i < n; i++) {
+        System.arraycopy(text, 0, result, i * text.length, text.length);
+      }
+      return new Text(result);
+    }
+
+    @Override
+    void emit(Emitter emitter) {
+      if (text.length > 0) {
+        emitter.add(TEXT);
+        emitter.add(emitter.table(text));
+      }
+    }
+
+    @Override
+    void decode(long index, StringBuilder out) {
+      out.append(text);
+    }
+  }
+
+  private static class Chars extends Node {
+
+    final char[] table;
+
+    Chars(char[] table) {
+      this.table = table;
+      this.minLength = this.maxLength = 1;
+      this.count = table.length;
+      this.injective = this.prefixFree = this.suffixFree = true;
+      this.first = new BitSet();
+      for (char c : table) {
+        first.set(c);
+      }
+      this.last = first;
+    }
+
+    @Override
+    void emit(Emitter emitter) {
+      emitter.add(CHAR);
+      emitter.add(emitter.table(table));
+    }
+
+    @Override
+    void decode(long index, StringBuilder out) {
+      out.append(table[(int) index]);
+    }
+  }
+
+  private static class Seq extends Node {
+
+    final Node[] children;
+    /** the number of combinations of the children behind each child */
+    final long[] radices;
+
+    Seq(Node[] children) {
+      this.children = children;
+      this.count = 1;
+      this.prefixFree = this.suffixFree = true;
+      for (Node child : children) {
+        minLength = addLength(minLength, child.minLength);
+        maxLength = addLength(maxLength, child.maxLength);
+        count = multiply(count, child.count);
+        prefixFree &= child.prefixFree;
+        suffixFree &= child.suffixFree;
+      }
+      // decodable if the parts left of some injective part are prefix-free and the ones right of it suffix-free
+      int prefixFreeParts = 0;
+      while (prefixFreeParts < children.length && children[prefixFreeParts].prefixFree) {
+        prefixFreeParts++;
+      }
+      int suffixFreeParts = 0;
+      while (suffixFreeParts < children.length && children[children.length - 1 - suffixFreeParts].suffixFree) {
+        suffixFreeParts++;
+      }
+      this.injective = (prefixFreeParts == children.length);
+      for (int i = 0; i <= prefixFreeParts && i < children.length && !injective; i++) {
+        injective = (children[i].injective && suffixFreeParts >= children.length - 1 - i);
+      }
+      this.first = new BitSet();
+      for (int i = 0; i < children.length && (i == 0 || children[i - 1].minLength == 0); i++) {
+        first.or(children[i].first);
+      }
+      this.last = new BitSet();
+      for (int i = children.length - 1; i >= 0 && (i == children.length - 1 || children[i + 1].minLength == 0); i--) {
+        last.or(children[i].last);
+      }
+      completeProperties();
+      this.radices = new long[children.length];
+      if (count >= 0) {
+        long radix = 1;
+        for (int i = children.length - 1; i >= 0; i--) {
+          radices[i] = radix;
+          radix *= children[i].count;
+        }
+      }
+    }
+
+    @Override
+    void emit(Emitter emitter) {
+      for (Node child : children) {
+        child.emit(emitter);
+      }
+    }
+
+    @Override
+    void decode(long index, StringBuilder out) {
+      for (int i = 0; i < children.length; i++) {
+        children[i].decode(index / radices[i], out);
+        index %= radices[i];
+      }
+    }
+  }
+
+  private static class Alt extends Node {
+
+    final Node[] alternatives;
+
+    Alt(Node[] alternatives) {
+      this.alternatives = alternatives;
+      this.minLength = Integer.MAX_VALUE;
+      this.count = 0;
+      this.injective = this.prefixFree = this.suffixFree = true;
+      this.first = new BitSet();
+      this.last = new BitSet();
+      for (int i = 0; i < alternatives.length; i++) {
+        Node alternative = alternatives[i];
+        minLength = Math.min(minLength, alternative.minLength);
+        maxLength = Math.max(maxLength, alternative.maxLength);
+        count = add(count, alternative.count);
+        injective &= alternative.injective;
+        prefixFree &= alternative.prefixFree;
+        suffixFree &= alternative.suffixFree;
+        for (int j = 0; j < i; j++) {
+          Node other = alternatives[j];
+          boolean prefixDisjoint = alternative.prefixDisjoint(other);
+          boolean suffixDisjoint = alternative.suffixDisjoint(other);
+          prefixFree &= prefixDisjoint;
+          suffixFree &= suffixDisjoint;
+          injective &= prefixDisjoint || suffixDisjoint || (alternative.fixedLength() && other.fixedLength()
+              && alternative.minLength != other.minLength);
+        }
+        first.or(alternative.first);
+        last.or(alternative.last);
+      }
+      completeProperties();
+    }
+
+    @Override
+    void emit(Emitter emitter) {
+      emitter.add(CHOICE);
+      emitter.add(alternatives.length);
+      int addressTable = emitter.position();
+      for (int i = 0; i < alternatives.length; i++) {
+        emitter.add(0); // placeholder for the address of alternative i
+      }
+      int[] exitJumps = new int[alternatives.length - 1];
+      for (int i = 0; i < alternatives.length; i++) {
+        emitter.set(addressTable + i, emitter.position());
+        alternatives[i].emit(emitter);
+        if (i < alternatives.length - 1) {
+          emitter.add(JUMP);
+          exitJumps[i] = emitter.add(0); // placeholder for the exit address
+        }
+      }
+      for (int exitJump : exitJumps) {
+        emitter.set(exitJump, emitter.position());
+      }
+    }
+
+    @Override
+    void decode(long index, StringBuilder out) {
+      for (Node alternative : alternatives) {
+        if (index < alternative.count) {
+          alternative.decode(index, out);
+          return;
+        }
+        index -= alternative.count;
+      }
+    }
+  }
+
+  private static class Repeat extends Node {
+
+    final Node body;
+    final int min;
+    final int max;
+    /** the powers of the body's count from 0 to max */
+    final long[] powers;
+
+    Repeat(Node body, int min, int max) {
+      this.body = body;
+      this.min = min;
+      this.max = max;
+      this.minLength = multiplyLength(min, body.minLength);
+      this.maxLength = multiplyLength(max, body.maxLength);
+      boolean decomposable = (max <= 1 ? body.injective : body.prefixFree || body.suffixFree);
+      if (min == max) {
+        this.injective = decomposable;
+        this.prefixFree = (max == 0 || body.prefixFree);
+        this.suffixFree = (max == 0 || body.suffixFree);
+      } else {
+        // the repetition count is determined by the unambiguous decomposition of a string
+        this.injective = body.minLength > 0 && decomposable;
+        this.prefixFree = this.suffixFree = false;
+      }
+      this.first = (max > 0 ? body.first : new BitSet());
+      this.last = (max > 0 ? body.last : new BitSet());
+      long[] powers = null;
+      long count = -1;
+      if (body.count >= 0) {
+        powers = new long[max + 1];
+        powers[0] = 1;
+        count = (min == 0 ? 1 : 0);
+        for (int k = 1; k <= max && count >= 0; k++) {
+          powers[k] = multiply(powers[k - 1], body.count);
+          if (k >= min) {
+            count = add(count, powers[k]);
+          }
+        }
+      }
+      this.count = count;
+      this.powers = (count >= 0 ? powers : null);
+      completeProperties();
+    }
+
+    @Override
+    void emit(Emitter emitter) {
+      if (max == 0) {
+        return;
+      }
+      if (body instanceof Chars) {
+        emitter.add(CHARS);
+        emitter.add(emitter.table(((Chars) body).table));
+        emitter.add(min);
+        emitter.add(max);
+        return;
+      }
+      int register = emitter.registerCount++;
+      emitter.add(LOOP);
+      emitter.add(register);
+      emitter.add(min);
+      emitter.add(max);
+      int exitAddress = emitter.add(0); // placeholder for the exit address
+      int bodyAddress = emitter.position();
+      body.emit(emitter);
+      emitter.add(NEXT);
+      emitter.add(register);
+      emitter.add(bodyAddress);
+      emitter.set(exitAddress, emitter.position());
+    }
+
+    @Override
+    void decode(long index, StringBuilder out) {
+      for (int k = min; k <= max; k++) {
+        if (index < powers[k]) {
+          for (int i = k - 1; i >= 0; i--) {
+            body.decode(index / powers[i], out);
+            index %= powers[i];
+          }
+          return;
+        }
+        index -= powers[k];
+      }
+    }
+  }
+
+}
@@ -26,10 +26,11 @@
 
 package com.rapiddweller.benerator.sample;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.RandomProvider;
 import com.rapiddweller.benerator.WeightedGenerator;
-import com.rapiddweller.benerator.distribution.AbstractWeightFunction;
-import com.rapiddweller.benerator.distribution.WeightedLongGenerator;
+import com.rapiddweller.benerator.distribution.AliasTable;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 import com.rapiddweller.common.NullSafeComparator;
 import com.rapiddweller.script.WeightedSample;
@@ -39,7 +40,8 @@
 import java.util.List;
 
 /**
- * Generates values from a weighted or non-weighted set of samples.<br/><br/>
+ * Generates values from a weighted or non-weighted set of samples.
+ * Samples are chosen in constant time using an {@link AliasTable}.<br/><br/>
  * Created: 07.06.2006 19:04:08
  * @param <E> the type parameter
  * @author Volker Bergmann
@@ -50,8 +52,10 @@
   /** Keeps the Sample information */
   final List<WeightedSample<E>> samples = new ArrayList<>();
 
-  /** Generator for choosing a List index of the sample list */
-  private final WeightedLongGenerator indexGenerator = new WeightedLongGenerator(0, 0, 1, new SampleWeightFunction());
+  /** Chooses a List index of the sample list */
+  private AliasTable aliasTable;
+
+  private final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider().split();
 
   private double totalWeight;
 
@@ -103,7 +107,6 @@ public void setSamples(Collection<WeightedSample<E>> samples) {
   /** Adds weighted values to the sample list */
   public <T extends E> void addSample(T value, double weight) {
     addSample(new WeightedSample<>(value, weight));
-    totalWeight += weight;
   }
 
   /** Adds a weighted value to the sample list */
@@ -124,6 +127,7 @@ public <T extends E> void addValue(T value) {
   @Override
   public void clear() {
     this.samples.clear();
+    this.totalWeight = 0;
   }
 
   // Generator implementation ----------------------------------------------------------------------------------------
@@ -142,8 +146,11 @@ public Class<E> getGeneratedType() {
   public void init(GeneratorContext context) {
     normalize();
     if (!samples.isEmpty()) {
-      indexGenerator.setMax((long) (samples.size() - 1));
-      indexGenerator.init(context);
+      double[] weights = new double[samples.size()];
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] = samples.get(i).getWeight();
+      }
+      aliasTable = new AliasTable(weights);
     }
     super.init(context);
   }
@@ -154,8 +161,7 @@ public ProductWrapper<E> generate(ProductWrapper<E> wrapper) {
     if (samples.isEmpty()) {
       return null;
     }
-    int index = indexGenerator.generate().intValue();
-    WeightedSample<? extends E> sample = samples.get(index);
+    WeightedSample<? extends E> sample = samples.get(aliasTable.sample(random));
     return wrapper.wrap(sample.getValue());
   }
 
@@ -190,22 +196,6 @@ public boolean containsSample(E searchedValue) {
     return false;
   }
 
-  /** Weight function that evaluates the weights that are stored in the sample list. */
-  class SampleWeightFunction extends AbstractWeightFunction {
-
-    /** @see com.rapiddweller.benerator.distribution.WeightFunction#value(double) */
-    @Override
-    public double value(double param) {
-      return samples.get((int) param).getWeight();
-    }
-
-    /** creates a String representation */
-    @Override
-    public String toString() {
-      return getClass().getSimpleName();
-    }
-  }
-
   // java.lang.Object overrides --------------------------------------------------------------------------------------
 
   @Override
@@ -26,11 +26,12 @@
 
 package com.rapiddweller.benerator.sample;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.RandomProvider;
 import com.rapiddweller.benerator.WeightedGenerator;
-import com.rapiddweller.benerator.distribution.AbstractWeightFunction;
+import com.rapiddweller.benerator.distribution.AliasTable;
 import com.rapiddweller.benerator.distribution.IndividualWeight;
-import com.rapiddweller.benerator.distribution.WeightedLongGenerator;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 import com.rapiddweller.common.Assert;
 
@@ -38,8 +39,8 @@
 import java.util.List;
 
 /**
- * Maps an {@link IndividualWeight} distribution to an {@link AbstractWeightFunction} and uses its capabilities
- * for providing distribution features based on the {@link IndividualWeight}'s characteristics.<br/><br/>
+ * Chooses samples with the probabilities that an {@link IndividualWeight} assigns to them,
+ * in constant time using an {@link AliasTable}.<br/><br/>
  * Created at 01.07.2009 11:48:23
  * @param <E> the type parameter
  * @author Volker Bergmann
@@ -54,8 +55,10 @@
 
   private double totalWeight;
 
-  /** Generator for choosing a List index of the sample list */
-  private WeightedLongGenerator indexGenerator;
+  /** Chooses a List index of the sample list */
+  private AliasTable aliasTable;
+
+  private final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider().split();
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -112,6 +115,7 @@ public double getWeight() {
   @Override
   public void clear() {
     this.samples.clear();
+    this.totalWeight = 0;
   }
 
   // Generator implementation ----------------------------------------------------------------------------------------
@@ -120,8 +124,13 @@ public void clear() {
   @Override
   public void init(GeneratorContext context) {
     assertNotInitialized();
-    indexGenerator = new WeightedLongGenerator(0, samples.size() - 1L, 1L, new SampleWeightFunction());
-    indexGenerator.init(context);
+    if (!samples.isEmpty()) {
+      double[] weights = new double[samples.size()];
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] = individualWeight.weight(samples.get(i));
+      }
+      aliasTable = new AliasTable(weights);
+    }
     super.init(context);
   }
 
@@ -131,29 +140,7 @@ public ProductWrapper<E> generate(ProductWrapper<E> wrapper) {
     if (samples.isEmpty()) {
       return null;
     }
-    int index = indexGenerator.generate().intValue();
-    return wrapper.wrap(samples.get(index));
-  }
-
-
-  // implementation --------------------------------------------------------------------------------------------------
-
-  /**
-   * Weight function that evaluates the weights that are stored in the sample list.
-   */
-  class SampleWeightFunction extends AbstractWeightFunction {
-
-    /** @see com.rapiddweller.benerator.distribution.WeightFunction#value(double) */
-    @Override
-    public double value(double param) {
-      return individualWeight.weight(samples.get((int) param));
-    }
-
-    /** creates a String representation */
-    @Override
-    public String toString() {
-      return getClass().getSimpleName();
-    }
+    return wrapper.wrap(samples.get(aliasTable.sample(random)));
   }
 
   // java.lang.Object overrides --------------------------------------------------------------------------------------
@@ -20,11 +20,11 @@
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository that binds {@link LatencyCounter}s to a name and makes them available to clients.<br/><br/>
@@ -42,7 +42,7 @@ public class CounterRepository {
 	private static final CounterRepository INSTANCE = new CounterRepository();
 	
 	private CounterRepository() {
-		counters = new HashMap<>();
+		counters = new ConcurrentHashMap<>();
 	}
 
 	public static CounterRepository getInstance() {
@@ -93,19 +93,7 @@ public String formatSummary() {
 	// helper methods --------------------------------------------------------------------------------------------------
 	
 	private LatencyCounter getOrCreateCounter(String name) {
-		LatencyCounter counter = getCounter(name);
-		if (counter == null)
-			counter = createCounter(name);
-		return counter;
-	}
-
-	private synchronized LatencyCounter createCounter(String name) {
-		LatencyCounter counter = getCounter(name);
-		if (counter == null) {
-			counter = new LatencyCounter(name);
-			counters.put(name, counter);
-		}
-		return counter;
+		return counters.computeIfAbsent(name, LatencyCounter::new);
 	}
 
 	private static String formatSummaryTable(List<String[]> list) {
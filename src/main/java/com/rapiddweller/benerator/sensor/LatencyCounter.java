@@ -18,9 +18,14 @@
 import com.rapiddweller.contiperf.clock.SystemClock;
 
 import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Counts latencies and calculates performance-related statistics.<br/><br/>
+ * Counts latencies and calculates performance-related statistics.
+ * Samples up to the expected maximum latency are recorded without locking,
+ * only larger ones are counted in a synchronized overflow array.<br/><br/>
  * Created: Created: 14.12.2006 18:11:58
  * @since 1.0
  * @author Volker Bergmann
@@ -30,15 +35,16 @@ public final class LatencyCounter {
 	private final String name;
 	private final String clockName;
 	
-    private int minLatency;
-    private int maxLatency;
-    private long[] latencyCounts;
+    private final LongAccumulator minLatency;
+    private final LongAccumulator maxLatency;
+    private final AtomicLongArray latencyCounts;
+    private long[] overflowCounts;
 
     private boolean running;
     private long startTime;
     private long endTime;
-    private long sampleCount;
-    private long totalLatency;
+    private final LongAdder sampleCount;
+    private final LongAdder totalLatency;
 
     public LatencyCounter(String name) {
         this(name, SystemClock.NAME, 1000);
@@ -47,11 +53,12 @@ public LatencyCounter(String name) {
     public LatencyCounter(String name, String clockName, int expectedMaxLatency) {
     	this.name = name;
     	this.clockName = clockName;
-        this.latencyCounts = new long[1 + expectedMaxLatency];
-        this.sampleCount = 0;
-        this.totalLatency = 0;
-        this.minLatency = -1;
-        this.maxLatency = -1;
+        this.latencyCounts = new AtomicLongArray(1 + expectedMaxLatency);
+        this.overflowCounts = new long[0];
+        this.sampleCount = new LongAdder();
+        this.totalLatency = new LongAdder();
+        this.minLatency = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        this.maxLatency = new LongAccumulator(Math::max, -1);
         this.startTime = -1;
         this.endTime = -1;
     }
@@ -74,16 +81,15 @@ public void start() {
     	this.running = true;
     }
     
-    public synchronized void addSample(int latency) {
-        if (latency >= latencyCounts.length)
-            resize(latency);
-        latencyCounts[latency]++;
-        sampleCount++;
-        totalLatency += latency;
-        if (minLatency == -1 || latency < minLatency)
-            minLatency = latency;
-        if (latency > maxLatency)
-            maxLatency = latency;
+    public void addSample(int latency) {
+        if (latency < latencyCounts.length())
+            latencyCounts.incrementAndGet(latency);
+        else
+            addOverflowSample(latency - latencyCounts.length());
+        sampleCount.increment();
+        totalLatency.add(latency);
+        minLatency.accumulate(latency);
+        maxLatency.accumulate(latency);
     }
 
     public void stop() {
@@ -104,53 +110,56 @@ public long getStartTime() {
     }
 
     public long getLatencyCount(long latency) {
-        if (latency < latencyCounts.length) {
-			return latencyCounts[(int) latency];
+        if (latency < latencyCounts.length()) {
+			return latencyCounts.get((int) latency);
 		} else {
-			return 0;
+			return getOverflowCount(latency - latencyCounts.length());
 		}
     }
 
     public long totalLatency() {
-        return totalLatency;
+        return totalLatency.sum();
     }
 
     public double averageLatency() {
-        return (double) totalLatency / sampleCount;
+        return (double) totalLatency.sum() / sampleCount.sum();
     }
 
     public long minLatency() {
-        return Math.max(minLatency, 0);
+        return (sampleCount.sum() > 0 ? minLatency.get() : 0);
     }
 
     public long maxLatency() {
-        return Math.max(maxLatency, 0);
+        return Math.max(maxLatency.get(), 0);
     }
 
     public long sampleCount() {
-        return sampleCount;
+        return sampleCount.sum();
     }
 
     public void setSampleCount(long sampleCount) {
-      this.sampleCount = sampleCount;
+      this.sampleCount.reset();
+      this.sampleCount.add(sampleCount);
     }
 
     public long percentileLatency(int percentile) {
-        long targetCount = percentile * sampleCount / 100;
+        long targetCount = percentile * sampleCount.sum() / 100;
         long count = 0;
-        for (long value = minLatency(); value <= maxLatency; value++) {
+        long max = maxLatency();
+        for (long value = minLatency(); value <= max; value++) {
             count += getLatencyCount(value);
             if (count >= targetCount)
                 return value;
         }
-        return maxLatency;
+        return max;
     }
     
     public double percentileAboveLatency(int latency) {
         long count = 0;
-        for (long value = (long) latency + 1; value <= maxLatency; value++)
+        long max = maxLatency();
+        for (long value = (long) latency + 1; value <= max; value++)
             count += getLatencyCount(value);
-        return (count * 100.) / sampleCount;
+        return (count * 100.) / sampleCount.sum();
     }
     
     public double throughput() {
@@ -158,7 +167,7 @@ public double throughput() {
           throw BeneratorExceptionFactory.getInstance().illegalOperation(
               "Invalid call: Use start() and stop() to indicate test start and end!");
         }
-    	return 1000. * sampleCount / duration();
+    	return 1000. * sampleCount.sum() / duration();
     }
 
 	public long duration() {
@@ -167,16 +176,22 @@ public long duration() {
     
     // private helpers -------------------------------------------------------------------------------------------------
 
-    private void resize(int requestedIndex) {
-        int sizingFactor = (requestedIndex + latencyCounts.length) / latencyCounts.length;
-        int newLength = sizingFactor * latencyCounts.length;
-        long[] newLatencyCounts = new long[newLength];
-        System.arraycopy(latencyCounts, 0, newLatencyCounts, 0, latencyCounts.length);
-        latencyCounts = newLatencyCounts;
+    private synchronized void addOverflowSample(int index) {
+        if (index >= overflowCounts.length) {
+            int step = latencyCounts.length();
+            long[] newOverflowCounts = new long[(index / step + 1) * step];
+            System.arraycopy(overflowCounts, 0, newOverflowCounts, 0, overflowCounts.length);
+            overflowCounts = newOverflowCounts;
+        }
+        overflowCounts[index]++;
+    }
+
+    private synchronized long getOverflowCount(long index) {
+        return (index < overflowCounts.length ? overflowCounts[(int) index] : 0);
     }
 
 	public void printSummary(PrintWriter out, int... percentiles) {
-    	out.println("samples: " + sampleCount);
+    	out.println("samples: " + sampleCount.sum());
     	out.println("max:     " + maxLatency());
     	out.println("average: " + averageLatency());
     	out.println("median:  " + percentileLatency(50));
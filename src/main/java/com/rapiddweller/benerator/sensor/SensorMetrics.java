@@ -0,0 +1,88 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.sensor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live metrics of a sensor, i.e. of one &lt;generate&gt; or &lt;iterate&gt; statement:
+ * The number of products, the latency of product creation and the current throughput.
+ * Recording is lock-free, so it can be done by concurrent threads for each single product.<br/><br/>
+ * Created: 23.03.2022 10:02:47
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class SensorMetrics {
+
+  private final String name;
+  private final LongAdder count;
+  private final StripedHistogram latencies; // in nanoseconds
+  private long latestCount;
+  private long latestTimestamp;
+  private volatile long currentThroughput;
+
+  public SensorMetrics(String name) {
+    this.name = name;
+    this.count = new LongAdder();
+    this.latencies = new StripedHistogram();
+    this.latestCount = 0;
+    this.latestTimestamp = System.nanoTime();
+    this.currentThroughput = 0;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Registers the creation of a product which took the given number of nanoseconds. */
+  public void addSample(long latencyNanos) {
+    count.increment();
+    latencies.record(latencyNanos);
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  /** @return the number of products per second, measured over the latest update interval */
+  public long currentThroughput() {
+    return currentThroughput;
+  }
+
+  /** @return the approximate latency in microseconds, below or at which the given percentage of products lie */
+  public long latencyPercentileMicros(double percentile) {
+    return TimeUnit.NANOSECONDS.toMicros(latencies.percentile(percentile));
+  }
+
+  /** Recalculates the current throughput. This is called periodically by a single monitoring thread. */
+  public synchronized void update(long timestamp) {
+    long currentCount = count.sum();
+    long dt = timestamp - latestTimestamp;
+    if (dt > 0) {
+      currentThroughput = (currentCount - latestCount) * 1000000000L / dt;
+    }
+    latestCount = currentCount;
+    latestTimestamp = timestamp;
+  }
+
+  public synchronized void reset() {
+    count.reset();
+    latencies.reset();
+    latestCount = 0;
+    latestTimestamp = System.nanoTime();
+    currentThroughput = 0;
+  }
+
+  /** @return a one-line summary of the metrics */
+  public String summary() {
+    return name + ": " + count() + " products, " + currentThroughput + "/s, latency p50 " +
+        latencyPercentileMicros(50) + " us, p99 " + latencyPercentileMicros(99) + " us";
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + name + ']';
+  }
+
+}
@@ -0,0 +1,118 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.sensor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative long values for concurrent recording.
+ * Values below 64 are counted exactly, larger values in log-linear buckets
+ * with a relative resolution of 1/32 (about 3%).
+ * Each thread records in one of several stripes, which are summed up on read,
+ * so that recording threads rarely compete for the same cache line.<br/><br/>
+ * Created: 23.03.2022 09:31:12
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public final class StripedHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+  private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray[] stripes;
+  private final int stripeMask;
+
+  public StripedHistogram() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  public StripedHistogram(int concurrency) {
+    int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 16)) * 2 - 1);
+    this.stripes = new AtomicLongArray[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+    }
+    this.stripeMask = stripeCount - 1;
+  }
+
+  public void record(long value) {
+    int stripe = (int) Thread.currentThread().getId() & stripeMask;
+    stripes[stripe].incrementAndGet(bucketOf(Math.max(0, value)));
+  }
+
+  public long count() {
+    long sum = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      sum += bucketCount(bucket);
+    }
+    return sum;
+  }
+
+  /** Returns an approximation of the value below or at which the given percentage of all values lie.
+   *  @param percentile a number between 0 and 100
+   *  @return the approximate percentile value, or 0 if no value was recorded */
+  public long percentile(double percentile) {
+    long[] counts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      counts[bucket] = bucketCount(bucket);
+      total += counts[bucket];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long targetCount = Math.max(1, (long) Math.ceil(percentile * total / 100.));
+    long count = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      count += counts[bucket];
+      if (count >= targetCount) {
+        return upperBoundOf(bucket);
+      }
+    }
+    return upperBoundOf(BUCKET_COUNT - 1);
+  }
+
+  /** Clears the histogram. Values recorded concurrently may or may not survive. */
+  public void reset() {
+    for (AtomicLongArray stripe : stripes) {
+      for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+        stripe.set(bucket, 0);
+      }
+    }
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private long bucketCount(int bucket) {
+    long sum = 0;
+    for (AtomicLongArray stripe : stripes) {
+      sum += stripe.get(bucket);
+    }
+    return sum;
+  }
+
+  static int bucketOf(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS + 1
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) - SUB_BUCKETS; // 0..SUB_BUCKETS-1
+    return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBoundOf(int bucket) {
+    if (bucket < LINEAR_LIMIT) {
+      return bucket;
+    }
+    int offset = bucket - LINEAR_LIMIT;
+    int exponent = offset / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    int shift = exponent - SUB_BUCKET_BITS;
+    long lowerBound = ((long) (SUB_BUCKETS + offset % SUB_BUCKETS)) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+}
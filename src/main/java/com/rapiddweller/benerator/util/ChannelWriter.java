@@ -0,0 +1,151 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link Writer} which encodes characters directly into a large direct {@link ByteBuffer}
+ * and writes the buffer content through a {@link FileChannel}, optionally gzip-compressed.
+ * Character arrays and strings are encoded in place without intermediate copies,
+ * so for large exports the throughput is limited by the disk rather than by character encoding.
+ * Instances are not thread-safe.<br/><br/>
+ * Created: 28.03.2022 14:21:09
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ChannelWriter extends Writer {
+
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+  private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
+  private final WritableByteChannel channel;
+  private final CharsetEncoder encoder;
+  private final ByteBuffer buffer;
+  private final char[] single;
+  private final char[] pair;
+  private char pendingHighSurrogate;
+  private boolean open;
+
+  /** @param file the file to write
+   *  @param charset the character encoding to apply
+   *  @param append if true, data is appended to an existing file, otherwise the file is overwritten
+   *  @param gzip if true, the data is gzip-compressed
+   *  @param bufferSize the size of the direct byte buffer */
+  public ChannelWriter(File file, Charset charset, boolean append, boolean gzip, int bufferSize) throws IOException {
+    FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        (append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING));
+    this.channel = (gzip ?
+        Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fileChannel), GZIP_BUFFER_SIZE)) :
+        fileChannel);
+    this.encoder = charset.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    this.single = new char[1];
+    this.pair = new char[2];
+    this.pendingHighSurrogate = 0;
+    this.open = true;
+  }
+
+  // Writer interface implementation ---------------------------------------------------------------------------------
+
+  @Override
+  public void write(int c) throws IOException {
+    single[0] = (char) c;
+    encode(CharBuffer.wrap(single));
+  }
+
+  @Override
+  public void write(char[] chars, int offset, int length) throws IOException {
+    encode(CharBuffer.wrap(chars, offset, length));
+  }
+
+  @Override
+  public void write(String text, int offset, int length) throws IOException {
+    encode(CharBuffer.wrap(text, offset, offset + length));
+  }
+
+  @Override
+  public Writer append(CharSequence text) throws IOException {
+    encode(CharBuffer.wrap(text != null ? text : "null"));
+    return this;
+  }
+
+  /** Writes the buffered bytes to the channel. Compressed data may be held back by the compressor until close. */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    drain();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!open) {
+      return;
+    }
+    try {
+      CharBuffer rest = (pendingHighSurrogate != 0 ?
+          CharBuffer.wrap(new char[] { pendingHighSurrogate }) : CharBuffer.allocate(0));
+      while (encoder.encode(rest, buffer, true).isOverflow()) {
+        drain();
+      }
+      while (encoder.flush(buffer).isOverflow()) {
+        drain();
+      }
+      drain();
+    } finally {
+      open = false;
+      channel.close();
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void encode(CharBuffer chars) throws IOException {
+    ensureOpen();
+    if (pendingHighSurrogate != 0 && chars.hasRemaining()) {
+      // complete a surrogate pair which was split between two calls
+      pair[0] = pendingHighSurrogate;
+      pair[1] = chars.get();
+      pendingHighSurrogate = 0;
+      encode(CharBuffer.wrap(pair, 0, 2));
+    }
+    CoderResult result;
+    while ((result = encoder.encode(chars, buffer, false)).isOverflow()) {
+      drain();
+    }
+    if (result.isUnderflow() && chars.hasRemaining()) {
+      pendingHighSurrogate = chars.get(); // the encoder waits for the low surrogate
+    }
+  }
+
+  private void drain() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private void ensureOpen() throws IOException {
+    if (!open) {
+      throw new IOException("Writer is closed");
+    }
+  }
+
+}
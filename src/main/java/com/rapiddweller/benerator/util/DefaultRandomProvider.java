@@ -25,6 +25,11 @@ public class DefaultRandomProvider implements RandomProvider {
 
   private final Random random = new Random();
 
+  @Override
+  public void setSeed(long seed) {
+    random.setSeed(seed);
+  }
+
   /** Returns a random, uniformly distributed double value between 0.0 (inclusive) and 1.0 (exclusive). */
   public double randomDouble() {
     return random.nextDouble();
@@ -0,0 +1,162 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Compact set of 64-bit fingerprints of values, which is used for tracking uniqueness of large numbers of values.
+ * Fingerprints are stored in an open addressing hash table of primitive longs, which takes about 16 bytes per value.
+ * When the number of fingerprints exceeds a heap limit, the table is moved to a memory-mapped temporary file,
+ * so that the operating system pages it in and out as needed and hundreds of millions of fingerprints fit.
+ * Since different values may have the same fingerprint, {@link #add(long)} may report a new value
+ * as already contained, but never the other way round. For 500 million values, the probability
+ * of even a single false report is below 1%.<br/><br/>
+ * Created: 26.03.2022 10:07:35
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class FingerprintSet implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(FingerprintSet.class);
+
+  private static final long EMPTY = 0L;
+  private static final long NULL_FINGERPRINT = 0x6e756c6cL; // 'null'
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final int heapLimit;
+  private final File spillDirectory;
+
+  private LongTable table;
+  private long size;
+
+  /** Creates a set which keeps up to 'heapLimit' fingerprints on the heap and spills to a file
+   *  in the given directory afterwards.
+   *  @param heapLimit the maximum number of fingerprints to keep on the heap
+   *  @param spillDirectory the directory for the spill file, or null for the system's temp directory */
+  public FingerprintSet(int heapLimit, File spillDirectory) {
+    this.heapLimit = heapLimit;
+    this.spillDirectory = spillDirectory;
+    this.table = LongTable.onHeap(INITIAL_CAPACITY);
+    this.size = 0;
+  }
+
+  /** Adds a fingerprint.
+   *  @return true if the fingerprint was new, false if it was already contained */
+  public boolean add(long fingerprint) {
+    if (fingerprint == EMPTY) {
+      fingerprint = NULL_FINGERPRINT;
+    }
+    long mask = table.capacity() - 1;
+    long index = mix(fingerprint) & mask;
+    long entry;
+    while ((entry = table.get(index)) != EMPTY) {
+      if (entry == fingerprint) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    table.set(index, fingerprint);
+    if (++size * 2 > table.capacity()) {
+      grow();
+    }
+    return true;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /** @return true if the fingerprints have been moved to a memory-mapped file */
+  public boolean isSpilled() {
+    return (table instanceof LongTable.MappedTable);
+  }
+
+  public void clear() {
+    table.release();
+    table = LongTable.onHeap(INITIAL_CAPACITY);
+    size = 0;
+  }
+
+  /** Releases the table and deletes the spill file, if any. */
+  @Override
+  public void close() {
+    clear();
+  }
+
+  /** Calculates a 64-bit fingerprint of a value. Integral numbers and dates are fingerprinted
+   *  by their numerical value, arrays by their elements and all other objects by their string representation. */
+  public static long fingerprint(Object value) {
+    if (value == null) {
+      return NULL_FINGERPRINT;
+    } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return mix(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      return mix(Double.doubleToLongBits(((Number) value).doubleValue()));
+    } else if (value instanceof Date) {
+      return mix(((Date) value).getTime());
+    } else if (value instanceof Object[]) {
+      return fingerprint(Arrays.deepToString((Object[]) value));
+    } else if (value instanceof CharSequence) {
+      return fingerprint((CharSequence) value);
+    } else {
+      return fingerprint(value.toString());
+    }
+  }
+
+  /** Calculates a 64-bit FNV-1a hash of the characters, finalized with a bit mixer. */
+  public static long fingerprint(CharSequence text) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < text.length(); i++) {
+      hash ^= text.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** The finalization step of MurmurHash3, which spreads each input bit over all output bits. */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  private void grow() {
+    long newCapacity = table.capacity() * 2;
+    LongTable newTable;
+    if (size <= heapLimit && newCapacity <= (1 << 30)) {
+      newTable = LongTable.onHeap((int) newCapacity);
+    } else {
+      newTable = LongTable.mapped(newCapacity, spillDirectory, "benerator-unique-");
+      if (!isSpilled()) {
+        logger.info("Spilling {} fingerprints to {}", size, ((LongTable.MappedTable) newTable).getFile());
+      }
+    }
+    long mask = newCapacity - 1;
+    for (long i = 0; i < table.capacity(); i++) {
+      long fingerprint = table.get(i);
+      if (fingerprint != EMPTY) {
+        long index = mix(fingerprint) & mask;
+        while (newTable.get(index) != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        newTable.set(index, fingerprint);
+      }
+    }
+    table.release();
+    table = newTable;
+  }
+
+}
@@ -0,0 +1,148 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Fixed-size array of primitive longs with a long index, which resides either on the heap
+ * or in a memory-mapped temporary file. It is the storage of primitive hash tables
+ * which need to outgrow the heap.<br/><br/>
+ * Created: 30.03.2022 16:48:12
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public interface LongTable {
+
+  long capacity();
+
+  long get(long index);
+
+  void set(long index, long value);
+
+  /** Frees the resources of the table, a spill file is deleted. */
+  void release();
+
+  /** Creates a table on the heap. All elements are initialized with 0. */
+  static LongTable onHeap(int capacity) {
+    return new HeapTable(capacity);
+  }
+
+  /** Creates a table in a temporary file. All elements are initialized with 0.
+   *  @param capacity the number of elements, a power of 2
+   *  @param directory the directory of the file, or null for the system's temp directory
+   *  @param filePrefix the prefix of the file name */
+  static LongTable mapped(long capacity, File directory, String filePrefix) {
+    return new MappedTable(capacity, directory, filePrefix);
+  }
+
+  // implementations -------------------------------------------------------------------------------------------------
+
+  class HeapTable implements LongTable {
+
+    private final long[] values;
+
+    HeapTable(int capacity) {
+      this.values = new long[capacity];
+    }
+
+    @Override
+    public long capacity() {
+      return values.length;
+    }
+
+    @Override
+    public long get(long index) {
+      return values[(int) index];
+    }
+
+    @Override
+    public void set(long index, long value) {
+      values[(int) index] = value;
+    }
+
+    @Override
+    public void release() {
+      // nothing to do, the garbage collector takes care of the array
+    }
+  }
+
+  /** Table in a temporary file which is mapped into memory in segments of up to 1 GB. */
+  class MappedTable implements LongTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedTable.class);
+
+    private static final int SEGMENT_BITS = 27; // 2^27 longs = 1 GB per mapped segment
+
+    private final long capacity;
+    private final int segmentBits;
+    private final long segmentMask;
+    private final Path file;
+    private final LongBuffer[] segments;
+
+    MappedTable(long capacity, File directory, String filePrefix) {
+      this.capacity = capacity;
+      this.segmentBits = (int) Math.min(SEGMENT_BITS, Long.numberOfTrailingZeros(capacity));
+      this.segmentMask = (1L << segmentBits) - 1;
+      int segmentCount = (int) (capacity >>> segmentBits);
+      this.segments = new LongBuffer[segmentCount];
+      try {
+        this.file = (directory != null ?
+            Files.createTempFile(directory.toPath(), filePrefix, ".bin") :
+            Files.createTempFile(filePrefix, ".bin"));
+        file.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+          long segmentBytes = 8L << segmentBits;
+          for (int i = 0; i < segmentCount; i++) {
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * segmentBytes, segmentBytes).asLongBuffer();
+          }
+        }
+      } catch (IOException e) {
+        throw BeneratorExceptionFactory.getInstance().fileCreationFailed(
+            "Failed to create spill file for " + capacity + " table entries", e);
+      }
+    }
+
+    public Path getFile() {
+      return file;
+    }
+
+    @Override
+    public long capacity() {
+      return capacity;
+    }
+
+    @Override
+    public long get(long index) {
+      return segments[(int) (index >>> segmentBits)].get((int) (index & segmentMask));
+    }
+
+    @Override
+    public void set(long index, long value) {
+      segments[(int) (index >>> segmentBits)].put((int) (index & segmentMask), value);
+    }
+
+    @Override
+    public void release() {
+      // the mapping is released by the garbage collector, on Windows the file can only be deleted afterwards
+      Arrays.fill(segments, null);
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        logger.debug("Unable to delete spill file {}", file, e);
+      }
+    }
+  }
+
+}
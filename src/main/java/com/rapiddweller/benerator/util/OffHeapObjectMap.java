@@ -0,0 +1,480 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Map of keys to values which stores its data outside the Java heap, for mapping hundreds of millions
+ * of keys without running out of heap. Keys and values are serialized into an append-only log
+ * of direct byte buffers. Once the log exceeds an off-heap limit, it is continued in a memory-mapped
+ * temporary file, so that the operating system pages it in and out as needed. The log is indexed by
+ * an open addressing hash table of primitive longs, which is moved to a memory-mapped file as well
+ * when it grows large.<br/>
+ * The map supports numbers, strings, booleans, dates, arrays of these types and other serializable objects.
+ * All integral key numbers up to 64 bits are treated as equal if they have the same value,
+ * so an Integer key finds a value stored with a Long key. Values keep their type.
+ * Keys are grouped by a numerical namespace, so one instance can hold different maps.
+ * Instances are not thread-safe.<br/><br/>
+ * Created: 30.03.2022 17:21:40
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class OffHeapObjectMap implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(OffHeapObjectMap.class);
+
+  private static final int SEGMENT_SIZE = 1 << 26; // 64 MB per log segment
+  private static final int INITIAL_INDEX_CAPACITY = 1024;
+  private static final long HEAP_INDEX_LIMIT = 1 << 22; // index entries kept on the heap: 64 MB
+
+  // type tags of the serialization format
+  private static final byte NULL = 0;
+  private static final byte LONG = 1;
+  private static final byte INTEGER = 2;
+  private static final byte SHORT = 3;
+  private static final byte BYTE = 4;
+  private static final byte STRING = 5;
+  private static final byte BIG_DECIMAL = 6;
+  private static final byte BIG_INTEGER = 7;
+  private static final byte DOUBLE = 8;
+  private static final byte FLOAT = 9;
+  private static final byte BOOLEAN = 10;
+  private static final byte DATE = 11;
+  private static final byte SQL_DATE = 12;
+  private static final byte SQL_TIME = 13;
+  private static final byte TIMESTAMP = 14;
+  private static final byte ARRAY = 15;
+  private static final byte SERIALIZED = 16;
+
+  private final long offHeapLimit;
+  private final File spillDirectory;
+
+  private final List<ByteBuffer> segments;
+  private int directSegmentCount;
+  private int writeOffset;
+  private Path spillFile;
+  private FileChannel spillChannel;
+
+  private LongTable index; // two elements per slot: the hash and the log address + 1
+  private long size;
+
+  private final Encoder keyEncoder;
+  private final Encoder valueEncoder;
+
+  /** @param offHeapLimit the maximum number of bytes to keep in direct buffers
+   *  @param spillDirectory the directory for spill files, or null for the system's temp directory */
+  public OffHeapObjectMap(long offHeapLimit, File spillDirectory) {
+    this.offHeapLimit = offHeapLimit;
+    this.spillDirectory = spillDirectory;
+    this.segments = new ArrayList<>();
+    this.directSegmentCount = 0;
+    this.writeOffset = SEGMENT_SIZE; // forces the allocation of a segment on first write
+    this.index = LongTable.onHeap(2 * INITIAL_INDEX_CAPACITY);
+    this.size = 0;
+    this.keyEncoder = new Encoder(true);
+    this.valueEncoder = new Encoder(false);
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** Stores a value for a key, replacing a value which was stored before. */
+  public void put(int namespace, Object key, Object value) {
+    keyEncoder.reset(namespace).write(key);
+    valueEncoder.reset(0).write(value);
+    long hash = keyEncoder.hash();
+    long mask = slotCount() - 1;
+    long slot = hash & mask;
+    long slotHash;
+    while ((slotHash = index.get(2 * slot)) != 0) {
+      if (slotHash == hash && keyMatches(index.get(2 * slot + 1) - 1)) {
+        index.set(2 * slot + 1, append() + 1); // the old entry stays in the log as garbage
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    index.set(2 * slot, hash);
+    index.set(2 * slot + 1, append() + 1);
+    if (++size * 2 > slotCount()) {
+      growIndex();
+    }
+  }
+
+  /** @return the value stored for the key, or null if the key is unknown */
+  public Object get(int namespace, Object key) {
+    keyEncoder.reset(namespace).write(key);
+    long hash = keyEncoder.hash();
+    long mask = slotCount() - 1;
+    long slot = hash & mask;
+    long slotHash;
+    while ((slotHash = index.get(2 * slot)) != 0) {
+      long address = index.get(2 * slot + 1) - 1;
+      if (slotHash == hash && keyMatches(address)) {
+        ByteBuffer segment = segments.get((int) (address / SEGMENT_SIZE));
+        int offset = (int) (address % SEGMENT_SIZE);
+        return new Decoder(segment, offset + 4 + segment.getInt(offset) + 4).read();
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /** @return the number of bytes used in the log, including replaced entries */
+  public long logSize() {
+    return (segments.isEmpty() ? 0 : (long) (segments.size() - 1) * SEGMENT_SIZE + writeOffset);
+  }
+
+  /** @return true if data has been moved to memory-mapped files */
+  public boolean isSpilled() {
+    return (spillChannel != null || index instanceof LongTable.MappedTable);
+  }
+
+  /** Releases all buffers and deletes the spill files. */
+  @Override
+  public void close() {
+    index.release();
+    index = LongTable.onHeap(2 * INITIAL_INDEX_CAPACITY);
+    segments.clear(); // direct and mapped buffers are freed by the garbage collector
+    size = 0;
+    writeOffset = SEGMENT_SIZE;
+    directSegmentCount = 0;
+    if (spillChannel != null) {
+      try {
+        spillChannel.close();
+        Files.deleteIfExists(spillFile);
+      } catch (IOException e) {
+        logger.debug("Unable to delete spill file {}", spillFile, e);
+      }
+      spillChannel = null;
+      spillFile = null;
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private long slotCount() {
+    return index.capacity() / 2;
+  }
+
+  /** Appends the encoded key and value to the log.
+   *  @return the address of the entry */
+  private long append() {
+    int entryLength = 4 + keyEncoder.length + 4 + valueEncoder.length;
+    if (entryLength > SEGMENT_SIZE) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Entry too large: " + entryLength + " bytes");
+    }
+    if (writeOffset + entryLength > SEGMENT_SIZE) {
+      segments.add(createSegment());
+      writeOffset = 0;
+    }
+    ByteBuffer segment = segments.get(segments.size() - 1);
+    long address = (long) (segments.size() - 1) * SEGMENT_SIZE + writeOffset;
+    segment.position(writeOffset);
+    segment.putInt(keyEncoder.length).put(keyEncoder.bytes, 0, keyEncoder.length);
+    segment.putInt(valueEncoder.length).put(valueEncoder.bytes, 0, valueEncoder.length);
+    writeOffset += entryLength;
+    return address;
+  }
+
+  private ByteBuffer createSegment() {
+    if ((long) (directSegmentCount + 1) * SEGMENT_SIZE <= offHeapLimit) {
+      directSegmentCount++;
+      return ByteBuffer.allocateDirect(SEGMENT_SIZE);
+    }
+    try {
+      if (spillChannel == null) {
+        spillFile = (spillDirectory != null ?
+            Files.createTempFile(spillDirectory.toPath(), "benerator-map-", ".bin") :
+            Files.createTempFile("benerator-map-", ".bin"));
+        spillFile.toFile().deleteOnExit();
+        spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        logger.info("Spilling map data of {} entries to {}", size, spillFile);
+      }
+      long position = (long) (segments.size() - directSegmentCount) * SEGMENT_SIZE;
+      return spillChannel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE);
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().fileCreationFailed("Failed to extend map spill file", e);
+    }
+  }
+
+  private boolean keyMatches(long address) {
+    ByteBuffer segment = segments.get((int) (address / SEGMENT_SIZE));
+    int offset = (int) (address % SEGMENT_SIZE);
+    int length = segment.getInt(offset);
+    if (length != keyEncoder.length) {
+      return false;
+    }
+    byte[] key = keyEncoder.bytes;
+    for (int i = 0; i < length; i++) {
+      if (segment.get(offset + 4 + i) != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void growIndex() {
+    long newSlotCount = slotCount() * 2;
+    LongTable newIndex;
+    if (newSlotCount <= HEAP_INDEX_LIMIT) {
+      newIndex = LongTable.onHeap((int) (2 * newSlotCount));
+    } else {
+      newIndex = LongTable.mapped(2 * newSlotCount, spillDirectory, "benerator-map-index-");
+    }
+    long mask = newSlotCount - 1;
+    for (long slot = 0; slot < slotCount(); slot++) {
+      long hash = index.get(2 * slot);
+      if (hash != 0) {
+        long newSlot = hash & mask;
+        while (newIndex.get(2 * newSlot) != 0) {
+          newSlot = (newSlot + 1) & mask;
+        }
+        newIndex.set(2 * newSlot, hash);
+        newIndex.set(2 * newSlot + 1, index.get(2 * slot + 1));
+      }
+    }
+    index.release();
+    index = newIndex;
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Serializes objects into a reusable byte array. */
+  private static class Encoder {
+
+    /** if true, integral numbers are normalized to longs */
+    private final boolean key;
+    byte[] bytes;
+    int length;
+
+    Encoder(boolean key) {
+      this.key = key;
+      this.bytes = new byte[256];
+    }
+
+    Encoder reset(int namespace) {
+      length = 0;
+      writeInt(namespace);
+      return this;
+    }
+
+    long hash() {
+      long hash = 0xcbf29ce484222325L;
+      for (int i = 0; i < length; i++) {
+        hash ^= bytes[i];
+        hash *= 0x100000001b3L;
+      }
+      hash ^= hash >>> 33;
+      hash *= 0xff51afd7ed558ccdL;
+      hash ^= hash >>> 33;
+      return (hash != 0 ? hash : 1); // 0 marks an empty slot
+    }
+
+    void write(Object value) {
+      if (value == null) {
+        writeByte(NULL);
+      } else if (value instanceof Long || (key && (value instanceof Integer || value instanceof Short
+          || value instanceof Byte))) {
+        writeByte(LONG);
+        writeLong(((Number) value).longValue());
+      } else if (value instanceof Integer) {
+        writeByte(INTEGER);
+        writeInt((Integer) value);
+      } else if (value instanceof Short) {
+        writeByte(SHORT);
+        writeInt((Short) value);
+      } else if (value instanceof Byte) {
+        writeByte(BYTE);
+        writeByte((Byte) value);
+      } else if (value instanceof String) {
+        writeByte(STRING);
+        writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+      } else if (value instanceof BigDecimal) {
+        writeByte(BIG_DECIMAL);
+        writeInt(((BigDecimal) value).scale());
+        writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+      } else if (value instanceof BigInteger) {
+        writeByte(BIG_INTEGER);
+        writeBytes(((BigInteger) value).toByteArray());
+      } else if (value instanceof Double) {
+        writeByte(DOUBLE);
+        writeLong(Double.doubleToLongBits((Double) value));
+      } else if (value instanceof Float) {
+        writeByte(FLOAT);
+        writeInt(Float.floatToIntBits((Float) value));
+      } else if (value instanceof Boolean) {
+        writeByte(BOOLEAN);
+        writeByte((byte) ((Boolean) value ? 1 : 0));
+      } else if (value instanceof Timestamp) {
+        writeByte(TIMESTAMP);
+        writeLong(((Timestamp) value).getTime());
+        writeInt(((Timestamp) value).getNanos());
+      } else if (value.getClass() == Date.class || value instanceof java.sql.Date || value instanceof Time) {
+        writeByte(value instanceof java.sql.Date ? SQL_DATE : (value instanceof Time ? SQL_TIME : DATE));
+        writeLong(((Date) value).getTime());
+      } else if (value instanceof Object[]) {
+        Object[] array = (Object[]) value;
+        writeByte(ARRAY);
+        writeInt(array.length);
+        for (Object element : array) {
+          write(element);
+        }
+      } else if (value instanceof Serializable) {
+        writeByte(SERIALIZED);
+        writeBytes(serialize(value));
+      } else {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument(
+            "Cannot store object of type " + value.getClass().getName());
+      }
+    }
+
+    void writeByte(byte value) {
+      ensureCapacity(1);
+      bytes[length++] = value;
+    }
+
+    void writeInt(int value) {
+      ensureCapacity(4);
+      for (int shift = 24; shift >= 0; shift -= 8) {
+        bytes[length++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeLong(long value) {
+      ensureCapacity(8);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        bytes[length++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeBytes(byte[] value) {
+      writeInt(value.length);
+      ensureCapacity(value.length);
+      System.arraycopy(value, 0, bytes, length, value.length);
+      length += value.length;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+      if (length + additionalBytes > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additionalBytes));
+      }
+    }
+
+    private static byte[] serialize(Object value) {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+        out.writeObject(value);
+      } catch (IOException e) {
+        throw BeneratorExceptionFactory.getInstance().internalError("Cannot serialize " + value, e);
+      }
+      return buffer.toByteArray();
+    }
+  }
+
+  /** Deserializes objects from a buffer position. */
+  private static class Decoder {
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    Decoder(ByteBuffer buffer, int position) {
+      this.buffer = buffer;
+      this.position = position + 4; // skip the namespace
+    }
+
+    Object read() {
+      byte type = buffer.get(position++);
+      switch (type) {
+        case NULL: return null;
+        case LONG: return readLong();
+        case INTEGER: return readInt();
+        case SHORT: return (short) readInt();
+        case BYTE: return buffer.get(position++);
+        case STRING: return new String(readBytes(), StandardCharsets.UTF_8);
+        case BIG_DECIMAL: {
+          int scale = readInt();
+          return new BigDecimal(new BigInteger(readBytes()), scale);
+        }
+        case BIG_INTEGER: return new BigInteger(readBytes());
+        case DOUBLE: return Double.longBitsToDouble(readLong());
+        case FLOAT: return Float.intBitsToFloat(readInt());
+        case BOOLEAN: return (buffer.get(position++) != 0);
+        case DATE: return new Date(readLong());
+        case SQL_DATE: return new java.sql.Date(readLong());
+        case SQL_TIME: return new Time(readLong());
+        case TIMESTAMP: {
+          Timestamp timestamp = new Timestamp(readLong());
+          timestamp.setNanos(readInt());
+          return timestamp;
+        }
+        case ARRAY: {
+          Object[] array = new Object[readInt()];
+          for (int i = 0; i < array.length; i++) {
+            array[i] = read();
+          }
+          return array;
+        }
+        case SERIALIZED: return deserialize(readBytes());
+        default: throw BeneratorExceptionFactory.getInstance().programmerStateError("Unknown type tag: " + type);
+      }
+    }
+
+    private int readInt() {
+      int value = buffer.getInt(position);
+      position += 4;
+      return value;
+    }
+
+    private long readLong() {
+      long value = buffer.getLong(position);
+      position += 8;
+      return value;
+    }
+
+    private byte[] readBytes() {
+      byte[] bytes = new byte[readInt()];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = buffer.get(position++);
+      }
+      return bytes;
+    }
+
+    private static Object deserialize(byte[] bytes) {
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+        return in.readObject();
+      } catch (IOException | ClassNotFoundException e) {
+        throw BeneratorExceptionFactory.getInstance().internalError("Cannot deserialize map entry", e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
+/**
+ * Pseudo-random bijection of the numbers 0 to size - 1 onto themselves, which is calculated
+ * by a keyed Feistel network: The bits of a number are split into two halves and mixed over four rounds,
+ * numbers outside the range are encrypted again until they fall into it ('cycle walking').
+ * Thus, the permutation takes constant memory and each element can be calculated independently
+ * in constant expected time. Instances are immutable and thread-safe.<br/><br/>
+ * Created: 27.03.2022 09:23:41
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public final class Permutation {
+
+  private static final int ROUNDS = 4;
+
+  private final long size;
+  private final int halfBits;
+  private final long halfMask;
+  private final long[] keys;
+
+  /** @param size the number of elements to permute, at least 1
+   *  @param seed the seed which determines the order */
+  public Permutation(long size, long seed) {
+    if (size < 1) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Illegal permutation size: " + size);
+    }
+    this.size = size;
+    int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+    this.halfBits = (bits + 1) / 2;
+    this.halfMask = (1L << halfBits) - 1;
+    this.keys = new long[ROUNDS];
+    long state = seed;
+    for (int i = 0; i < ROUNDS; i++) {
+      state += 0x9e3779b97f4a7c15L; // SplitMix64
+      keys[i] = mix(state);
+    }
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /** Maps an index to its position in the permutation.
+   *  @param index a number between 0 (inclusive) and size (exclusive)
+   *  @return a number between 0 (inclusive) and size (exclusive), which is different for each index */
+  public long apply(long index) {
+    if (index < 0 || index >= size) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument(
+          "Index " + index + " is out of the range 0.." + (size - 1));
+    }
+    long value = index;
+    do {
+      value = encrypt(value);
+    } while (value < 0 || value >= size); // value < 0 can only happen for 64-bit domains
+    return value;
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private long encrypt(long value) {
+    long left = value >>> halfBits;
+    long right = value & halfMask;
+    for (long key : keys) {
+      long newRight = (left ^ mix(right ^ key)) & halfMask;
+      left = right;
+      right = newRight;
+    }
+    return (left << halfBits) | right;
+  }
+
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+
+}
@@ -0,0 +1,186 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.common.Assert;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * {@link RandomProvider} based on {@link SplittableRandom}s. Each thread draws from a stream of its own,
+ * so concurrent threads do not contend for a shared seed. Constructed with a seed, all streams are reproducible,
+ * as long as they are derived in the same order: The stream of a thread is split from a root stream on first use,
+ * unless a stream has been bound to the thread by a {@link #workerStreamBinding()}, which parallel workers
+ * derive in the thread that sets them up, so their streams do not depend on the order in which the threads start.
+ * {@link #split()} derives a provider with an independent root stream, e.g. for one generator,
+ * {@link #createRandom()} a {@link Random} which draws from such a derived provider.
+ * {@link #setSeed(long)} reseeds an instance which is already in use.
+ * Instances are thread-safe.<br/><br/>
+ * Created: 24.03.2022 09:12:31
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class SplittableRandomProvider extends DefaultRandomProvider {
+
+  private long seed; // guarded by 'this'
+  private SplittableRandom root; // guarded by 'this'
+  private volatile int generation; // incremented on reseeding, invalidating all thread streams
+  private final ThreadLocal<ThreadStream> streams;
+
+  /** Creates an instance with an arbitrary seed. */
+  public SplittableRandomProvider() {
+    this(new SplittableRandom().nextLong());
+  }
+
+  public SplittableRandomProvider(long seed) {
+    this.seed = seed;
+    this.root = new SplittableRandom(seed);
+    this.generation = 0;
+    this.streams = new ThreadLocal<>();
+  }
+
+  public synchronized long getSeed() {
+    return seed;
+  }
+
+  @Override
+  public synchronized void setSeed(long seed) {
+    this.seed = seed;
+    this.root = new SplittableRandom(seed);
+    this.generation++;
+  }
+
+  @Override
+  public synchronized Runnable workerStreamBinding() {
+    SplittableRandom workerStream = root.split();
+    int workerGeneration = generation;
+    return () -> streams.set(new ThreadStream(workerGeneration, workerStream));
+  }
+
+  @Override
+  public RandomProvider split() {
+    return new SplittableRandomProvider(splitRoot().nextLong());
+  }
+
+  @Override
+  public Random createRandom() {
+    return new StreamRandom((SplittableRandomProvider) split());
+  }
+
+  @Override
+  public double randomDouble() {
+    return stream().nextDouble();
+  }
+
+  @Override
+  public long randomLong(long maxExclusive) {
+    Assert.notNegative(maxExclusive, "maxExclusive");
+    return stream().nextLong(maxExclusive);
+  }
+
+  @Override
+  public int randomInt(int maxExclusive) {
+    Assert.notNegative(maxExclusive, "maxExclusive");
+    return stream().nextInt(maxExclusive);
+  }
+
+  @Override
+  public char randomDigit(int min) {
+    return (char) ('0' + min + stream().nextInt(10 - min));
+  }
+
+  @Override
+  public float randomProbability() {
+    return (stream().nextInt() >>> 8) * 0x1.0p-24f;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[seed=" + getSeed() + "]";
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  SplittableRandom stream() {
+    ThreadStream stream = streams.get();
+    int currentGeneration = generation;
+    if (stream == null || stream.generation != currentGeneration) {
+      stream = new ThreadStream(currentGeneration, splitRoot());
+      streams.set(stream);
+    }
+    return stream.random;
+  }
+
+  private synchronized SplittableRandom splitRoot() {
+    return root.split();
+  }
+
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Random stream of a thread, tagged with the generation of the root stream from which it was derived. */
+  static final class ThreadStream {
+
+    final int generation;
+    final SplittableRandom random;
+
+    ThreadStream(int generation, SplittableRandom random) {
+      this.generation = generation;
+      this.random = random;
+    }
+
+  }
+
+  /** {@link Random} which draws from the thread-specific streams of a {@link SplittableRandomProvider}
+   *  instead of a shared seed. It cannot be reseeded. */
+  static class StreamRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SplittableRandomProvider provider;
+
+    StreamRandom(SplittableRandomProvider provider) {
+      this.provider = provider;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+      // streams are seeded by the provider, ignoring the call from the parent constructor
+    }
+
+    @Override
+    protected int next(int bits) {
+      return (int) (provider.stream().nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+      return provider.stream().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+      return provider.stream().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+      return provider.stream().nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+      return provider.stream().nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+      return provider.stream().nextBoolean();
+    }
+
+  }
+
+}
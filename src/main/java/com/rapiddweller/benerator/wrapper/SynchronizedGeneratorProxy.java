@@ -45,6 +45,11 @@ private SynchronizedGeneratorProxy(Generator<E> source) {
     this.source = source;
   }
 
+  /** Returns the source itself if it is thread-safe, otherwise wraps it with a {@link SynchronizedGeneratorProxy}. */
+  public static <T> Generator<T> synchronize(Generator<T> source) {
+    return (source.isThreadSafe() ? source : new SynchronizedGeneratorProxy<>(source));
+  }
+
   @Override
   public synchronized void init(GeneratorContext context) {
     source.init(context);
@@ -0,0 +1,149 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.wrapper;
+
+import com.rapiddweller.benerator.Generator;
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.benerator.util.FingerprintSet;
+
+import java.io.File;
+
+/**
+ * Generator proxy which forwards only the first occurrence of each value of its source
+ * and thus makes arbitrary generators usable for unique attributes.
+ * Values are tracked by their 64-bit fingerprints in a {@link FingerprintSet},
+ * which spills to disk when it grows beyond the heap limit.
+ * When the source repeatedly provides only known values, the proxy becomes unavailable.
+ * The ratio of rejected duplicates is logged on close.
+ * Null values are forwarded without being tracked.
+ * Instances are thread-safe, so parallel workers can share one instance: The fingerprint set is
+ * accessed in a synchronized manner, and the source too, if it is not thread-safe itself.<br/><br/>
+ * Created: 26.03.2022 11:42:18
+ * @param <E> the product type
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class UniqueValueFilter<E> extends GeneratorProxy<E> {
+
+  /** The number of consecutive duplicates after which the source is considered to be exhausted */
+  public static final int MAX_CONSECUTIVE_REJECTIONS = 1000;
+
+  private final String name;
+  private final FingerprintSet fingerprints; // guarded by 'this'
+  private long acceptedCount; // guarded by 'this'
+  private long rejectedCount; // guarded by 'this'
+  private boolean sourceThreadSafe;
+
+  public UniqueValueFilter(Generator<E> source, String name) {
+    this(source, name, BeneratorOpts.getUniqueHeapLimit(), BeneratorOpts.getUniqueSpillDirectory());
+  }
+
+  public UniqueValueFilter(Generator<E> source, String name, int heapLimit, File spillDirectory) {
+    super(source);
+    this.name = name;
+    this.fingerprints = new FingerprintSet(heapLimit, spillDirectory);
+    this.acceptedCount = 0;
+    this.rejectedCount = 0;
+    this.sourceThreadSafe = false;
+  }
+
+  public synchronized long getAcceptedCount() {
+    return acceptedCount;
+  }
+
+  public synchronized long getRejectedCount() {
+    return rejectedCount;
+  }
+
+  /** @return the ratio of rejected duplicates to all values provided by the source, a number between 0 and 1 */
+  public synchronized double getRejectionRate() {
+    long total = acceptedCount + rejectedCount;
+    return (total > 0 ? (double) rejectedCount / total : 0.);
+  }
+
+
+  // Generator interface implementation ------------------------------------------------------------------------------
+
+  @Override
+  public void init(GeneratorContext context) {
+    super.init(context);
+    this.sourceThreadSafe = getSource().isThreadSafe();
+  }
+
+  @Override
+  public ProductWrapper<E> generate(ProductWrapper<E> wrapper) {
+    assertInitialized();
+    for (int rejections = 0; rejections < MAX_CONSECUTIVE_REJECTIONS; rejections++) {
+      wrapper = generateFromSource(wrapper);
+      if (wrapper == null) {
+        return null;
+      }
+      E product = wrapper.unwrap();
+      if (accept(product)) {
+        return wrapper.wrap(product);
+      }
+    }
+    logger.warn("Stopping unique generation of '{}' after {} consecutive duplicates",
+        name, MAX_CONSECUTIVE_REJECTIONS);
+    return null;
+  }
+
+  /** Uniqueness needs to be tracked centrally, so the instance is not parallelizable, but thread-safe. */
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public boolean isParallelizable() {
+    return false;
+  }
+
+  @Override
+  public synchronized void reset() {
+    super.reset();
+    fingerprints.clear();
+    acceptedCount = 0;
+    rejectedCount = 0;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (rejectedCount > 0) {
+      logger.info("Unique values of '{}': {} accepted, {} duplicates rejected ({}%)",
+          name, acceptedCount, rejectedCount, Math.round(getRejectionRate() * 1000) / 10.);
+    }
+    fingerprints.close();
+    super.close();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private ProductWrapper<E> generateFromSource(ProductWrapper<E> wrapper) {
+    if (sourceThreadSafe) {
+      return getSource().generate(wrapper);
+    }
+    synchronized (this) {
+      return getSource().generate(wrapper);
+    }
+  }
+
+  private synchronized boolean accept(E product) {
+    if (product == null || fingerprints.add(FingerprintSet.fingerprint(product))) {
+      acceptedCount++;
+      return true;
+    }
+    rejectedCount++;
+    return false;
+  }
+
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + name + ", " + getSource() + ']';
+  }
+
+}
@@ -156,6 +156,10 @@ public static <T> Generator<T> applyValidator(Validator<T> validator, Generator<
     return new ValidatingGeneratorProxy<>(generator, validator);
   }
 
+  public static <T> Generator<T> applyUniqueFilter(Generator<T> generator, String name) {
+    return new UniqueValueFilter<>(generator, name);
+  }
+
   public static <T> Generator<T> applyCycler(Generator<T> generator) {
     return new CyclicGeneratorProxy<>(generator);
   }
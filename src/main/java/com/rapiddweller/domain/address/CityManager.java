@@ -26,10 +26,12 @@
 
 package com.rapiddweller.domain.address;
 
+import com.rapiddweller.benerator.csv.CSVSnapshot;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.*;
 import com.rapiddweller.common.exception.ExceptionFactory;
 import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
 import com.rapiddweller.format.csv.BeanCSVWriter;
 import com.rapiddweller.format.csv.CSVLineIterator;
 import org.slf4j.Logger;
@@ -78,11 +80,15 @@ public static void readCities(Country country, String filename,
 
   private static int parseCityFile(Country country, String filename, Map<String, String> defaults) {
     logger.debug("Parsing city definitions in file {}", filename);
-    try (CSVLineIterator iterator = new CSVLineIterator(filename, ';', Encodings.UTF_8)) {
+    CSVSnapshot snapshot = CSVSnapshot.forBundledFile(filename, ';', Encodings.UTF_8);
+    try (DataIterator<String[]> iterator = (snapshot != null ?
+        snapshot.iterator() : new CSVLineIterator(filename, ';', Encodings.UTF_8))) {
       DataContainer<String[]> container = new DataContainer<>();
       String[] header = iterator.next(container).getData();
       AtomicInteger warnCount = new AtomicInteger();
+      int lineNumber = 1;
       while ((container = iterator.next(container)) != null) {
+        lineNumber++;
         String[] cells = container.getData();
         if (cells.length == 0) {
           continue;
@@ -103,7 +109,6 @@ private static int parseCityFile(Country country, String filename, Map<String, S
         String stateName = instance.get("state.name");
         State state = getOrCreateState(stateId, stateName, country);
 
-        int lineNumber = iterator.lineCount();
         CityId cityId = createCityId(instance, lineNumber);
         getOrCreateCity(cityId, state, instance, defaults, warnCount);
       }
@@ -26,6 +26,7 @@
 
 package com.rapiddweller.domain.br;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.NonNullGenerator;
 import com.rapiddweller.benerator.sample.WeightedCSVSampleGenerator;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
@@ -70,7 +71,7 @@ public CNPJGenerator() {
    */
   public CNPJGenerator(boolean formatted) {
     super(LOCAL, Encodings.UTF_8, ',');
-    this.random = new Random();
+    this.random = BeneratorFactory.getInstance().getRandomProvider().createRandom();
     this.formatted = formatted;
   }
 
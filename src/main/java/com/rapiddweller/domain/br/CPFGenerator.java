@@ -26,6 +26,7 @@
 
 package com.rapiddweller.domain.br;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.util.ThreadSafeNonNullGenerator;
 
 import java.util.ArrayList;
@@ -61,7 +62,7 @@ public CPFGenerator() {
    * @param formatted the formatted
    */
   public CPFGenerator(boolean formatted) {
-    this.random = new Random();
+    this.random = BeneratorFactory.getInstance().getRandomProvider().createRandom();
     this.formatted = formatted;
   }
 
@@ -26,6 +26,7 @@
 
 package com.rapiddweller.domain.person;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.util.ThreadSafeNonNullGenerator;
 
 import java.util.Random;
@@ -40,7 +41,7 @@
  */
 public class TINGenerator extends ThreadSafeNonNullGenerator<String> {
 
-  private final Random random = new Random();
+  private final Random random = BeneratorFactory.getInstance().getRandomProvider().createRandom();
 
   @Override
   public Class<String> getGeneratedType() {
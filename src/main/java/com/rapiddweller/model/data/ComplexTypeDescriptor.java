@@ -51,6 +51,7 @@ public class ComplexTypeDescriptor extends TypeDescriptor implements VariableHol
   public static final String __SIMPLE_CONTENT = "__SIMPLE_CONTENT";
 
   private NamedValueList<InstanceDescriptor> parts; // TODO use only ComponentDescriptors
+  private volatile ComponentLayout layout;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -82,11 +83,13 @@ public void addPart(InstanceDescriptor part) {
   public void addComponent(ComponentDescriptor component) {
     linkToParentTypeComponent(component);
     parts.add(component.getName(), component);
+    this.layout = null;
   }
 
   public void setComponent(ComponentDescriptor component) {
     linkToParentTypeComponent(component);
     parts.set(component.getName(), component);
+    this.layout = null;
   }
 
   /** Searches the parent type descriptor for a component of the same name and,
@@ -161,6 +164,23 @@ public List<ReferenceDescriptor> getReferenceComponents() {
         getComponents());
   }
 
+  // component layout ------------------------------------------------------------------------------------------------
+
+  /** Assigns slot indices to the current components, so that new {@link Entity} instances of this type
+   *  store their values in an array. Adding or replacing a component afterwards unfreezes the descriptor. */
+  public void freeze() {
+    this.layout = ComponentLayout.of(this);
+  }
+
+  public boolean isFrozen() {
+    return (layout != null);
+  }
+
+  /** @return the slot layout of a frozen descriptor, otherwise null */
+  public ComponentLayout getComponentLayout() {
+    return layout;
+  }
+
   @Override
   public void addVariable(VariableDescriptor variable) {
     parts.add(variable.getName(), variable);
@@ -181,6 +201,7 @@ protected void init() {
 
   public void clear() { // TODO remove
     parts.clear();
+    this.layout = null;
   }
 
   // java.lang.Object overrides --------------------------------------------------------------------------------------
@@ -0,0 +1,89 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.model.data;
+
+import com.rapiddweller.platform.java.BeanDescriptorProvider;
+import com.rapiddweller.script.PrimitiveType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Assigns slot indices to the components of a frozen {@link ComplexTypeDescriptor},
+ * so that {@link Entity} instances of the type can store their component values in an array.
+ * For each slot it provides the component name and the Java type to which values are converted.
+ * Name lookup is case-insensitive like in the type's component map.<br/><br/>
+ * Created: 21.03.2022 09:14:52
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public final class ComponentLayout {
+
+  private final String[] names;
+  private final Class<?>[] javaTypes;
+  private final Map<String, Integer> exactIndices;
+  private final Map<String, Integer> lowerCaseIndices;
+
+  private ComponentLayout(List<ComponentDescriptor> components, BeanDescriptorProvider beanProvider) {
+    int n = components.size();
+    this.names = new String[n];
+    this.javaTypes = new Class<?>[n];
+    this.exactIndices = new HashMap<>(n * 2);
+    this.lowerCaseIndices = new HashMap<>(n * 2);
+    for (int i = 0; i < n; i++) {
+      ComponentDescriptor component = components.get(i);
+      names[i] = component.getName();
+      javaTypes[i] = javaType(component, beanProvider);
+      exactIndices.put(names[i], i);
+      lowerCaseIndices.putIfAbsent(names[i].toLowerCase(Locale.ROOT), i);
+    }
+  }
+
+  /** Creates the layout of a type, or returns null if the type is not bound to a data model. */
+  static ComponentLayout of(ComplexTypeDescriptor type) {
+    DataModel dataModel = type.getDataModel();
+    if (dataModel == null) {
+      return null;
+    }
+    return new ComponentLayout(type.getComponents(), dataModel.getBeanDescriptorProvider());
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  /** @return the slot index of the named component or -1 if the type has no such component */
+  public int indexOf(String componentName) {
+    Integer index = exactIndices.get(componentName);
+    if (index == null && componentName != null) {
+      index = lowerCaseIndices.get(componentName.toLowerCase(Locale.ROOT));
+    }
+    return (index != null ? index : -1);
+  }
+
+  public String nameAt(int index) {
+    return names[index];
+  }
+
+  /** @return the Java type to which values of the slot are converted, or null if they are stored as they are */
+  public Class<?> javaTypeAt(int index) {
+    return javaTypes[index];
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static Class<?> javaType(ComponentDescriptor component, BeanDescriptorProvider beanProvider) {
+    if (!(component.getTypeDescriptor() instanceof SimpleTypeDescriptor)) {
+      return null;
+    }
+    PrimitiveType primitiveType = ((SimpleTypeDescriptor) component.getTypeDescriptor()).getPrimitiveType();
+    if (primitiveType == null) {
+      primitiveType = PrimitiveType.STRING;
+    }
+    return beanProvider.concreteType(primitiveType.getName());
+  }
+
+}
@@ -40,20 +40,34 @@
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
- * Instance of a composite data type as described by a {@link ComplexTypeDescriptor}.<br/><br/>
+ * Instance of a composite data type as described by a {@link ComplexTypeDescriptor}.
+ * If the descriptor is frozen, the component values are stored in an array
+ * according to the descriptor's {@link ComponentLayout}, and a component map is only created
+ * when requested by {@link #getComponents()} or when a component is set that is not declared in the layout.
+ * For reading all components without creating a map, use {@link #forEachComponent(ComponentVisitor)}.<br/><br/>
  * Created: 20.08.2007 19:20:22
  * @author Volker Bergmann
  * @since 0.3
  */
 public class Entity implements Composite {
 
+  private static final Object UNSET = new Object();
+
   public final ComplexTypeDescriptor descriptor;
   private OrderedNameMap<Object> components;
 
+  // compact representation, used while 'values' is not null
+  private ComponentLayout layout;
+  private Object[] values;
+  private int[] setOrder;
+  private int setCount;
+
   // constructors ----------------------------------------------------------------------------------------------------
 
   public Entity(String name, DescriptorProvider descriptorProvider) {
@@ -69,7 +83,15 @@ public Entity(String name, DescriptorProvider descriptorProvider,
   public Entity(ComplexTypeDescriptor descriptor,
                 Object... componentKeyValuePairs) {
     this.descriptor = descriptor;
-    this.components = BeneratorFactory.getInstance().createComponentMap();
+    this.layout = (descriptor != null ? descriptor.getComponentLayout() : null);
+    if (layout != null) {
+      this.values = new Object[layout.size()];
+      Arrays.fill(values, UNSET);
+      this.setOrder = new int[layout.size()];
+      this.setCount = 0;
+    } else {
+      this.components = BeneratorFactory.getInstance().createComponentMap();
+    }
     for (int i = 0; i < componentKeyValuePairs.length; i += 2) {
       setComponent((String) componentKeyValuePairs[i],
           componentKeyValuePairs[i + 1]);
@@ -101,20 +123,68 @@ public Object get(String componentName) {
 
   @Override
   public Object getComponent(String componentName) {
+    if (values != null) {
+      int index = layout.indexOf(componentName);
+      return (index >= 0 && values[index] != UNSET ? values[index] : null);
+    }
     return components.get(componentName);
   }
 
   public boolean componentIsSet(String componentName) {
+    if (values != null) {
+      int index = layout.indexOf(componentName);
+      return (index >= 0 && values[index] != UNSET);
+    }
     return components.containsKey(componentName);
   }
 
   @Override
   public OrderedNameMap<Object> getComponents() {
+    if (values != null) {
+      // the caller may modify the map, so it becomes the entity's storage from now on
+      this.components = toComponentMap();
+      this.values = null;
+      this.setOrder = null;
+    }
     return components;
   }
 
   public void setComponents(OrderedNameMap<Object> components) {
     this.components = components;
+    this.values = null;
+    this.setOrder = null;
+  }
+
+  /** @return the number of components that have been set */
+  public int componentCount() {
+    return (values != null ? setCount : components.size());
+  }
+
+  /** Passes the name and value of each component that has been set to the visitor,
+   *  in the order in which the components were set. Unlike {@link #getComponents()},
+   *  this leaves the entity's storage unchanged.
+   *  @param visitor the receiver of the components
+   *  @param <E> the type of exception the visitor may throw
+   *  @throws E if the visitor fails */
+  public <E extends Exception> void forEachComponent(ComponentVisitor<E> visitor) throws E {
+    if (values != null) {
+      for (int i = 0; i < setCount; i++) {
+        int index = setOrder[i];
+        visitor.visit(layout.nameAt(index), values[index]);
+      }
+    } else {
+      for (Map.Entry<String, Object> entry : components.entrySet()) {
+        visitor.visit(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /** @return the names of the components that have been set, in the order in which they were set */
+  public String[] componentNames() {
+    String[] result = new String[componentCount()];
+    int[] count = new int[1];
+    forEachComponent((name, value) -> result[count[0]++] = name);
+    return result;
   }
 
   public void set(String componentName, Object component) {
@@ -123,6 +193,14 @@ public void set(String componentName, Object component) {
 
   @Override
   public void setComponent(String componentName, Object component) {
+    if (values != null) {
+      int index = layout.indexOf(componentName);
+      if (index >= 0) {
+        setSlot(index, component);
+        return;
+      }
+      getComponents(); // the component is not declared in the layout, so switch to map storage
+    }
     if (descriptor != null) {
       ComponentDescriptor componentDescriptor = descriptor.getComponent(componentName);
       String internalComponentName = componentName;
@@ -143,12 +221,35 @@ public void setComponent(String componentName, Object component) {
     }
   }
 
+  /** Sets a component by its slot index in a layout, for callers which resolved the index in advance.
+   *  If the entity does not use the layout, the component is set by name. */
+  public void setComponentAt(ComponentLayout layout, int index, Object component) {
+    if (values != null && layout == this.layout) {
+      setSlot(index, component);
+    } else {
+      setComponent(layout.nameAt(index), component);
+    }
+  }
+
   public void remove(String componentName) {
     removeComponent(componentName);
   }
 
   public void removeComponent(String componentName) {
-    components.remove(componentName);
+    if (values != null) {
+      int index = layout.indexOf(componentName);
+      if (index >= 0 && values[index] != UNSET) {
+        values[index] = UNSET;
+        int position = 0;
+        while (setOrder[position] != index) {
+          position++;
+        }
+        System.arraycopy(setOrder, position + 1, setOrder, position, setCount - position - 1);
+        setCount--;
+      }
+    } else {
+      components.remove(componentName);
+    }
   }
 
   public Object idComponentValues() {
@@ -176,7 +277,41 @@ public Object componentValues(String[] idComponentNames) {
 
   // private helpers -------------------------------------------------------------------------------------------------
 
+  private void setSlot(int index, Object value) {
+    Class<?> javaType = layout.javaTypeAt(index);
+    if (javaType != null && value != null && !javaType.isInstance(value)) {
+      value = AnyConverter.convert(value, javaType);
+    }
+    if (values[index] == UNSET) {
+      setOrder[setCount++] = index;
+    }
+    values[index] = value;
+  }
+
+  private OrderedNameMap<Object> toComponentMap() {
+    if (values == null) {
+      return components;
+    }
+    OrderedNameMap<Object> result = BeneratorFactory.getInstance().createComponentMap();
+    for (int i = 0; i < setCount; i++) {
+      int index = setOrder[i];
+      result.put(layout.nameAt(index), values[index]);
+    }
+    return result;
+  }
+
   private void copyComponentsFrom(Entity prototype) {
+    if (prototype.values != null) {
+      this.layout = prototype.layout;
+      this.values = new Object[prototype.values.length];
+      for (int i = 0; i < values.length; i++) {
+        Object value = prototype.values[i];
+        values[i] = (value != UNSET ? copyOrSelf(value) : UNSET);
+      }
+      this.setOrder = prototype.setOrder.clone();
+      this.setCount = prototype.setCount;
+      return;
+    }
     this.components = new OrderedNameMap<>(prototype.components);
     for (Map.Entry<String, Object> component : this.components.entrySet()) {
       Object value = component.getValue();
@@ -228,10 +363,18 @@ public boolean equalsIgnoringDescriptor(Entity that) {
     if (that == null) {
       return false;
     }
-    if (this.getComponents().size() != that.getComponents().size()) {
+    if (this.componentCount() != that.componentCount()) {
       return false;
     }
-    for (Map.Entry<String, Object> entry : this.getComponents().entrySet()) {
+    if (this.values != null) {
+      for (int i = 0; i < setCount; i++) {
+        int index = setOrder[i];
+        if (!equalIgnoringDescriptor(values[index], that.getComponent(layout.nameAt(index))))
+          return false;
+      }
+      return true;
+    }
+    for (Map.Entry<String, Object> entry : this.components.entrySet()) {
       Object thisValue = entry.getValue();
       Object thatValue = that.getComponent(entry.getKey());
       if (!equalIgnoringDescriptor(thisValue, thatValue))
@@ -299,7 +442,10 @@ private static boolean equalDescriptors(Entity e1, Entity e2) {
   @Override
   public int hashCode() {
     int typeHash = (descriptor != null ? descriptor.getName().hashCode() : 0);
-    return typeHash * 29 + components.hashCode();
+    int[] componentHash = new int[1];
+    // sums the entry hashes like Map.hashCode() does, without creating a map
+    forEachComponent((name, value) -> componentHash[0] += Objects.hashCode(name) ^ Objects.hashCode(value));
+    return typeHash * 29 + componentHash[0];
   }
 
   @Override
@@ -307,4 +453,11 @@ public String toString() {
     return new CompositeFormatter(true, true).render(type() + '[', this, "]");
   }
 
+  /** Receives the components of an entity, see {@link #forEachComponent(ComponentVisitor)}.
+   *  @param <E> the type of exception the visitor may throw */
+  @FunctionalInterface
+  public interface ComponentVisitor<E extends Exception> {
+    void visit(String name, Object value) throws E;
+  }
+
 }
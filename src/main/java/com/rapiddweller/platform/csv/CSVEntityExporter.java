@@ -38,6 +38,8 @@
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.ComponentDescriptor;
 import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.SimpleTypeDescriptor;
+import com.rapiddweller.script.PrimitiveType;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
@@ -47,7 +49,10 @@
 /**
  * Exports Entities to a CSV file.
  * The default line separator is CR LF according to RFC 4180.
- * It can be set explicitly by <code>setLineSeparator()</code>.<br/><br/>
+ * It can be set explicitly by <code>setLineSeparator()</code>.
+ * When writing through a FileChannel (see {@link TextFileExporter}), each row is rendered
+ * into a reusable character buffer by column renderers which are chosen once by the column types,
+ * so strings and integral numbers are written without creating intermediate strings.<br/><br/>
  * Created: 21.08.2007 21:16:59
  * @author Volker Bergmann
  */
@@ -71,6 +76,9 @@ public class CSVEntityExporter extends TextFileExporter {
   // state attributes ------------------------------------------------------------------------------------------------
 
   private boolean lfRequired;
+  private CellRenderer[] renderers;
+  private final StringBuilder rowBuilder = new StringBuilder();
+  private char[] rowChars = new char[256];
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -163,6 +171,10 @@ protected void startConsumingImpl(Object object) {
       throw BeneratorExceptionFactory.getInstance().illegalArgument("Expecting entity");
     }
     Entity entity = (Entity) object;
+    if (isChannelOutput()) {
+      writeRow(entity);
+      return;
+    }
     if (lfRequired) {
       println();
     } else {
@@ -188,7 +200,7 @@ protected void postInitPrinter(Object object) {
     Entity entity = (Entity) object;
     // determine columns from entity, if they have not been predefined
     if (columns == null && entity != null) {
-      columns = CollectionUtil.toArray(entity.getComponents().keySet());
+      columns = entity.componentNames();
     }
     printHeaderRow();
   }
@@ -217,5 +229,113 @@ private void printHeaderRow() {
     }
   }
 
+  private void writeRow(Entity entity) {
+    if (renderers == null) {
+      renderers = createRenderers(entity);
+    }
+    StringBuilder row = rowBuilder;
+    row.setLength(0);
+    if (lfRequired) {
+      row.append(lineSeparator);
+    } else {
+      lfRequired = true;
+    }
+    for (int i = 0; i < columns.length; i++) {
+      if (i > 0) {
+        row.append(separator);
+      }
+      Object value = entity.getComponent(columns[i]);
+      if (value == null) {
+        row.append(getNullString());
+      } else {
+        renderers[i].render(value, row);
+      }
+    }
+    int length = row.length();
+    if (length > rowChars.length) {
+      rowChars = new char[Math.max(length, rowChars.length * 2)];
+    }
+    row.getChars(0, length, rowChars, 0);
+    printer.write(rowChars, 0, length);
+  }
+
+  private CellRenderer[] createRenderers(Entity entity) {
+    CellRenderer[] result = new CellRenderer[columns.length];
+    boolean plainIntegers = StringUtil.isEmpty(getIntegralPattern()) && separator != '-';
+    for (int i = 0; i < columns.length; i++) {
+      Class<?> javaType = javaType(entity.descriptor().getComponent(columns[i]));
+      if (javaType == String.class) {
+        result[i] = this::renderText;
+      } else if (plainIntegers && javaType != null && BeanUtil.isIntegralNumberType(javaType)) {
+        result[i] = this::renderIntegral;
+      } else {
+        result[i] = this::renderFormatted;
+      }
+    }
+    return result;
+  }
+
+  private static Class<?> javaType(ComponentDescriptor component) {
+    if (component == null || !(component.getTypeDescriptor() instanceof SimpleTypeDescriptor)) {
+      return null;
+    }
+    PrimitiveType primitiveType = ((SimpleTypeDescriptor) component.getTypeDescriptor()).getPrimitiveType();
+    return (primitiveType != null ? primitiveType.getJavaType() : null);
+  }
+
+  private void renderText(Object value, StringBuilder out) {
+    if (value instanceof CharSequence) {
+      appendCell((CharSequence) value, out);
+    } else {
+      renderFormatted(value, out);
+    }
+  }
+
+  private void renderIntegral(Object value, StringBuilder out) {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      out.append(((Number) value).longValue());
+    } else {
+      renderFormatted(value, out);
+    }
+  }
+
+  private void renderFormatted(Object value, StringBuilder out) {
+    appendCell(plainConverter.convert(value), out);
+  }
+
+  /** Appends a cell value, quoting it like CSVUtil.renderCell(). */
+  private void appendCell(CharSequence text, StringBuilder out) {
+    int length = text.length();
+    if (length == 0) {
+      if (quoteEmpty) {
+        out.append("\"\"");
+      }
+      return;
+    }
+    boolean quote = false;
+    for (int i = 0; i < length && !quote; i++) {
+      char c = text.charAt(i);
+      quote = (c == separator || c == '"' || c == '\r' || c == '\n');
+    }
+    if (!quote) {
+      out.append(text);
+      return;
+    }
+    out.append('"');
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '"') {
+        out.append('"');
+      }
+      out.append(c);
+    }
+    out.append('"');
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  private interface CellRenderer {
+    void render(Object value, StringBuilder out);
+  }
 
 }
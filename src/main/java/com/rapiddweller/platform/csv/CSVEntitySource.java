@@ -26,6 +26,7 @@
 
 package com.rapiddweller.platform.csv;
 
+import com.rapiddweller.benerator.engine.BeneratorOpts;
 import com.rapiddweller.common.ArrayUtil;
 import com.rapiddweller.common.Converter;
 import com.rapiddweller.common.StringUtil;
@@ -38,8 +39,12 @@
 import com.rapiddweller.model.data.Entity;
 import com.rapiddweller.model.data.FileBasedEntitySource;
 
+import java.io.File;
+
 /**
- * Imports {@link Entity} data from CSV files.<br/><br/>
+ * Imports {@link Entity} data from CSV files.
+ * If the system property {@link BeneratorOpts#OPTS_CSV_READ_THREADS} is set to more than one thread,
+ * large local files are parsed in parallel by a {@link ParallelCSVEntityIterator}.<br/><br/>
  * @author Volker Bergmann
  */
 public class CSVEntitySource extends FileBasedEntitySource implements Tabular {
@@ -143,8 +148,20 @@ public void setColumns(String[] columns) {
 
   @Override
   public DataIterator<Entity> iterator() {
+    String resolvedUri = resolveUri();
+    int threads = BeneratorOpts.getCsvReadThreads();
+    File file = new File(resolvedUri);
+    if (threads > 1 && file.length() > ParallelCSVEntityIterator.DEFAULT_CHUNK_SIZE && file.isFile()
+        && isRowBased() && ParallelCSVEntityIterator.supports(encoding)) {
+      ParallelCSVEntityIterator iterator = new ParallelCSVEntityIterator(
+          file, entityType, preprocessor, separator, encoding, threads, BeneratorOpts.isCsvReadOrdered());
+      if (!expectingHeader) {
+        iterator.setColumns(getColumnNames());
+      }
+      return iterator;
+    }
     CSVEntityIterator iterator =
-        new CSVEntityIterator(resolveUri(), entityType, preprocessor, separator, encoding);
+        new CSVEntityIterator(resolvedUri, entityType, preprocessor, separator, encoding);
     if (!expectingHeader) {
       iterator.setColumns(getColumnNames());
       iterator.setExpectingHeader(false);
@@ -152,6 +169,10 @@ public DataIterator<Entity> iterator() {
     return iterator;
   }
 
+  private boolean isRowBased() {
+    return (entityType == null || entityType.isRowBased() == null || entityType.isRowBased());
+  }
+
   // java.lang.Object overrides --------------------------------------------------------------------------------------
 
   @Override
@@ -0,0 +1,421 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.csv;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.ArrayUtil;
+import com.rapiddweller.common.Converter;
+import com.rapiddweller.common.StringUtil;
+import com.rapiddweller.common.Tabular;
+import com.rapiddweller.common.converter.ArrayConverter;
+import com.rapiddweller.common.converter.ConverterChain;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.platform.array.Array2EntityConverter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Iterates the entities of a large local CSV file in RFC 4180 format, parsing it on multiple threads.
+ * The file is memory-mapped and split into chunks of about {@link #DEFAULT_CHUNK_SIZE} bytes,
+ * each ending at a line break outside quotes. The chunks are decoded, parsed and converted to entities
+ * by a thread pool, while the calling thread only scans for chunk boundaries and consumes the results.
+ * Entities are provided in file order, unless unordered iteration is requested,
+ * in which case each chunk's entities are provided as soon as they are available.
+ * If the preprocessor is not thread-safe, the workers only parse the cells
+ * and the conversion to entities is performed by the calling thread.
+ * The character encoding must represent quotes and line breaks by single ASCII bytes
+ * which never occur inside multibyte sequences, see {@link #supports(String)}.
+ * Column-based files are not supported.<br/><br/>
+ * Created: 29.03.2022 09:41:16
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ParallelCSVEntityIterator implements DataIterator<Entity>, Tabular {
+
+  public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+  private static final int SEGMENT_BITS = 30; // 1 GB per mapped segment
+  private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+  private static final AtomicInteger poolCount = new AtomicInteger();
+
+  private final File file;
+  private final ComplexTypeDescriptor entityDescriptor;
+  private final Converter<String, ?> preprocessor;
+  private final char separator;
+  private final Charset charset;
+  private final int threads;
+  private final boolean ordered;
+  private int chunkSize;
+  private String[] columns;
+  private boolean expectingHeader;
+
+  private boolean initialized;
+  private boolean convertInWorkers;
+  private Converter<String[], Entity> converter;
+  private FileChannel channel;
+  private MappedByteBuffer[] segments;
+  private long size;
+  private long position;
+  private ExecutorService executor;
+  private CompletionService<List<?>> completionService;
+  private Queue<Future<List<?>>> pendingChunks;
+  private int chunksInProgress;
+  private Iterator<?> batch;
+
+  // constructors ----------------------------------------------------------------------------------------------------
+
+  public ParallelCSVEntityIterator(File file, ComplexTypeDescriptor descriptor, Converter<String, ?> preprocessor,
+                                   char separator, String encoding, int threads, boolean ordered) {
+    if (!file.isFile()) {
+      throw BeneratorExceptionFactory.getInstance().fileNotFound(file.getPath(), null);
+    }
+    if (!supports(encoding)) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument(
+          "Encoding not supported for parallel CSV parsing: " + encoding);
+    }
+    this.file = file;
+    this.entityDescriptor = descriptor;
+    this.preprocessor = preprocessor;
+    this.separator = separator;
+    this.charset = Charset.forName(encoding);
+    this.threads = Math.max(1, threads);
+    this.ordered = ordered;
+    this.chunkSize = DEFAULT_CHUNK_SIZE;
+    this.expectingHeader = true;
+    this.initialized = false;
+  }
+
+  /** Tells if a file with the given encoding can be split at byte level, which is the case for UTF-8
+   *  and the single-byte encodings which represent quotes and line breaks like ASCII. */
+  public static boolean supports(String encoding) {
+    try {
+      Charset charset = Charset.forName(encoding);
+      if (StandardCharsets.UTF_8.equals(charset)) {
+        return true;
+      }
+      String probe = "\"\r\n";
+      return (charset.newEncoder().maxBytesPerChar() == 1
+          && Arrays.equals(probe.getBytes(charset), probe.getBytes(StandardCharsets.US_ASCII)));
+    } catch (RuntimeException e) {
+      return false; // unknown encoding or one which does not support encoding
+    }
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public void setExpectingHeader(boolean expectingHeader) {
+    this.expectingHeader = expectingHeader;
+  }
+
+  public void setColumns(String[] columns) {
+    this.expectingHeader = false;
+    if (ArrayUtil.isEmpty(columns)) {
+      this.columns = null;
+    } else {
+      this.columns = columns.clone();
+      StringUtil.trimAll(this.columns);
+    }
+  }
+
+  @Override
+  public String[] getColumnNames() {
+    return columns;
+  }
+
+  // DataIterator interface ------------------------------------------------------------------------------------------
+
+  @Override
+  public Class<Entity> getType() {
+    return Entity.class;
+  }
+
+  @Override
+  public synchronized DataContainer<Entity> next(DataContainer<Entity> container) {
+    assureInitialized();
+    while (batch == null || !batch.hasNext()) {
+      List<?> rows = nextBatch();
+      if (rows == null) {
+        return null;
+      }
+      batch = rows.iterator();
+    }
+    Object row = batch.next();
+    return container.setData(convertInWorkers ? (Entity) row : converter.convert((String[]) row));
+  }
+
+  @Override
+  public synchronized void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    segments = null;
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // nothing more to do
+      }
+      channel = null;
+    }
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[file=" + file + ", encoding=" + charset + ", separator=" + separator +
+        ", threads=" + threads + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void assureInitialized() {
+    if (!initialized) {
+      init();
+      initialized = true;
+    }
+  }
+
+  private void init() {
+    try {
+      channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      size = channel.size();
+      segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+      for (int i = 0; i < segments.length; i++) {
+        long start = (long) i << SEGMENT_BITS;
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, 1L << SEGMENT_BITS));
+      }
+    } catch (IOException e) {
+      close();
+      throw BeneratorExceptionFactory.getInstance().configurationError("Error mapping file " + file, e);
+    }
+    position = (hasUtf8ByteOrderMark() ? 3 : 0);
+    if (expectingHeader) {
+      long headerEnd = findChunkEnd(position, 0);
+      List<String[]> header = parseRecords(decode(position, headerEnd), separator);
+      position = headerEnd;
+      setColumns(header.isEmpty() ? null : header.get(0));
+    }
+    convertInWorkers = (preprocessor == null || preprocessor.isThreadSafe());
+    if (!convertInWorkers) {
+      converter = createConverter();
+    }
+    String threadNamePrefix = "benerator-csv-" + poolCount.incrementAndGet() + "-";
+    AtomicInteger threadCount = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (ordered) {
+      pendingChunks = new ArrayDeque<>();
+    } else {
+      completionService = new ExecutorCompletionService<>(executor);
+    }
+    chunksInProgress = 0;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Converter<String[], Entity> createConverter() {
+    Converter<String[], Object[]> arrayConverter = new ArrayConverter(String.class, Object.class, preprocessor);
+    Array2EntityConverter a2eConverter = new Array2EntityConverter(entityDescriptor, columns, true);
+    return new ConverterChain<>(arrayConverter, a2eConverter);
+  }
+
+  private boolean hasUtf8ByteOrderMark() {
+    return (StandardCharsets.UTF_8.equals(charset) && size >= 3
+        && byteAt(0) == (byte) 0xEF && byteAt(1) == (byte) 0xBB && byteAt(2) == (byte) 0xBF);
+  }
+
+  /** Provides the rows of the next chunk and schedules the following chunks for parsing,
+   *  keeping twice as many chunks in progress as there are threads. */
+  private List<?> nextBatch() {
+    scheduleChunks();
+    if (chunksInProgress == 0) {
+      return null;
+    }
+    try {
+      Future<List<?>> future = (ordered ? pendingChunks.remove() : completionService.take());
+      chunksInProgress--;
+      List<?> result = future.get();
+      scheduleChunks();
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw BeneratorExceptionFactory.getInstance().illegalOperation("Interrupted while reading " + file);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw BeneratorExceptionFactory.getInstance().configurationError("Error parsing " + file, e.getCause());
+    }
+  }
+
+  private void scheduleChunks() {
+    while (chunksInProgress < 2 * threads && position < size) {
+      long start = position;
+      long end = findChunkEnd(start, chunkSize);
+      Callable<List<?>> task = () -> parseChunk(start, end);
+      if (ordered) {
+        pendingChunks.add(executor.submit(task));
+      } else {
+        completionService.submit(task);
+      }
+      chunksInProgress++;
+      position = end;
+    }
+  }
+
+  /** Finds the end of the first line break outside quotes after start + minLength, or the end of the file.
+   *  Since each chunk starts at a record boundary, the scan starts outside quotes. */
+  private long findChunkEnd(long start, int minLength) {
+    long target = Math.min(size, start + minLength);
+    boolean quoted = false;
+    long pos = start;
+    while (pos < size) {
+      byte b = byteAt(pos++);
+      if (b == '"') {
+        quoted = !quoted;
+      } else if (b == '\n' && !quoted && pos > target) {
+        return pos;
+      }
+    }
+    return size;
+  }
+
+  private List<?> parseChunk(long start, long end) {
+    List<String[]> records = parseRecords(decode(start, end), separator);
+    if (!convertInWorkers) {
+      return records;
+    }
+    Converter<String[], Entity> chunkConverter = createConverter();
+    List<Entity> entities = new ArrayList<>(records.size());
+    for (String[] record : records) {
+      entities.add(chunkConverter.convert(record));
+    }
+    return entities;
+  }
+
+  private CharBuffer decode(long start, long end) {
+    int length = (int) (end - start);
+    int segment = (int) (start >>> SEGMENT_BITS);
+    ByteBuffer bytes;
+    if (segment == (int) ((end - 1) >>> SEGMENT_BITS)) {
+      // chunk in a single segment: decode the mapped bytes in place
+      ByteBuffer view = segments[segment].duplicate();
+      int offset = (int) (start & SEGMENT_MASK);
+      view.limit(offset + length).position(offset);
+      bytes = view.slice();
+    } else {
+      byte[] copy = new byte[length];
+      for (int i = 0; i < length; i++) {
+        copy[i] = byteAt(start + i);
+      }
+      bytes = ByteBuffer.wrap(copy);
+    }
+    try {
+      return charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE)
+          .decode(bytes);
+    } catch (CharacterCodingException e) {
+      throw BeneratorExceptionFactory.getInstance().configurationError("Error decoding " + file, e);
+    }
+  }
+
+  private byte byteAt(long pos) {
+    return segments[(int) (pos >>> SEGMENT_BITS)].get((int) (pos & SEGMENT_MASK));
+  }
+
+  /** Parses the CSV records in a character buffer. Quoted cells may contain separators, line breaks
+   *  and quotes, which are escaped by doubling them. Empty lines are ignored. */
+  static List<String[]> parseRecords(CharBuffer text, char separator) {
+    char[] buf = text.array();
+    int pos = text.arrayOffset() + text.position();
+    int limit = text.arrayOffset() + text.limit();
+    List<String[]> result = new ArrayList<>();
+    List<String> cells = new ArrayList<>();
+    StringBuilder quotedCell = new StringBuilder();
+    while (pos < limit) {
+      cells.clear();
+      boolean recordEnd = false;
+      while (!recordEnd) {
+        if (pos < limit && buf[pos] == '"') {
+          pos++;
+          quotedCell.setLength(0);
+          while (pos < limit) {
+            char c = buf[pos++];
+            if (c != '"') {
+              quotedCell.append(c);
+            } else if (pos < limit && buf[pos] == '"') {
+              quotedCell.append('"');
+              pos++;
+            } else {
+              break;
+            }
+          }
+          cells.add(quotedCell.toString());
+          while (pos < limit && buf[pos] != separator && buf[pos] != '\n' && buf[pos] != '\r') {
+            pos++; // ignore characters between the closing quote and the next separator
+          }
+        } else {
+          int start = pos;
+          while (pos < limit && buf[pos] != separator && buf[pos] != '\n' && buf[pos] != '\r') {
+            pos++;
+          }
+          cells.add(new String(buf, start, pos - start));
+        }
+        if (pos >= limit) {
+          recordEnd = true;
+        } else if (buf[pos] == separator) {
+          pos++;
+        } else {
+          if (buf[pos] == '\r') {
+            pos++;
+          }
+          if (pos < limit && buf[pos] == '\n') {
+            pos++;
+          }
+          recordEnd = true;
+        }
+      }
+      if (cells.size() > 1 || !cells.get(0).isEmpty()) {
+        result.add(cells.toArray(new String[0]));
+      }
+    }
+    return result;
+  }
+
+}
@@ -42,7 +42,6 @@
 import com.rapiddweller.common.LoggerEscalator;
 import com.rapiddweller.common.StringUtil;
 import com.rapiddweller.common.collection.OrderedNameMap;
-import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.common.version.VersionNumber;
 import com.rapiddweller.format.DataSource;
 import com.rapiddweller.format.util.ConvertingDataSource;
@@ -52,7 +51,6 @@
 import com.rapiddweller.jdbacl.DatabaseDialectManager;
 import com.rapiddweller.jdbacl.ResultSetConverter;
 import com.rapiddweller.jdbacl.SQLUtil;
-import com.rapiddweller.jdbacl.dialect.OracleDialect;
 import com.rapiddweller.jdbacl.model.DBCatalog;
 import com.rapiddweller.jdbacl.model.DBColumn;
 import com.rapiddweller.jdbacl.model.DBDataType;
@@ -90,10 +88,11 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -111,6 +110,7 @@
 public abstract class AbstractDBSystem extends AbstractStorageSystem implements ConnectionProvider {
 
   private static final int DEFAULT_FETCH_SIZE = 100;
+  private static final int DEFAULT_BATCH_SIZE = 1000;
   private static final VersionNumber MIN_ORACLE_VERSION = VersionNumber.valueOf("10" + ".2.0.4"); // little trick to satisfy SonarCube which thinks this is an IP address
   private static final TypeDescriptor[] EMPTY_TYPE_DESCRIPTOR_ARRAY = new TypeDescriptor[0];
 
@@ -119,6 +119,8 @@ public abstract class AbstractDBSystem extends AbstractStorageSystem implements
   private final TypeMapper driverTypeMapper;
   private final AtomicInteger invalidationCount;
   protected boolean batch;
+  private int batchSize;
+  private int commitInterval;
   protected boolean readOnly;
   protected volatile Database database;
   protected DBMetaDataImporter importer;
@@ -140,9 +142,13 @@ public abstract class AbstractDBSystem extends AbstractStorageSystem implements
   private boolean lazy;
   private boolean acceptUnknownColumnTypes;
   private int fetchSize;
+  private int readThreads;
+  private boolean readOrdered;
   private OrderedNameMap<TypeDescriptor> typeDescriptors;
   private boolean dynamicQuerySupported;
   private boolean connectedBefore;
+  private final Map<ComplexTypeDescriptor, WritePlan> insertPlans;
+  private final Map<ComplexTypeDescriptor, WritePlan> updatePlans;
 
   protected AbstractDBSystem(String id, String url, String driver, String user, String password, DataModel dataModel) {
     this(id, dataModel);
@@ -185,8 +191,12 @@ private AbstractDBSystem(String id, DataModel dataModel) {
     setIncludeTables(".*");
     setExcludeTables(null);
     setFetchSize(DEFAULT_FETCH_SIZE);
+    setReadThreads(1);
+    setReadOrdered(false);
     setMetaCache(false);
     setBatch(false);
+    setBatchSize(DEFAULT_BATCH_SIZE);
+    setCommitInterval(0);
     setReadOnly(false);
     setLazy(true);
     setDynamicQuerySupported(true);
@@ -194,6 +204,8 @@ private AbstractDBSystem(String id, DataModel dataModel) {
     this.driverTypeMapper = driverTypeMapper();
     this.connectedBefore = false;
     this.invalidationCount = new AtomicInteger();
+    this.insertPlans = Collections.synchronizedMap(new IdentityHashMap<>());
+    this.updatePlans = Collections.synchronizedMap(new IdentityHashMap<>());
   }
 
 
@@ -334,6 +346,25 @@ public void setBatch(boolean batch) {
     this.batch = batch;
   }
 
+  /** Returns the maximum number of rows to add to a JDBC batch before it is executed, 0 meaning no limit. */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /** Returns the number of written rows after which a commit is performed,
+   *  0 meaning that commits are only performed on flush (page end) and close. */
+  public int getCommitInterval() {
+    return commitInterval;
+  }
+
+  public void setCommitInterval(int commitInterval) {
+    this.commitInterval = commitInterval;
+  }
+
   public int getFetchSize() {
     return fetchSize;
   }
@@ -342,6 +373,24 @@ public void setFetchSize(int fetchSize) {
     this.fetchSize = fetchSize;
   }
 
+  /** @return the number of connections used for reading a table, 1 for serial reading */
+  public int getReadThreads() {
+    return readThreads;
+  }
+
+  public void setReadThreads(int readThreads) {
+    this.readThreads = readThreads;
+  }
+
+  /** @return true if tables which are read with several threads shall be provided in primary key order */
+  public boolean isReadOrdered() {
+    return readOrdered;
+  }
+
+  public void setReadOrdered(boolean readOrdered) {
+    this.readOrdered = readOrdered;
+  }
+
   public boolean isReadOnly() {
     return readOnly;
   }
@@ -440,6 +489,12 @@ public DataSource<Entity> queryEntities(String type, String selector, Context co
       selector = selector.substring(1, selector.length() - 1);
       script = true;
     }
+    if (readThreads > 1 && !script && isTableCondition(selector)) {
+      DataSource<Entity> partitionedSource = createPartitionedSource(type, selector);
+      if (partitionedSource != null) {
+        return partitionedSource;
+      }
+    }
     String sql;
     if (StringUtil.isEmpty(selector)) {
       sql = "select * from " + createCatSchTabString(catalogName, schemaName, type, getDialect());
@@ -460,6 +515,25 @@ public DataSource<Entity> queryEntities(String type, String selector, Context co
     return new EntityResultSetDataSource(source, (ComplexTypeDescriptor) getTypeDescriptor(type));
   }
 
+  private static boolean isTableCondition(String selector) {
+    return StringUtil.isEmpty(selector) || (!StringUtil.startsWithIgnoreCase(selector, "select")
+        && !StringUtil.startsWithIgnoreCase(selector, "'select") && !selector.startsWith("ftl:")
+        && selector.indexOf('{') < 0);
+  }
+
+  /** Creates a data source which reads the table with several threads,
+   *  or returns null if the table does not have a single-column primary key. */
+  private DataSource<Entity> createPartitionedSource(String type, String selector) {
+    String[] pkColumnNames = getTable(type).getPKColumnNames();
+    if (pkColumnNames.length != 1) {
+      logger.debug("Reading {} serially, since it does not have a single-column primary key", type);
+      return null;
+    }
+    return new PartitionedTableDataSource(this, createCatSchTabString(catalogName, schemaName, type, getDialect()),
+        pkColumnNames[0], StringUtil.emptyToNull(selector), readThreads, readOrdered, fetchSize,
+        (ComplexTypeDescriptor) getTypeDescriptor(type));
+  }
+
   public long countEntities(String tableName) {
     logger.debug("countEntities({})", tableName);
     String query = "select count(*) from " +
@@ -575,6 +649,8 @@ public void invalidate() {
     database = null;
     typeDescriptors = null;
     tables = null;
+    insertPlans.clear();
+    updatePlans.clear();
     if (importer instanceof CachingDBImporter) {
       ((CachingDBImporter) importer).invalidate();
     } else {
@@ -635,33 +711,25 @@ protected DataSource<ResultSet> createQuery(String query, Context context) {
   protected abstract PreparedStatement getStatement(
       ComplexTypeDescriptor descriptor, boolean insert, List<ColumnInfo> columnInfos);
 
+  /** Adds the statement's current parameters to its batch. Child classes may execute the batch
+   *  when it has reached the {@link #getBatchSize()}. */
+  protected void addBatch(PreparedStatement statement) throws SQLException {
+    statement.addBatch();
+  }
+
+  /** Called after each written row. Child classes may commit, if the {@link #getCommitInterval()} is reached. */
+  protected void rowWritten() {
+    // nothing to do by default
+  }
+
   private void persistOrUpdate(Entity entity, boolean insert) {
     fetchMetadataIfNecessary();
-    List<ColumnInfo> writeColumnInfos = getWriteColumnInfos(entity, insert);
+    WritePlan plan = getWritePlan(entity, insert);
     try {
-      String tableName = entity.type();
-      PreparedStatement statement = getStatement(entity.descriptor(), insert, writeColumnInfos);
-      for (int i = 0; i < writeColumnInfos.size(); i++) {
-        ColumnInfo info = writeColumnInfos.get(i);
-        Object jdbcValue = entity.getComponent(info.name);
-        if (info.type != null) {
-          jdbcValue = AnyConverter.convert(jdbcValue, info.type);
-        }
-        try {
-          boolean criticalOracleType =
-              (dialect instanceof OracleDialect && (info.sqlType == Types.NCLOB || info.sqlType == Types.OTHER));
-          if (jdbcValue != null || criticalOracleType) { // Oracle is not able to perform setNull() on NCLOBs and NVARCHAR2
-            statement.setObject(i + 1, jdbcValue);
-          } else {
-            statement.setNull(i + 1, info.sqlType);
-          }
-        } catch (SQLException e) {
-            throw BeneratorExceptionFactory.getInstance().illegalArgument(
-                "error setting column " + tableName + '.' + info.name, e);
-        }
-      }
+      PreparedStatement statement = getStatement(entity.descriptor(), insert, plan.getColumnInfos());
+      plan.bind(entity, statement);
       if (batch) {
-        statement.addBatch();
+        addBatch(statement);
       } else {
         int rowCount = statement.executeUpdate();
         if (rowCount == 0) {
@@ -669,6 +737,7 @@ private void persistOrUpdate(Entity entity, boolean insert) {
               "Update failed because, since there is no database entry with the PK of " + entity);
         }
       }
+      rowWritten();
     } catch (Exception e) {
       throw BeneratorExceptionFactory.getInstance().serviceFailed("Error in persisting " + entity, e);
     }
@@ -845,6 +914,23 @@ public ComplexTypeDescriptor mapTableToComplexTypeDescriptor(
     return complexType;
   }
 
+  /** Provides the {@link WritePlan} for inserting or updating the entity. Plans are cached per entity descriptor
+   *  until the next call to {@link #invalidate()}. */
+  public WritePlan getWritePlan(Entity entity, boolean insert) {
+    ComplexTypeDescriptor descriptor = entity.descriptor();
+    // with acceptUnknownColumnTypes, the column types to write depend on the entity's values
+    boolean cacheable = (descriptor != null && !acceptUnknownColumnTypes);
+    Map<ComplexTypeDescriptor, WritePlan> cache = (insert ? insertPlans : updatePlans);
+    WritePlan plan = (cacheable ? cache.get(descriptor) : null);
+    if (plan == null) {
+      plan = new WritePlan(getWriteColumnInfos(entity, insert), getDialect());
+      if (cacheable) {
+        cache.put(descriptor, plan);
+      }
+    }
+    return plan;
+  }
+
   public List<ColumnInfo> getWriteColumnInfos(Entity entity, boolean insert) {
     String tableName = entity.type();
     DBTable table;
@@ -40,11 +40,18 @@
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Wraps a database connection and provides access functionality.<br/><br/>
+ * Wraps a database connection and provides access functionality.
+ * Prepared statements are kept open across commits. In batch mode, all pending batches
+ * are executed when one of them reaches the database's batch size, on commit and on close.
+ * Batches are executed in the order in which their statements were created, inserts before updates,
+ * so rows of parent tables are written before the rows which reference them.
+ * If the database has a commit interval, a commit is performed each time
+ * the specified number of rows has been written.<br/><br/>
  * Created: 07.01.2013 08:28:36
  * @author Volker Bergmann
  * @since 0.8.0
@@ -56,15 +63,19 @@ public class ConnectionHolder implements Closeable {
   public final Map<ComplexTypeDescriptor, PreparedStatement> insertStatements;
   public final Map<ComplexTypeDescriptor, PreparedStatement> updateStatements;
   public final Map<ComplexTypeDescriptor, PreparedStatement> selectByPKStatements;
+  private final Map<PreparedStatement, Integer> batchSizes;
   private final AbstractDBSystem db;
   private Connection connection;
+  private int uncommittedRows;
 
   public ConnectionHolder(AbstractDBSystem db) {
     this.insertStatements = new OrderedMap<>();
     this.updateStatements = new OrderedMap<>();
     this.selectByPKStatements = new OrderedMap<>();
+    this.batchSizes = new IdentityHashMap<>();
     this.db = db;
     this.connection = null; // lazily initialized
+    this.uncommittedRows = 0;
   }
 
   public Connection getConnection() {
@@ -76,27 +87,45 @@ public Connection getConnection() {
 
   public void commit() {
     try {
-      flushStatements(insertStatements);
-      flushStatements(updateStatements);
+      executeBatches();
       jdbcLogger.debug("Committing connection: {}", connection);
       getConnection().commit();
+      uncommittedRows = 0;
     } catch (SQLException e) {
       throw BeneratorExceptionFactory.getInstance().operationFailed("Commit failed", e);
     }
   }
 
-  private void flushStatements(Map<ComplexTypeDescriptor, PreparedStatement> statements) throws SQLException {
-    for (Map.Entry<ComplexTypeDescriptor, PreparedStatement> entry : statements.entrySet()) {
-      PreparedStatement statement = entry.getValue();
-      if (statement != null) {
-        // need to finish old statement
-        if (db.isBatch()) {
-          statement.executeBatch();
-        }
-        jdbcLogger.debug("Closing statement: {}", statement);
-        DBUtil.close(statement);
-      }
-      entry.setValue(null);
+  /** Adds the current parameter set of the statement to its batch and executes all pending batches
+   *  if the statement's batch has reached the database's batch size. */
+  public void addBatch(PreparedStatement statement) throws SQLException {
+    statement.addBatch();
+    int size = batchSizes.getOrDefault(statement, 0) + 1;
+    batchSizes.put(statement, size);
+    int maxSize = db.getBatchSize();
+    if (maxSize > 0 && size >= maxSize) {
+      executeBatches(); // other batches may contain rows which this one references
+    }
+  }
+
+  /** Counts a written row and commits if the number of uncommitted rows has reached the commit interval. */
+  public void rowWritten() {
+    uncommittedRows++;
+    int commitInterval = db.getCommitInterval();
+    if (commitInterval > 0 && uncommittedRows >= commitInterval) {
+      commit();
+    }
+  }
+
+  /** Executes pending batches and closes all prepared statements,
+   *  e.g. when the table structure has changed. */
+  public void closeStatements() {
+    try {
+      executeBatches();
+    } catch (SQLException e) {
+      throw BeneratorExceptionFactory.getInstance().operationFailed("Batch execution failed", e);
+    } finally {
+      releaseStatements();
     }
   }
 
@@ -171,8 +200,46 @@ private PreparedStatement createStatement(
 
   @Override
   public void close() {
-    commit();
-    DBUtil.close(connection);
+    try {
+      commit();
+    } finally {
+      releaseStatements();
+      DBUtil.close(connection);
+    }
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void executeBatches() throws SQLException {
+    executeBatches(insertStatements);
+    executeBatches(updateStatements);
+  }
+
+  private void executeBatches(Map<ComplexTypeDescriptor, PreparedStatement> statements) throws SQLException {
+    for (PreparedStatement statement : statements.values()) {
+      Integer size = batchSizes.get(statement);
+      if (size != null && size > 0) {
+        batchSizes.put(statement, 0);
+        jdbcLogger.debug("Executing batch of {} rows: {}", size, statement);
+        statement.executeBatch();
+      }
+    }
+  }
+
+  private void releaseStatements() {
+    closeStatements(insertStatements);
+    closeStatements(updateStatements);
+    closeStatements(selectByPKStatements);
+    batchSizes.clear();
+  }
+
+  private static void closeStatements(Map<ComplexTypeDescriptor, PreparedStatement> statements) {
+    for (PreparedStatement statement : statements.values()) {
+      jdbcLogger.debug("Closing statement: {}", statement);
+      DBUtil.close(statement);
+    }
+    statements.clear();
   }
 
 }
@@ -57,7 +57,9 @@
 
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_ACC_UNK_COL_TYPES;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_BATCH;
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_BATCH_SIZE;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_CATALOG;
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_COMMIT_INTERVAL;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_DRIVER;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_ENVIRONMENT;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_EXCL_TABLES;
@@ -68,6 +70,8 @@
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_META_CACHE;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_PASSWORD;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_READ_ONLY;
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_READ_ORDERED;
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_READ_THREADS;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_SCHEMA;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_SYSTEM;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_TABLE_FILTER;
@@ -132,10 +136,26 @@ public class DatabaseParser extends AbstractBeneratorDescriptorParser {
   ATT_BATCH, false, BeneratorErrorIds.SYN_DB_BATCH,
       new ScriptableParser<>(new BooleanParser()), FALSE);
 
+  public static final AttrInfo<Expression<Integer>> BATCH_SIZE = new AttrInfo<>(
+  ATT_BATCH_SIZE, false, BeneratorErrorIds.SYN_DB_BATCH_SIZE,
+      new ScriptableParser<>(new NonNegativeIntegerParser()));
+
+  public static final AttrInfo<Expression<Integer>> COMMIT_INTERVAL = new AttrInfo<>(
+  ATT_COMMIT_INTERVAL, false, BeneratorErrorIds.SYN_DB_COMMIT_INTERVAL,
+      new ScriptableParser<>(new NonNegativeIntegerParser()));
+
   public static final AttrInfo<Expression<Integer>> FETCH_SIZE = new AttrInfo<>(
   ATT_FETCH_SIZE, false, BeneratorErrorIds.SYN_DB_FETCH_SIZE,
       new ScriptableParser<>(new NonNegativeIntegerParser()), "100");
 
+  public static final AttrInfo<Expression<Integer>> READ_THREADS = new AttrInfo<>(
+  ATT_READ_THREADS, false, BeneratorErrorIds.SYN_DB_READ_THREADS,
+      new ScriptableParser<>(new NonNegativeIntegerParser()));
+
+  public static final AttrInfo<Expression<Boolean>> READ_ORDERED = new AttrInfo<>(
+  ATT_READ_ORDERED, false, BeneratorErrorIds.SYN_DB_READ_ORDERED,
+      new ScriptableParser<>(new BooleanParser()), FALSE);
+
   public static final AttrInfo<Expression<Boolean>> READ_ONLY = new AttrInfo<>(
   ATT_READ_ONLY, false, BeneratorErrorIds.SYN_DB_READ_ONLY,
       new ScriptableParser<>(new BooleanParser()), FALSE);
@@ -150,7 +170,8 @@ public class DatabaseParser extends AbstractBeneratorDescriptorParser {
 
   private static final AttrInfoSupport ATTR_INFO = new AttrInfoSupport(BeneratorErrorIds.SYN_DB_ILLEGAL_ATTR,
       new DatabaseValidator(), ID, ENVIRONMENT, SYSTEM, URL, DRIVER, USER, PASSWORD, CATALOG, SCHEMA,
-      TABLE_FILTER, INCL_TABLES, EXCL_TABLES, META_CACHE, BATCH, FETCH_SIZE, READ_ONLY, LAZY, ACC_UNK_COL_TYPES);
+      TABLE_FILTER, INCL_TABLES, EXCL_TABLES, META_CACHE, BATCH, BATCH_SIZE, COMMIT_INTERVAL, FETCH_SIZE,
+      READ_THREADS, READ_ORDERED, READ_ONLY, LAZY, ACC_UNK_COL_TYPES);
 
   public DatabaseParser() {
     super(EL_DATABASE, ATTR_INFO, BeneratorRootStatement.class, IfStatement.class);
@@ -175,15 +196,19 @@ public DefineDatabaseStatement doParse(
       Expression<String> excludeTables = EXCL_TABLES.parse(element);
       Expression<Boolean> metaCache = META_CACHE.parse(element);
       Expression<Boolean> batch = BATCH.parse(element);
+      Expression<Integer> batchSize = BATCH_SIZE.parse(element);
+      Expression<Integer> commitInterval = COMMIT_INTERVAL.parse(element);
       Expression<Integer> fetchSize = FETCH_SIZE.parse(element);
+      Expression<Integer> readThreads = READ_THREADS.parse(element);
+      Expression<Boolean> readOrdered = READ_ORDERED.parse(element);
       Expression<Boolean> readOnly = READ_ONLY.parse(element);
       Expression<Boolean> lazy = LAZY.parse(element);
       Expression<Boolean> acceptUnknownColumnTypes = new FallbackExpression<>(
           ACC_UNK_COL_TYPES.parse(element), new GlobalAcceptUnknownSimpleTypeExpression());
       return createDatabaseStatement(id, environment, system, url, driver, user,
           password, catalog, schema, tableFilter, includeTables,
-          excludeTables, metaCache, batch, fetchSize, readOnly, lazy,
-          acceptUnknownColumnTypes, context);
+          excludeTables, metaCache, batch, batchSize, commitInterval, fetchSize, readThreads, readOrdered,
+          readOnly, lazy, acceptUnknownColumnTypes, context);
     } catch (ConversionException e) {
       throw ExceptionFactory.getInstance().configurationError("Error parsing <database>", e);
     }
@@ -196,13 +221,16 @@ protected DefineDatabaseStatement createDatabaseStatement(
       Expression<String> catalog, Expression<String> schema,
       Expression<String> tableFilter, Expression<String> includeTables,
       Expression<String> excludeTables, Expression<Boolean> metaCache,
-      Expression<Boolean> batch, Expression<Integer> fetchSize,
+      Expression<Boolean> batch, Expression<Integer> batchSize,
+      Expression<Integer> commitInterval, Expression<Integer> fetchSize,
+      Expression<Integer> readThreads, Expression<Boolean> readOrdered,
       Expression<Boolean> readOnly, Expression<Boolean> lazy,
       Expression<Boolean> acceptUnknownColumnTypes,
       BeneratorParseContext context) {
     return new DefineDatabaseStatement(id, environment, system, url, driver, user, password, catalog, schema,
         metaCache, tableFilter, includeTables, excludeTables,
-        batch, fetchSize, readOnly, lazy, acceptUnknownColumnTypes, context.getResourceManager());
+        batch, batchSize, commitInterval, fetchSize, readThreads, readOrdered, readOnly, lazy,
+        acceptUnknownColumnTypes, context.getResourceManager());
   }
 
   static class GlobalAcceptUnknownSimpleTypeExpression extends DynamicExpression<Boolean> {
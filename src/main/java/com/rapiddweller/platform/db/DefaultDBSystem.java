@@ -34,6 +34,7 @@
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -76,6 +77,12 @@ public void close() {
     super.close();
   }
 
+  @Override
+  public void invalidate() {
+    connectionHolder.closeStatements(); // the statements may not match the new table structure
+    super.invalidate();
+  }
+
   @Override
   public Connection getConnection() {
     return connectionHolder.getConnection();
@@ -94,4 +101,14 @@ protected PreparedStatement getStatement(ComplexTypeDescriptor descriptor,
     return connectionHolder.getStatement(descriptor, insert, columnInfos);
   }
 
+  @Override
+  protected void addBatch(PreparedStatement statement) throws SQLException {
+    connectionHolder.addBatch(statement);
+  }
+
+  @Override
+  protected void rowWritten() {
+    connectionHolder.rowWritten();
+  }
+
 }
@@ -59,7 +59,11 @@ public class DefineDatabaseStatement implements Statement {
   private final Expression<String> includeTables;
   private final Expression<String> excludeTables;
   private final Expression<Boolean> batch;
+  private final Expression<Integer> batchSize;
+  private final Expression<Integer> commitInterval;
   private final Expression<Integer> fetchSize;
+  private final Expression<Integer> readThreads;
+  private final Expression<Boolean> readOrdered;
   private final Expression<Boolean> readOnly;
   private final Expression<Boolean> lazy;
   private final Expression<Boolean> acceptUnknownColumnTypes;
@@ -69,7 +73,9 @@ public DefineDatabaseStatement(Expression<String> id, Expression<String> environ
                                  Expression<String> url, Expression<String> driver, Expression<String> user, Expression<String> password,
                                  Expression<String> catalog, Expression<String> schema, Expression<Boolean> metaCache,
                                  Expression<String> tableFilter, Expression<String> includeTables, Expression<String> excludeTables,
-                                 Expression<Boolean> batch, Expression<Integer> fetchSize, Expression<Boolean> readOnly, Expression<Boolean> lazy,
+                                 Expression<Boolean> batch, Expression<Integer> batchSize, Expression<Integer> commitInterval,
+                                 Expression<Integer> fetchSize, Expression<Integer> readThreads,
+                                 Expression<Boolean> readOrdered, Expression<Boolean> readOnly, Expression<Boolean> lazy,
                                  Expression<Boolean> acceptUnknownColumnTypes, ResourceManager resourceManager) {
     if (id == null) {
       throw BeneratorExceptionFactory.getInstance().configurationError("No database id defined");
@@ -88,7 +94,11 @@ public DefineDatabaseStatement(Expression<String> id, Expression<String> environ
     this.includeTables = includeTables;
     this.excludeTables = excludeTables;
     this.batch = batch;
+    this.batchSize = batchSize;
+    this.commitInterval = commitInterval;
     this.fetchSize = fetchSize;
+    this.readThreads = readThreads;
+    this.readOrdered = readOrdered;
     this.readOnly = readOnly;
     this.lazy = lazy;
     this.acceptUnknownColumnTypes = acceptUnknownColumnTypes;
@@ -136,7 +146,20 @@ public boolean execute(BeneratorContext context) {
     db.setIncludeTables(ExpressionUtil.evaluate(includeTables, context));
     db.setExcludeTables(ExpressionUtil.evaluate(excludeTables, context));
     db.setBatch(ExpressionUtil.evaluate(batch, context));
+    Integer batchSizeValue = ExpressionUtil.evaluate(batchSize, context);
+    if (batchSizeValue != null) {
+      db.setBatchSize(batchSizeValue);
+    }
+    Integer commitIntervalValue = ExpressionUtil.evaluate(commitInterval, context);
+    if (commitIntervalValue != null) {
+      db.setCommitInterval(commitIntervalValue);
+    }
     db.setFetchSize(ExpressionUtil.evaluate(fetchSize, context));
+    Integer readThreadsValue = ExpressionUtil.evaluate(readThreads, context);
+    if (readThreadsValue != null) {
+      db.setReadThreads(readThreadsValue);
+    }
+    db.setReadOrdered(ExpressionUtil.evaluate(readOrdered, context));
     db.setReadOnly(ExpressionUtil.evaluate(readOnly, context));
     Boolean isLazy = ExpressionUtil.evaluate(lazy, context);
     db.setLazy(isLazy);
@@ -0,0 +1,162 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.util.OffHeapObjectMap;
+import com.rapiddweller.common.HeavyweightIterator;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.jdbacl.identity.IdentityModel;
+import com.rapiddweller.jdbacl.identity.KeyMapper;
+import com.rapiddweller.jdbacl.model.Database;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link KeyMapper} which keeps its mappings in an {@link OffHeapObjectMap} instead of the Java heap,
+ * for transcoding tables with hundreds of millions of rows. Data exceeding the off-heap limit
+ * is spilled to memory-mapped temporary files, which are deleted on {@link #close()}.
+ * Like the in-memory implementation, it reads the natural keys of source and target tables lazily
+ * on first access.<br/><br/>
+ * Created: 30.03.2022 18:04:12
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class OffHeapKeyMapper extends KeyMapper implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(OffHeapKeyMapper.class);
+
+  private final Connection target;
+  private final String targetDbId;
+  private final Database database;
+  private final Map<String, Connection> sources;
+  private final Map<String, Integer> namespaces;
+  private final Set<String> populated;
+  private final OffHeapObjectMap store;
+
+  /** @param offHeapLimit the maximum number of bytes to keep in direct buffers before spilling to disk
+   *  @param spillDirectory the directory for spill files, or null for the system's temp directory */
+  public OffHeapKeyMapper(Connection target, String targetDbId, Database database,
+                          long offHeapLimit, File spillDirectory) {
+    this.target = target;
+    this.targetDbId = targetDbId;
+    this.database = database;
+    this.sources = new HashMap<>();
+    this.namespaces = new HashMap<>();
+    this.populated = new HashSet<>();
+    this.store = new OffHeapObjectMap(offHeapLimit, spillDirectory);
+  }
+
+  // KeyMapper interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  public void registerSource(String sourceDbId, Connection connection) {
+    sources.put(sourceDbId, connection);
+  }
+
+  @Override
+  public void store(String sourceDbId, IdentityModel identity, String naturalKey, Object sourcePK, Object targetPK) {
+    store.put(pkNamespace(sourceDbId, identity), sourcePK, targetPK);
+    if (naturalKey != null) {
+      store.put(targetNkNamespace(identity), naturalKey, targetPK);
+    }
+  }
+
+  @Override
+  public Object getTargetPK(String sourceDbId, IdentityModel identity, Object sourcePK) {
+    return store.get(pkNamespace(sourceDbId, identity), sourcePK);
+  }
+
+  @Override
+  public String getNaturalKey(String sourceDbId, IdentityModel identity, Object sourcePK) {
+    return (String) store.get(sourceNkNamespace(sourceDbId, identity), sourcePK);
+  }
+
+  @Override
+  public Object getTargetPK(IdentityModel identity, String naturalKey) {
+    return store.get(targetNkNamespace(identity), naturalKey);
+  }
+
+  // other public methods --------------------------------------------------------------------------------------------
+
+  public long size() {
+    return store.size();
+  }
+
+  public boolean isSpilled() {
+    return store.isSpilled();
+  }
+
+  @Override
+  public void close() {
+    store.close();
+    namespaces.clear();
+    populated.clear();
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + store.size() + " mappings" + (store.isSpilled() ? ", spilled" : "") + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private int pkNamespace(String sourceDbId, IdentityModel identity) {
+    return namespace("pk|" + sourceDbId + '|' + identity.getTableName());
+  }
+
+  /** Provides the namespace of natural keys by source primary key, reading them from the source on first use. */
+  private int sourceNkNamespace(String sourceDbId, IdentityModel identity) {
+    String name = "snk|" + sourceDbId + '|' + identity.getTableName();
+    int namespace = namespace(name);
+    if (populated.add(name)) {
+      Connection source = sources.get(sourceDbId);
+      if (source != null) {
+        logger.debug("Reading natural keys of {}.{}", sourceDbId, identity.getTableName());
+        HeavyweightIterator<Object[]> iterator = identity.createNkPkIterator(source, sourceDbId, this, database);
+        try {
+          while (iterator.hasNext()) {
+            Object[] nkPk = iterator.next();
+            store.put(namespace, nkPk[1], nkPk[0]);
+          }
+        } finally {
+          IOUtil.close(iterator);
+        }
+      }
+    }
+    return namespace;
+  }
+
+  /** Provides the namespace of target primary keys by natural key, reading the existing ones on first use. */
+  private int targetNkNamespace(IdentityModel identity) {
+    String name = "tnk|" + identity.getTableName();
+    int namespace = namespace(name);
+    if (populated.add(name)) {
+      logger.debug("Reading natural keys of {}.{}", targetDbId, identity.getTableName());
+      HeavyweightIterator<Object[]> iterator = identity.createNkPkIterator(target, targetDbId, this, database);
+      try {
+        while (iterator.hasNext()) {
+          Object[] nkPk = iterator.next();
+          store.put(namespace, nkPk[0], nkPk[1]);
+        }
+      } finally {
+        IOUtil.close(iterator);
+      }
+    }
+    return namespace;
+  }
+
+  private int namespace(String name) {
+    return namespaces.computeIfAbsent(name, k -> namespaces.size());
+  }
+
+}
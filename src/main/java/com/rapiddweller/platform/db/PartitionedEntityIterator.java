@@ -0,0 +1,259 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.Entity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads the partitions of a table concurrently, each with an own connection and thread,
+ * and provides their rows as entities. The worker threads convert the rows to entities
+ * and pass them in batches through bounded queues, so a slow consumer makes the workers wait
+ * instead of filling the heap. If iteration is ordered, the partitions are provided one after
+ * the other, while the following partitions are prefetched, otherwise batches are provided
+ * in the order in which they become available.<br/><br/>
+ * Created: 31.03.2022 10:46:18
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PartitionedEntityIterator implements DataIterator<Entity> {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedEntityIterator.class);
+
+  static final int BATCH_SIZE = 1000;
+  private static final int QUEUED_BATCHES = 4;
+  private static final AtomicInteger poolCount = new AtomicInteger();
+
+  private final AbstractDBSystem db;
+  private final List<Partition> partitions;
+  private final int fetchSize;
+  private final boolean ordered;
+  private final ComplexTypeDescriptor descriptor;
+
+  private ExecutorService executor;
+  private List<BlockingQueue<Batch>> queues;
+  private int currentQueue;
+  private int finishedPartitions;
+  private Iterator<Entity> batch;
+
+  public PartitionedEntityIterator(AbstractDBSystem db, List<Partition> partitions, int fetchSize, boolean ordered,
+                                   ComplexTypeDescriptor descriptor) {
+    this.db = db;
+    this.partitions = partitions;
+    this.fetchSize = fetchSize;
+    this.ordered = ordered;
+    this.descriptor = descriptor;
+  }
+
+  // DataIterator interface ------------------------------------------------------------------------------------------
+
+  @Override
+  public Class<Entity> getType() {
+    return Entity.class;
+  }
+
+  @Override
+  public synchronized DataContainer<Entity> next(DataContainer<Entity> container) {
+    if (executor == null) {
+      if (queues != null) {
+        return null; // closed or finished
+      }
+      start();
+    }
+    while (batch == null || !batch.hasNext()) {
+      if (finishedPartitions == partitions.size()) {
+        close();
+        return null;
+      }
+      Batch next = takeBatch();
+      if (next.error != null) {
+        close();
+        throw next.error;
+      }
+      if (next.last) {
+        finishedPartitions++;
+        currentQueue++;
+      }
+      batch = next.rows.iterator();
+    }
+    return container.setData(batch.next());
+  }
+
+  @Override
+  public synchronized void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + partitions.size() + " partitions" + (ordered ? ", ordered" : "") + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void start() {
+    int n = partitions.size();
+    queues = new ArrayList<>(n);
+    if (ordered) {
+      for (int i = 0; i < n; i++) {
+        queues.add(new ArrayBlockingQueue<>(QUEUED_BATCHES));
+      }
+    } else {
+      queues.add(new ArrayBlockingQueue<>(QUEUED_BATCHES * n));
+    }
+    String threadNamePrefix = "benerator-db-read-" + poolCount.incrementAndGet() + "-";
+    AtomicInteger threadCount = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(n, runnable -> {
+      Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // connections are created by the calling thread, before any partition is read
+    List<Connection> connections = new ArrayList<>(n);
+    try {
+      for (int i = 0; i < n; i++) {
+        connections.add(db.createConnection());
+      }
+    } catch (RuntimeException e) {
+      connections.forEach(DBUtil::close);
+      close();
+      throw e;
+    }
+    for (int i = 0; i < n; i++) {
+      Partition partition = partitions.get(i);
+      BlockingQueue<Batch> queue = queues.get(ordered ? i : 0);
+      Connection connection = connections.get(i);
+      executor.execute(() -> read(partition, connection, queue));
+    }
+    currentQueue = 0;
+    finishedPartitions = 0;
+  }
+
+  private Batch takeBatch() {
+    try {
+      return queues.get(ordered ? currentQueue : 0).take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw BeneratorExceptionFactory.getInstance().illegalOperation("Interrupted while reading " + this);
+    }
+  }
+
+  private void read(Partition partition, Connection connection, BlockingQueue<Batch> queue) {
+    boolean finished = false;
+    try {
+      try (PreparedStatement statement = connection.prepareStatement(
+          partition.query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        statement.setFetchSize(fetchSize);
+        for (int i = 0; i < partition.parameters.length; i++) {
+          statement.setObject(i + 1, partition.parameters[i]);
+        }
+        try (ResultSet resultSet = statement.executeQuery()) {
+          ReadPlan plan = new ReadPlan(resultSet.getMetaData(), descriptor);
+          List<Entity> rows = new ArrayList<>(BATCH_SIZE);
+          while (resultSet.next()) {
+            rows.add(plan.read(resultSet));
+            if (rows.size() == BATCH_SIZE) {
+              queue.put(new Batch(rows, false, null));
+              rows = new ArrayList<>(BATCH_SIZE);
+            }
+          }
+          queue.put(new Batch(rows, true, null));
+          finished = true;
+        }
+      } finally {
+        release(connection, partition);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // the iterator has been closed
+    } catch (SQLException | RuntimeException e) {
+      if (finished) {
+        // all rows have been delivered, the error occurred when closing the result set or statement
+        logger.warn("Error closing the query of partition {}", partition, e);
+        return;
+      }
+      logger.debug("Error reading partition {}", partition, e);
+      RuntimeException error = (e instanceof RuntimeException ? (RuntimeException) e :
+          BeneratorExceptionFactory.getInstance().queryFailed("Error reading " + partition, (SQLException) e));
+      try {
+        queue.put(new Batch(Collections.emptyList(), true, error));
+      } catch (InterruptedException e2) {
+        Thread.currentThread().interrupt(); // the iterator has been closed
+      }
+    }
+  }
+
+  /** Finishes the read-only transaction and closes the connection, logging instead of throwing failures,
+   *  since they must neither hide a read error nor invalidate rows which have already been delivered. */
+  private static void release(Connection connection, Partition partition) {
+    try {
+      connection.rollback(); // nothing has been written, only finish the transaction before closing
+    } catch (SQLException e) {
+      logger.warn("Error rolling back the transaction of partition {}", partition, e);
+    }
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      logger.warn("Error closing the connection of partition {}", partition, e);
+    }
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** A query for a part of a table with its parameters. */
+  public static class Partition {
+
+    final String query;
+    final Object[] parameters;
+
+    public Partition(String query, Object... parameters) {
+      this.query = query;
+      this.parameters = parameters;
+    }
+
+    @Override
+    public String toString() {
+      return query + (parameters.length > 0 ? " with " + Arrays.toString(parameters) : "");
+    }
+  }
+
+  private static class Batch {
+
+    final List<Entity> rows;
+    final boolean last;
+    final RuntimeException error;
+
+    Batch(List<Entity> rows, boolean last, RuntimeException error) {
+      this.rows = rows;
+      this.last = last;
+      this.error = error;
+    }
+  }
+
+}
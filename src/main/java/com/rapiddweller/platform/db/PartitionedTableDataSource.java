@@ -0,0 +1,179 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.model.data.AbstractEntitySource;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.Entity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides the rows of a database table by reading key ranges of the table concurrently.
+ * The range of the table's integral primary key is split into one partition per thread, each of which
+ * is queried with an own connection by a {@link PartitionedEntityIterator}. Tables with a primary key
+ * which is not integral are read in a single partition. The fetch size is adapted to the width of the
+ * table's rows, so that each round trip transfers a few megabytes, but it is never smaller than the
+ * configured fetch size. If the entities are requested to be ordered, they are provided in the order
+ * of the primary key. Since the reader connections only see committed rows, the database's pending writes
+ * are committed before the table is partitioned.<br/><br/>
+ * Created: 31.03.2022 10:20:33
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PartitionedTableDataSource extends AbstractEntitySource {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedTableDataSource.class);
+
+  static final int TARGET_FETCH_BYTES = 4 << 20;
+  static final int MAX_FETCH_SIZE = 10000;
+  private static final int LOB_SIZE_ESTIMATE = 4000;
+
+  private final AbstractDBSystem db;
+  private final String table;
+  private final String pkColumn;
+  private final String condition;
+  private final int threads;
+  private final boolean ordered;
+  private final int minFetchSize;
+  private final ComplexTypeDescriptor descriptor;
+
+  /** @param table the table name including catalog and schema as used in SQL
+   *  @param pkColumn the name of the primary key column
+   *  @param condition an SQL condition for restricting the rows to read, or null for reading all rows */
+  public PartitionedTableDataSource(AbstractDBSystem db, String table, String pkColumn, String condition,
+                                    int threads, boolean ordered, int minFetchSize, ComplexTypeDescriptor descriptor) {
+    this.db = db;
+    this.table = table;
+    this.pkColumn = pkColumn;
+    this.condition = condition;
+    this.threads = threads;
+    this.ordered = ordered;
+    this.minFetchSize = minFetchSize;
+    this.descriptor = descriptor;
+  }
+
+  @Override
+  public DataIterator<Entity> iterator() {
+    db.commit(); // makes rows written in the current transaction visible to the reader connections
+    try {
+      List<PartitionedEntityIterator.Partition> partitions = createPartitions();
+      int fetchSize = adaptiveFetchSize();
+      logger.debug("Reading {} in {} partitions with a fetch size of {}", table, partitions.size(), fetchSize);
+      return new PartitionedEntityIterator(db, partitions, fetchSize, ordered, descriptor);
+    } catch (SQLException e) {
+      throw BeneratorExceptionFactory.getInstance().queryFailed("Error partitioning table " + table, e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + table + ", threads=" + threads + (ordered ? ", ordered" : "") + ']';
+  }
+
+  // partitioning ----------------------------------------------------------------------------------------------------
+
+  List<PartitionedEntityIterator.Partition> createPartitions() throws SQLException {
+    String select = "select * from " + table;
+    String orderBy = (ordered ? " order by " + pkColumn : "");
+    List<PartitionedEntityIterator.Partition> result = new ArrayList<>();
+    BigInteger[] range = (threads > 1 ? queryKeyRange() : null);
+    BigInteger span = (range != null ? range[1].subtract(range[0]).add(BigInteger.ONE) : BigInteger.ONE);
+    int n = span.min(BigInteger.valueOf(threads)).intValue();
+    if (n <= 1) {
+      result.add(new PartitionedEntityIterator.Partition(
+          select + (condition != null ? " where " + condition : "") + orderBy));
+      return result;
+    }
+    String prefix = select + " where " + (condition != null ? "(" + condition + ") and " : "");
+    for (int i = 0; i < n; i++) {
+      long lower = bound(range[0], span, i, n);
+      long upper = bound(range[0], span, i + 1, n);
+      if (i == 0) {
+        result.add(new PartitionedEntityIterator.Partition(prefix + pkColumn + " < ?" + orderBy, upper));
+      } else if (i < n - 1) {
+        result.add(new PartitionedEntityIterator.Partition(
+            prefix + pkColumn + " >= ? and " + pkColumn + " < ?" + orderBy, lower, upper));
+      } else {
+        result.add(new PartitionedEntityIterator.Partition(prefix + pkColumn + " >= ?" + orderBy, lower));
+      }
+    }
+    return result;
+  }
+
+  private static long bound(BigInteger min, BigInteger span, int index, int count) {
+    return min.add(span.multiply(BigInteger.valueOf(index)).divide(BigInteger.valueOf(count))).longValue();
+  }
+
+  /** @return the minimum and maximum primary key value, or null if the key is not integral or the table is empty */
+  private BigInteger[] queryKeyRange() throws SQLException {
+    String query = "select min(" + pkColumn + "), max(" + pkColumn + ") from " + table
+        + (condition != null ? " where " + condition : "");
+    try (Statement statement = db.getConnection().createStatement();
+         ResultSet resultSet = statement.executeQuery(query)) {
+      if (!resultSet.next()) {
+        return null;
+      }
+      BigInteger min = integralValue(resultSet.getObject(1));
+      BigInteger max = integralValue(resultSet.getObject(2));
+      if (min == null || max == null || min.bitLength() >= 64 || max.bitLength() >= 64) {
+        logger.debug("Primary key {} of {} is not suited for range partitioning", pkColumn, table);
+        return null;
+      }
+      return new BigInteger[] { min, max };
+    }
+  }
+
+  private static BigInteger integralValue(Object value) {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return BigInteger.valueOf(((Number) value).longValue());
+    } else if (value instanceof BigInteger) {
+      return (BigInteger) value;
+    } else if (value instanceof BigDecimal) {
+      BigDecimal decimal = ((BigDecimal) value).stripTrailingZeros();
+      return (decimal.scale() <= 0 ? decimal.toBigInteger() : null);
+    } else {
+      return null;
+    }
+  }
+
+  // fetch size ------------------------------------------------------------------------------------------------------
+
+  private int adaptiveFetchSize() throws SQLException {
+    try (Statement statement = db.getConnection().createStatement();
+         ResultSet resultSet = statement.executeQuery("select * from " + table + " where 1 = 0")) {
+      return adaptiveFetchSize(resultSet.getMetaData(), minFetchSize);
+    }
+  }
+
+  /** Calculates a fetch size which transfers about {@link #TARGET_FETCH_BYTES} per round trip,
+   *  based on the declared column sizes. */
+  static int adaptiveFetchSize(ResultSetMetaData metaData, int minFetchSize) throws SQLException {
+    long rowSize = 0;
+    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+      switch (metaData.getColumnType(i)) {
+        case Types.BLOB: case Types.CLOB: case Types.NCLOB: case Types.LONGVARBINARY: case Types.LONGVARCHAR:
+        case Types.LONGNVARCHAR:
+          rowSize += LOB_SIZE_ESTIMATE;
+          break;
+        default:
+          rowSize += Math.max(1, Math.min(metaData.getColumnDisplaySize(i), LOB_SIZE_ESTIMATE));
+      }
+    }
+    long fetchSize = TARGET_FETCH_BYTES / Math.max(rowSize, 1);
+    return (int) Math.max(minFetchSize, Math.min(fetchSize, MAX_FETCH_SIZE));
+  }
+
+}
@@ -0,0 +1,128 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.ComponentDescriptor;
+import com.rapiddweller.model.data.ComponentLayout;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.SimpleTypeDescriptor;
+import com.rapiddweller.script.PrimitiveType;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Reads the rows of a query's {@link ResultSet} into {@link Entity} objects.
+ * Column names, result set getters, Java types and the entity slots are resolved once from the
+ * {@link ResultSetMetaData} and the {@link ComplexTypeDescriptor}, so reading a row only calls
+ * one typed getter per column. A plan is valid for all rows of the query it was created for.<br/><br/>
+ * Created: 31.03.2022 09:12:47
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ReadPlan {
+
+  private static final String STRING_TYPE = "string";
+
+  private final ComplexTypeDescriptor descriptor;
+  private final ComponentLayout layout;
+  private final ColumnReader[] readers;
+
+  public ReadPlan(ResultSetMetaData metaData, ComplexTypeDescriptor descriptor) throws SQLException {
+    this.descriptor = descriptor;
+    this.layout = (descriptor != null ? descriptor.getComponentLayout() : null);
+    DataModel dataModel = (descriptor != null ? descriptor.getDataModel() : null);
+    this.readers = new ColumnReader[metaData.getColumnCount()];
+    for (int i = 0; i < readers.length; i++) {
+      String columnName = metaData.getColumnName(i + 1);
+      String typeName = typeName(columnName, descriptor);
+      int slot = (layout != null ? layout.indexOf(columnName) : -1);
+      readers[i] = new ColumnReader(columnName, typeName, slot, dataModel);
+    }
+  }
+
+  public int columnCount() {
+    return readers.length;
+  }
+
+  /** Creates an entity from the current row of the result set. */
+  public Entity read(ResultSet resultSet) throws SQLException {
+    Entity entity = new Entity(descriptor);
+    for (int i = 0; i < readers.length; i++) {
+      ColumnReader reader = readers[i];
+      Object value = reader.read(resultSet, i + 1);
+      if (reader.slot >= 0) {
+        entity.setComponentAt(layout, reader.slot, value);
+      } else {
+        entity.setComponent(reader.columnName, value);
+      }
+    }
+    return entity;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static String typeName(String columnName, ComplexTypeDescriptor descriptor) {
+    if (descriptor != null) {
+      ComponentDescriptor component = descriptor.getComponent(columnName);
+      if (component != null && component.getTypeDescriptor() instanceof SimpleTypeDescriptor) {
+        PrimitiveType primitiveType = ((SimpleTypeDescriptor) component.getTypeDescriptor()).getPrimitiveType();
+        return (primitiveType != null ? primitiveType.getName() : STRING_TYPE);
+      }
+    }
+    return STRING_TYPE;
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  enum Getter {
+    DATE, TIMESTAMP, STRING, BINARY, OBJECT;
+
+    static Getter forType(String primitiveType) {
+      switch (primitiveType) {
+        case "date": return DATE;
+        case "timestamp": return TIMESTAMP;
+        case STRING_TYPE: return STRING;
+        case "binary": return BINARY;
+        default: return OBJECT;
+      }
+    }
+  }
+
+  /** Reads and converts the value of one column. */
+  static class ColumnReader {
+
+    final String columnName;
+    final int slot;
+    private final Getter getter;
+    private final Class<?> javaType;
+
+    ColumnReader(String columnName, String primitiveType, int slot, DataModel dataModel) {
+      this.columnName = columnName;
+      this.slot = slot;
+      this.getter = Getter.forType(primitiveType);
+      this.javaType = (getter == Getter.OBJECT && dataModel != null ?
+          dataModel.getBeanDescriptorProvider().concreteType(primitiveType) : null);
+    }
+
+    Object read(ResultSet resultSet, int columnIndex) throws SQLException {
+      switch (getter) {
+        case DATE: return resultSet.getDate(columnIndex);
+        case TIMESTAMP: return resultSet.getTimestamp(columnIndex);
+        case STRING: return resultSet.getString(columnIndex);
+        case BINARY: return resultSet.getBytes(columnIndex);
+        default:
+          Object value = resultSet.getObject(columnIndex);
+          if (value == null || javaType == null || javaType.isInstance(value)) {
+            return value;
+          }
+          return AnyConverter.convert(value, javaType);
+      }
+    }
+  }
+
+}
@@ -38,6 +38,7 @@
 
 /**
  * Iterates a ResultSet returning Entity objects.
+ * The columns are mapped by a {@link ReadPlan}, which is created once per result set.
  * @author Volker Bergmann
  * @since 0.3.4
  */
@@ -47,6 +48,9 @@ public class ResultSetEntityIterator implements DataIterator<Entity> {
 
   private final ComplexTypeDescriptor descriptor;
 
+  private ResultSet planResultSet;
+  private ReadPlan plan;
+
   public ResultSetEntityIterator(DataIterator<ResultSet> source, ComplexTypeDescriptor descriptor) {
     this.source = source;
     this.descriptor = descriptor;
@@ -65,8 +69,11 @@ public DataContainer<Entity> next(DataContainer<Entity> container) {
         return null;
       }
       ResultSet resultSet = feed.getData();
-      Entity result = ResultSet2EntityConverter.convert(resultSet, descriptor);
-      return container.setData(result);
+      if (resultSet != planResultSet) {
+        plan = new ReadPlan(resultSet.getMetaData(), descriptor);
+        planResultSet = resultSet;
+      }
+      return container.setData(plan.read(resultSet));
     } catch (SQLException e) {
       throw BeneratorExceptionFactory.getInstance().queryFailed("Result set access failed", e);
     }
@@ -33,8 +33,6 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map.Entry;
-import java.util.Set;
 
 import static com.rapiddweller.jdbacl.SQLUtil.appendCatSchTabToBuilder;
 
@@ -129,9 +127,9 @@ String createSQLInsert(Entity entity) {
     StringBuilder builder = new StringBuilder("insert into ");
     enrichCatSchTab(entity, table, builder);
     builder.append(" (");
-    Set<Entry<String, Object>> components = enrichColumns(entity, builder);
+    enrichColumns(entity, builder);
     builder.append(") values (");
-    enrichValues(builder, components);
+    enrichValues(entity, builder);
     builder.append(");");
     String sql = builder.toString();
     logger.debug("built SQL statement: {}", sql);
@@ -156,33 +154,26 @@ private void enrichCatSchTab(Entity entity, String table, StringBuilder builder)
     }
   }
 
-  private void enrichValues(StringBuilder builder, Set<Entry<String, Object>> components) {
-    boolean first;
-    first = true;
-    for (Entry<String, Object> entry : components) {
-      if (first) {
-        first = false;
+  private void enrichValues(Entity entity, StringBuilder builder) {
+    boolean[] first = { true };
+    entity.forEachComponent((name, value) -> {
+      if (first[0]) {
+        first[0] = false;
       } else {
         builder.append(", ");
       }
-      Object value = entry.getValue();
-
       builder.append(dialect.formatValue(value));
-    }
+    });
   }
 
-  private Set<Entry<String, Object>> enrichColumns(Entity entity, StringBuilder builder) {
-    String columnName;
-    Set<Entry<String, Object>> components =
-        entity.getComponents().entrySet();
-    boolean first = true;
-    for (Entry<String, Object> entry : components) {
-      if (first) {
-        first = false;
+  private void enrichColumns(Entity entity, StringBuilder builder) {
+    boolean[] first = { true };
+    entity.forEachComponent((columnName, value) -> {
+      if (first[0]) {
+        first[0] = false;
       } else {
         builder.append(", ");
       }
-      columnName = entry.getKey();
       if (this.quoteTableNames) {
         builder.append('"');
       }
@@ -190,8 +181,7 @@ private Set<Entry<String, Object>> enrichColumns(Entity entity, StringBuilder bu
       if (this.quoteTableNames) {
         builder.append('"');
       }
-    }
-    return components;
+    });
   }
 
 }
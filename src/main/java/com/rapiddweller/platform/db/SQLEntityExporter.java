@@ -35,8 +35,6 @@
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
-import java.util.Map.Entry;
-import java.util.Set;
 
 /**
  * Exports Entities to a SQL file.<br/><br/>
@@ -125,28 +123,19 @@ String createSQLInsert(Entity entity) {
       builder.append(table);
     }
     builder.append(" (");
-    Set<Entry<String, Object>> components =
-        entity.getComponents().entrySet();
-    boolean first = true;
-    for (Entry<String, Object> entry : components) {
-      if (first) {
-        first = false;
+    StringBuilder values = new StringBuilder();
+    boolean[] first = { true };
+    entity.forEachComponent((name, value) -> {
+      if (first[0]) {
+        first[0] = false;
       } else {
         builder.append(", ");
+        values.append(", ");
       }
-      builder.append(entry.getKey());
-    }
-    builder.append(") values (");
-    first = true;
-    for (Entry<String, Object> entry : components) {
-      if (first) {
-        first = false;
-      } else {
-        builder.append(", ");
-      }
-      Object value = entry.getValue();
-      builder.append(dialect.formatValue(value));
-    }
+      builder.append(name);
+      values.append(dialect.formatValue(value));
+    });
+    builder.append(") values (").append(values);
     builder.append(");");
     String sql = builder.toString();
     logger.debug("built SQL statement: {}", sql);
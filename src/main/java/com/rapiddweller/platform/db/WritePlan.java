@@ -0,0 +1,144 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.jdbacl.ColumnInfo;
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.dialect.OracleDialect;
+import com.rapiddweller.model.data.Entity;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precomputed information for writing entities of one type to a database table:
+ * The columns to write in statement parameter order, and for each column a typed binder
+ * and the strategy for binding null values. A WritePlan is created once per entity descriptor
+ * and write mode by an {@link AbstractDBSystem} and dropped when the system is invalidated.<br/><br/>
+ * Created: 20.03.2022 14:12:37
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class WritePlan {
+
+  private final List<ColumnInfo> columnInfos;
+  private final ColumnBinder[] binders;
+
+  public WritePlan(List<ColumnInfo> columnInfos, DatabaseDialect dialect) {
+    this.columnInfos = Collections.unmodifiableList(columnInfos);
+    this.binders = new ColumnBinder[columnInfos.size()];
+    for (int i = 0; i < binders.length; i++) {
+      ColumnInfo info = columnInfos.get(i);
+      // Oracle is not able to perform setNull() on NCLOBs and NVARCHAR2
+      boolean nullAsObject = (dialect instanceof OracleDialect && (info.sqlType == Types.NCLOB || info.sqlType == Types.OTHER));
+      binders[i] = new ColumnBinder(info, nullAsObject);
+    }
+  }
+
+  public List<ColumnInfo> getColumnInfos() {
+    return columnInfos;
+  }
+
+  public int columnCount() {
+    return binders.length;
+  }
+
+  /** Returns the value of the column with the given index, converted to the type to write. */
+  public Object jdbcValue(Entity entity, int columnIndex) {
+    return binders[columnIndex].jdbcValue(entity);
+  }
+
+  /** Sets the entity's column values as parameters of the statement. */
+  public void bind(Entity entity, PreparedStatement statement) {
+    for (int i = 0; i < binders.length; i++) {
+      ColumnBinder binder = binders[i];
+      try {
+        binder.bind(binder.jdbcValue(entity), statement, i + 1);
+      } catch (SQLException e) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument(
+            "error setting column " + entity.type() + '.' + binder.info.name, e);
+      }
+    }
+  }
+
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  enum Setter {
+    STRING, INT, LONG, DOUBLE, BIG_DECIMAL, BOOLEAN, TIMESTAMP, OBJECT;
+
+    static Setter forType(Class<?> type) {
+      if (type == String.class) {
+        return STRING;
+      } else if (type == Integer.class) {
+        return INT;
+      } else if (type == Long.class) {
+        return LONG;
+      } else if (type == Double.class) {
+        return DOUBLE;
+      } else if (type == BigDecimal.class) {
+        return BIG_DECIMAL;
+      } else if (type == Boolean.class) {
+        return BOOLEAN;
+      } else if (type == Timestamp.class) {
+        return TIMESTAMP;
+      } else {
+        return OBJECT;
+      }
+    }
+  }
+
+  /** Converts and binds the value of one column. */
+  static class ColumnBinder {
+
+    final ColumnInfo info;
+    private final Class<?> type;
+    private final Setter setter;
+    private final boolean nullAsObject;
+
+    ColumnBinder(ColumnInfo info, boolean nullAsObject) {
+      this.info = info;
+      this.type = info.type;
+      this.setter = Setter.forType(info.type);
+      this.nullAsObject = nullAsObject;
+    }
+
+    Object jdbcValue(Entity entity) {
+      Object value = entity.getComponent(info.name);
+      if (value == null || type == null || type.isInstance(value)) {
+        return value;
+      }
+      return AnyConverter.convert(value, type);
+    }
+
+    void bind(Object value, PreparedStatement statement, int index) throws SQLException {
+      if (value == null) {
+        if (nullAsObject) {
+          statement.setObject(index, null);
+        } else {
+          statement.setNull(index, info.sqlType);
+        }
+        return;
+      }
+      switch (setter) {
+        case STRING: statement.setString(index, (String) value); break;
+        case INT: statement.setInt(index, (Integer) value); break;
+        case LONG: statement.setLong(index, (Long) value); break;
+        case DOUBLE: statement.setDouble(index, (Double) value); break;
+        case BIG_DECIMAL: statement.setBigDecimal(index, (BigDecimal) value); break;
+        case BOOLEAN: statement.setBoolean(index, (Boolean) value); break;
+        case TIMESTAMP: statement.setTimestamp(index, (Timestamp) value); break;
+        default: statement.setObject(index, value);
+      }
+    }
+
+  }
+
+}
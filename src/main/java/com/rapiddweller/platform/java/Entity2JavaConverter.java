@@ -36,7 +36,6 @@
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
-import java.util.Map;
 
 /**
  * Converts entities and entity arrays to Java beans and bean arrays.<br/><br/>
@@ -92,14 +91,13 @@ private static Object convertArray(Object[] array) {
 
   private static Object convertEntity(Entity entity, Class<?> targetBeanType) {
     Object result = BeanUtil.newInstance(targetBeanType);
-    for (Map.Entry<String, Object> entry : entity.getComponents().entrySet()) {
-      String featureName = entry.getKey();
+    entity.forEachComponent((featureName, featureValue) -> {
       Class<?> targetComponentType = typeOrComponentTypeOf(featureName, targetBeanType);
       if (targetComponentType != null) { // if the target object does not contain a feature of the given name, ignore the entry
-        Object value = convertAny(entry.getValue(), targetComponentType);
+        Object value = convertAny(featureValue, targetComponentType);
         AnyMutator.setValue(result, featureName, value, false, true);
       }
-    }
+    });
     return result;
   }
 
@@ -0,0 +1,118 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.nosql.mongo;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.platform.nosql.mongo.client.MongoDBClient;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers the inserts and replacements of a {@link MongoDBSystem} per collection and writes them
+ * as unordered bulk writes when a collection's buffer reaches the batch size or on {@link #flush()}.
+ * Since an unordered bulk write may execute its operations in any order, a buffer only holds
+ * operations of one kind: When a replacement follows inserts in the same collection (or vice versa),
+ * the buffered operations are written first.<br/><br/>
+ * Created: 31.03.2022 12:05:17
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class MongoDBBulkWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoDBBulkWriter.class);
+
+    private final MongoDBClient client;
+    private final int batchSize;
+    private final Map<String, Buffer> buffers;
+
+    public MongoDBBulkWriter(MongoDBClient client, int batchSize) {
+        if (batchSize < 1) {
+            throw BeneratorExceptionFactory.getInstance().illegalArgument("Illegal MongoDB batch size: " + batchSize);
+        }
+        this.client = client;
+        this.batchSize = batchSize;
+        this.buffers = new LinkedHashMap<>();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void insert(String collectionName, Document document) {
+        add(collectionName, new InsertOneModel<>(document), false);
+    }
+
+    public void replace(String collectionName, Bson filter, Document document) {
+        add(collectionName, new ReplaceOneModel<>(filter, document), true);
+    }
+
+    /** @return the number of operations which have not been written yet */
+    public int pendingCount() {
+        int count = 0;
+        for (Buffer buffer : buffers.values()) {
+            count += buffer.models.size();
+        }
+        return count;
+    }
+
+    /** Writes the buffered operations of all collections. */
+    public void flush() {
+        for (Map.Entry<String, Buffer> entry : buffers.entrySet()) {
+            write(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // private helpers -------------------------------------------------------------------------------------------------
+
+    private void add(String collectionName, WriteModel<Document> model, boolean replacement) {
+        Buffer buffer = buffers.computeIfAbsent(collectionName, k -> new Buffer(batchSize));
+        if (!buffer.models.isEmpty() && buffer.replacements != replacement) {
+            write(collectionName, buffer);
+        }
+        buffer.replacements = replacement;
+        buffer.models.add(model);
+        if (buffer.models.size() >= batchSize) {
+            write(collectionName, buffer);
+        }
+    }
+
+    private void write(String collectionName, Buffer buffer) {
+        if (buffer.models.isEmpty()) {
+            return;
+        }
+        logger.debug("Writing {} {} to MongoDB collection {}", buffer.models.size(),
+                (buffer.replacements ? "replacements" : "inserts"), collectionName);
+        try {
+            client.bulkWrite(collectionName, buffer.models);
+        } catch (MongoException e) {
+            throw BeneratorExceptionFactory.getInstance().operationFailed(
+                    "Bulk write of " + buffer.models.size() + " documents to collection " + collectionName + " failed", e);
+        } finally {
+            buffer.models = new ArrayList<>(batchSize);
+        }
+    }
+
+    // helper classes --------------------------------------------------------------------------------------------------
+
+    private static class Buffer {
+
+        List<WriteModel<Document>> models;
+        boolean replacements;
+
+        Buffer(int batchSize) {
+            this.models = new ArrayList<>(batchSize);
+        }
+    }
+
+}
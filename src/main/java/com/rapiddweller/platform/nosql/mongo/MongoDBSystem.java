@@ -34,18 +34,35 @@ public class MongoDBSystem extends CustomStorageSystem {
     private final MongoDBClientProvider mongoDBClientProvider;
     private final MongoDBClient mongoDBClient;
     private final Map<String, List<String>> entityPaths = new HashMap<>();
+    private MongoDBBulkWriter bulkWriter;
 
     public MongoDBSystem(DataModel dataModel, String id, String host, Integer port, String database, String user,
                          String password, Boolean clean) {
+        this(dataModel, id, host, port, database, user, password, clean, null, null);
+    }
+
+    /** @param batchSize the number of documents to write per collection in one unordered bulk write,
+     *                  or null or 1 for writing each document immediately
+     *  @param writeConcern the name of the {@link com.mongodb.WriteConcern} to use, or null for the driver's default */
+    public MongoDBSystem(DataModel dataModel, String id, String host, Integer port, String database, String user,
+                         String password, Boolean clean, Integer batchSize, String writeConcern) {
         super(id, dataModel);
-        mongoDBClientProvider = new MongoDBClientProvider(host, port, database, user, password);
+        mongoDBClientProvider = new MongoDBClientProvider(host, port, database, user, password, writeConcern);
         mongoDBClient = mongoDBClientProvider.createMongoDBClient();
         if (TRUE.equals(clean)) {
             mongoDBClient.cleanDatabase();
         }
+        setBatchSize(batchSize);
     }
 
     public MongoDBSystem(String id, String environmentName, String systemName, BeneratorContext context) {
+        this(id, environmentName, systemName, null, context);
+    }
+
+    /** @param writeConcern the name of the {@link com.mongodb.WriteConcern} to use,
+     *                     or null for the one of the environment definition or the driver's default */
+    public MongoDBSystem(String id, String environmentName, String systemName, String writeConcern,
+                         BeneratorContext context) {
         super(id, context.getDataModel());
         if (environmentName != null) {
             if (systemName == null) {
@@ -66,11 +83,14 @@ public MongoDBSystem(String id, String environmentName, String systemName, Bener
                         Integer.parseInt(getOrElseThrowConfigurationError(def, "port")),
                         getOrElseThrowConfigurationError(def, "database"),
                         getOrElseThrowConfigurationError(def, "user"),
-                        getOrElseThrowConfigurationError(def, "password"));
+                        getOrElseThrowConfigurationError(def, "password"),
+                        (writeConcern != null ? writeConcern : def.getProperty("writeConcern")));
                 mongoDBClient = mongoDBClientProvider.createMongoDBClient();
                 if (TRUE.equals(parseBoolean(Optional.ofNullable(def.getProperty("clean")).orElse("false")))) {
                     mongoDBClient.cleanDatabase();
                 }
+                String batchSize = def.getProperty("batchSize");
+                setBatchSize(batchSize != null ? Integer.valueOf(batchSize.trim()) : null);
             } catch (ConfigurationError ex) {
                 throw EXCEPTION_FACTORY.configurationError(format(
                         "Cannot initiate Mongodb with id %s, because there is a missing attribute.", id), ex);
@@ -81,6 +101,19 @@ public MongoDBSystem(String id, String environmentName, String systemName, Bener
         }
     }
 
+    public int getBatchSize() {
+        return (bulkWriter != null ? bulkWriter.getBatchSize() : 1);
+    }
+
+    /** Sets the number of documents to buffer per collection before writing them in one unordered bulk write.
+     *  Buffered documents are written latest on {@link #flush()}. A batch size of null or 1 turns bulk writes off. */
+    public void setBatchSize(Integer batchSize) {
+        if (bulkWriter != null) {
+            bulkWriter.flush();
+        }
+        this.bulkWriter = (batchSize != null && batchSize > 1 ? new MongoDBBulkWriter(mongoDBClient, batchSize) : null);
+    }
+
     private static String getOrElseThrowConfigurationError(SystemRef systemRef, String key) {
         return Optional.ofNullable(systemRef.getProperty(key))
                 .orElseThrow(() -> EXCEPTION_FACTORY.configurationError(format(
@@ -89,6 +122,7 @@ private static String getOrElseThrowConfigurationError(SystemRef systemRef, Stri
 
     @Override
     public DataSource<Entity> queryEntities(String collection, String query, Context context) {
+        flush(); // make buffered documents visible to the query
         MongoDBDataSource mongoDBDataSource = new MongoDBDataSource(mongoDBClientProvider, collection, query, context);
         DocumentToEntityConverter documentToEntityConverter = new DocumentToEntityConverter((ComplexTypeDescriptor) getTypeDescriptor(collection));
         return new ConvertingDataSource<>(mongoDBDataSource, documentToEntityConverter);
@@ -96,6 +130,7 @@ public DataSource<Entity> queryEntities(String collection, String query, Context
 
     @Override
     public DataSource<Object> queryEntityIds(String entity, String query, Context context) {
+        flush();
         String collection = getCollection(entity);
         MongoDBDataSource mongoDBDataSource = new MongoDBDataSource(mongoDBClientProvider, collection, query, context);
         DocumentIdToEntityConverter documentIdToEntityConverter = createDocumentIdToEntityConverter(collection);
@@ -122,6 +157,7 @@ private List<String> getIdFieldPath(String entity) {
 
     @Override
     public DataSource<Object> query(String query, boolean simplify, Context context) {
+        flush();
         MongoDBDataSource mongoDBDataSource = new MongoDBDataSource(mongoDBClientProvider, null, query, context);
         DocumentToObjectConverter documentConverter = new DocumentToObjectConverter(simplify);
         return new ConvertingDataSource<>(mongoDBDataSource, documentConverter);
@@ -131,7 +167,11 @@ public DataSource<Object> query(String query, boolean simplify, Context context)
     public void store(Entity entity) {
         String entityType = getEntityType(entity);
         addTypeDescriptor(entity.descriptor);
-        mongoDBClient.insertDocument(entityType, convertEntityToDocument(entity));
+        if (bulkWriter != null) {
+            bulkWriter.insert(entityType, convertEntityToDocument(entity));
+        } else {
+            mongoDBClient.insertDocument(entityType, convertEntityToDocument(entity));
+        }
     }
 
     @Override
@@ -139,7 +179,11 @@ public void update(Entity entity) {
         String entityType = getEntityType(entity);
         addTypeDescriptor(entity.descriptor);
         String idName = MongoDBUtils.getIdName(entity.descriptor);
-        mongoDBClient.replaceDocument(entityType, Filters.eq(idName, entity.get(idName)), convertEntityToDocument(entity));
+        if (bulkWriter != null) {
+            bulkWriter.replace(entityType, Filters.eq(idName, entity.get(idName)), convertEntityToDocument(entity));
+        } else {
+            mongoDBClient.replaceDocument(entityType, Filters.eq(idName, entity.get(idName)), convertEntityToDocument(entity));
+        }
     }
 
     private String getEntityType(Entity entity) {
@@ -203,12 +247,18 @@ private boolean isUnknownType(TypeDescriptor typeDescriptor) {
 
     @Override
     public void flush() {
-        // not needed
+        if (bulkWriter != null) {
+            bulkWriter.flush();
+        }
     }
 
     @Override
     public void close() {
-        mongoDBClient.close();
+        try {
+            flush();
+        } finally {
+            mongoDBClient.close();
+        }
     }
 
 
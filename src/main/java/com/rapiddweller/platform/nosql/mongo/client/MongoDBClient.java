@@ -1,17 +1,25 @@
 package com.rapiddweller.platform.nosql.mongo.client;
 
 import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.WriteModel;
 import com.rapiddweller.platform.nosql.mongo.datasource.MongoDBRunCommandResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MongoDBClient extends MongoClient {
 
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
     private final String database;
+    private final Map<String, MongoCollection<Document>> collections = new HashMap<>();
 
     public MongoDBClient(MongoDBClientProvider mongoDBClientProvider) {
         super(List.of(mongoDBClientProvider.getServerAddress()),
@@ -44,11 +52,16 @@ private static List<Document> getDocuments(Document cursor) {
     }
 
     public void insertDocument(String collectionName, Document document) {
-        this.getDatabase(this.database).getCollection(collectionName).insertOne(document);
+        getCollection(collectionName).insertOne(document);
     }
 
     public void replaceDocument(String collectionName, Bson filter, Document document) {
-        this.getDatabase(this.database).getCollection(collectionName).replaceOne(filter, document);
+        getCollection(collectionName).replaceOne(filter, document);
+    }
+
+    /** Executes the write operations unordered in as few round trips as the driver allows. */
+    public void bulkWrite(String collectionName, List<WriteModel<Document>> operations) {
+        getCollection(collectionName).bulkWrite(operations, UNORDERED);
     }
 
     public void cleanDatabase() {
@@ -63,6 +76,11 @@ private void dropAllCollections() {
 
     private void dropCollection(String collectionName) {
         this.getDatabase(this.database).getCollection(collectionName).drop();
+        collections.remove(collectionName);
+    }
+
+    private MongoCollection<Document> getCollection(String collectionName) {
+        return collections.computeIfAbsent(collectionName, name -> this.getDatabase(this.database).getCollection(name));
     }
 
 }
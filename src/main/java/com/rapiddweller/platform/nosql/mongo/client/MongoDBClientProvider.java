@@ -3,6 +3,8 @@
 import com.mongodb.MongoClientOptions;
 import com.mongodb.MongoCredential;
 import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 
 public class MongoDBClientProvider {
 
@@ -13,11 +15,29 @@ public class MongoDBClientProvider {
     private final ServerAddress serverAddress;
 
     public MongoDBClientProvider(String host, int port, String database, String user, String password) {
+        this(host, port, database, user, password, null);
+    }
+
+    /** @param writeConcern the name of a {@link WriteConcern} constant, e.g. 'acknowledged', 'w1', 'majority'
+     *                     or 'unacknowledged', or null for using the driver's default */
+    public MongoDBClientProvider(String host, int port, String database, String user, String password,
+                                 String writeConcern) {
         this.database = database;
         this.credential = MongoCredential.createCredential(user, database, password.toCharArray());
-        this.options = MongoClientOptions.builder().build(); //TODO make configurable
+        MongoClientOptions.Builder builder = MongoClientOptions.builder();
+        if (writeConcern != null) {
+            builder.writeConcern(parseWriteConcern(writeConcern));
+        }
+        this.options = builder.build();
         this.serverAddress = new ServerAddress(host, port);
+    }
 
+    public static WriteConcern parseWriteConcern(String name) {
+        WriteConcern writeConcern = WriteConcern.valueOf(name.trim());
+        if (writeConcern == null) {
+            throw BeneratorExceptionFactory.getInstance().configurationError("Illegal MongoDB write concern: " + name);
+        }
+        return writeConcern;
     }
 
     public MongoDBClient createMongoDBClient() {
@@ -17,8 +17,7 @@ public EntityToDocumentConverter() {
     @Override
     public Document convert(Entity entity) throws ConversionException {
         Document document = new Document();
-        for (Map.Entry<String, Object> component : entity.getComponents().entrySet()) {
-            Object value = component.getValue();
+        entity.forEachComponent((name, value) -> {
             if (value instanceof Entity)
                 value = convert((Entity) value);
             else if (value instanceof List)
@@ -27,8 +26,8 @@ else if (value instanceof Set)
                 value = convertSet((Set<?>) value);
             else if (value != null && value.getClass().isArray())
                 value = convertArray(value);
-            document.put(component.getKey(), value);
-        }
+            document.put(name, value);
+        });
         return document;
     }
 
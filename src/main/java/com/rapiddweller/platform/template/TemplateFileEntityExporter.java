@@ -213,9 +213,7 @@ private void init() {
 
   private TemplateRecord entityToRecord(Entity entity) {
     TemplateRecord record = BeanUtil.newInstance(recordType);
-    for (Map.Entry<String, Object> entry : entity.getComponents().entrySet()) {
-      AnyMutator.setValue(record, entry.getKey(), entry.getValue());
-    }
+    entity.forEachComponent((name, value) -> AnyMutator.setValue(record, name, value));
     return record;
   }
 
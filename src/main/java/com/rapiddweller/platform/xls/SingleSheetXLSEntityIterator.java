@@ -192,7 +192,7 @@ private static Sheet loadSheet(String uri, String sheetName)
 
   // convenience methods ---------------------------------------------------------------------------------------------
 
-  private static String[] normalizeHeaders(Object[] rawHeaders) {
+  static String[] normalizeHeaders(Object[] rawHeaders) {
     String[] headers = (String[]) ConverterManager.convertAll(rawHeaders, new ToStringConverter(), String.class);
     StringUtil.trimAll(headers);
     int lastNonEmptyIndex = headers.length - 1;
@@ -52,9 +52,6 @@
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Date;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 
 /**
  * Exports entities to Excel sheets.<br/><br/>
@@ -92,10 +89,6 @@ public XLSEntityExporter(String uri) {
 
   // properties ------------------------------------------------------------------------------------------------------
 
-  private static Set<Entry<String, Object>> getComponents(Entity entity) {
-    return entity.getComponents().entrySet();
-  }
-
   @Override
   public String getUri() {
     return uri;
@@ -116,10 +109,8 @@ public void startProductConsumption(Object object) {
     Entity entity = (Entity) object;
     HSSFSheet sheet = getOrCreateSheet(entity);
     HSSFRow row = sheet.createRow(sheet.getLastRowNum() + 1);
-    int i = 0;
-    for (Map.Entry<String, Object> component : getComponents(entity)) {
-      render(row, i++, component.getValue());
-    }
+    int[] column = new int[1];
+    entity.forEachComponent((name, value) -> render(row, column[0]++, value));
   }
 
   // private helpers -------------------------------------------------------------------------------------------------
@@ -176,8 +167,7 @@ private void createWorkbook() {
   private void writeHeaderRow(Entity entity, HSSFSheet sheet) {
     HSSFRow headerRow = sheet.createRow(0);
     int colnum = 0;
-    for (Map.Entry<String, Object> component : getComponents(entity)) {
-      String componentName = component.getKey();
+    for (String componentName : entity.componentNames()) {
       headerRow.createCell(colnum).setCellValue(new HSSFRichTextString(componentName));
       ComponentDescriptor cd = entity.descriptor().getComponent(componentName);
       PrimitiveType primitiveType;
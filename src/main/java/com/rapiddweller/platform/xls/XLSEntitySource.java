@@ -35,7 +35,8 @@
 import com.rapiddweller.model.data.FileBasedEntitySource;
 
 /**
- * Implements an {@link EntitySource} that reads Entities from an Excel sheet.<br/><br/>
+ * Implements an {@link EntitySource} that reads Entities from an Excel sheet.
+ * Row-based XLSX documents are streamed by an {@link XLSXEntityIterator}.<br/><br/>
  * Created at 27.01.2009 21:31:54
  * @author Volker Bergmann
  * @since 0.5.7
@@ -64,12 +65,15 @@ public XLSEntitySource(String uri, Converter<String, ?> preprocessor,
   @Override
   public DataIterator<Entity> iterator() {
     try {
-      if (sheetName != null) {
-        return new SingleSheetXLSEntityIterator(resolveUri(), sheetName,
+      String uri = resolveUri();
+      if (uri.toLowerCase().endsWith(".xlsx") && isRowBased()) {
+        return new XLSXEntityIterator(uri, sheetName, preprocessor, entityType, context, formatted, emptyMarker());
+      } else if (sheetName != null) {
+        return new SingleSheetXLSEntityIterator(uri, sheetName,
             preprocessor, entityType, context, true, formatted,
-            null);
+            emptyMarker());
       } else {
-        return new AllSheetsXLSEntityIterator(resolveUri(),
+        return new AllSheetsXLSEntityIterator(uri,
             preprocessor, entityType, formatted);
       }
     } catch (Exception e) {
@@ -77,4 +81,15 @@ public DataIterator<Entity> iterator() {
     }
   }
 
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Column-based sheets need to be transposed as a whole, so only row-based XLSX sheets are streamed. */
+  private boolean isRowBased() {
+    return (entityType == null || entityType.isRowBased() == null || entityType.isRowBased());
+  }
+
+  private String emptyMarker() {
+    return (entityType != null ? entityType.getEmptyMarker() : null);
+  }
+
 }
@@ -0,0 +1,293 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.benerator.consumer.FileExporter;
+import com.rapiddweller.benerator.consumer.FormattingConsumer;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.model.data.ComponentDescriptor;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.SimpleTypeDescriptor;
+import com.rapiddweller.script.PrimitiveType;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exports entities to the sheets of an Excel 2007+ document (XLSX) in a streaming manner:
+ * Only the last rows of each sheet are kept in memory (see {@link #setWindowSize(int)}),
+ * older rows are flushed to temporary files, so the memory consumption does not depend
+ * on the number of exported entities. Flushed rows cannot be changed any more,
+ * so column widths are only adjusted on demand ({@link #setAutoSizeColumns(boolean)}).<br/><br/>
+ * Created: 28.03.2022 09:14:27
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XLSXEntityExporter extends FormattingConsumer implements FileExporter {
+
+  private static final Logger logger = LoggerFactory.getLogger(XLSXEntityExporter.class);
+
+  // defaults --------------------------------------------------------------------------------------------------------
+
+  private static final String DEFAULT_URI = "export.xlsx";
+  public static final int DEFAULT_WINDOW_SIZE = 100;
+
+  // attributes ------------------------------------------------------------------------------------------------------
+
+  private String uri;
+  private int windowSize;
+  private boolean autoSizeColumns;
+  private SXSSFWorkbook workbook;
+  private final Map<String, SheetState> sheets;
+  private CellStyle defaultDateStyle;
+
+  // constructors ----------------------------------------------------------------------------------------------------
+
+  public XLSXEntityExporter() {
+    this(DEFAULT_URI);
+  }
+
+  public XLSXEntityExporter(String uri) {
+    this.uri = uri;
+    this.windowSize = DEFAULT_WINDOW_SIZE;
+    this.autoSizeColumns = false;
+    this.sheets = new HashMap<>();
+    setDatePattern("m/d/yy");
+    setDecimalPattern("#,##0.##");
+    setIntegralPattern("0");
+    setTimePattern("h:mm:ss");
+    setTimestampPattern("m/d/yy h:mm");
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  @Override
+  public String getUri() {
+    return uri;
+  }
+
+  public void setUri(String uri) {
+    this.uri = uri;
+  }
+
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  /** Sets the number of rows per sheet which are kept in memory */
+  public void setWindowSize(int windowSize) {
+    if (windowSize <= 0) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Illegal window size: " + windowSize);
+    }
+    this.windowSize = windowSize;
+  }
+
+  public boolean isAutoSizeColumns() {
+    return autoSizeColumns;
+  }
+
+  /** If set to true, the widths of all columns are tracked while writing and adjusted to their content on close */
+  public void setAutoSizeColumns(boolean autoSizeColumns) {
+    this.autoSizeColumns = autoSizeColumns;
+  }
+
+  // Consumer interface ----------------------------------------------------------------------------------------------
+
+  @Override
+  public void startProductConsumption(Object object) {
+    logger.debug("exporting {}", object);
+    if (!(object instanceof Entity)) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Expecting Entity");
+    }
+    Entity entity = (Entity) object;
+    SheetState sheet = getOrCreateSheet(entity);
+    Row row = sheet.sheet.createRow(sheet.rowCount++);
+    int[] column = new int[1];
+    entity.forEachComponent((name, value) -> {
+      render(row, column[0], value, sheet.columnStyle(column[0]));
+      column[0]++;
+    });
+  }
+
+  @Override
+  public void close() {
+    if (workbook == null) {
+      workbook = new SXSSFWorkbook(windowSize); // if no data was added, create an empty Excel document
+    } else if (autoSizeColumns) {
+      for (SheetState sheet : sheets.values()) {
+        for (int i = 0; i < sheet.columnStyles.length; i++) {
+          sheet.sheet.autoSizeColumn(i);
+        }
+      }
+    }
+    File file = new File(uri);
+    File directory = file.getParentFile();
+    if (directory != null && !directory.exists() && !directory.mkdirs()) {
+      throw BeneratorExceptionFactory.getInstance().configurationError(
+          "Directory " + directory + " does not exist and cannot be created");
+    }
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      workbook.write(out);
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().configurationError("Error writing XLSX file " + uri, e);
+    } finally {
+      workbook.dispose(); // delete the temporary files
+      try {
+        workbook.close();
+      } catch (IOException e) {
+        logger.debug("Error closing workbook of {}", uri, e);
+      }
+      workbook = null;
+      sheets.clear();
+      defaultDateStyle = null;
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private SheetState getOrCreateSheet(Entity entity) {
+    if (workbook == null) {
+      workbook = new SXSSFWorkbook(windowSize);
+    }
+    String sheetName = entity.type();
+    SheetState sheet = sheets.get(sheetName);
+    if (sheet == null) {
+      sheet = createSheet(entity);
+      sheets.put(sheetName, sheet);
+    }
+    return sheet;
+  }
+
+  private SheetState createSheet(Entity entity) {
+    SXSSFSheet sheet = workbook.createSheet(entity.type());
+    if (autoSizeColumns) {
+      sheet.trackAllColumnsForAutoSizing();
+    }
+    Row headerRow = sheet.createRow(0);
+    String[] componentNames = entity.componentNames();
+    CellStyle[] columnStyles = new CellStyle[componentNames.length];
+    int column = 0;
+    for (String componentName : componentNames) {
+      headerRow.createCell(column).setCellValue(componentName);
+      String formatString = formatString(entity, componentName);
+      if (formatString != null) {
+        columnStyles[column] = createStyle(formatString);
+      }
+      column++;
+    }
+    return new SheetState(sheet, columnStyles);
+  }
+
+  private String formatString(Entity entity, String componentName) {
+    ComponentDescriptor cd = entity.descriptor().getComponent(componentName);
+    if (!(cd.getTypeDescriptor() instanceof SimpleTypeDescriptor)) {
+      throw BeneratorExceptionFactory.getInstance().illegalOperation("Can only export simple type attributes, " +
+          "failed to export " + entity.type() + '.' + cd.getName());
+    }
+    PrimitiveType primitiveType = ((SimpleTypeDescriptor) cd.getTypeDescriptor()).getPrimitiveType();
+    Class<?> javaType = (primitiveType != null ? primitiveType.getJavaType() : String.class);
+    if (BeanUtil.isIntegralNumberType(javaType)) {
+      return getIntegralPattern();
+    } else if (BeanUtil.isDecimalNumberType(javaType)) {
+      return getDecimalPattern();
+    } else if (Time.class.isAssignableFrom(javaType)) {
+      return getTimePattern();
+    } else if (Timestamp.class.isAssignableFrom(javaType)) {
+      return getTimestampPattern();
+    } else if (Date.class.isAssignableFrom(javaType)) {
+      return getDatePattern();
+    } else {
+      return null;
+    }
+  }
+
+  private CellStyle createStyle(String formatString) {
+    CellStyle style = workbook.createCellStyle();
+    style.setDataFormat(workbook.createDataFormat().getFormat(formatString));
+    return style;
+  }
+
+  private void render(Row row, int column, Object value, CellStyle style) {
+    if (value == null) {
+      return;
+    }
+    Cell cell = row.createCell(column);
+    if (value instanceof Number) {
+      cell.setCellValue(((Number) value).doubleValue());
+    } else if (value instanceof Date) {
+      cell.setCellValue((Date) value);
+      if (style == null) {
+        // a date without a date format would be displayed and read as a plain number
+        if (defaultDateStyle == null) {
+          defaultDateStyle = createStyle(getTimestampPattern());
+        }
+        style = defaultDateStyle;
+      }
+    } else if (value instanceof Boolean) {
+      cell.setCellValue((Boolean) value);
+    } else {
+      cell.setCellValue(plainConverter.convert(value));
+    }
+    if (style != null) {
+      cell.setCellStyle(style);
+    }
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '(' + uri + ")";
+  }
+
+  @Override
+  public int hashCode() {
+    return uri.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    XLSXEntityExporter that = (XLSXEntityExporter) obj;
+    return (this.uri.equals(that.uri));
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  private static class SheetState {
+
+    final SXSSFSheet sheet;
+    final CellStyle[] columnStyles;
+    int rowCount;
+
+    SheetState(SXSSFSheet sheet, CellStyle[] columnStyles) {
+      this.sheet = sheet;
+      this.columnStyles = columnStyles;
+      this.rowCount = 1; // the header row
+    }
+
+    CellStyle columnStyle(int column) {
+      return (column < columnStyles.length ? columnStyles[column] : null);
+    }
+  }
+
+}
@@ -0,0 +1,428 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.common.Converter;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.ComponentDescriptor;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.platform.array.Array2EntityConverter;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Iterates the sheets of an Excel 2007+ document (XLSX) row by row and maps the rows to entities.
+ * In contrast to {@link SingleSheetXLSEntityIterator} and {@link AllSheetsXLSEntityIterator},
+ * the workbook is not loaded into memory: Each sheet's XML is pull-parsed while iterating,
+ * only the shared strings and cell styles of the workbook are held in memory.
+ * The first row of each sheet is interpreted as header row, each following row as an entity.
+ * If no sheet name is specified, all sheets are iterated one after the other.<br/><br/>
+ * Created: 28.03.2022 10:02:53
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XLSXEntityIterator implements DataIterator<Entity> {
+
+  private final String uri;
+  private final String sheetName;
+  private final Converter<String, ?> preprocessor;
+  private final ComplexTypeDescriptor entityType;
+  private final BeneratorContext context;
+  private final boolean formatted;
+  private final String emptyMarker;
+
+  private final OPCPackage pkg;
+  private final XSSFReader reader;
+  private final ReadOnlySharedStringsTable sharedStrings;
+  private final StylesTable styles;
+  private final DataFormatter dataFormatter;
+  private final XMLInputFactory xmlInputFactory;
+  private final XSSFReader.SheetIterator sheets;
+  private SheetParser currentSheet;
+  private boolean sheetFound;
+
+  // constructors ----------------------------------------------------------------------------------------------------
+
+  /** @param uri the URI of the XLSX document
+   *  @param sheetName the name of the sheet to iterate, or null for iterating all sheets
+   *  @param preprocessor a converter which is applied to each string cell value, or null
+   *  @param entityType the type of the entities to create, or null for deriving the type from the sheet name
+   *  @param context the context which provides the data model
+   *  @param formatted if true, numerical cell values are provided as strings formatted like in Excel
+   *  @param emptyMarker the text which represents an empty string, or null */
+  public XLSXEntityIterator(String uri, String sheetName, Converter<String, ?> preprocessor,
+                            ComplexTypeDescriptor entityType, BeneratorContext context,
+                            boolean formatted, String emptyMarker) throws IOException {
+    this.uri = uri;
+    this.sheetName = sheetName;
+    this.preprocessor = preprocessor;
+    this.entityType = entityType;
+    this.context = context;
+    this.formatted = formatted;
+    this.emptyMarker = emptyMarker;
+    this.pkg = openPackage(uri);
+    try {
+      this.reader = new XSSFReader(pkg);
+      this.sharedStrings = new ReadOnlySharedStringsTable(pkg);
+      this.styles = reader.getStylesTable();
+      this.sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+    } catch (OpenXML4JException | SAXException e) {
+      pkg.revert();
+      throw BeneratorExceptionFactory.getInstance().configurationError("Error reading XLSX file " + uri, e);
+    }
+    this.dataFormatter = new DataFormatter();
+    this.xmlInputFactory = XMLInputFactory.newInstance();
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    this.currentSheet = null;
+    this.sheetFound = false;
+  }
+
+  public static List<Entity> parseAll(String uri, String sheetName, Converter<String, ?> preprocessor,
+                                      ComplexTypeDescriptor entityType, BeneratorContext context,
+                                      boolean formatted, String emptyMarker) throws IOException {
+    List<Entity> list = new ArrayList<>();
+    try (XLSXEntityIterator iterator = new XLSXEntityIterator(
+        uri, sheetName, preprocessor, entityType, context, formatted, emptyMarker)) {
+      DataContainer<Entity> container = new DataContainer<>();
+      while ((container = iterator.next(container)) != null) {
+        list.add(container.getData());
+      }
+    }
+    return list;
+  }
+
+  // DataIterator interface implementation ---------------------------------------------------------------------------
+
+  @Override
+  public Class<Entity> getType() {
+    return Entity.class;
+  }
+
+  @Override
+  public synchronized DataContainer<Entity> next(DataContainer<Entity> container) {
+    while (true) {
+      if (currentSheet == null && !nextSheet()) {
+        return null;
+      }
+      Entity entity = currentSheet.nextEntity();
+      if (entity != null) {
+        return container.setData(entity);
+      }
+      IOUtil.close(currentSheet);
+      currentSheet = null;
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    IOUtil.close(currentSheet);
+    currentSheet = null;
+    pkg.revert(); // closes a read-only package without saving it
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + uri + (sheetName != null ? ", " + sheetName : "") + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static OPCPackage openPackage(String uri) throws IOException {
+    try {
+      File file = new File(uri);
+      if (file.isFile()) {
+        return OPCPackage.open(file, PackageAccess.READ);
+      } else {
+        return OPCPackage.open(IOUtil.getInputStreamForURI(uri));
+      }
+    } catch (OpenXML4JException e) {
+      throw BeneratorExceptionFactory.getInstance().configurationError("Not an XLSX file: " + uri, e);
+    }
+  }
+
+  private boolean nextSheet() {
+    while (sheets.hasNext()) {
+      InputStream in = sheets.next();
+      String name = sheets.getSheetName();
+      if (sheetName == null || sheetName.equals(name)) {
+        sheetFound = true;
+        currentSheet = new SheetParser(in, name, entityType);
+        return true;
+      }
+      IOUtil.close(in);
+    }
+    if (sheetName != null && !sheetFound) {
+      throw BeneratorExceptionFactory.getInstance().configurationError(
+          "Sheet '" + sheetName + "' not found in file " + uri);
+    }
+    return false;
+  }
+
+  private Entity[] mapTabToArray(String tabName, ComplexTypeDescriptor type) {
+    try {
+      XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+      while (iterator.hasNext()) {
+        InputStream in = iterator.next();
+        if (iterator.getSheetName().trim().equalsIgnoreCase(tabName.trim())) {
+          List<Entity> elements = new ArrayList<>();
+          try (SheetParser parser = new SheetParser(in, iterator.getSheetName(), type)) {
+            Entity element;
+            while ((element = parser.nextEntity()) != null) {
+              elements.add(element);
+            }
+          }
+          return CollectionUtil.toArray(elements, Entity.class);
+        }
+        IOUtil.close(in);
+      }
+    } catch (IOException | OpenXML4JException e) {
+      throw BeneratorExceptionFactory.getInstance().configurationError("Error reading XLSX file " + uri, e);
+    }
+    throw BeneratorExceptionFactory.getInstance().configurationError("Tab '" + tabName + "' not found in " + uri);
+  }
+
+  private ComplexTypeDescriptor deriveDescriptor(String entityTypeName) {
+    // if not specified explicitly, determine entity type by sheet name, like SingleSheetXLSEntityIterator
+    if (context.getDataModel().getTypeDescriptor(entityTypeName) != null) {
+      return new ComplexTypeDescriptor(entityTypeName + "_", context.getLocalDescriptorProvider());
+    }
+    ComplexTypeDescriptor descriptor = new ComplexTypeDescriptor(entityTypeName, context.getLocalDescriptorProvider());
+    context.addLocalType(descriptor);
+    return descriptor;
+  }
+
+  private Object textValue(String text) {
+    if (emptyMarker != null && emptyMarker.equals(text)) {
+      return "";
+    }
+    return (preprocessor != null ? preprocessor.convert(text) : text);
+  }
+
+  private Object numericValue(String raw, String styleIndex) {
+    double value = Double.parseDouble(raw);
+    int formatIndex = 0;
+    String formatString = null;
+    if (styleIndex != null) {
+      XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(styleIndex));
+      if (style != null) {
+        formatIndex = style.getDataFormat();
+        formatString = style.getDataFormatString();
+      }
+    }
+    if (formatString == null) {
+      formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+    }
+    if (formatted) {
+      return dataFormatter.formatRawCellContents(value, formatIndex, formatString);
+    } else if (DateUtil.isADateFormat(formatIndex, formatString)) {
+      return DateUtil.getJavaDate(value);
+    } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return (long) value;
+    } else {
+      return value;
+    }
+  }
+
+  /** Converts the column part of a cell reference like 'AB12' to a zero-based column index. */
+  static int columnIndex(String cellReference) {
+    int column = 0;
+    for (int i = 0; i < cellReference.length(); i++) {
+      char c = cellReference.charAt(i);
+      if (c < 'A' || c > 'Z') {
+        break;
+      }
+      column = column * 26 + (c - 'A' + 1);
+    }
+    return column - 1;
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Pull-parses the XML of a single sheet. */
+  private class SheetParser implements Closeable {
+
+    private final InputStream in;
+    private final XMLStreamReader xml;
+    private final String name;
+    private ComplexTypeDescriptor descriptor;
+    private String[] headers;
+    private Array2EntityConverter converter;
+
+    SheetParser(InputStream in, String name, ComplexTypeDescriptor descriptor) {
+      this.in = in;
+      this.name = name;
+      this.descriptor = descriptor;
+      try {
+        this.xml = xmlInputFactory.createXMLStreamReader(in);
+      } catch (XMLStreamException e) {
+        IOUtil.close(in);
+        throw BeneratorExceptionFactory.getInstance().configurationError("Error parsing sheet " + name + " of " + uri, e);
+      }
+    }
+
+    Entity nextEntity() {
+      try {
+        if (headers == null && !parseHeaders()) {
+          return null;
+        }
+        Object[] row;
+        do {
+          row = nextRow();
+          if (row == null) {
+            return null;
+          }
+        } while (isEmpty(row));
+        Object[] rawData = new Object[headers.length];
+        System.arraycopy(row, 0, rawData, 0, Math.min(row.length, rawData.length));
+        resolveCollections(rawData);
+        return converter.convert(rawData);
+      } catch (XMLStreamException e) {
+        throw BeneratorExceptionFactory.getInstance().configurationError("Error parsing sheet " + name + " of " + uri, e);
+      }
+    }
+
+    private boolean parseHeaders() throws XMLStreamException {
+      Object[] row = nextRow();
+      if (row == null) {
+        return false; // empty sheet
+      }
+      this.headers = SingleSheetXLSEntityIterator.normalizeHeaders(row);
+      if (this.descriptor == null) {
+        this.descriptor = deriveDescriptor(name);
+      }
+      this.converter = new Array2EntityConverter(descriptor, headers, false);
+      return true;
+    }
+
+    private Object[] nextRow() throws XMLStreamException {
+      while (xml.hasNext()) {
+        if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+          return readRow();
+        }
+      }
+      return null;
+    }
+
+    private Object[] readRow() throws XMLStreamException {
+      List<Object> cells = new ArrayList<>();
+      int column = 0;
+      while (xml.hasNext()) {
+        int event = xml.next();
+        if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+          String reference = xml.getAttributeValue(null, "r");
+          if (reference != null) {
+            column = columnIndex(reference);
+          }
+          Object value = readCell(xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s"));
+          while (cells.size() <= column) {
+            cells.add(null);
+          }
+          cells.set(column++, value);
+        } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+          break;
+        }
+      }
+      return cells.toArray();
+    }
+
+    private Object readCell(String type, String styleIndex) throws XMLStreamException {
+      String raw = null;
+      StringBuilder inlineText = null;
+      while (xml.hasNext()) {
+        int event = xml.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          String element = xml.getLocalName();
+          if ("v".equals(element)) {
+            raw = xml.getElementText();
+          } else if ("t".equals(element)) { // text of an inline string or of one of its rich text runs
+            if (inlineText == null) {
+              inlineText = new StringBuilder();
+            }
+            inlineText.append(xml.getElementText());
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+          break;
+        }
+      }
+      if ("inlineStr".equals(type)) {
+        return (inlineText != null ? textValue(inlineText.toString()) : null);
+      } else if (raw == null) {
+        return null;
+      } else if ("s".equals(type)) {
+        return textValue(sharedStrings.getItemAt(Integer.parseInt(raw)).getString());
+      } else if ("str".equals(type) || "e".equals(type)) {
+        return textValue(raw);
+      } else if ("b".equals(type)) {
+        boolean value = "1".equals(raw);
+        return (formatted ? (value ? "TRUE" : "FALSE") : value);
+      } else {
+        return numericValue(raw, styleIndex);
+      }
+    }
+
+    private boolean isEmpty(Object[] row) {
+      for (Object cell : row) {
+        if (cell != null) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void resolveCollections(Object[] rawData) {
+      String colRefPrefix = PlatformDescriptor.getCollectionReferencePrefix();
+      for (int i = 0; i < rawData.length; i++) {
+        Object cellValue = rawData[i];
+        if (cellValue instanceof String && ((String) cellValue).startsWith(colRefPrefix)) {
+          String tabName = ((String) cellValue).substring(colRefPrefix.length());
+          ComponentDescriptor component = descriptor.getComponent(headers[i]);
+          ComplexTypeDescriptor componentType = (component != null ?
+              (ComplexTypeDescriptor) component.getTypeDescriptor() : null);
+          rawData[i] = mapTabToArray(tabName, componentType);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        xml.close();
+      } catch (XMLStreamException e) {
+        // the input stream is closed anyway
+      }
+      IOUtil.close(in);
+    }
+  }
+
+}
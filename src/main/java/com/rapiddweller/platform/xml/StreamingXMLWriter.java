@@ -0,0 +1,222 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xml;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes XML directly to a buffered character stream, without a JAXP transformer pipeline
+ * or attribute objects. Text is escaped into a reusable buffer, and values which need no escaping
+ * are written unchanged. Each element starts on a new line, indented by {@link #indent} spaces
+ * per level, and an element without content is written as empty element tag.
+ * Characters which cannot be represented in the encoding are written as character references.<br/><br/>
+ * Created: 31.03.2022 15:24:36
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class StreamingXMLWriter implements Closeable, Flushable {
+
+  static final int BUFFER_SIZE = 1 << 18;
+
+  private final Writer out;
+  private final String encoding;
+  private final int indent;
+  private final CharsetEncoder encoder;
+
+  private String[] elements;
+  private boolean[] hasChildren;
+  private int depth;
+  private boolean startTagOpen;
+  private boolean lineStart;
+  private char[] escapeBuffer;
+
+  public StreamingXMLWriter(OutputStream out, String encoding, int indent) {
+    Charset charset = Charset.forName(encoding);
+    this.out = new BufferedWriter(new OutputStreamWriter(out, charset), BUFFER_SIZE);
+    this.encoding = encoding;
+    this.indent = indent;
+    this.encoder = (charset.name().startsWith("UTF") ? null : charset.newEncoder());
+    this.elements = new String[16];
+    this.hasChildren = new boolean[16];
+    this.depth = 0;
+    this.startTagOpen = false;
+    this.lineStart = true;
+    this.escapeBuffer = new char[256];
+  }
+
+  /** Creates a writer for a file, which is compressed in GZIP format if requested. */
+  public static StreamingXMLWriter create(String uri, String encoding, int indent, boolean compressed)
+      throws IOException {
+    OutputStream out = new FileOutputStream(uri);
+    if (compressed) {
+      out = new GZIPOutputStream(out, 1 << 16);
+    }
+    return new StreamingXMLWriter(out, encoding, indent);
+  }
+
+  public void startDocument() throws IOException {
+    out.write("<?xml version=\"1.0\" encoding=\"");
+    out.write(encoding);
+    out.write("\"?>");
+    newLine();
+  }
+
+  public void startElement(String name) throws IOException {
+    if (startTagOpen) {
+      out.write('>');
+      startTagOpen = false;
+    }
+    if (depth > 0) {
+      hasChildren[depth - 1] = true;
+    }
+    if (!lineStart) {
+      newLine();
+    }
+    writeIndent();
+    out.write('<');
+    out.write(name);
+    if (depth == elements.length) {
+      elements = Arrays.copyOf(elements, depth * 2);
+      hasChildren = Arrays.copyOf(hasChildren, depth * 2);
+    }
+    elements[depth] = name;
+    hasChildren[depth] = false;
+    depth++;
+    startTagOpen = true;
+    lineStart = false;
+  }
+
+  /** Writes an attribute of the element which has been started last, before any content is written. */
+  public void attribute(String name, String value) throws IOException {
+    out.write(' ');
+    out.write(name);
+    out.write("=\"");
+    escape(value, true);
+    out.write('"');
+  }
+
+  public void text(String text) throws IOException {
+    if (startTagOpen) {
+      out.write('>');
+      startTagOpen = false;
+    }
+    escape(text, false);
+    lineStart = false;
+  }
+
+  public void endElement() throws IOException {
+    depth--;
+    if (startTagOpen) {
+      out.write("/>");
+      startTagOpen = false;
+    } else {
+      if (hasChildren[depth]) {
+        newLine();
+        writeIndent();
+      }
+      out.write("</");
+      out.write(elements[depth]);
+      out.write('>');
+    }
+    elements[depth] = null;
+    lineStart = false;
+  }
+
+  /** Closes all open elements and terminates the last line. */
+  public void endDocument() throws IOException {
+    while (depth > 0) {
+      endElement();
+    }
+    if (!lineStart) {
+      newLine();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void newLine() throws IOException {
+    out.write('\n');
+    lineStart = true;
+  }
+
+  private void writeIndent() throws IOException {
+    for (int i = indent * depth; i > 0; i--) {
+      out.write(' ');
+    }
+  }
+
+  private void escape(String text, boolean attribute) throws IOException {
+    int length = text.length();
+    int i = 0;
+    while (i < length && !needsEscaping(text.charAt(i), attribute)) {
+      i++;
+    }
+    if (i == length) {
+      out.write(text); // the most frequent case
+      return;
+    }
+    // the longest escape sequence '&#xFFFFF;' has 9 characters
+    if (escapeBuffer.length < length * 9) {
+      escapeBuffer = new char[Math.max(length * 9, escapeBuffer.length * 2)];
+    }
+    text.getChars(0, i, escapeBuffer, 0);
+    int n = i;
+    for (; i < length; i++) {
+      char c = text.charAt(i);
+      if (!needsEscaping(c, attribute)) {
+        escapeBuffer[n++] = c;
+      } else {
+        switch (c) {
+          case '&': n = append("&amp;", n); break;
+          case '<': n = append("&lt;", n); break;
+          case '>': n = append("&gt;", n); break;
+          case '"': n = append("&quot;", n); break;
+          default:
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+              codePoint = Character.toCodePoint(c, text.charAt(++i));
+            }
+            n = append("&#x" + Integer.toHexString(codePoint).toUpperCase() + ';', n);
+        }
+      }
+    }
+    out.write(escapeBuffer, 0, n);
+  }
+
+  private boolean needsEscaping(char c, boolean attribute) {
+    if (c < ' ') {
+      return (attribute || (c != '\n' && c != '\t'));
+    } else if (c < 128) {
+      return (c == '&' || c == '<' || c == '>' || (attribute && c == '"'));
+    } else {
+      return (encoder != null && !encoder.canEncode(c));
+    }
+  }
+
+  private int append(String s, int offset) {
+    s.getChars(0, s.length(), escapeBuffer, offset);
+    return offset + s.length();
+  }
+
+}
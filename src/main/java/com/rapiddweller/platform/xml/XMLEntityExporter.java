@@ -48,11 +48,13 @@
 import javax.xml.transform.stream.StreamResult;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.util.Map;
 
 /**
- * Writes Entities to an XML file.<br/><br/>
+ * Writes Entities to an XML file.
+ * In {@link #streaming} mode, the file is written directly by a {@link StreamingXMLWriter}
+ * instead of a JAXP transformer, which is much faster.<br/><br/>
  * Created: 20.02.2008 15:39:23
  * @author Volker Bergmann
  * @since 0.5.0
@@ -72,9 +74,13 @@ public class XMLEntityExporter extends AbstractConsumer implements FileExporter
 
   private String uri;
   private String encoding;
+  private boolean streaming;
+  private int indent;
+  private boolean compressed;
 
   private OutputStream out;
   private TransformerHandler handler;
+  private StreamingXMLWriter writer;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -103,6 +109,9 @@ public XMLEntityExporter(String uri) {
   public XMLEntityExporter(String uri, String encoding) {
     this.uri = uri;
     this.encoding = encoding;
+    this.streaming = false;
+    this.indent = 0;
+    this.compressed = false;
   }
 
   // properties ------------------------------------------------------------------------------------------------------
@@ -136,13 +145,44 @@ public void setEncoding(String encoding) {
     this.encoding = encoding;
   }
 
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /** Activates direct writing with a {@link StreamingXMLWriter}, which supports the properties indent and compressed. */
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+  }
+
+  public int getIndent() {
+    return indent;
+  }
+
+  /** Sets the number of spaces by which nested elements are indented in streaming mode. */
+  public void setIndent(int indent) {
+    this.indent = indent;
+  }
+
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  /** Specifies if the file is compressed in GZIP format in streaming mode. */
+  public void setCompressed(boolean compressed) {
+    this.compressed = compressed;
+  }
+
   @Override
   public void startProductConsumption(Object object) {
     logger.debug("startConsuming({})", object);
+    Entity entity = (Entity) object;
+    if (streaming) {
+      writeElementStart(entity);
+      return;
+    }
     if (out == null) {
       initHandler();
     }
-    Entity entity = (Entity) object;
     renderElementStart(entity);
   }
 
@@ -151,14 +191,27 @@ public void finishProductConsumption(Object object) {
     logger.debug("finishConsuming({})", object);
     Entity entity = (Entity) object;
     try {
-      handler.endElement("", "", entity.type());
+      if (streaming) {
+        writer.endElement();
+      } else {
+        handler.endElement("", "", entity.type());
+      }
     } catch (SAXException e) {
       throw BeneratorExceptionFactory.getInstance().configurationError("Error in processing element: " + entity, e);
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().operationFailed("Error writing " + uri, e);
     }
   }
 
   @Override
   public void flush() {
+    if (writer != null) {
+      try {
+        writer.flush();
+      } catch (IOException e) {
+        throw BeneratorExceptionFactory.getInstance().operationFailed("Error writing " + uri, e);
+      }
+    }
     IOUtil.flush(out);
   }
 
@@ -166,6 +219,16 @@ public void flush() {
 
   @Override
   public void close() {
+    if (writer != null) {
+      try {
+        writer.endDocument();
+      } catch (IOException e) {
+        throw BeneratorExceptionFactory.getInstance().operationFailed("Error closing XML file " + uri, e);
+      } finally {
+        IOUtil.close(writer);
+        writer = null;
+      }
+    }
     if (out != null) {
       try {
         if (handler != null) {
@@ -189,16 +252,11 @@ private void renderSimpleType(Object value) throws SAXException {
   private void renderElementStart(Entity entity) {
     try {
       AttributesImpl atts = new AttributesImpl();
-      for (Map.Entry<String, Object> entry : entity.getComponents().entrySet()) {
-        String key = entry.getKey();
-        Object value = entry.getValue();
-        if (value == null) {
-          continue;
+      entity.forEachComponent((key, value) -> {
+        if (value != null && key != null && !ComplexTypeDescriptor.__SIMPLE_CONTENT.equals(key) && hasSimpleType(value)) {
+          atts.addAttribute("", "", key, "CDATA", converter.convert(value));
         }
-        if (key != null && !ComplexTypeDescriptor.__SIMPLE_CONTENT.equals(key) && hasSimpleType(value)) {
-          atts.addAttribute("", "", entry.getKey(), "CDATA", converter.convert(value));
-        }
-      }
+      });
       handler.startElement("", "", entity.type(), atts);
       Object content = entity.getComponent(ComplexTypeDescriptor.__SIMPLE_CONTENT);
       if (content != null) {
@@ -210,6 +268,28 @@ private void renderElementStart(Entity entity) {
     }
   }
 
+  private void writeElementStart(Entity entity) {
+    try {
+      if (writer == null) {
+        logger.debug("Initializing {}", uri);
+        writer = StreamingXMLWriter.create(uri, encoding, indent, compressed);
+        writer.startDocument();
+      }
+      writer.startElement(entity.type());
+      entity.forEachComponent((key, value) -> {
+        if (value != null && key != null && !ComplexTypeDescriptor.__SIMPLE_CONTENT.equals(key) && hasSimpleType(value)) {
+          writer.attribute(key, converter.convert(value));
+        }
+      });
+      Object content = entity.getComponent(ComplexTypeDescriptor.__SIMPLE_CONTENT);
+      if (content != null) {
+        writer.text(converter.convert(content));
+      }
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().fileCreationFailed("Error writing file " + uri, e);
+    }
+  }
+
   private void initHandler() {
     logger.debug("Initializing {}", uri);
     // create file
@@ -0,0 +1,258 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xml;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.template.xmlanon.XPathTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches the element paths of a streamed XML document against a set of simple XPath expressions.
+ * The paths are compiled into a nondeterministic automaton, from which deterministic {@link State}s
+ * are derived lazily and cached, so following an element costs one hash lookup after the first
+ * occurrence of its path. Supported are absolute paths like '/a/b/c' with descendant steps ('//'),
+ * wildcards ('*') and a final attribute ('@x') or text() step. A path without final attribute step
+ * selects the text of the elements it matches. Predicates and axes are not supported.<br/><br/>
+ * Created: 31.03.2022 13:02:25
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XMLPathMatcher {
+
+  private static final int[] NO_RULES = new int[0];
+
+  private final List<Path> paths;
+  private final Map<String, State> states;
+  private State root;
+
+  public XMLPathMatcher() {
+    this.paths = new ArrayList<>();
+    this.states = new HashMap<>();
+    this.root = null;
+  }
+
+  /** Adds a path and returns its index, which is reported by the {@link State}s that match it. */
+  public int addPath(String path) {
+    if (root != null) {
+      throw BeneratorExceptionFactory.getInstance().programmerStateError(
+          "Cannot add paths to an " + getClass().getSimpleName() + " which is already in use");
+    }
+    paths.add(Path.parse(path));
+    return paths.size() - 1;
+  }
+
+  public int pathCount() {
+    return paths.size();
+  }
+
+  /** @return the state of the document node, from which the states of the root element and its descendants are derived */
+  public State root() {
+    if (root == null) {
+      int[] positions = new int[paths.size()];
+      for (int i = 0; i < positions.length; i++) {
+        positions[i] = position(i, 0);
+      }
+      root = state(positions);
+    }
+    return root;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static int position(int path, int step) {
+    return (path << 16) | step;
+  }
+
+  private State state(int[] positions) {
+    return states.computeIfAbsent(Arrays.toString(positions), k -> new State(positions));
+  }
+
+  State transition(State source, String elementName) {
+    String localName = localName(elementName);
+    int[] buffer = new int[source.positions.length * 2];
+    int count = 0;
+    for (int position : source.positions) {
+      int pathIndex = position >>> 16;
+      int stepIndex = position & 0xFFFF;
+      Step[] steps = paths.get(pathIndex).steps;
+      if (stepIndex < steps.length) {
+        Step step = steps[stepIndex];
+        if (step.descendant) {
+          count = add(position, buffer, count); // '//' may skip any number of elements
+        }
+        if (step.matches(elementName, localName)) {
+          count = add(position(pathIndex, stepIndex + 1), buffer, count);
+        }
+      }
+    }
+    int[] positions = Arrays.copyOf(buffer, count);
+    Arrays.sort(positions);
+    return state(positions);
+  }
+
+  private static int add(int position, int[] buffer, int count) {
+    for (int i = 0; i < count; i++) {
+      if (buffer[i] == position) {
+        return count;
+      }
+    }
+    buffer[count] = position;
+    return count + 1;
+  }
+
+  private static String localName(String qualifiedName) {
+    int sep = qualifiedName.indexOf(':');
+    return (sep < 0 ? qualifiedName : qualifiedName.substring(sep + 1));
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** The set of path positions reached after a sequence of elements, with its cached transitions. */
+  public class State {
+
+    final int[] positions;
+    private final Map<String, State> transitions;
+    private final int[] textRules;
+    private final Map<String, int[]> attributeRules;
+
+    State(int[] positions) {
+      this.positions = positions;
+      this.transitions = new HashMap<>();
+      List<Integer> text = new ArrayList<>();
+      Map<String, List<Integer>> attributes = new HashMap<>();
+      for (int position : positions) {
+        int pathIndex = position >>> 16;
+        Path path = paths.get(pathIndex);
+        if ((position & 0xFFFF) == path.steps.length) {
+          if (path.attribute != null) {
+            attributes.computeIfAbsent(path.attribute, k -> new ArrayList<>()).add(pathIndex);
+          } else {
+            text.add(pathIndex);
+          }
+        }
+      }
+      this.textRules = (text.isEmpty() ? null : toArray(text));
+      this.attributeRules = (attributes.isEmpty() ? null : new HashMap<>());
+      attributes.forEach((name, rules) -> this.attributeRules.put(name, toArray(rules)));
+    }
+
+    /** @return the state of a child element with the given qualified name */
+    public State child(String elementName) {
+      if (positions.length == 0) {
+        return this; // no path can match any descendant
+      }
+      State child = transitions.get(elementName);
+      if (child == null) {
+        child = transition(this, elementName);
+        transitions.put(elementName, child);
+      }
+      return child;
+    }
+
+    /** @return the indices of the paths which select the text of the current element, or null if there are none */
+    public int[] textRules() {
+      return textRules;
+    }
+
+    public boolean hasAttributeRules() {
+      return (attributeRules != null);
+    }
+
+    /** @return the indices of the paths which select the attribute of the current element, or an empty array */
+    public int[] attributeRules(String attributeName) {
+      if (attributeRules == null) {
+        return NO_RULES;
+      }
+      int[] result = attributeRules.get(attributeName);
+      if (result == null) {
+        result = attributeRules.get(localName(attributeName));
+      }
+      return (result != null ? result : NO_RULES);
+    }
+
+    private int[] toArray(List<Integer> list) {
+      int[] result = new int[list.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = list.get(i);
+      }
+      return result;
+    }
+  }
+
+  private static class Path {
+
+    final String text;
+    final Step[] steps;
+    final String attribute;
+
+    Path(String text, Step[] steps, String attribute) {
+      this.text = text;
+      this.steps = steps;
+      this.attribute = attribute;
+    }
+
+    static Path parse(String text) {
+      List<String> tokens = XPathTokenizer.tokenize(text.trim());
+      List<Step> steps = new ArrayList<>();
+      String attribute = null;
+      boolean descendant = false;
+      for (int i = 0; i < tokens.size(); i++) {
+        String token = tokens.get(i).trim();
+        boolean last = (i == tokens.size() - 1);
+        if (token.isEmpty()) {
+          descendant = (i > 0); // a leading '/' denotes the document node, an empty step within a path '//'
+        } else if (token.indexOf('[') >= 0 || token.startsWith(".") || token.contains("::")
+            || (token.indexOf('(') >= 0 && !"text()".equals(token) && !"node()".equals(token))) {
+          throw BeneratorExceptionFactory.getInstance().illegalArgument(
+              "Path step '" + token + "' of '" + text + "' is not supported in XML streaming");
+        } else if (last && ("text()".equals(token) || token.startsWith("@"))) {
+          if (descendant) {
+            steps.add(new Step("*", true)); // e.g. '//@id' matches the attribute of any element
+          }
+          attribute = (token.startsWith("@") ? token.substring(1) : null);
+        } else if ("text()".equals(token) || token.startsWith("@")) {
+          throw BeneratorExceptionFactory.getInstance().illegalArgument(
+              "Step '" + token + "' must be the last one in path '" + text + "'");
+        } else {
+          steps.add(new Step(token, descendant));
+          descendant = false;
+        }
+      }
+      if (steps.isEmpty()) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument("Path does not select an element: " + text);
+      }
+      if (steps.size() > 0xFFFF) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument("Path too long: " + text);
+      }
+      return new Path(text, steps.toArray(new Step[0]), attribute);
+    }
+
+    @Override
+    public String toString() {
+      return text;
+    }
+  }
+
+  private static class Step {
+
+    final String name;
+    final boolean qualified;
+    final boolean descendant;
+
+    Step(String name, boolean descendant) {
+      this.name = name;
+      this.qualified = (name.indexOf(':') >= 0);
+      this.descendant = descendant;
+    }
+
+    boolean matches(String qualifiedName, String localName) {
+      return "*".equals(name) || "node()".equals(name) || name.equals(qualified ? qualifiedName : localName);
+    }
+  }
+
+}
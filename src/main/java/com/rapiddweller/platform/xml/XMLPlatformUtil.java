@@ -38,7 +38,6 @@
 import org.w3c.dom.NodeList;
 import org.w3c.dom.Text;
 
-import java.util.Map;
 
 /**
  * Provides utility methods for Benerator's XML platform.<br/><br/>
@@ -99,9 +98,7 @@ public static Entity convertElement2Entity(Element element, DescriptorProvider p
   }
 
   public static void mapEntityToElement(Entity source, Element target) {
-    for (Map.Entry<String, Object> component : source.getComponents().entrySet()) {
-      mapComponent(component.getKey(), component.getValue(), target);
-    }
+    source.forEachComponent((name, value) -> mapComponent(name, value, target));
   }
 
   public static void mapComponent(String componentName, Object componentValue, Element target) {
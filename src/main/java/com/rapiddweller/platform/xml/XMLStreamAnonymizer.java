@@ -0,0 +1,398 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xml;
+
+import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.storage.AbstractStorageSystem;
+import com.rapiddweller.benerator.util.OffHeapObjectMap;
+import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.NullSafeComparator;
+import com.rapiddweller.common.collection.OrderedNameMap;
+import com.rapiddweller.common.context.ContextAware;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.format.DataSource;
+import com.rapiddweller.format.util.AbstractDataSource;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.TypeDescriptor;
+import com.rapiddweller.script.PrimitiveType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anonymizes an XML document in a single streaming pass, so memory consumption does not depend
+ * on the document size. It is a streaming alternative to anonymization with a {@link DOMTree}:
+ * Anonymized values are provided as mapping entities with the components 'source' and 'target',
+ * which are {@link #store(Entity)}d to this system, grouped by their entity type. Then paths are
+ * assigned to mappings with {@link #anonymize(String, String)}, and on {@link #close()}, the document
+ * is read with an {@link XMLStreamReader}, the text and attribute values at the anonymized paths are
+ * replaced with their mapped values and the result is written with an {@link XMLStreamWriter}
+ * to the {@link #outputUri}. Values for which no mapping exists are kept unchanged.
+ * The mappings are held off the heap in an {@link OffHeapObjectMap}.
+ * For providing the values to map, {@link #query(String, boolean, Context)} streams the values
+ * at a path.<br/><br/>
+ * Created: 31.03.2022 13:58:46
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XMLStreamAnonymizer extends AbstractStorageSystem implements ContextAware {
+
+  private static final Logger logger = LoggerFactory.getLogger(XMLStreamAnonymizer.class);
+
+  private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+  private String id;
+  private String inputUri;
+  private String outputUri;
+  private boolean namespaceAware;
+
+  private Context context;
+  private final XMLPathMatcher matcher;
+  private final List<Integer> ruleMappings;
+  private final Map<String, Integer> mappingIds;
+  private OffHeapObjectMap mappings;
+  private boolean closed;
+  private final OrderedNameMap<ComplexTypeDescriptor> types;
+
+  public XMLStreamAnonymizer() {
+    this(null, null);
+  }
+
+  public XMLStreamAnonymizer(String inOutUri, BeneratorContext context) {
+    this.id = inOutUri;
+    this.inputUri = inOutUri;
+    this.outputUri = inOutUri;
+    this.namespaceAware = true;
+    this.matcher = new XMLPathMatcher();
+    this.ruleMappings = new ArrayList<>();
+    this.mappingIds = new HashMap<>();
+    this.mappings = null;
+    this.closed = false;
+    this.types = OrderedNameMap.createCaseInsensitiveMap();
+    setContext(context);
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getInputUri() {
+    return inputUri;
+  }
+
+  public void setInputUri(String inputUri) {
+    this.inputUri = inputUri;
+  }
+
+  public String getOutputUri() {
+    return outputUri;
+  }
+
+  public void setOutputUri(String outputUri) {
+    this.outputUri = outputUri;
+  }
+
+  public boolean isNamespaceAware() {
+    return namespaceAware;
+  }
+
+  public void setNamespaceAware(boolean namespaceAware) {
+    this.namespaceAware = namespaceAware;
+  }
+
+  @Override
+  public void setContext(Context context) {
+    this.context = context;
+    if (context instanceof BeneratorContext) {
+      setDataModel(((BeneratorContext) context).getDataModel());
+    }
+  }
+
+  /** Replaces the values at the given path with the mappings stored as entities of the given type. */
+  public void anonymize(String path, String mappingType) {
+    matcher.addPath(path);
+    ruleMappings.add(mappingId(mappingType));
+  }
+
+  // StorageSystem interface -----------------------------------------------------------------------------------------
+
+  @Override
+  public DataSource<Entity> queryEntities(String type, String selector, Context context) {
+    throw BeneratorExceptionFactory.getInstance().programmerUnsupported(getClass().getSimpleName() +
+        " does not support queries for entities");
+  }
+
+  @Override
+  public DataSource<?> queryEntityIds(String type, String selector, Context context) {
+    throw BeneratorExceptionFactory.getInstance().programmerUnsupported(getClass().getSimpleName() +
+        " does not support queries for entity ids");
+  }
+
+  /** Streams the text or attribute values selected by an {@link XMLPathMatcher} path. */
+  @Override
+  public DataSource<?> query(String selector, boolean simplify, Context context) {
+    logger.debug("query({}, {}, context)", selector, simplify);
+    String uri = resolveUri(inputUri);
+    return new AbstractDataSource<Object>(Object.class) {
+      @Override
+      public DataIterator<Object> iterator() {
+        return new XMLStreamValueIterator(uri, selector, namespaceAware);
+      }
+    };
+  }
+
+  /** Stores a mapping from the entity's 'source' to its 'target' value. */
+  @Override
+  public void store(Entity entity) {
+    Object source = entity.get("source");
+    Object target = entity.get("target");
+    if (source != null && target != null) {
+      if (mappings == null) {
+        mappings = new OffHeapObjectMap(BeneratorOpts.getKeyMapperOffHeapLimit(), BeneratorOpts.getKeyMapperSpillDirectory());
+      }
+      mappings.put(mappingId(entity.type()), source.toString(), target.toString());
+    }
+  }
+
+  @Override
+  public void update(Entity entity) {
+    throw BeneratorExceptionFactory.getInstance().programmerUnsupported(getClass().getSimpleName() +
+        " does not support updating entities, use store() for providing mappings");
+  }
+
+  @Override
+  public void flush() {
+    // nothing to do
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (matcher.pathCount() > 0) {
+        anonymizeDocument();
+      }
+    } finally {
+      IOUtil.close(mappings);
+      mappings = null;
+    }
+  }
+
+  @Override
+  public TypeDescriptor[] getTypeDescriptors() {
+    return CollectionUtil.toArray(types.values(), TypeDescriptor.class);
+  }
+
+  @Override
+  public TypeDescriptor getTypeDescriptor(String typeName) {
+    if (PrimitiveType.getInstance(typeName) != null) {
+      return null;
+    }
+    return types.computeIfAbsent(typeName, k -> new ComplexTypeDescriptor(typeName, this));
+  }
+
+  // streaming -------------------------------------------------------------------------------------------------------
+
+  private void anonymizeDocument() {
+    String in = resolveUri(inputUri);
+    File outFile = new File(resolveUri(outputUri)).getAbsoluteFile();
+    logger.info("Anonymizing {} to {}", in, outFile);
+    try {
+      Files.createDirectories(outFile.getParentFile().toPath());
+      // write to a temporary file first, so the output may replace the input
+      Path tempFile = Files.createTempFile(outFile.getParentFile().toPath(), outFile.getName(), ".tmp");
+      try {
+        try (InputStream inStream = IOUtil.getInputStreamForURI(in);
+             OutputStream outStream = new BufferedOutputStream(Files.newOutputStream(tempFile), OUTPUT_BUFFER_SIZE)) {
+          transform(inStream, outStream);
+        }
+        Files.move(tempFile, outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException | XMLStreamException e) {
+      throw BeneratorExceptionFactory.getInstance().operationFailed("Error anonymizing " + in, e);
+    }
+  }
+
+  void transform(InputStream in, OutputStream out) throws XMLStreamException {
+    XMLStreamReader reader = createInputFactory(namespaceAware).createXMLStreamReader(in);
+    String encoding = reader.getCharacterEncodingScheme();
+    if (encoding == null) {
+      encoding = (reader.getEncoding() != null ? reader.getEncoding() : "UTF-8");
+    }
+    XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, encoding);
+    writer.writeStartDocument(encoding, reader.getVersion() != null ? reader.getVersion() : "1.0");
+    Deque<XMLPathMatcher.State> stack = new ArrayDeque<>();
+    XMLPathMatcher.State state = matcher.root();
+    StringBuilder text = null; // the buffered text of a matched element, which is replaced if the element is a leaf
+    while (reader.hasNext()) {
+      int event = reader.next();
+      switch (event) {
+        case XMLStreamConstants.START_ELEMENT:
+          if (text != null) {
+            writer.writeCharacters(text.toString()); // the element has children, so its text is not replaced
+            text = null;
+          }
+          stack.push(state);
+          state = state.child(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+          writeStartElement(reader, state, writer);
+          if (state.textRules() != null) {
+            text = new StringBuilder();
+          }
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          if (text != null) {
+            writer.writeCharacters(map(state.textRules(), text.toString()));
+            text = null;
+          }
+          writer.writeEndElement();
+          state = stack.pop();
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.SPACE:
+        case XMLStreamConstants.CDATA:
+          if (text != null) {
+            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          } else if (event == XMLStreamConstants.CDATA) {
+            writer.writeCData(reader.getText());
+          } else {
+            writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          }
+          break;
+        case XMLStreamConstants.COMMENT:
+          if (text == null) {
+            writer.writeComment(reader.getText());
+          } // comments within anonymized text are dropped
+          break;
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+          writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+          break;
+        case XMLStreamConstants.DTD:
+          writer.writeDTD(reader.getText());
+          break;
+        case XMLStreamConstants.END_DOCUMENT:
+          writer.writeEndDocument();
+          break;
+        default:
+          // other events do not occur in the document content
+      }
+    }
+    writer.flush();
+    writer.close();
+    reader.close();
+  }
+
+  private void writeStartElement(XMLStreamReader reader, XMLPathMatcher.State state, XMLStreamWriter writer)
+      throws XMLStreamException {
+    String prefix = reader.getPrefix();
+    String localName = reader.getLocalName();
+    if (namespaceAware) {
+      writer.writeStartElement(prefix != null ? prefix : "", localName,
+          reader.getNamespaceURI() != null ? reader.getNamespaceURI() : "");
+      for (int i = 0; i < reader.getNamespaceCount(); i++) {
+        String namespacePrefix = reader.getNamespacePrefix(i);
+        if (namespacePrefix == null || namespacePrefix.isEmpty()) {
+          writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+        } else {
+          writer.writeNamespace(namespacePrefix, reader.getNamespaceURI(i));
+        }
+      }
+    } else {
+      writer.writeStartElement(qualifiedName(prefix, localName));
+    }
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      String attributePrefix = reader.getAttributePrefix(i);
+      String attributeLocalName = reader.getAttributeLocalName(i);
+      String value = reader.getAttributeValue(i);
+      if (state.hasAttributeRules()) {
+        value = map(state.attributeRules(qualifiedName(attributePrefix, attributeLocalName)), value);
+      }
+      String namespace = reader.getAttributeNamespace(i);
+      if (namespaceAware && namespace != null && !namespace.isEmpty()) {
+        writer.writeAttribute(attributePrefix, namespace, attributeLocalName, value);
+      } else {
+        writer.writeAttribute(qualifiedName(attributePrefix, attributeLocalName), value);
+      }
+    }
+  }
+
+  private String map(int[] rules, String value) {
+    if (mappings == null || value.trim().isEmpty()) {
+      return value;
+    }
+    for (int rule : rules) {
+      Object target = mappings.get(ruleMappings.get(rule), value);
+      if (target != null) {
+        return target.toString();
+      }
+    }
+    return value;
+  }
+
+  // static helpers --------------------------------------------------------------------------------------------------
+
+  static XMLInputFactory createInputFactory(boolean namespaceAware) {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, namespaceAware);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  static String qualifiedName(String prefix, String localName) {
+    return (prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private int mappingId(String mappingType) {
+    return mappingIds.computeIfAbsent(mappingType, k -> mappingIds.size());
+  }
+
+  private String resolveUri(String uri) {
+    return (context instanceof BeneratorContext ?
+        ((BeneratorContext) context).resolveRelativeUri(uri) : uri);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + inputUri +
+        (NullSafeComparator.equals(inputUri, outputUri) ? "" : " -> " + outputUri) + "]";
+  }
+
+}
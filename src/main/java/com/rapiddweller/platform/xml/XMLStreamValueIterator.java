@@ -0,0 +1,126 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xml;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Streams the text or attribute values which are selected by an {@link XMLPathMatcher} path
+ * from an XML document, without loading the document into memory. Like in the DOM, the text
+ * of an element comprises the text of its descendants.<br/><br/>
+ * Created: 31.03.2022 13:41:08
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XMLStreamValueIterator implements DataIterator<Object> {
+
+  private final String uri;
+  private final String path;
+  private final InputStream in;
+  private final XMLStreamReader reader;
+  private final Deque<XMLPathMatcher.State> stack;
+  private final Deque<String> pendingAttributeValues;
+  private XMLPathMatcher.State state;
+  private StringBuilder text;
+  private int textDepth;
+
+  public XMLStreamValueIterator(String uri, String path, boolean namespaceAware) {
+    this.uri = uri;
+    this.path = path;
+    XMLPathMatcher matcher = new XMLPathMatcher();
+    matcher.addPath(path);
+    this.state = matcher.root();
+    this.stack = new ArrayDeque<>();
+    this.pendingAttributeValues = new ArrayDeque<>();
+    try {
+      this.in = IOUtil.getInputStreamForURI(uri);
+      this.reader = XMLStreamAnonymizer.createInputFactory(namespaceAware).createXMLStreamReader(in);
+    } catch (IOException | XMLStreamException e) {
+      throw BeneratorExceptionFactory.getInstance().queryFailed("Error opening " + uri, e);
+    }
+  }
+
+  @Override
+  public Class<Object> getType() {
+    return Object.class;
+  }
+
+  @Override
+  public DataContainer<Object> next(DataContainer<Object> container) {
+    try {
+      while (pendingAttributeValues.isEmpty()) {
+        if (!reader.hasNext()) {
+          return null;
+        }
+        switch (reader.next()) {
+          case XMLStreamConstants.START_ELEMENT:
+            stack.push(state);
+            state = state.child(XMLStreamAnonymizer.qualifiedName(reader.getPrefix(), reader.getLocalName()));
+            if (text == null && state.textRules() != null) {
+              text = new StringBuilder(); // collects the text content of the element and its descendants
+              textDepth = stack.size();
+            }
+            if (state.hasAttributeRules()) {
+              for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String name = XMLStreamAnonymizer.qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+                if (state.attributeRules(name).length > 0) {
+                  pendingAttributeValues.add(reader.getAttributeValue(i));
+                }
+              }
+            }
+            break;
+          case XMLStreamConstants.CHARACTERS:
+          case XMLStreamConstants.CDATA:
+          case XMLStreamConstants.SPACE:
+            if (text != null) {
+              text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+            break;
+          case XMLStreamConstants.END_ELEMENT:
+            String value = null;
+            if (text != null && stack.size() == textDepth) {
+              value = text.toString();
+              text = null;
+            }
+            state = stack.pop();
+            if (value != null) {
+              return container.setData(value);
+            }
+            break;
+          default:
+            // other events do not carry values
+        }
+      }
+      return container.setData(pendingAttributeValues.poll());
+    } catch (XMLStreamException e) {
+      throw BeneratorExceptionFactory.getInstance().queryFailed("Error reading " + path + " from " + uri, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      reader.close();
+    } catch (XMLStreamException e) {
+      // the stream is closed below
+    }
+    IOUtil.close(in);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + uri + ", " + path + "]";
+  }
+
+}
@@ -0,0 +1,235 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.task;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.ErrorHandler;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes a group of {@link Task} instances concurrently, each one in a dedicated thread,
+ * splitting the requested number of invocations evenly among them.
+ * Each worker is run by its own single-threaded {@link TaskExecutor} with the common page size,
+ * so each thread performs its own paging. {@link PageListener}s are invoked in a synchronized manner.
+ * If one worker fails fatally, the others are cancelled and the failure is rethrown
+ * in the calling thread.<br/><br/>
+ * Created: 18.03.2022 10:12:45
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ParallelTaskExecutor {
+
+  private static final AtomicInteger poolCount = new AtomicInteger();
+
+  private final List<WorkerProxy> workers;
+  private final List<? extends Context> contexts;
+  private final List<PageListener> pageListeners;
+  private final long pageSize;
+  private final ErrorHandler errorHandler;
+  private final boolean infoLog;
+  private final AtomicBoolean cancelled;
+
+  private ParallelTaskExecutor(List<? extends Task> workers, List<? extends Context> contexts,
+                               List<PageListener> pageListeners, long pageSize,
+                               ErrorHandler errorHandler, boolean infoLog) {
+    if (workers.isEmpty() || workers.size() != contexts.size()) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Expected one context per worker task, but found " + workers.size() + " tasks and "
+              + contexts.size() + " contexts");
+    }
+    this.cancelled = new AtomicBoolean(false);
+    this.workers = new ArrayList<>(workers.size());
+    for (Task worker : workers) {
+      this.workers.add(new WorkerProxy(worker, cancelled));
+    }
+    this.contexts = contexts;
+    this.pageListeners = synchronizedListeners(pageListeners);
+    this.pageSize = pageSize;
+    this.errorHandler = errorHandler;
+    this.infoLog = infoLog;
+  }
+
+  /** Executes the worker tasks concurrently, each one with the context of the same list index.
+   *  @param workers the tasks to execute, one per thread
+   *  @param contexts the contexts to use, one for each worker task
+   *  @param requestedInvocations the total number of invocations over all threads,
+   *      or null for executing each worker as long as it is available
+   *  @param minInvocations the minimum total number of invocations that must be achieved
+   *  @param pageListeners listeners to notify on each worker's page start and end
+   *  @param pageSize the page size to apply in each thread
+   *  @param errorHandler the {@link ErrorHandler} to apply
+   *  @param infoLog tells if the execution shall be reported on info level */
+  public static void execute(List<? extends Task> workers, List<? extends Context> contexts,
+                             Long requestedInvocations, Long minInvocations,
+                             List<PageListener> pageListeners, long pageSize,
+                             ErrorHandler errorHandler, boolean infoLog) {
+    ParallelTaskExecutor runner = new ParallelTaskExecutor(
+        workers, contexts, pageListeners, pageSize, errorHandler, infoLog);
+    runner.run(requestedInvocations, minInvocations);
+  }
+
+  /** Calculates the share of the total invocation count that is assigned to the worker with the given index. */
+  static Long invocationShare(Long requestedInvocations, int workerIndex, int workerCount) {
+    if (requestedInvocations == null) {
+      return null;
+    }
+    long share = requestedInvocations / workerCount;
+    if (workerIndex < requestedInvocations % workerCount) {
+      share++;
+    }
+    return share;
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void run(Long requestedInvocations, Long minInvocations) {
+    int threadCount = workers.size();
+    Task task = workers.get(0).getRealTask();
+    TaskExecutor.logExecutionInfo(task, requestedInvocations, minInvocations, pageSize, threadCount, infoLog);
+    ExecutorService threadPool = Executors.newFixedThreadPool(threadCount, new WorkerThreadFactory(task));
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int i = 0; i < threadCount; i++) {
+        WorkerProxy worker = workers.get(i);
+        Context context = contexts.get(i);
+        Long share = invocationShare(requestedInvocations, i, threadCount);
+        futures.add(threadPool.submit(() -> TaskExecutor.execute(
+            worker, context, share, null, pageListeners, pageSize, false, errorHandler, false)));
+      }
+      awaitTermination(futures);
+    } finally {
+      threadPool.shutdownNow();
+    }
+    long actualCount = 0;
+    for (WorkerProxy worker : workers) {
+      actualCount += worker.getInvocationCount();
+    }
+    if (minInvocations != null && actualCount < minInvocations) {
+      throw new TaskUnavailableException(task, minInvocations, actualCount);
+    }
+  }
+
+  private void awaitTermination(List<Future<?>> futures) {
+    Throwable failure = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        cancelled.set(true);
+        Thread.currentThread().interrupt();
+        throw ExceptionFactory.getInstance().operationCancelled("Interrupted while waiting for worker threads");
+      } catch (ExecutionException e) {
+        cancelled.set(true);
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw ExceptionFactory.getInstance().operationFailed("Failure in worker thread", (Exception) failure);
+    }
+  }
+
+  private static List<PageListener> synchronizedListeners(List<PageListener> listeners) {
+    if (listeners == null || listeners.isEmpty()) {
+      return listeners;
+    }
+    List<PageListener> result = new ArrayList<>(1);
+    result.add(new PageListener() {
+      @Override
+      public synchronized void pageStarting() {
+        for (PageListener listener : listeners) {
+          listener.pageStarting();
+        }
+      }
+
+      @Override
+      public synchronized void pageFinished() {
+        for (PageListener listener : listeners) {
+          listener.pageFinished();
+        }
+      }
+    });
+    return result;
+  }
+
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Counts the successful invocations of a worker task and makes it unavailable when execution is cancelled. */
+  static class WorkerProxy extends TaskProxy<Task> {
+
+    private final AtomicBoolean cancelled;
+    private final AtomicLong invocationCount;
+
+    WorkerProxy(Task realTask, AtomicBoolean cancelled) {
+      super(realTask);
+      this.cancelled = cancelled;
+      this.invocationCount = new AtomicLong();
+    }
+
+    long getInvocationCount() {
+      return invocationCount.get();
+    }
+
+    @Override
+    public TaskResult execute(Context context, ErrorHandler errorHandler) {
+      if (cancelled.get()) {
+        return TaskResult.UNAVAILABLE;
+      }
+      TaskResult result = super.execute(context, errorHandler);
+      if (result != TaskResult.UNAVAILABLE) {
+        invocationCount.incrementAndGet();
+      }
+      return result;
+    }
+
+    @Override
+    public void close() {
+      // the worker tasks are closed by their originator
+    }
+
+    @Override
+    public Object clone() {
+      return new WorkerProxy(realTask, cancelled);
+    }
+
+  }
+
+  /** Creates daemon threads which are named after the executed task. */
+  static class WorkerThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final AtomicInteger threadCount;
+
+    WorkerThreadFactory(Task task) {
+      this.namePrefix = "benerator-" + poolCount.incrementAndGet() + "-" + task.getTaskName() + "-";
+      this.threadCount = new AtomicInteger();
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
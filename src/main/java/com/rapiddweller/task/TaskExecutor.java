@@ -92,31 +92,33 @@ private static long runWithoutPage(Task target, Long invocationCount, Context co
     return actualCount;
   }
 
-  private static void logExecutionInfo(
-      Task task, Long minInvocations, Long maxInvocations, long pageSize, boolean infoLog) {
+  static void logExecutionInfo(
+      Task task, Long minInvocations, Long maxInvocations, long pageSize, int threadCount, boolean infoLog) {
     if (infoLog) {
       if (logger.isInfoEnabled()) {
-        logger.info(executionInfo(task, minInvocations, maxInvocations, pageSize));
+        logger.info(executionInfo(task, minInvocations, maxInvocations, pageSize, threadCount));
       }
     } else if (logger.isDebugEnabled()) {
-      logger.debug(executionInfo(task, minInvocations, maxInvocations, pageSize));
+      logger.debug(executionInfo(task, minInvocations, maxInvocations, pageSize, threadCount));
     }
   }
 
-  private static String executionInfo(Task task, Long minInvocations, Long maxInvocations, long pageSize) {
+  private static String executionInfo(
+      Task task, Long minInvocations, Long maxInvocations, long pageSize, int threadCount) {
     String invocationInfo =
         (maxInvocations == null ? "as long as available" : HF.pluralize(maxInvocations, "time"));
     if (minInvocations != null && minInvocations > 0 && (maxInvocations == null || maxInvocations > minInvocations)) {
       invocationInfo += " requiring at least " + minInvocations + " generations";
     }
     if (invocationInfo.length() > 0) {
-      invocationInfo += " with page size " + HF.format(pageSize) + " in a single thread";
+      invocationInfo += " with page size " + HF.format(pageSize)
+          + (threadCount > 1 ? " in " + threadCount + " threads" : " in a single thread");
     }
     return "Running task " + task + " " + invocationInfo;
   }
 
   private void run(Long requestedInvocations, Long minInvocations) {
-    logExecutionInfo(target, requestedInvocations, minInvocations, pageSize, infoLog);
+    logExecutionInfo(target, requestedInvocations, minInvocations, pageSize, 1, infoLog);
     // first run without verification
     long countValue = run(requestedInvocations);
     // afterwards verify execution count
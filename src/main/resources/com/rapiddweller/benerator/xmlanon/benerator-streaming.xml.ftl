@@ -0,0 +1,33 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<setup>
+
+    <#list setup.files as file>
+        <bean id="xml_${file}" class="com.rapiddweller.platform.xml.XMLStreamAnonymizer">
+            <property name="inputUri" value="{${file}}"/>
+            <property name="outputUri" value="{com.rapiddweller.common.FileUtil.prependFilePrefix('anon_', ${file})}"/>
+            <property name="namespaceAware" value="false"/>
+        </bean>
+    </#list>
+
+    <#list setup.anonymizations as anon>
+        <echo>Creating anonymization map for ${anon.varname}</echo>
+        <generate type="${anon.varname}_map"
+                  consumer="<#list anon.locators as locator>xml_${locator.file}<#if locator_has_next>,</#if></#list>">
+            <variable name="${anon.varname}" type="string" source="xml_${anon.locators[0].file}"
+                      selector="${anon.locators[0].path}"/>
+            <id name="source" type="string" script="${anon.varname}"/>
+            <attribute name="target" type="string"
+            <#list anon.settings as setting>
+                ${setting.key}="${setting.value}"
+            </#list>
+            />
+        </generate>
+
+        <#list anon.locators as locator>
+            <execute type="ben">xml_${locator.file}.anonymize('${locator.path}', '${anon.varname}_map')</execute>
+        </#list>
+    </#list>
+
+    <echo>Maps finished, the files are anonymized on close</echo>
+
+</setup>
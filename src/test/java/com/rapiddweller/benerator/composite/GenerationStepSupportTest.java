@@ -0,0 +1,121 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.composite;
+
+import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link GenerationStepSupport}.<br/><br/>
+ * Created: 21.03.2022 16:05:41
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class GenerationStepSupportTest {
+
+  @Test
+  public void testSubContextReuse() {
+    BeneratorContext context = new DefaultBeneratorContext();
+    RecordingStep step = new RecordingStep();
+    GenerationStepSupport<String> support = new GenerationStepSupport<>("p", Collections.singletonList(step));
+    assertTrue(support.apply("A", context));
+    assertTrue(support.apply("B", context));
+    assertSame(step.contexts.get(0), step.contexts.get(1));
+    assertEquals(List.of("A", "B"), step.products);
+    assertEquals(List.of("A", "B"), step.namedProducts);
+    // the variable of the first product is not visible to the second one, nor in the parent context
+    assertNull(step.previousValues.get(1));
+    assertNull(context.get("v"));
+    assertFalse(context.getExecutorService().isShutdown());
+  }
+
+  @Test
+  public void testOtherParent() {
+    RecordingStep step = new RecordingStep();
+    GenerationStepSupport<String> support = new GenerationStepSupport<>("p", Collections.singletonList(step));
+    support.apply("A", new DefaultBeneratorContext());
+    support.apply("B", new DefaultBeneratorContext());
+    assertNotSame(step.contexts.get(0), step.contexts.get(1));
+  }
+
+  @Test
+  public void testRecursion() {
+    BeneratorContext context = new DefaultBeneratorContext();
+    List<GenerationStep<String>> steps = new ArrayList<>();
+    GenerationStepSupport<String> support = new GenerationStepSupport<>("p", steps);
+    RecordingStep step = new RecordingStep() {
+      @Override
+      public boolean execute(BeneratorContext subContext) {
+        super.execute(subContext);
+        if ("outer".equals(subContext.get("this"))) {
+          support.apply("inner", subContext);
+          assertEquals("outer", subContext.get("this"));
+        }
+        return true;
+      }
+    };
+    steps.add(step);
+    assertTrue(support.apply("outer", context));
+    assertEquals(List.of("outer", "inner"), step.products);
+    assertNotSame(step.contexts.get(0), step.contexts.get(1));
+  }
+
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  static class RecordingStep extends AbstractGenerationStep<String> {
+
+    final List<BeneratorContext> contexts = new ArrayList<>();
+    final List<Object> products = new ArrayList<>();
+    final List<Object> namedProducts = new ArrayList<>();
+    final List<Object> previousValues = new ArrayList<>();
+
+    RecordingStep() {
+      super(null);
+    }
+
+    @Override
+    public boolean execute(BeneratorContext subContext) {
+      contexts.add(subContext);
+      products.add(subContext.get("this"));
+      namedProducts.add(subContext.get("p"));
+      previousValues.add(subContext.get("v"));
+      subContext.set("v", subContext.get("this"));
+      return true;
+    }
+
+    @Override
+    public void reset() {
+      // nothing to do
+    }
+
+    @Override
+    public void close() {
+      // nothing to do
+    }
+
+    @Override
+    public boolean isParallelizable() {
+      return true;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+      return true;
+    }
+
+  }
+
+}
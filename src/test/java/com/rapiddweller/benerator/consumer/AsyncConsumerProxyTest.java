@@ -0,0 +1,68 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.consumer;
+
+import com.rapiddweller.benerator.test.ConsumerMock;
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import com.rapiddweller.common.ErrorHandler;
+import com.rapiddweller.common.Level;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link AsyncConsumerProxy}.<br/><br/>
+ * Created: 19.03.2022 11:15:48
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class AsyncConsumerProxyTest {
+
+  @Test
+  public void testOrderAndBackpressure() {
+    ConsumerMock target = new ConsumerMock(true, 1, 1, 3);
+    AsyncConsumerProxy proxy = new AsyncConsumerProxy(target, 2, "test");
+    ProductWrapper<Integer> wrapper = new ProductWrapper<>();
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      wrapper.wrap(i); // reusing the wrapper must not affect buffered products
+      proxy.startConsuming(wrapper);
+      proxy.finishConsuming(wrapper);
+      expected.add(i);
+    }
+    proxy.awaitConsumption(ErrorHandler.getDefault());
+    assertEquals(expected, target.getProducts());
+    assertEquals(20, target.finishConsumingCount.get());
+    assertEquals(1, target.flushCount.get());
+    assertEquals(1, target.getThreadCount());
+    proxy.close();
+    assertEquals(1, target.closeCount.get());
+  }
+
+  @Test
+  public void testErrorPropagation() {
+    AsyncConsumerProxy proxy = new AsyncConsumerProxy(new FailingConsumer(), 10, "test");
+    proxy.startConsuming(new ProductWrapper<>(1));
+    proxy.finishConsuming(new ProductWrapper<>(1));
+    try {
+      proxy.awaitConsumption(new ErrorHandler(getClass().getName(), Level.fatal));
+      fail("Consumption failure was not reported");
+    } catch (RuntimeException e) {
+      // expected
+    } finally {
+      proxy.close();
+    }
+  }
+
+  static class FailingConsumer extends AbstractConsumer {
+    @Override
+    public void startProductConsumption(Object object) {
+      throw new IllegalStateException("failed to consume " + object);
+    }
+  }
+
+}
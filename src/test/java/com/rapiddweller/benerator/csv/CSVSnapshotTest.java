@@ -0,0 +1,99 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.csv;
+
+import com.rapiddweller.common.Encodings;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.format.csv.CSVLineIterator;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link CSVSnapshot}.<br/><br/>
+ * Created: 24.03.2022 15:20:09
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class CSVSnapshotTest {
+
+  private static final String CITY_FILE = "/com/rapiddweller/domain/address/city_DE.csv";
+  private static final String NAME_FILE = "/com/rapiddweller/domain/person/familyName_DE.csv";
+  private static final String SOURCE_ID = "jar:file:/benerator.jar!" + CITY_FILE;
+
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    CSVSnapshot parsed = CSVSnapshot.parse(CITY_FILE, ';', Encodings.UTF_8);
+    File file = File.createTempFile("city_DE", ".bin");
+    try {
+      parsed.save(file, SOURCE_ID, 4711, 1234567890L);
+      CSVSnapshot loaded = CSVSnapshot.load(file, SOURCE_ID, 4711, 1234567890L);
+      assertEquals(parsed.rowCount(), loaded.rowCount());
+      try (DataIterator<String[]> iterator = new CSVLineIterator(CITY_FILE, ';', Encodings.UTF_8)) {
+        DataContainer<String[]> container = new DataContainer<>();
+        for (int row = 0; (container = iterator.next(container)) != null; row++) {
+          assertArrayEquals(container.getData(), loaded.row(row));
+        }
+      }
+      assertNull(CSVSnapshot.load(file, SOURCE_ID, 4711, 1234567891L));
+      assertNull(CSVSnapshot.load(file, SOURCE_ID, 4712, 1234567890L));
+      assertNull(CSVSnapshot.load(file, "jar:file:/other.jar!" + CITY_FILE, 4711, 1234567890L));
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testIterator() {
+    CSVSnapshot snapshot = CSVSnapshot.parse(NAME_FILE, ',', Encodings.UTF_8);
+    DataIterator<String[]> iterator = snapshot.iterator();
+    DataContainer<String[]> container = new DataContainer<>();
+    int count = 0;
+    while ((container = iterator.next(container)) != null) {
+      assertArrayEquals(snapshot.row(count++), container.getData());
+    }
+    assertEquals(snapshot.rowCount(), count);
+  }
+
+  @Test
+  public void testNumber() {
+    CSVSnapshot snapshot = CSVSnapshot.parse(NAME_FILE, ',', Encodings.UTF_8);
+    double weight = Double.parseDouble(snapshot.cell(0, 1));
+    assertEquals(weight, snapshot.number(0, 1, 1.), 0.);
+    assertEquals(weight, snapshot.number(0, 1, 1.), 0.);
+  }
+
+  @Test
+  public void testNumber_zeroAndEmpty() throws IOException {
+    File file = File.createTempFile("weights", ".csv");
+    try {
+      IOUtil.writeTextFile(file.getAbsolutePath(), "a,0\nb,\nc,1.5");
+      CSVSnapshot snapshot = CSVSnapshot.parse(file.getAbsolutePath(), ',', Encodings.UTF_8);
+      assertEquals(0., snapshot.number(0, 1, 7.), 0.);
+      assertEquals(0., snapshot.number(0, 1, 7.), 0.);
+      assertEquals(7., snapshot.number(1, 1, 7.), 0.);
+      assertEquals(3., snapshot.number(1, 1, 3.), 0.);
+      assertEquals(1.5, snapshot.number(2, 1, 7.), 0.);
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testForBundledFile() {
+    CSVSnapshot snapshot = CSVSnapshot.forBundledFile(NAME_FILE, ',', Encodings.UTF_8);
+    assertSame(snapshot, CSVSnapshot.forBundledFile(NAME_FILE, ',', Encodings.UTF_8));
+    assertEquals(CSVSnapshot.parse(NAME_FILE, ',', Encodings.UTF_8).rowCount(), snapshot.rowCount());
+    assertNull(CSVSnapshot.forBundledFile("/com/rapiddweller/domain/person/nonExisting.csv", ',', Encodings.UTF_8));
+    assertNull(CSVSnapshot.forBundledFile("src/test/resources/com/rapiddweller/benerator/csv/dates.csv", ',', Encodings.UTF_8));
+  }
+
+}
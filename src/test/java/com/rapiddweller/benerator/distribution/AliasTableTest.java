@@ -0,0 +1,73 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution;
+
+import com.rapiddweller.benerator.util.SplittableRandomProvider;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link AliasTable}.<br/><br/>
+ * Created: 25.03.2022 10:02:33
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class AliasTableTest {
+
+  @Test
+  public void testProbabilities() {
+    double[] weights = { 1, 0, 3, 6, 0.5, 9.5 };
+    AliasTable table = new AliasTable(weights);
+    assertEquals(6, table.size());
+    for (int i = 0; i < weights.length; i++) {
+      assertEquals(weights[i] / 20., table.probability(i), 1e-12);
+    }
+  }
+
+  @Test
+  public void testTinyWeights() {
+    double[] weights = new double[100000];
+    weights[0] = 1e-9;
+    for (int i = 1; i < weights.length; i++) {
+      weights[i] = 1;
+    }
+    AliasTable table = new AliasTable(weights);
+    assertEquals(1e-9 / (weights.length - 1 + 1e-9), table.probability(0), 1e-18);
+  }
+
+  @Test
+  public void testZeroWeights() {
+    AliasTable table = new AliasTable(new double[] { 0, 0, 0, 0 });
+    for (int i = 0; i < 4; i++) {
+      assertEquals(0.25, table.probability(i), 1e-12);
+    }
+  }
+
+  @Test
+  public void testSampling() {
+    AliasTable table = new AliasTable(new double[] { 1, 2, 7 });
+    SplittableRandomProvider random = new SplittableRandomProvider(42);
+    int[] counts = new int[3];
+    int n = 100000;
+    for (int i = 0; i < n; i++) {
+      counts[table.sample(random)]++;
+    }
+    assertEquals(0.1, (double) counts[0] / n, 0.01);
+    assertEquals(0.2, (double) counts[1] / n, 0.01);
+    assertEquals(0.7, (double) counts[2] / n, 0.01);
+    assertEquals(2, table.sample(0.99999999999999999));
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testNegativeWeight() {
+    new AliasTable(new double[] { 1, -1 });
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testEmpty() {
+    new AliasTable(new double[0]);
+  }
+
+}
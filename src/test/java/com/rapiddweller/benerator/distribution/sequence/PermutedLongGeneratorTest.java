@@ -0,0 +1,108 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.distribution.SequenceManager;
+import com.rapiddweller.benerator.test.GeneratorClassTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PermutedLongGenerator}.<br/><br/>
+ * Created: 27.03.2022 13:21:52
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PermutedLongGeneratorTest extends GeneratorClassTest {
+
+  public PermutedLongGeneratorTest() {
+    super(PermutedLongGenerator.class);
+  }
+
+  @Test
+  public void testRange() {
+    PermutedLongGenerator generator = initialize(new PermutedLongGenerator(1, 7, 2, 42L));
+    expectUniquelyGeneratedSet(generator, 1L, 3L, 5L, 7L).withCeasedAvailability();
+  }
+
+  @Test
+  public void testSeed() {
+    assertEquals(products(new PermutedLongGenerator(0, 999, 1, 5L)), products(new PermutedLongGenerator(0, 999, 1, 5L)));
+    assertNotEquals(products(new PermutedLongGenerator(0, 999, 1, 5L)), products(new PermutedLongGenerator(0, 999, 1, 6L)));
+  }
+
+  @Test
+  public void testValueAt() {
+    PermutedLongGenerator generator = initialize(new PermutedLongGenerator(100, 199, 1, 3L));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(generator.valueAt(i), (long) generator.generate());
+    }
+  }
+
+  @Test
+  public void testReset() {
+    PermutedLongGenerator generator = initialize(new PermutedLongGenerator(0, 9, 1, 1L));
+    List<Long> products = products(generator);
+    generator.reset();
+    assertEquals(products, products(generator));
+  }
+
+  @Test
+  public void testPartitions() {
+    PermutedLongGenerator generator = new PermutedLongGenerator(0, 1000, 1, 7L);
+    Set<Long> products = new HashSet<>();
+    for (int i = 0; i < 3; i++) {
+      for (Long product : products(generator.partition(i, 3))) {
+        assertTrue(products.add(product));
+      }
+    }
+    assertEquals(1001, products.size());
+  }
+
+  @Test
+  public void testLargeRange() {
+    PermutedLongGenerator generator = initialize(new PermutedLongGenerator(Long.MIN_VALUE, Long.MAX_VALUE, 1, 9L));
+    Set<Long> products = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(products.add(generator.generate()));
+    }
+  }
+
+  @Test(expected = InvalidGeneratorSetupException.class)
+  public void testIllegalGranularity() {
+    initialize(new PermutedLongGenerator(0, 10, 0));
+  }
+
+  @Test
+  public void testSequence() {
+    PermutationSequence sequence = (PermutationSequence) SequenceManager.getRegisteredSequence("permutation", true);
+    expectUniquelyGeneratedSet(initialize(sequence.createNumberGenerator(Integer.class, 1, 5, 1, true)),
+        1, 2, 3, 4, 5).withCeasedAvailability();
+    expectUniquelyGeneratedSet(initialize(sequence.createNumberGenerator(Double.class, 0., 1., 0.25, true)),
+        0., 0.25, 0.5, 0.75, 1.).withCeasedAvailability();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private List<Long> products(PermutedLongGenerator generator) {
+    if (!generator.wasInitialized()) {
+      generator.init(context);
+    }
+    List<Long> result = new ArrayList<>();
+    Long product;
+    while ((product = generator.generate()) != null) {
+      result.add(product);
+    }
+    return result;
+  }
+
+}
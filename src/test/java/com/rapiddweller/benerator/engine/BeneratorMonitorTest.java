@@ -26,9 +26,13 @@
 
 package com.rapiddweller.benerator.engine;
 
+import com.rapiddweller.benerator.sensor.SensorMetrics;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the {@link BeneratorMonitor}.<br/><br/>
@@ -52,4 +56,29 @@ public void testGenerationCount() {
     assertEquals(189, monitor.getTotalGenerationCount());
   }
 
+  @Test
+  public void testSensorMetrics() {
+    BeneratorMonitor monitor = BeneratorMonitor.INSTANCE;
+    monitor.reset();
+    SensorMetrics metrics = monitor.getSensorMetrics("generate.monitor_test");
+    for (int i = 1; i <= 100; i++) {
+      metrics.addSample(i * 1000L);
+    }
+    assertTrue(Arrays.asList(monitor.getSensors()).contains("generate.monitor_test"));
+    assertEquals(50, monitor.sensorLatencyP50("generate.monitor_test"), 2);
+    assertEquals(99, monitor.sensorLatencyP99("generate.monitor_test"), 3);
+    assertEquals(0, monitor.sensorLatencyP99("unknown"));
+    monitor.reset();
+    assertEquals(0, metrics.count());
+  }
+
+  @Test
+  public void testBytesWritten() {
+    BeneratorMonitor monitor = BeneratorMonitor.INSTANCE;
+    monitor.reset();
+    monitor.countBytesWritten(1000);
+    monitor.countBytesWritten(234);
+    assertEquals(1234, monitor.getTotalBytesWritten());
+  }
+
 }
@@ -0,0 +1,45 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine;
+
+import com.rapiddweller.common.exception.SyntaxError;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link ExecutionPolicy}.<br/><br/>
+ * Created: 23.03.2022 15:02:17
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ExecutionPolicyTest {
+
+  @Test
+  public void testParse() {
+    assertSame(ExecutionPolicy.TIGHT, ExecutionPolicy.parse(null));
+    assertSame(ExecutionPolicy.TIGHT, ExecutionPolicy.parse("tight"));
+    assertEquals("yield:1000", ExecutionPolicy.parse("yield").toString());
+    assertEquals("yield:50", ExecutionPolicy.parse(" yield : 50 ").toString());
+    assertEquals("virtual:1000", ExecutionPolicy.parse("virtual").toString());
+    assertEquals("virtual:7", ExecutionPolicy.parse("virtual:7").toString());
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testParseUnknown() {
+    ExecutionPolicy.parse("spin");
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testParseIllegalInterval() {
+    ExecutionPolicy.parse("yield:0");
+  }
+
+  @Test
+  public void testPlatformThreadIsNotVirtual() {
+    assertFalse(ExecutionPolicy.VirtualThreadFriendly.isVirtual(Thread.currentThread()));
+  }
+
+}
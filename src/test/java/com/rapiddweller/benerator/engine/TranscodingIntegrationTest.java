@@ -60,6 +60,10 @@ public class TranscodingIntegrationTest extends AbstractBeneratorIntegrationTest
   private static final String DESCRIPTOR3_FILE_NAME = PARENT_FOLDER + "/transcode_partially.ben.xml";
   private static final String DESCRIPTOR4_FILE_NAME = PARENT_FOLDER + "/transcode_partially_to_non_empty_target.ben.xml";
   private static final String DESCRIPTOR5_FILE_NAME = PARENT_FOLDER + "/transcode_partially_with_cascade.ben.xml";
+  private static final String OFF_HEAP1_FILE_NAME = PARENT_FOLDER + "/transcode_to_empty_target_offheap.ben.xml";
+  private static final String OFF_HEAP2_FILE_NAME = PARENT_FOLDER + "/transcode_to_target_with_countries_offheap.ben.xml";
+  private static final String OFF_HEAP4_FILE_NAME =
+      PARENT_FOLDER + "/transcode_partially_to_non_empty_target_offheap.ben.xml";
 
   @After
   public void clearDB() throws ConnectFailedException, SQLException {
@@ -72,10 +76,19 @@ public void clearDB() throws ConnectFailedException, SQLException {
 
   @Test
   public void testEmptyTarget() throws Exception {
+    checkEmptyTarget(DESCRIPTOR1_FILE_NAME);
+  }
+
+  @Test
+  public void testEmptyTargetOffHeap() throws Exception {
+    checkEmptyTarget(OFF_HEAP1_FILE_NAME);
+  }
+
+  private void checkEmptyTarget(String descriptorFileName) throws Exception {
     DescriptorRunner runner = null;
     try {
       // run descriptor file
-      runner = new DescriptorRunner(DESCRIPTOR1_FILE_NAME, context);
+      runner = new DescriptorRunner(descriptorFileName, context);
       runner.run();
       AbstractDBSystem t = (AbstractDBSystem) context.get("t");
       // check countries
@@ -101,10 +114,19 @@ public void testEmptyTarget() throws Exception {
 
   @Test
   public void testTargetWithCountries() throws Exception {
+    checkTargetWithCountries(DESCRIPTOR2_FILE_NAME);
+  }
+
+  @Test
+  public void testTargetWithCountriesOffHeap() throws Exception {
+    checkTargetWithCountries(OFF_HEAP2_FILE_NAME);
+  }
+
+  private void checkTargetWithCountries(String descriptorFileName) throws Exception {
     DescriptorRunner runner = null;
     try {
       // run descriptor file
-      runner = new DescriptorRunner(DESCRIPTOR2_FILE_NAME, context);
+      runner = new DescriptorRunner(descriptorFileName, context);
       runner.run();
       AbstractDBSystem t = (AbstractDBSystem) context.get("t");
       // check countries
@@ -157,10 +179,19 @@ public void testPartialTranscode() throws Exception {
 
   @Test
   public void testPartialTranscodeToNonEmptyTarget() throws Exception {
+    checkPartialTranscodeToNonEmptyTarget(DESCRIPTOR4_FILE_NAME);
+  }
+
+  @Test
+  public void testPartialTranscodeToNonEmptyTargetOffHeap() throws Exception {
+    checkPartialTranscodeToNonEmptyTarget(OFF_HEAP4_FILE_NAME);
+  }
+
+  private void checkPartialTranscodeToNonEmptyTarget(String descriptorFileName) throws Exception {
     DescriptorRunner runner = null;
     try {
       // run descriptor file
-      runner = new DescriptorRunner(DESCRIPTOR4_FILE_NAME, context);
+      runner = new DescriptorRunner(descriptorFileName, context);
       runner.run();
       AbstractDBSystem t = (AbstractDBSystem) context.get("t");
       // check countries
@@ -28,8 +28,11 @@
 
 import com.rapiddweller.benerator.Generator;
 import com.rapiddweller.benerator.SequenceTestGenerator;
+import com.rapiddweller.benerator.consumer.AsyncConsumerProxy;
 import com.rapiddweller.benerator.engine.BeneratorMonitor;
 import com.rapiddweller.benerator.engine.Statement;
+import com.rapiddweller.benerator.engine.StatementUtil;
+import com.rapiddweller.benerator.engine.statement.GenIterStatement;
 import com.rapiddweller.benerator.primitive.IncrementGenerator;
 import com.rapiddweller.benerator.test.AbstractBeneratorIntegrationTest;
 import com.rapiddweller.benerator.test.ConsumerMock;
@@ -49,7 +52,9 @@
 import com.rapiddweller.platform.db.DefaultDBSystem;
 import org.junit.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -111,6 +116,102 @@ public void testPaging() {
     assertEquals(100L, BeneratorMonitor.INSTANCE.getTotalGenerationCount());
   }
 
+  @Test
+  public void testThreads() {
+    BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
+    Statement statement = parse(
+        "<generate type='dummy' count='{c}' threads='4' pageSize='100' consumer='cons'/>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    context.setGlobal("c", 1001);
+    statement.execute(context);
+    assertEquals(1001, consumer.startConsumingCount.get());
+    assertEquals(1001, consumer.finishConsumingCount.get());
+    assertEquals(1001, consumer.getProducts().size());
+    assertEquals(4, consumer.getThreadCount());
+    assertEquals(1001L, BeneratorMonitor.INSTANCE.getTotalGenerationCount());
+  }
+
+  @Test
+  public void testConsumerBuffer() {
+    Statement statement = parse(
+        "<generate type='dummy' count='100' consumerBuffer='10' consumer='cons'>" +
+            "   <id name='id' type='int' />" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    assertEquals(100, consumer.startConsumingCount.get());
+    assertEquals(100, consumer.finishConsumingCount.get());
+    List<?> products = consumer.getProducts();
+    long firstId = ((Number) ((Entity) products.get(0)).get("id")).longValue();
+    for (int i = 0; i < products.size(); i++) { // check that the product order is preserved
+      assertEquals(firstId + i, ((Number) ((Entity) products.get(i)).get("id")).longValue());
+    }
+    assertEquals(1, consumer.getThreadCount());
+  }
+
+  @Test
+  public void testConsumerBufferWithThreads() {
+    Statement statement = parse(
+        "<generate type='dummy' count='300' threads='3' consumerBuffer='20' consumer='cons'/>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    assertEquals(300, consumer.startConsumingCount.get());
+    assertEquals(300, consumer.finishConsumingCount.get());
+    assertEquals(1, consumer.getThreadCount());
+  }
+
+  @Test
+  public void testConsumerBufferScript() {
+    Statement statement = parse(
+        "<generate type='dummy' count='100' consumerBuffer='{bufferSize}' consumer='cons'/>");
+    // the variable is defined after parsing and evaluated on execution
+    context.setGlobal("bufferSize", 10);
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    GenIterStatement genIter = (GenIterStatement) StatementUtil.getRealStatement(statement, context);
+    statement.execute(context);
+    assertTrue(genIter.getTask().getConsumer() instanceof AsyncConsumerProxy);
+    assertEquals(100, consumer.finishConsumingCount.get());
+  }
+
+  @Test
+  public void testExecutionPolicy() {
+    Statement statement = parse(
+        "<generate type='dummy' count='100' threads='2' executionPolicy='yield:10' consumer='cons'/>");
+    GenIterStatement genIter = (GenIterStatement) StatementUtil.getRealStatement(statement, context);
+    assertEquals("yield:10", genIter.getTask().getExecutionPolicy().toString());
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    assertEquals(100, consumer.startConsumingCount.get());
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testIllegalExecutionPolicy() {
+    parse("<generate type='dummy' count='1' executionPolicy='spin' consumer='NoConsumer'/>");
+  }
+
+  @Test
+  public void testThreadsWithSharedIdGenerator() {
+    BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
+    Statement statement = parse(
+        "<generate type='dummy' count='200' threads='3' consumer='cons'>" +
+            "   <id name='id' type='int' />" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    assertEquals(200, consumer.getProducts().size());
+    Set<Object> ids = new HashSet<>();
+    for (Object product : consumer.getProducts()) {
+      ids.add(((Entity) product).get("id"));
+    }
+    assertEquals(200, ids.size());
+  }
+
   @Test
   public void testConverter() {
     BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
@@ -134,6 +235,46 @@ public Entity convert(Entity sourceValue) {
     assertEquals(3L, BeneratorMonitor.INSTANCE.getTotalGenerationCount());
   }
 
+  @Test
+  public void testUniqueScript() {
+    Statement statement = parse(
+        "<generate type='dummy' count='3' consumer='cons'>" +
+            "   <attribute name='x' type='int' script='it.next()' unique='true' />" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    context.setGlobal("it", List.of(1, 1, 2, 1, 3, 2).iterator());
+    statement.execute(context);
+    List<?> products = consumer.getProducts();
+    assertEquals(3, products.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i + 1, ((Entity) products.get(i)).get("x"));
+    }
+  }
+
+  @Test
+  public void testUniqueConverter() {
+    // the converter maps the unique numbers 1 to 30 to the values 0 to 3, which must not be repeated
+    Statement statement = parse(
+        "<generate type='dummy' count='4' consumer='cons'>" +
+            "   <attribute name='x' type='int' min='1' max='30' unique='true' converter='tens' />" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    context.setGlobal("tens", new UnsafeConverter<>(Integer.class, Integer.class) {
+      @Override
+      public Integer convert(Integer sourceValue) {
+        return sourceValue / 10;
+      }
+    });
+    statement.execute(context);
+    Set<Object> values = new HashSet<>();
+    for (Object product : consumer.getProducts()) {
+      assertTrue(values.add(((Entity) product).get("x")));
+    }
+    assertEquals(new HashSet<>(List.of(0, 1, 2, 3)), values);
+  }
+
   @Test
   public void testValidator() {
     BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
@@ -98,4 +98,21 @@ public void testIterateWithOffset() {
     assertArrayEquals(new Object[] {5}, (Object[]) consumer.getProducts().get(2));
   }
 
+  @Test
+  public void testIterateWithThreads() {
+    Generator<Integer[]> source = new SequenceTestGenerator<>(
+        new Integer[] {1},
+        new Integer[] {2},
+        new Integer[] {3},
+        new Integer[] {4},
+        new Integer[] {5});
+    context.setGlobal("source", source);
+    Statement statement = parse("<iterate source='source' type='array' threads='2' consumer='cons' />");
+    ConsumerMock consumer = new ConsumerMock(true, 2);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    assertEquals(5, consumer.startConsumingCount.get());
+    assertEquals(5, consumer.finishConsumingCount.get());
+  }
+
 }
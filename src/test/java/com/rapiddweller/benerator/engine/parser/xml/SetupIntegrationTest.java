@@ -2,6 +2,7 @@
 
 package com.rapiddweller.benerator.engine.parser.xml;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.Generator;
 import com.rapiddweller.benerator.engine.BeneratorContext;
 import com.rapiddweller.benerator.engine.BeneratorRootStatement;
@@ -101,6 +102,19 @@ public void testDefaultScripted_true() {
     assertTrue(context.isDefaultSourceScripted());
   }
 
+  @Test
+  public void testRandomSeed() {
+    // given a <setup> element which sets a random seed
+    String xml = "<setup randomSeed='42'/>";
+    // when executing the RootStatement repeatedly
+    parseAndExecuteRoot(xml);
+    long value1 = BeneratorFactory.getInstance().getRandomProvider().randomLong(1000000000L);
+    parseAndExecuteRoot(xml);
+    long value2 = BeneratorFactory.getInstance().getRandomProvider().randomLong(1000000000L);
+    // then the random provider yields the same values each time
+    assertEquals(value1, value2);
+  }
+
   // helpers ---------------------------------------------------------------------------------------------------------
 
   private void check(String uri) throws IOException {
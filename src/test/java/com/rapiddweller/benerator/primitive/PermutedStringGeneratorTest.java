@@ -0,0 +1,73 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.primitive;
+
+import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.test.GeneratorClassTest;
+import com.rapiddweller.common.CollectionUtil;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PermutedStringGenerator}.<br/><br/>
+ * Created: 27.03.2022 13:47:10
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PermutedStringGeneratorTest extends GeneratorClassTest {
+
+  public PermutedStringGeneratorTest() {
+    super(PermutedStringGenerator.class);
+  }
+
+  @Test
+  public void testCharSet() {
+    PermutedStringGenerator generator = initialize(new PermutedStringGenerator(CollectionUtil.toSet('a', 'b'), 2));
+    expectUniquelyGeneratedSet(generator, "aa", "ab", "ba", "bb").withCeasedAvailability();
+  }
+
+  @Test
+  public void testPattern() {
+    PermutedStringGenerator generator = new PermutedStringGenerator("[A-C]{2}-[0-9]{3}");
+    generator.setSeed(1L);
+    initialize(generator);
+    assertEquals(9000, generator.size());
+    Set<String> products = new HashSet<>();
+    String product;
+    while ((product = generator.generate()) != null) {
+      assertTrue(product, product.matches("[A-C]{2}-[0-9]{3}"));
+      assertTrue(products.add(product));
+    }
+    assertEquals(9000, products.size());
+  }
+
+  @Test
+  public void testGroup() {
+    PermutedStringGenerator generator = initialize(new PermutedStringGenerator("(x[01]){2}"));
+    expectUniquelyGeneratedSet(generator, "x0x0", "x0x1", "x1x0", "x1x1").withCeasedAvailability();
+  }
+
+  @Test
+  public void testValueAt() {
+    PermutedStringGenerator generator = initialize(new PermutedStringGenerator("[0-9A-F]{12}"));
+    String first = generator.valueAt(0);
+    assertEquals(first, generator.generate());
+    assertEquals(12, first.length());
+  }
+
+  @Test(expected = InvalidGeneratorSetupException.class)
+  public void testVariableLength() {
+    initialize(new PermutedStringGenerator("[A-Z]{2,4}"));
+  }
+
+  @Test(expected = InvalidGeneratorSetupException.class)
+  public void testTooManyCombinations() {
+    initialize(new PermutedStringGenerator("[A-Z]{20}"));
+  }
+
+}
@@ -0,0 +1,101 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.primitive.regex;
+
+import com.rapiddweller.benerator.NonNullGenerator;
+import com.rapiddweller.benerator.factory.StochasticGeneratorFactory;
+import com.rapiddweller.benerator.test.GeneratorTest;
+import com.rapiddweller.format.regex.RegexParser;
+import com.rapiddweller.model.data.Uniqueness;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link CompiledRegexGenerator}.<br/><br/>
+ * Created: 30.03.2022 14:41:18
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class CompiledRegexGeneratorTest extends GeneratorTest {
+
+  @Test
+  public void testRandom() {
+    CompiledRegexGenerator generator = create("[A-Z]{2}-[0-9]{3,5}", 0, null, Uniqueness.NONE);
+    for (int i = 0; i < 1000; i++) {
+      String product = generator.generate();
+      assertTrue(product, product.matches("[A-Z]{2}-[0-9]{3,5}"));
+    }
+  }
+
+  @Test
+  public void testLengthLimits() {
+    CompiledRegexGenerator generator = create("[a-z]{1,10}", 3, 5, Uniqueness.NONE);
+    for (int i = 0; i < 1000; i++) {
+      int length = generator.generate().length();
+      assertTrue(length >= 3 && length <= 5);
+    }
+  }
+
+  @Test
+  public void testLengthLimits_multipleFactors() {
+    NonNullGenerator<String> generator = new StochasticGeneratorFactory().createRegexStringGenerator(
+        "[a-z]+ [a-z]+ [0-9]*", Locale.ENGLISH, 0, 12, Uniqueness.NONE);
+    assertEquals(CompiledRegexGenerator.class, generator.getClass());
+    initialize(generator);
+    for (int i = 0; i < 10000; i++) {
+      String product = generator.generate();
+      assertTrue(product, product.matches("[a-z]+ [a-z]+ [0-9]*") && product.length() <= 12);
+    }
+  }
+
+  @Test
+  public void testUnique() {
+    expectUniquelyGeneratedSet(create("x(a|b){1,2}x", 0, null, Uniqueness.SIMPLE),
+        "xax", "xbx", "xaax", "xabx", "xbax", "xbbx").withCeasedAvailability();
+    expectUniqueGenerations(create("[0-9]{3}", 3, 3, Uniqueness.SIMPLE), 1000).withCeasedAvailability();
+  }
+
+  @Test
+  public void testOrdered() {
+    expectGeneratedSequence(create("[01]{1,2}", 0, null, Uniqueness.ORDERED),
+        "0", "1", "00", "01", "10", "11").withCeasedAvailability();
+  }
+
+  @Test
+  public void testSupports() {
+    assertTrue(CompiledRegexGenerator.supports(compile("[0-9]{3}"), 0, null, Uniqueness.SIMPLE));
+    assertFalse(CompiledRegexGenerator.supports(compile("a{1,2}a{1,2}"), 0, null, Uniqueness.SIMPLE));
+    assertTrue(CompiledRegexGenerator.supports(compile("a{1,2}a{1,2}"), 0, null, Uniqueness.NONE));
+    assertFalse(CompiledRegexGenerator.supports(compile("[0-9]{3,4}"), 0, 3, Uniqueness.ORDERED));
+    assertFalse(CompiledRegexGenerator.supports(compile("[0-9]{3}"), 4, null, Uniqueness.NONE));
+  }
+
+  @Test
+  public void testFactoryIntegration() {
+    StochasticGeneratorFactory factory = new StochasticGeneratorFactory();
+    NonNullGenerator<String> generator = factory.createRegexStringGenerator(
+        "[A-Z]{3}[0-9]{4}", Locale.ENGLISH, 0, 30, Uniqueness.NONE);
+    assertEquals(CompiledRegexGenerator.class, generator.getClass());
+    // ambiguous expressions fall back to the generator tree for unique generation
+    generator = factory.createRegexStringGenerator("a{1,2}a{1,2}", Locale.ENGLISH, 0, 30, Uniqueness.SIMPLE);
+    assertFalse(generator instanceof CompiledRegexGenerator);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static RegexProgram compile(String pattern) {
+    return RegexProgram.compile(new RegexParser(Locale.ENGLISH).parseRegex(pattern), 30);
+  }
+
+  private CompiledRegexGenerator create(String pattern, int minLength, Integer maxLength, Uniqueness uniqueness) {
+    CompiledRegexGenerator generator = new CompiledRegexGenerator(
+        pattern, compile(pattern), minLength, maxLength, uniqueness);
+    return initialize(generator);
+  }
+
+}
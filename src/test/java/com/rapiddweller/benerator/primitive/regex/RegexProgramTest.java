@@ -0,0 +1,147 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.primitive.regex;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.util.SplittableRandomProvider;
+import com.rapiddweller.format.regex.RegexParser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RegexProgram}.<br/><br/>
+ * Created: 30.03.2022 14:02:51
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class RegexProgramTest {
+
+  @Test
+  public void testRandomGeneration() {
+    checkRandomGeneration("[A-Z]{3}-[0-9]{6}");
+    checkRandomGeneration("\\+[1-9]\\d{1,2}/\\d{1,5}/\\d{5,8}");
+    checkRandomGeneration("(a+b?c*){1,3}");
+    checkRandomGeneration("x(a|b|c){0,3}y");
+    checkRandomGeneration("([1-9]?[0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5]\\.){3}[0-9]");
+    checkRandomGeneration("\\w+@\\w+\\.(com|org|de)");
+  }
+
+  @Test
+  public void testLengthBudget() {
+    RegexProgram program = compile("[a-z]+", 10);
+    assertEquals(1, program.minLength());
+    assertEquals(10, program.maxLength());
+    program = compile("x[0-9]*y", 10);
+    assertEquals(2, program.minLength());
+    assertEquals(10, program.maxLength());
+  }
+
+  @Test
+  public void testLengthBudget_multipleFactors() {
+    String pattern = "[a-z]+ [a-z]+ [0-9]*";
+    RegexProgram program = compile(pattern, 8);
+    assertEquals(4, program.minLength());
+    assertEquals(8, program.maxLength());
+    RandomProvider random = new SplittableRandomProvider(42);
+    StringBuilder builder = new StringBuilder();
+    int[] registers = new int[program.registerCount()];
+    int[] lengthCounts = new int[9];
+    for (int i = 0; i < 1000; i++) {
+      builder.setLength(0);
+      program.generate(random, builder, registers);
+      assertTrue(builder.toString().matches(pattern));
+      lengthCounts[builder.length()]++;
+    }
+    for (int length = 4; length <= 8; length++) {
+      assertTrue("no string of length " + length, lengthCounts[length] > 0);
+    }
+    // nested quantifiers and alternatives of different length keep the budget, too
+    assertEquals(10, compile("(a+b?c*){1,3}", 10).maxLength());
+    assertEquals(10, compile("a|bbbbb[0-9]*", 10).maxLength());
+    assertEquals(15, compile("(x[a-z]*){3}", 15).maxLength());
+  }
+
+  @Test
+  public void testEnumeration() {
+    assertEquals(List.of("00", "01", "10", "11", "000", "001", "010", "011", "100", "101", "110", "111"),
+        enumerate("[01]{2,3}"));
+    assertEquals(List.of("xax", "xbx", "xaax", "xabx", "xbax", "xbbx"), enumerate("x(a|b){1,2}x"));
+    assertEquals(List.of("", "ab", "abab"), enumerate("(ab){0,2}"));
+    assertEquals(17576000000L, compile("[A-Z]{3}-[0-9]{6}", 30).size());
+  }
+
+  @Test
+  public void testUnambiguousPatterns() {
+    checkEnumeration("x(a[01]{2}){1,2}x");
+    checkEnumeration("x([01]{1,2}|b)x");
+    checkEnumeration("(\\+49|0)[1-9]{3}");
+    checkEnumeration("0[0-9]{2,4}/[1-9][0-9]5");
+    checkEnumeration("([a]{1,2}|b)");
+  }
+
+  @Test
+  public void testAmbiguousPatterns() {
+    assertFalse(compile("a{1,2}a{1,2}", 30).isEnumerable());
+    assertFalse(compile("(a|ab)(c|bc)", 30).isEnumerable());
+    assertFalse(compile("(a?){2}", 30).isEnumerable());
+  }
+
+  @Test
+  public void testUnboundedSize() {
+    RegexProgram program = compile("[0-9]*", 30);
+    assertEquals(-1, program.size());
+    assertFalse(program.isEnumerable());
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static RegexProgram compile(String pattern, int lengthBudget) {
+    return RegexProgram.compile(new RegexParser(Locale.ENGLISH).parseRegex(pattern), lengthBudget);
+  }
+
+  private static void checkRandomGeneration(String pattern) {
+    RegexProgram program = compile(pattern, 30);
+    RandomProvider random = new SplittableRandomProvider(42);
+    StringBuilder builder = new StringBuilder();
+    int[] registers = new int[program.registerCount()];
+    for (int i = 0; i < 1000; i++) {
+      builder.setLength(0);
+      program.generate(random, builder, registers);
+      String product = builder.toString();
+      assertTrue("'" + product + "' does not match " + pattern, product.matches(pattern));
+      assertTrue(product.length() >= program.minLength() && product.length() <= program.maxLength());
+    }
+  }
+
+  private static List<String> enumerate(String pattern) {
+    RegexProgram program = compile(pattern, 30);
+    assertTrue(program.isEnumerable());
+    List<String> result = new ArrayList<>();
+    StringBuilder builder = new StringBuilder();
+    for (long i = 0; i < program.size(); i++) {
+      builder.setLength(0);
+      program.valueAt(i, builder);
+      result.add(builder.toString());
+    }
+    return result;
+  }
+
+  private static void checkEnumeration(String pattern) {
+    List<String> values = enumerate(pattern);
+    Set<String> distinctValues = new HashSet<>(values);
+    assertEquals(values.size(), distinctValues.size());
+    for (String value : values) {
+      assertTrue("'" + value + "' does not match " + pattern, value.matches(pattern));
+    }
+  }
+
+}
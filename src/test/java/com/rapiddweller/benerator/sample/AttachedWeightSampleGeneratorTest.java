@@ -35,6 +35,7 @@
 
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -82,4 +83,23 @@ public void testDistribution() {
     }
   }
 
+  @Test
+  public void testLargeSampleSet() {
+    AttachedWeightSampleGenerator<Integer> g = new AttachedWeightSampleGenerator<>(Integer.class);
+    for (int i = 0; i < 200000; i++) {
+      g.addSample(i, (i == 199999 ? 200000 : 1));
+    }
+    assertEquals(399999., g.getWeight(), 0.);
+    g.init(context);
+    int lastCount = 0;
+    for (int i = 0; i < 1000; i++) {
+      int value = g.generate(new ProductWrapper<>()).unwrap();
+      assertTrue(value >= 0 && value < 200000);
+      if (value == 199999) {
+        lastCount++;
+      }
+    }
+    assertTrue(lastCount > 400 && lastCount < 600);
+  }
+
 }
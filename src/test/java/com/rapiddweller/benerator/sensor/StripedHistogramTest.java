@@ -0,0 +1,67 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.sensor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link StripedHistogram}.<br/><br/>
+ * Created: 23.03.2022 11:04:18
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class StripedHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    for (long value = 0; value < 100000; value++) {
+      int bucket = StripedHistogram.bucketOf(value);
+      long upperBound = StripedHistogram.upperBoundOf(bucket);
+      assertTrue(value <= upperBound);
+      assertTrue(upperBound - value <= value / 32);
+    }
+    assertEquals(StripedHistogram.bucketOf(Long.MAX_VALUE), StripedHistogram.bucketOf(Long.MAX_VALUE - 1));
+  }
+
+  @Test
+  public void testPercentiles() {
+    StripedHistogram histogram = new StripedHistogram();
+    assertEquals(0, histogram.percentile(50));
+    for (int i = 1; i <= 10000; i++) {
+      histogram.record(i);
+    }
+    assertEquals(10000, histogram.count());
+    assertEquals(5000, histogram.percentile(50), 5000 / 32);
+    assertEquals(9900, histogram.percentile(99), 9900 / 32);
+    assertEquals(1, histogram.percentile(0));
+    histogram.reset();
+    assertEquals(0, histogram.count());
+  }
+
+  @Test
+  public void testConcurrentRecording() throws InterruptedException {
+    StripedHistogram histogram = new StripedHistogram(4);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 10000; i++) {
+          histogram.record(i % 100);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(80000, histogram.count());
+    assertEquals(99, histogram.percentile(100));
+  }
+
+}
@@ -0,0 +1,87 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.common.FileUtil;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link ChannelWriter}.<br/><br/>
+ * Created: 28.03.2022 15:02:44
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ChannelWriterTest {
+
+  private static final File FILE = new File("target", ChannelWriterTest.class.getSimpleName() + ".txt");
+
+  @After
+  public void tearDown() {
+    FileUtil.deleteIfExists(FILE);
+  }
+
+  @Test
+  public void testSmallBuffer() throws IOException {
+    StringBuilder expected = new StringBuilder();
+    try (ChannelWriter writer = new ChannelWriter(FILE, StandardCharsets.UTF_8, false, false, 16)) {
+      for (int i = 0; i < 1000; i++) {
+        String line = "line " + i + " \u00e4\u00f6\u00fc\u20ac\n";
+        writer.write(line);
+        expected.append(line);
+      }
+      writer.write('!');
+      writer.append("?");
+      expected.append("!?");
+    }
+    assertEquals(expected.toString(), new String(Files.readAllBytes(FILE.toPath()), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testSplitSurrogatePair() throws IOException {
+    String text = "a\ud83d\ude00b"; // an emoji between two letters
+    try (ChannelWriter writer = new ChannelWriter(FILE, StandardCharsets.UTF_8, false, false, 16)) {
+      writer.write(text.substring(0, 2));
+      writer.write(text.substring(2));
+    }
+    assertEquals(text, new String(Files.readAllBytes(FILE.toPath()), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testAppend() throws IOException {
+    try (ChannelWriter writer = new ChannelWriter(FILE, StandardCharsets.UTF_8, false, false, 16)) {
+      writer.write("abc");
+    }
+    try (ChannelWriter writer = new ChannelWriter(FILE, StandardCharsets.UTF_8, true, false, 16)) {
+      writer.write("def");
+    }
+    assertEquals("abcdef", new String(Files.readAllBytes(FILE.toPath()), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testGzip() throws IOException {
+    try (ChannelWriter writer = new ChannelWriter(FILE, StandardCharsets.ISO_8859_1, false, true, 1024)) {
+      for (int i = 0; i < 1000; i++) {
+        writer.write("0123456789");
+      }
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = new GZIPInputStream(new FileInputStream(FILE))) {
+      in.transferTo(out);
+    }
+    assertEquals(10000, out.size());
+    assertEquals("0123456789", new String(out.toByteArray(), 9990, 10, StandardCharsets.ISO_8859_1));
+  }
+
+}
@@ -0,0 +1,85 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link FingerprintSet}.<br/><br/>
+ * Created: 26.03.2022 12:20:04
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class FingerprintSetTest {
+
+  @Test
+  public void testHeap() {
+    try (FingerprintSet set = new FingerprintSet(100000, null)) {
+      for (long i = 0; i < 10000; i++) {
+        assertTrue(set.add(FingerprintSet.fingerprint(i)));
+      }
+      for (long i = 0; i < 10000; i++) {
+        assertFalse(set.add(FingerprintSet.fingerprint(i)));
+      }
+      assertEquals(10000, set.size());
+      assertFalse(set.isSpilled());
+    }
+  }
+
+  @Test
+  public void testSpill() {
+    File directory = new File("target");
+    try (FingerprintSet set = new FingerprintSet(1000, directory.exists() ? directory : null)) {
+      for (int i = 0; i < 100000; i++) {
+        assertTrue(set.add(FingerprintSet.fingerprint("user" + i)));
+      }
+      assertTrue(set.isSpilled());
+      for (int i = 0; i < 100000; i++) {
+        assertFalse(set.add(FingerprintSet.fingerprint("user" + i)));
+      }
+      assertEquals(100000, set.size());
+    }
+  }
+
+  @Test
+  public void testZero() {
+    try (FingerprintSet set = new FingerprintSet(1000, null)) {
+      assertTrue(set.add(0L));
+      assertFalse(set.add(0L));
+    }
+  }
+
+  @Test
+  public void testClear() {
+    try (FingerprintSet set = new FingerprintSet(10, null)) {
+      for (int i = 0; i < 2000; i++) {
+        set.add(FingerprintSet.fingerprint(i));
+      }
+      set.clear();
+      assertEquals(0, set.size());
+      assertFalse(set.isSpilled());
+      assertTrue(set.add(FingerprintSet.fingerprint(1)));
+    }
+  }
+
+  @Test
+  public void testFingerprint() {
+    assertEquals(FingerprintSet.fingerprint("alice"), FingerprintSet.fingerprint(new StringBuilder("alice")));
+    assertNotEquals(FingerprintSet.fingerprint("alice"), FingerprintSet.fingerprint("alicf"));
+    assertNotEquals(FingerprintSet.fingerprint("ab"), FingerprintSet.fingerprint("ba"));
+    assertEquals(FingerprintSet.fingerprint(1), FingerprintSet.fingerprint(1L));
+    assertNotEquals(FingerprintSet.fingerprint(1), FingerprintSet.fingerprint(2));
+    assertEquals(FingerprintSet.fingerprint(new Date(1000)), FingerprintSet.fingerprint(new Date(1000)));
+    assertEquals(FingerprintSet.fingerprint(new Object[] {"a", 1}), FingerprintSet.fingerprint(new Object[] {"a", 1}));
+    assertNotEquals(FingerprintSet.fingerprint(1.5), FingerprintSet.fingerprint(2.5));
+  }
+
+}
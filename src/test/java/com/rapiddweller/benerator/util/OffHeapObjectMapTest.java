@@ -0,0 +1,119 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link OffHeapObjectMap}.<br/><br/>
+ * Created: 30.03.2022 18:31:26
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class OffHeapObjectMapTest {
+
+  @Test
+  public void testPutAndGet() {
+    try (OffHeapObjectMap map = new OffHeapObjectMap(1L << 28, null)) {
+      for (int i = 0; i < 100000; i++) {
+        map.put(0, i, "value" + i);
+      }
+      for (int i = 0; i < 100000; i++) {
+        assertEquals("value" + i, map.get(0, i));
+      }
+      assertNull(map.get(0, 100000));
+      assertEquals(100000, map.size());
+      assertFalse(map.isSpilled());
+    }
+  }
+
+  @Test
+  public void testNamespaces() {
+    try (OffHeapObjectMap map = new OffHeapObjectMap(1L << 26, null)) {
+      map.put(1, "alice", 1L);
+      map.put(2, "alice", 2L);
+      assertEquals(1L, map.get(1, "alice"));
+      assertEquals(2L, map.get(2, "alice"));
+      assertNull(map.get(3, "alice"));
+    }
+  }
+
+  @Test
+  public void testReplace() {
+    try (OffHeapObjectMap map = new OffHeapObjectMap(1L << 26, null)) {
+      map.put(0, "key", 1);
+      map.put(0, "key", 2);
+      assertEquals(2, map.get(0, "key"));
+      assertEquals(1, map.size());
+    }
+  }
+
+  @Test
+  public void testIntegralKeys() {
+    try (OffHeapObjectMap map = new OffHeapObjectMap(1L << 26, null)) {
+      map.put(0, 42, "x");
+      assertEquals("x", map.get(0, 42L));
+      assertEquals("x", map.get(0, (short) 42));
+      map.put(0, new Object[] { "a", 1 }, "y");
+      assertEquals("y", map.get(0, new Object[] { "a", 1L }));
+    }
+  }
+
+  @Test
+  public void testValueTypes() {
+    try (OffHeapObjectMap map = new OffHeapObjectMap(1L << 26, null)) {
+      Timestamp timestamp = new Timestamp(1000);
+      timestamp.setNanos(123456789);
+      Object[] values = {
+          42, 42L, (short) 42, (byte) 42, "text", new BigDecimal("12.340"), new BigInteger("123456789012345678901234"),
+          1.5, 1.5f, true, new Date(1000), new java.sql.Date(1000), timestamp, null,
+          Collections.singletonList("serialized")
+      };
+      map.put(0, "array", values);
+      Object[] result = (Object[]) map.get(0, "array");
+      assertArrayEquals(values, result);
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          assertEquals(values[i].getClass(), result[i].getClass());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSpill() {
+    File directory = new File("target");
+    try (OffHeapObjectMap map = new OffHeapObjectMap(0, directory.exists() ? directory : null)) {
+      for (int i = 0; i < 100000; i++) {
+        map.put(0, "key" + i, (long) i);
+      }
+      assertTrue(map.isSpilled());
+      for (int i = 0; i < 100000; i++) {
+        assertEquals((long) i, map.get(0, "key" + i));
+      }
+    }
+  }
+
+  @Test
+  public void testClose() {
+    OffHeapObjectMap map = new OffHeapObjectMap(0, null);
+    map.put(0, 1, 1);
+    map.close();
+    assertEquals(0, map.size());
+    assertNull(map.get(0, 1));
+  }
+
+}
@@ -0,0 +1,74 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link Permutation}.<br/><br/>
+ * Created: 27.03.2022 13:02:19
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PermutationTest {
+
+  @Test
+  public void testBijection() {
+    for (int size : new int[] { 1, 2, 3, 4, 5, 17, 100, 1000, 65536, 100001 }) {
+      Permutation permutation = new Permutation(size, 42);
+      boolean[] used = new boolean[size];
+      for (int i = 0; i < size; i++) {
+        int value = (int) permutation.apply(i);
+        assertFalse("Duplicate value " + value + " for size " + size, used[value]);
+        used[value] = true;
+      }
+    }
+  }
+
+  @Test
+  public void testSeed() {
+    Permutation permutation1 = new Permutation(1000, 1);
+    Permutation permutation2 = new Permutation(1000, 1);
+    Permutation permutation3 = new Permutation(1000, 2);
+    int differences = 0;
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(permutation1.apply(i), permutation2.apply(i));
+      if (permutation1.apply(i) != permutation3.apply(i)) {
+        differences++;
+      }
+    }
+    assertTrue(differences > 900);
+  }
+
+  @Test
+  public void testNotSequential() {
+    Permutation permutation = new Permutation(1000000, 7);
+    int ascending = 0;
+    for (int i = 1; i < 1000; i++) {
+      if (permutation.apply(i) == permutation.apply(i - 1) + 1) {
+        ascending++;
+      }
+    }
+    assertTrue(ascending < 10);
+  }
+
+  @Test
+  public void testLargeRange() {
+    Permutation permutation = new Permutation(Long.MAX_VALUE, 3);
+    long value = permutation.apply(Long.MAX_VALUE - 1);
+    assertTrue(value >= 0);
+    assertNotEquals(permutation.apply(0), permutation.apply(1));
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testIndexOutOfRange() {
+    new Permutation(10, 1).apply(10);
+  }
+
+}
@@ -0,0 +1,119 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.test.AbstractRandomProviderTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SplittableRandomProvider}.<br/><br/>
+ * Created: 24.03.2022 10:01:45
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class SplittableRandomProviderTest extends AbstractRandomProviderTest {
+
+  @Override
+  protected RandomProvider getRandom() {
+    return new SplittableRandomProvider();
+  }
+
+  @Test
+  public void testReproducibility() {
+    assertEquals(sample(new SplittableRandomProvider(42)), sample(new SplittableRandomProvider(42)));
+    assertNotEquals(sample(new SplittableRandomProvider(42)), sample(new SplittableRandomProvider(43)));
+  }
+
+  @Test
+  public void testSplitReproducibility() {
+    SplittableRandomProvider provider1 = new SplittableRandomProvider(42);
+    SplittableRandomProvider provider2 = new SplittableRandomProvider(42);
+    RandomProvider split1 = provider1.split();
+    RandomProvider split2 = provider2.split();
+    assertEquals(sample(split1), sample(split2));
+    assertNotEquals(sample(provider1.split()), sample(split1));
+  }
+
+  @Test
+  public void testCreateRandom() {
+    Random random1 = new SplittableRandomProvider(42).createRandom();
+    Random random2 = new SplittableRandomProvider(42).createRandom();
+    for (int i = 0; i < 100; i++) {
+      assertEquals(random1.nextInt(1000), random2.nextInt(1000));
+      assertEquals(random1.nextGaussian(), random2.nextGaussian(), 0.);
+    }
+  }
+
+  @Test
+  public void testThreadStreams() throws InterruptedException {
+    SplittableRandomProvider provider = new SplittableRandomProvider(42);
+    sample(provider);
+    AtomicLong otherThreadValue = new AtomicLong(-1);
+    Thread thread = new Thread(() -> otherThreadValue.set(provider.randomLong(1000)));
+    thread.start();
+    thread.join();
+    assertTrue(otherThreadValue.get() >= 0 && otherThreadValue.get() < 1000);
+    // the main thread's stream is not affected by the other thread
+    SplittableRandomProvider reference = new SplittableRandomProvider(42);
+    sample(reference);
+    assertEquals(sample(reference), sample(provider));
+  }
+
+  @Test
+  public void testSetSeed() {
+    SplittableRandomProvider provider = new SplittableRandomProvider(43);
+    sample(provider);
+    provider.setSeed(42);
+    assertEquals(42, provider.getSeed());
+    assertEquals(sample(new SplittableRandomProvider(42)), sample(provider));
+  }
+
+  @Test
+  public void testWorkerStreams() throws InterruptedException {
+    // the worker streams only depend on the order of their setup, not on the order in which the threads start
+    assertEquals(workerSamples(new SplittableRandomProvider(42), false),
+        workerSamples(new SplittableRandomProvider(42), true));
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static List<String> workerSamples(SplittableRandomProvider provider, boolean reverse)
+      throws InterruptedException {
+    List<Runnable> bindings = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      bindings.add(provider.workerStreamBinding());
+    }
+    List<String> samples = new ArrayList<>(List.of("", "", ""));
+    for (int j = 0; j < 3; j++) {
+      int i = (reverse ? 2 - j : j);
+      Thread thread = new Thread(() -> {
+        bindings.get(i).run();
+        samples.set(i, sample(provider));
+      });
+      thread.start();
+      thread.join();
+    }
+    return samples;
+  }
+
+  private static String sample(RandomProvider provider) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      builder.append(provider.randomInt(10));
+    }
+    builder.append(provider.randomLong(0, 1000000)).append(provider.randomDouble());
+    return builder.toString();
+  }
+
+}
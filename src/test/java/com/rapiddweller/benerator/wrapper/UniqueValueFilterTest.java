@@ -0,0 +1,88 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.wrapper;
+
+import com.rapiddweller.benerator.SequenceTestGenerator;
+import com.rapiddweller.benerator.distribution.sequence.RandomIntegerGenerator;
+import com.rapiddweller.benerator.test.GeneratorTest;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link UniqueValueFilter}.<br/><br/>
+ * Created: 26.03.2022 12:41:37
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class UniqueValueFilterTest extends GeneratorTest {
+
+  @Test
+  public void testDuplicates() {
+    SequenceTestGenerator<String> source = new SequenceTestGenerator<>("a", "b", "a", "c", "b", "d");
+    UniqueValueFilter<String> filter = new UniqueValueFilter<>(source, "test");
+    filter.init(context);
+    expectGeneratedSequence(filter, "a", "b", "c", "d").withCeasedAvailability();
+    assertEquals(4, filter.getAcceptedCount());
+    assertEquals(2, filter.getRejectedCount());
+    assertEquals(1. / 3, filter.getRejectionRate(), 0.001);
+    filter.close();
+  }
+
+  @Test
+  public void testNull() {
+    SequenceTestGenerator<String> source = new SequenceTestGenerator<>(null, "a", null);
+    UniqueValueFilter<String> filter = initialize(new UniqueValueFilter<>(source, "test"));
+    expectGeneratedSequence(filter, null, "a", null).withCeasedAvailability();
+    filter.close();
+  }
+
+  @Test
+  public void testExhaustedSource() {
+    UniqueValueFilter<Integer> filter = initialize(
+        new UniqueValueFilter<>(new RandomIntegerGenerator(1, 20), "test", 10, null));
+    Set<Integer> products = new HashSet<>();
+    ProductWrapper<Integer> wrapper;
+    while ((wrapper = filter.generate(new ProductWrapper<>())) != null) {
+      assertNotNull(wrapper.unwrap());
+      assertTrue(products.add(wrapper.unwrap()));
+    }
+    assertEquals(20, products.size());
+    filter.close();
+  }
+
+  @Test
+  public void testConcurrentUse() throws InterruptedException {
+    UniqueValueFilter<Integer> filter = initialize(
+        new UniqueValueFilter<>(new RandomIntegerGenerator(1, 200), "test", 100, null));
+    assertTrue(filter.isThreadSafe());
+    Set<Integer> products = ConcurrentHashMap.newKeySet();
+    AtomicInteger duplicates = new AtomicInteger();
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        ProductWrapper<Integer> wrapper;
+        while ((wrapper = filter.generate(new ProductWrapper<>())) != null) {
+          if (!products.add(wrapper.unwrap())) {
+            duplicates.incrementAndGet();
+          }
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(0, duplicates.get());
+    assertEquals(products.size(), filter.getAcceptedCount());
+    filter.close();
+  }
+
+}
@@ -128,6 +128,76 @@ public void testCopyConstructor() {
     // check Entity.equals()
   }
 
+  @Test
+  public void testFrozenDescriptor() {
+    ComplexTypeDescriptor type = createFrozenPersonType();
+    Entity entity = new Entity(type);
+    entity.set("AGE", "42");
+    entity.set(NAME_ATTRIB, ALICE);
+    assertEquals(42, entity.get("age"));
+    assertEquals(ALICE, entity.get("NAME"));
+    assertEquals(2, entity.componentCount());
+    assertFalse(entity.componentIsSet("other"));
+    entity.remove("age");
+    assertFalse(entity.componentIsSet("age"));
+    assertEquals(1, entity.componentCount());
+    entity.set("age", 43);
+    assertArrayEquals(new String[] { NAME_ATTRIB, "age" }, entity.getComponents().keySet().toArray());
+  }
+
+  @Test
+  public void testFrozenDescriptor_undeclaredComponent() {
+    Entity entity = new Entity(createFrozenPersonType());
+    entity.set(NAME_ATTRIB, ALICE);
+    entity.set("extra", 1);
+    assertEquals(ALICE, entity.get(NAME_ATTRIB));
+    assertEquals(1, entity.get("extra"));
+    assertEquals(2, entity.componentCount());
+  }
+
+  @Test
+  public void testFrozenDescriptor_equalsAndCopy() {
+    ComplexTypeDescriptor type = createFrozenPersonType();
+    Entity compact = new Entity(type, NAME_ATTRIB, ALICE, "age", AGE);
+    Entity copy = new Entity(compact);
+    assertEquals(compact, copy);
+    assertEquals(compact.hashCode(), copy.hashCode());
+    Entity mapBased = new Entity(PERSON_TYPE, dp, NAME_ATTRIB, ALICE, "age", AGE);
+    assertTrue(compact.equalsIgnoringDescriptor(mapBased));
+    assertTrue(mapBased.equalsIgnoringDescriptor(compact));
+    assertEquals(mapBased.hashCode(), compact.hashCode());
+    copy.set("age", 56);
+    assertNotEquals(compact, copy);
+  }
+
+  @Test
+  public void testForEachComponent() {
+    Entity compact = new Entity(createFrozenPersonType());
+    compact.set("age", AGE);
+    compact.set(NAME_ATTRIB, ALICE);
+    List<String> names = new ArrayList<>();
+    List<Object> values = new ArrayList<>();
+    compact.forEachComponent((name, value) -> {
+      names.add(name);
+      values.add(value);
+    });
+    assertEquals(List.of("age", NAME_ATTRIB), names);
+    assertEquals(List.of(AGE, ALICE), values);
+    assertArrayEquals(new String[] { "age", NAME_ATTRIB }, compact.componentNames());
+    Entity mapBased = new Entity(PERSON_TYPE, dp, "age", AGE, NAME_ATTRIB, ALICE);
+    assertArrayEquals(compact.componentNames(), mapBased.componentNames());
+    assertEquals(mapBased.hashCode(), compact.hashCode());
+  }
+
+  @Test
+  public void testFreezeAndUnfreeze() {
+    ComplexTypeDescriptor type = createFrozenPersonType();
+    assertTrue(type.isFrozen());
+    assertEquals(1, type.getComponentLayout().indexOf("AGE"));
+    type.addComponent(new PartDescriptor("city", dp, "string"));
+    assertFalse(type.isFrozen());
+  }
+
 
   // private helpers -------------------------------------------------------------------------------------------------
 
@@ -148,6 +218,14 @@ private Entity createAlice() {
     return result;
   }
 
+  private ComplexTypeDescriptor createFrozenPersonType() {
+    ComplexTypeDescriptor type = new ComplexTypeDescriptor(PERSON_TYPE, dp);
+    type.addComponent(new PartDescriptor(NAME_ATTRIB, dp, "string"));
+    type.addComponent(new PartDescriptor("age", dp, "int"));
+    type.freeze();
+    return type;
+  }
+
   private Entity createBob() {
     Entity result = new Entity(PERSON_TYPE, dp);
     result.set(NAME_ATTRIB, "Bob");
@@ -40,11 +40,15 @@
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -177,6 +181,36 @@ public void testEmptyAndNull_dontQuoteEmpty() throws Exception {
     assertEquals("name,age,notes\r\nAlice,23,\"\"\"None\"\"\"\r\nBob,34,\r\nCharly,45,", getContent(DEFAULT_FILE));
   }
 
+  @Test
+  public void testChannelOutput() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter();
+    exporter.setBufferSize(16);
+    consumeAliceBobCharlyAndClose(exporter);
+    assertEquals("name,age,notes\r\nAlice,23,\"\"\"None\"\"\"\r\nBob,34,\r\nCharly,45,\"\"", getContent(DEFAULT_FILE));
+  }
+
+  @Test
+  public void testChannelOutput_dontQuoteEmpty() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter(CUSTOM_FILE.getAbsolutePath());
+    exporter.setBufferSize(1024);
+    exporter.setQuoteEmpty(false);
+    exporter.setSeparator(';');
+    exporter.setEndWithNewLine(true);
+    consumeAliceBobCharlyAndClose(exporter);
+    assertEquals("name;age;notes\r\nAlice;23;\"\"\"None\"\"\"\r\nBob;34;\r\nCharly;45;\r\n", getContent(CUSTOM_FILE));
+  }
+
+  @Test
+  public void testGzip() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter(CUSTOM_FILE.getAbsolutePath());
+    exporter.setCompression("gzip");
+    consumeAliceBobCharlyAndClose(exporter);
+    try (InputStream in = new GZIPInputStream(new FileInputStream(CUSTOM_FILE))) {
+      assertEquals("name,age,notes\r\nAlice,23,\"\"\"None\"\"\"\r\nBob,34,\r\nCharly,45,\"\"",
+          new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
   @Test
   public void testDecimalFormat() throws Exception {
     CSVEntityExporter exporter = new CSVEntityExporter();
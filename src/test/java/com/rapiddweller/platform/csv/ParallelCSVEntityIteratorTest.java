@@ -0,0 +1,128 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.csv;
+
+import com.rapiddweller.common.Encodings;
+import com.rapiddweller.common.FileUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.platform.AbstractEntityIteratorTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ParallelCSVEntityIterator}.<br/><br/>
+ * Created: 29.03.2022 11:17:52
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ParallelCSVEntityIteratorTest extends AbstractEntityIteratorTest {
+
+  private static final File FILE = new File("target", ParallelCSVEntityIteratorTest.class.getSimpleName() + ".csv");
+  private static final int ROWS = 500;
+
+  private ComplexTypeDescriptor descriptor;
+
+  @Before
+  public void setUp() throws IOException {
+    descriptor = createComplexType("Person");
+    descriptor.setComponent(createPart("name", "string"));
+    descriptor.setComponent(createPart("age", "int"));
+    StringBuilder content = new StringBuilder("\ufeffname,age\r\n");
+    for (int i = 0; i < ROWS; i++) {
+      content.append(csvName(i)).append(',').append(i).append("\r\n");
+      if (i % 100 == 0) {
+        content.append("\r\n"); // empty lines are ignored
+      }
+    }
+    Files.write(FILE.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @After
+  public void tearDown() {
+    FileUtil.deleteIfExists(FILE);
+  }
+
+  @Test
+  public void testOrdered() {
+    ParallelCSVEntityIterator iterator = createIterator(true);
+    for (int i = 0; i < ROWS; i++) {
+      assertEquals(new Entity(descriptor, "name", name(i), "age", i), nextOf(iterator));
+    }
+    assertUnavailable(iterator);
+    assertArrayEquals(new String[] { "name", "age" }, iterator.getColumnNames());
+    iterator.close();
+  }
+
+  @Test
+  public void testUnordered() {
+    ParallelCSVEntityIterator iterator = createIterator(false);
+    Set<Integer> ages = new HashSet<>();
+    DataContainer<Entity> container;
+    while ((container = iterator.next(new DataContainer<>())) != null) {
+      Entity entity = container.getData();
+      int age = ((Number) entity.get("age")).intValue();
+      assertEquals(name(age), entity.get("name"));
+      assertTrue(ages.add(age));
+    }
+    assertEquals(ROWS, ages.size());
+    iterator.close();
+  }
+
+  @Test
+  public void testParseRecords() {
+    List<String[]> records = ParallelCSVEntityIterator.parseRecords(
+        CharBuffer.wrap("a,\"b,\"\"c\"\"\r\nd\",\n\n,e"), ',');
+    assertEquals(2, records.size());
+    assertArrayEquals(new String[] { "a", "b,\"c\"\r\nd", "" }, records.get(0));
+    assertArrayEquals(new String[] { "", "e" }, records.get(1));
+  }
+
+  @Test
+  public void testSupports() {
+    assertTrue(ParallelCSVEntityIterator.supports(Encodings.UTF_8));
+    assertTrue(ParallelCSVEntityIterator.supports("ISO-8859-1"));
+    assertFalse(ParallelCSVEntityIterator.supports("UTF-16"));
+    assertFalse(ParallelCSVEntityIterator.supports("unknown"));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private ParallelCSVEntityIterator createIterator(boolean ordered) {
+    ParallelCSVEntityIterator iterator = new ParallelCSVEntityIterator(
+        FILE, descriptor, null, ',', Encodings.UTF_8, 4, ordered);
+    iterator.setChunkSize(64);
+    return iterator;
+  }
+
+  private static String name(int i) {
+    switch (i % 4) {
+      case 0:  return "Alice " + i;
+      case 1:  return "Bob, " + i;
+      case 2:  return "Charly\r\n" + i;
+      default: return "\"Dan\" " + i;
+    }
+  }
+
+  private static String csvName(int i) {
+    String name = name(i);
+    return (i % 4 == 0 ? name : '"' + name.replace("\"", "\"\"") + '"');
+  }
+
+}
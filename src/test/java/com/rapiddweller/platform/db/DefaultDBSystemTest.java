@@ -92,6 +92,70 @@ public void testReadWrite() {
     assertNotNull(db);
   }
 
+  @Test
+  public void testBatchSize() {
+    db.setBatch(true);
+    db.setBatchSize(2);
+    db.store(new Entity("Test", db, "ID", 1, "NAME", "Alice"));
+    assertEquals(0, db.countEntities("TEST"));
+    db.store(new Entity("Test", db, "ID", 2, "NAME", "Bob"));
+    assertEquals(2, db.countEntities("TEST"));
+    db.store(new Entity("Test", db, "ID", 3, "NAME", "Charly"));
+    assertEquals(2, db.countEntities("TEST"));
+    db.commit();
+    assertEquals(3, db.countEntities("TEST"));
+    // the prepared statement survives the commit
+    db.store(new Entity("Test", db, "ID", 4, "NAME", "Doris"));
+    db.store(new Entity("Test", db, "ID", 5, "NAME", "Eric"));
+    assertEquals(5, db.countEntities("TEST"));
+    db.close();
+  }
+
+  @Test
+  public void testBatchSize_foreignKey() throws SQLException {
+    Connection connection = db.createConnection();
+    try {
+      DBUtil.executeUpdate("drop table CHILD if exists", connection);
+      DBUtil.executeUpdate("drop table PARENT if exists", connection);
+      DBUtil.executeUpdate("create table PARENT (ID int, constraint PARENT_PK primary key (ID))", connection);
+      DBUtil.executeUpdate("create table CHILD (ID int, PARENT_ID int not null, "
+          + "constraint CHILD_PK primary key (ID), "
+          + "constraint CHILD_PARENT_FK foreign key (PARENT_ID) references PARENT (ID))", connection);
+      db.invalidate();
+      db.setBatch(true);
+      db.setBatchSize(2);
+      db.store(new Entity("PARENT", db, "ID", 1));
+      db.store(new Entity("CHILD", db, "ID", 1, "PARENT_ID", 1));
+      // the child's batch is full first, the parent's pending batch must be executed before it
+      db.store(new Entity("CHILD", db, "ID", 2, "PARENT_ID", 1));
+      assertEquals(1, db.countEntities("PARENT"));
+      assertEquals(2, db.countEntities("CHILD"));
+      db.store(new Entity("PARENT", db, "ID", 2));
+      db.store(new Entity("CHILD", db, "ID", 3, "PARENT_ID", 2));
+      db.update(new Entity("CHILD", db, "ID", 1, "PARENT_ID", 2));
+      db.commit();
+      assertEquals(2, db.countEntities("PARENT"));
+      assertEquals(3, db.countEntities("CHILD"));
+      db.close();
+    } finally {
+      DBUtil.executeUpdate("drop table CHILD if exists", connection);
+      DBUtil.executeUpdate("drop table PARENT if exists", connection);
+      DBUtil.close(connection);
+    }
+  }
+
+  @Test
+  public void testCommitInterval() throws SQLException {
+    db.setCommitInterval(2);
+    db.store(new Entity("Test", db, "ID", 1, "NAME", "Alice"));
+    db.store(new Entity("Test", db, "ID", 2, "NAME", "Bob"));
+    try (Connection connection = db.createConnection()) {
+      assertEquals(2, DBUtil.queryLong("select count(*) from TEST", connection));
+    } finally {
+      db.close();
+    }
+  }
+
   @Test
   public void testReadOnly() {
     db.setReadOnly(true);
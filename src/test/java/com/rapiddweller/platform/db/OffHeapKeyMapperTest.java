@@ -0,0 +1,114 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.common.FileUtil;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.dialect.HSQLUtil;
+import com.rapiddweller.jdbacl.identity.IdentityModel;
+import com.rapiddweller.jdbacl.identity.NkPkQueryIdentity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.sql.Connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link OffHeapKeyMapper}.<br/><br/>
+ * Created: 31.03.2022 09:14:52
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class OffHeapKeyMapperTest {
+
+  private static final IdentityModel COUNTRY = new NkPkQueryIdentity("COUNTRY", "select NAME, ID from COUNTRY");
+
+  private static final File SPILL_DIR = new File("target", OffHeapKeyMapperTest.class.getSimpleName());
+
+  private Connection source;
+  private Connection target;
+
+  @Before
+  public void setUp() throws Exception {
+    source = HSQLUtil.connectInMemoryDB("okm_s");
+    target = HSQLUtil.connectInMemoryDB("okm_t");
+    DBUtil.executeUpdate("create table COUNTRY (ID int not null, NAME varchar(30) not null, primary key (ID))", source);
+    DBUtil.executeUpdate("create table COUNTRY (ID int not null, NAME varchar(30) not null, primary key (ID))", target);
+    DBUtil.executeUpdate("insert into COUNTRY values (1000, 'United States')", target);
+    DBUtil.executeUpdate("insert into COUNTRY values (2000, 'Germany')", target);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    DBUtil.executeUpdate("drop table COUNTRY", source);
+    DBUtil.executeUpdate("drop table COUNTRY", target);
+    DBUtil.close(source);
+    DBUtil.close(target);
+    if (SPILL_DIR.exists()) {
+      FileUtil.deleteDirectory(SPILL_DIR);
+    }
+  }
+
+  // tests -----------------------------------------------------------------------------------------------------------
+
+  @Test
+  public void testSourceNaturalKeysAreReadLazily() throws Exception {
+    try (OffHeapKeyMapper mapper = new OffHeapKeyMapper(target, "t", null, 1L << 26, null)) {
+      mapper.registerSource("s", source);
+      // rows inserted after creation of the mapper are visible on first access...
+      DBUtil.executeUpdate("insert into COUNTRY values (10, 'United States')", source);
+      DBUtil.executeUpdate("insert into COUNTRY values (20, 'Germany')", source);
+      assertEquals("United States", mapper.getNaturalKey("s", COUNTRY, 10));
+      assertEquals("Germany", mapper.getNaturalKey("s", COUNTRY, 20L)); // integral keys match independent of type
+      // ...but the table is not read again afterwards
+      DBUtil.executeUpdate("insert into COUNTRY values (30, 'France')", source);
+      assertNull(mapper.getNaturalKey("s", COUNTRY, 30));
+      // unknown sources yield no natural keys
+      assertNull(mapper.getNaturalKey("x", COUNTRY, 10));
+    }
+  }
+
+  @Test
+  public void testTargetPKByNaturalKey() throws Exception {
+    try (OffHeapKeyMapper mapper = new OffHeapKeyMapper(target, "t", null, 1L << 26, null)) {
+      mapper.registerSource("s", source);
+      // existing target rows
+      assertEquals(1000, mapper.getTargetPK(COUNTRY, "United States"));
+      assertEquals(2000, mapper.getTargetPK(COUNTRY, "Germany"));
+      assertNull(mapper.getTargetPK(COUNTRY, "France"));
+      // transcoded rows
+      mapper.store("s", COUNTRY, "France", 30, 3000);
+      assertEquals(3000, mapper.getTargetPK(COUNTRY, "France"));
+      assertEquals(3000, mapper.getTargetPK("s", COUNTRY, 30));
+      assertEquals(2000, mapper.getTargetPK(COUNTRY, "Germany"));
+      assertNull(mapper.getTargetPK("s", COUNTRY, 20));
+    }
+  }
+
+  @Test
+  public void testClose() {
+    FileUtil.ensureDirectoryExists(SPILL_DIR);
+    OffHeapKeyMapper mapper = new OffHeapKeyMapper(target, "t", null, 0, SPILL_DIR);
+    mapper.registerSource("s", source);
+    mapper.store("s", COUNTRY, "France", 30, 3000);
+    assertTrue(mapper.isSpilled());
+    assertEquals(4, mapper.size()); // 2 existing target rows, 1 natural key and 1 primary key mapping
+    assertEquals(1, SPILL_DIR.list().length);
+    mapper.close();
+    assertEquals(0, mapper.size());
+    assertFalse(mapper.isSpilled());
+    assertEquals(0, SPILL_DIR.list().length);
+    assertNull(mapper.getTargetPK("s", COUNTRY, 30));
+    // natural keys are read again when the closed mapper is reused
+    assertEquals(2000, mapper.getTargetPK(COUNTRY, "Germany"));
+    assertNull(mapper.getTargetPK(COUNTRY, "France"));
+    mapper.close();
+  }
+
+}
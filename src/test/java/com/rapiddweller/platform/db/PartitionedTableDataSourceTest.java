@@ -0,0 +1,175 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.format.DataSource;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_PASSWORD;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_USER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DRIVER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.IN_MEMORY_URL_PREFIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link PartitionedTableDataSource} and the {@link PartitionedEntityIterator}.<br/><br/>
+ * Created: 31.03.2022 11:34:52
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PartitionedTableDataSourceTest {
+
+  private static final int ROW_COUNT = 5000;
+
+  private DefaultDBSystem db;
+
+  @Before
+  public void setUp() throws SQLException {
+    db = new DefaultDBSystem("db", IN_MEMORY_URL_PREFIX + "benerator", DRIVER, DEFAULT_USER, DEFAULT_PASSWORD, new DataModel());
+    db.setSchema("PUBLIC");
+    db.execute("drop table PARTITION_TEST if exists");
+    db.execute("create table PARTITION_TEST (ID int, NAME varchar(30), primary key (ID))");
+    for (int i = 1; i <= ROW_COUNT; i++) {
+      db.execute("insert into PARTITION_TEST (ID, NAME) values (" + i + ", 'name" + i + "')");
+    }
+  }
+
+  @After
+  public void tearDown() {
+    db.execute("drop table PARTITION_TEST if exists");
+    db.close();
+  }
+
+  @Test
+  public void testUnordered() {
+    db.setReadThreads(4);
+    DataSource<Entity> source = db.queryEntities("PARTITION_TEST", null, new DefaultBeneratorContext());
+    assertTrue(source instanceof PartitionedTableDataSource);
+    List<Integer> ids = readIds(source);
+    assertEquals(ROW_COUNT, ids.size());
+    assertEquals(ROW_COUNT, new HashSet<>(ids).size());
+  }
+
+  @Test
+  public void testOrdered() {
+    db.setReadThreads(3);
+    db.setReadOrdered(true);
+    List<Integer> ids = readIds(db.queryEntities("PARTITION_TEST", null, new DefaultBeneratorContext()));
+    assertEquals(ROW_COUNT, ids.size());
+    for (int i = 0; i < ROW_COUNT; i++) {
+      assertEquals(i + 1, (int) ids.get(i));
+    }
+  }
+
+  @Test
+  public void testCondition() {
+    db.setReadThreads(4);
+    Set<Integer> ids = new HashSet<>(readIds(db.queryEntities("PARTITION_TEST", "ID > 4000 or ID = 1",
+        new DefaultBeneratorContext())));
+    assertEquals(1001, ids.size());
+    assertTrue(ids.contains(1));
+    assertTrue(ids.contains(ROW_COUNT));
+  }
+
+  @Test
+  public void testUncommittedRows() {
+    db.setReadThreads(4);
+    for (int i = ROW_COUNT + 1; i <= ROW_COUNT + 10; i++) {
+      db.store(new Entity("PARTITION_TEST", db, "ID", i, "NAME", "name" + i));
+    }
+    // the rows are written in the current transaction and committed before the partitioned read
+    List<Integer> ids = readIds(db.queryEntities("PARTITION_TEST", null, new DefaultBeneratorContext()));
+    assertEquals(ROW_COUNT + 10, ids.size());
+  }
+
+  @Test
+  public void testFailingPartition() {
+    ComplexTypeDescriptor descriptor = (ComplexTypeDescriptor) db.getTypeDescriptor("PARTITION_TEST");
+    for (boolean ordered : new boolean[] { false, true }) {
+      List<PartitionedEntityIterator.Partition> partitions = List.of(
+          new PartitionedEntityIterator.Partition("select * from PARTITION_TEST where ID <= ?", 2500),
+          new PartitionedEntityIterator.Partition("select * from PARTITION_TEST where NO_SUCH_COLUMN > ?", 2500));
+      PartitionedEntityIterator iterator = new PartitionedEntityIterator(db, partitions, 100, ordered, descriptor);
+      int count = 0;
+      try {
+        DataContainer<Entity> container = new DataContainer<>();
+        while ((container = iterator.next(container)) != null) {
+          count++;
+        }
+        fail("Error of failing partition has not been reported");
+      } catch (RuntimeException e) {
+        assertTrue(causeChainMentions(e, "NO_SUCH_COLUMN"));
+      }
+      assertTrue(count <= 2500);
+      if (ordered) {
+        assertEquals(2500, count); // the rows of the preceding partition are provided completely
+      }
+      assertNull(iterator.next(new DataContainer<>())); // the iterator has been closed
+    }
+  }
+
+  @Test
+  public void testPartitions() throws SQLException {
+    ComplexTypeDescriptor descriptor = (ComplexTypeDescriptor) db.getTypeDescriptor("PARTITION_TEST");
+    PartitionedTableDataSource source = new PartitionedTableDataSource(
+        db, "PARTITION_TEST", "ID", null, 4, false, 100, descriptor);
+    List<PartitionedEntityIterator.Partition> partitions = source.createPartitions();
+    assertEquals(4, partitions.size());
+    assertEquals("select * from PARTITION_TEST where ID < ?", partitions.get(0).query);
+    assertEquals(1251L, partitions.get(0).parameters[0]);
+    assertEquals("select * from PARTITION_TEST where ID >= ?", partitions.get(3).query);
+  }
+
+  @Test
+  public void testAdaptiveFetchSize() throws SQLException {
+    try (Statement statement = db.getConnection().createStatement();
+         ResultSet resultSet = statement.executeQuery("select * from PARTITION_TEST where 1 = 0")) {
+      int fetchSize = PartitionedTableDataSource.adaptiveFetchSize(resultSet.getMetaData(), 100);
+      assertTrue(fetchSize > 100);
+      assertTrue(fetchSize <= PartitionedTableDataSource.MAX_FETCH_SIZE);
+      assertEquals(50000, PartitionedTableDataSource.adaptiveFetchSize(resultSet.getMetaData(), 50000));
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static boolean causeChainMentions(Throwable e, String text) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t.getMessage() != null && t.getMessage().contains(text)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<Integer> readIds(DataSource<Entity> source) {
+    List<Integer> ids = new ArrayList<>();
+    DataIterator<Entity> iterator = source.iterator();
+    DataContainer<Entity> container = new DataContainer<>();
+    while ((container = iterator.next(container)) != null) {
+      ids.add((Integer) container.getData().get("ID"));
+    }
+    iterator.close();
+    return ids;
+  }
+
+}
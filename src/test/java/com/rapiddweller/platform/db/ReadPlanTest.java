@@ -0,0 +1,89 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_PASSWORD;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_USER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DRIVER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.IN_MEMORY_URL_PREFIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ReadPlan}.<br/><br/>
+ * Created: 31.03.2022 09:48:30
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class ReadPlanTest {
+
+  private DefaultDBSystem db;
+
+  @Before
+  public void setUp() {
+    db = new DefaultDBSystem("db", IN_MEMORY_URL_PREFIX + "benerator", DRIVER, DEFAULT_USER, DEFAULT_PASSWORD, new DataModel());
+    db.setSchema("PUBLIC");
+    db.execute("drop table READ_PLAN_TEST if exists");
+    db.execute("create table READ_PLAN_TEST (ID int, NAME varchar(30), BIRTH date, primary key (ID))");
+    db.execute("insert into READ_PLAN_TEST (ID, NAME, BIRTH) values (1, 'Alice', '1970-01-02')");
+    db.execute("insert into READ_PLAN_TEST (ID, NAME, BIRTH) values (2, 'Bob', null)");
+  }
+
+  @After
+  public void tearDown() {
+    db.execute("drop table READ_PLAN_TEST if exists");
+    db.close();
+  }
+
+  @Test
+  public void testRead() throws SQLException {
+    ComplexTypeDescriptor descriptor = (ComplexTypeDescriptor) db.getTypeDescriptor("READ_PLAN_TEST");
+    try (Statement statement = db.getConnection().createStatement();
+         ResultSet resultSet = statement.executeQuery("select * from READ_PLAN_TEST order by ID")) {
+      ReadPlan plan = new ReadPlan(resultSet.getMetaData(), descriptor);
+      assertEquals(3, plan.columnCount());
+      assertTrue(resultSet.next());
+      Entity alice = plan.read(resultSet);
+      assertEquals(1, alice.get("ID"));
+      assertEquals("Alice", alice.get("NAME"));
+      assertTrue(alice.get("BIRTH") instanceof Date);
+      assertTrue(resultSet.next());
+      Entity bob = plan.read(resultSet);
+      assertEquals(2, bob.get("id"));
+      assertEquals("Bob", bob.get("NAME"));
+      assertNull(bob.get("BIRTH"));
+    }
+  }
+
+  @Test
+  public void testQueryEntities() {
+    DataIterator<Entity> iterator = db.queryEntities("READ_PLAN_TEST", "select * from READ_PLAN_TEST order by ID",
+        new DefaultBeneratorContext()).iterator();
+    int count = 0;
+    DataContainer<Entity> container = new DataContainer<>();
+    while ((container = iterator.next(container)) != null) {
+      Entity entity = container.getData();
+      assertEquals(count == 0 ? "Alice" : "Bob", entity.get("NAME"));
+      count++;
+    }
+    iterator.close();
+    assertEquals(2, count);
+  }
+
+}
@@ -0,0 +1,74 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_PASSWORD;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_USER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DRIVER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.IN_MEMORY_URL_PREFIX;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link WritePlan} and its caching in the {@link AbstractDBSystem}.<br/><br/>
+ * Created: 20.03.2022 14:48:05
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class WritePlanTest {
+
+  private DefaultDBSystem db;
+
+  @Before
+  public void setUp() {
+    db = new DefaultDBSystem("db", IN_MEMORY_URL_PREFIX + "benerator", DRIVER, DEFAULT_USER, DEFAULT_PASSWORD, new DataModel());
+    db.setSchema("PUBLIC");
+    db.execute("drop table WRITE_PLAN_TEST if exists");
+    db.execute("create table WRITE_PLAN_TEST (ID int, NAME varchar(30), primary key (ID))");
+  }
+
+  @After
+  public void tearDown() {
+    db.execute("drop table WRITE_PLAN_TEST if exists");
+    db.close();
+  }
+
+  @Test
+  public void testColumnOrder() {
+    Entity entity = new Entity("WRITE_PLAN_TEST", db, "ID", 1, "NAME", "Alice");
+    assertEquals("ID", db.getWritePlan(entity, true).getColumnInfos().get(0).name);
+    assertEquals("NAME", db.getWritePlan(entity, false).getColumnInfos().get(0).name);
+  }
+
+  @Test
+  public void testCaching() {
+    Entity entity1 = new Entity("WRITE_PLAN_TEST", db, "ID", 1, "NAME", "Alice");
+    Entity entity2 = new Entity("WRITE_PLAN_TEST", db, "ID", 2, "NAME", "Bob");
+    WritePlan plan = db.getWritePlan(entity1, true);
+    assertSame(plan, db.getWritePlan(entity2, true));
+    db.invalidate();
+    assertNotSame(plan, db.getWritePlan(entity2, true));
+  }
+
+  @Test
+  public void testConversionAndNull() {
+    db.store(new Entity("WRITE_PLAN_TEST", db, "ID", "1", "NAME", 42));
+    db.store(new Entity("WRITE_PLAN_TEST", db, "ID", 2, "NAME", null));
+    List<Object[]> rows = DBUtil.query("select ID, NAME from WRITE_PLAN_TEST order by ID", db.getConnection());
+    assertEquals(2, rows.size());
+    assertArrayEquals(new Object[] { 1, "42" }, rows.get(0));
+    assertArrayEquals(new Object[] { 2, null }, rows.get(1));
+  }
+
+}
@@ -0,0 +1,115 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db.postgres;
+
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.platform.db.DefaultDBSystem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_PASSWORD;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DEFAULT_USER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.DRIVER;
+import static com.rapiddweller.jdbacl.dialect.HSQLUtil.IN_MEMORY_URL_PREFIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PostgresCopyInserter} with an HSQL database for metadata
+ * and a stand-in that records the COPY data instead of sending it to PostgreSQL.<br/><br/>
+ * Created: 20.03.2022 11:27:50
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class PostgresCopyInserterTest {
+
+  private DefaultDBSystem db;
+
+  @Before
+  public void setUp() {
+    db = new DefaultDBSystem("db", IN_MEMORY_URL_PREFIX + "benerator", DRIVER, DEFAULT_USER, DEFAULT_PASSWORD, new DataModel());
+    db.setSchema("PUBLIC");
+    db.execute("drop table COPY_TEST if exists");
+    db.execute("create table COPY_TEST (ID int, NAME varchar(30), primary key (ID))");
+  }
+
+  @After
+  public void tearDown() {
+    db.execute("drop table COPY_TEST if exists");
+    db.close();
+  }
+
+  @Test
+  public void testFormat() {
+    CopyRecorder inserter = new CopyRecorder(db);
+    consume(inserter, new Entity("COPY_TEST", db, "ID", 1, "NAME", "Alice"));
+    consume(inserter, new Entity("COPY_TEST", db, "ID", 2, "NAME", "tab\there\\"));
+    consume(inserter, new Entity("COPY_TEST", db, "ID", 3, "NAME", null));
+    assertEquals(0, inserter.copies.size());
+    inserter.flush();
+    assertEquals(1, inserter.copies.size());
+    String sql = inserter.statements.get(0);
+    assertTrue(sql, sql.startsWith("COPY ") && sql.endsWith("COPY_TEST (ID, NAME) FROM STDIN"));
+    assertEquals("1\tAlice\n2\ttab\\there\\\\\n3\t\\N\n", inserter.copies.get(0));
+  }
+
+  @Test
+  public void testBatchSize() {
+    db.setBatchSize(2);
+    CopyRecorder inserter = new CopyRecorder(db);
+    for (int i = 1; i <= 5; i++) {
+      consume(inserter, new Entity("COPY_TEST", db, "ID", i, "NAME", "N" + i));
+    }
+    assertEquals(2, inserter.copies.size());
+    inserter.close();
+    assertEquals(3, inserter.copies.size());
+    assertEquals("5\tN5\n", inserter.copies.get(2));
+  }
+
+  @Test
+  public void testAppendValue() {
+    assertEquals("\\N", render(null));
+    assertEquals("\\\\x00ff10", render(new byte[] { 0, -1, 16 }));
+    assertEquals("10000000000", render(new BigDecimal("1E+10")));
+    assertEquals("a\\nb\\rc", render("a\nb\rc"));
+  }
+
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static void consume(PostgresCopyInserter inserter, Entity entity) {
+    ProductWrapper<Entity> wrapper = new ProductWrapper<>(entity);
+    inserter.startConsuming(wrapper);
+    inserter.finishConsuming(wrapper);
+  }
+
+  private static String render(Object value) {
+    StringBuilder builder = new StringBuilder();
+    PostgresCopyInserter.appendValue(value, builder);
+    return builder.toString();
+  }
+
+  static class CopyRecorder extends PostgresCopyInserter {
+
+    final List<String> statements = new ArrayList<>();
+    final List<String> copies = new ArrayList<>();
+
+    CopyRecorder(DefaultDBSystem db) {
+      super(db);
+    }
+
+    @Override
+    protected void copy(String sql, String data) {
+      statements.add(sql);
+      copies.add(data);
+    }
+  }
+
+}
@@ -100,6 +100,24 @@ public void testUnusedClose() throws IOException {
     FileUtil.deleteIfExists(FILE);
   }
 
+  @Test
+  public void testStreaming() throws IOException {
+    DbUnitEntityExporter exporter = new DbUnitEntityExporter(FILENAME);
+    exporter.setStreaming(true);
+    exporter.startProductConsumption(ALICE);
+    exporter.finishProductConsumption(ALICE);
+    exporter.startProductConsumption(BOB);
+    exporter.finishProductConsumption(BOB);
+    exporter.close();
+    exporter.close();
+    assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<dataset>\n" +
+        "<Person name=\"Alice\" age=\"23\"/>\n" +
+        "<Person name=\"Bob\" age=\"34\"/>\n" +
+        "</dataset>\n", IOUtil.getContentOfURI(FILENAME));
+    FileUtil.deleteIfExists(FILE);
+  }
+
   // helper method ---------------------------------------------------------------------------------------------------
 
   private static void assertPerson(Element element, String name, int age) {
@@ -0,0 +1,101 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.nosql.mongo;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.rapiddweller.platform.nosql.mongo.client.MongoDBClient;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the {@link MongoDBBulkWriter} with a mocked {@link MongoDBClient}.<br/><br/>
+ * Created: 31.03.2022 12:31:40
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class MongoDBBulkWriterTest {
+
+    private MongoDBClient client;
+    private MongoDBBulkWriter writer;
+
+    @Before
+    public void setUp() {
+        client = mock(MongoDBClient.class);
+        writer = new MongoDBBulkWriter(client, 3);
+    }
+
+    @Test
+    public void testBatchSize() {
+        writer.insert("person", new Document("id", 1));
+        writer.insert("person", new Document("id", 2));
+        verify(client, never()).bulkWrite(anyString(), any());
+        writer.insert("person", new Document("id", 3));
+        verify(client, times(1)).bulkWrite(eq("person"), any());
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @Test
+    public void testCollectionsAreBufferedSeparately() {
+        writer.insert("person", new Document("id", 1));
+        writer.insert("address", new Document("id", 1));
+        writer.insert("person", new Document("id", 2));
+        verify(client, never()).bulkWrite(anyString(), any());
+        assertEquals(3, writer.pendingCount());
+        writer.flush();
+        assertEquals(2, captureWrites("person").size());
+        assertEquals(1, captureWrites("address").size());
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @Test
+    public void testReplacementAfterInsert() {
+        writer.insert("person", new Document("id", 1));
+        writer.replace("person", Filters.eq("id", 1), new Document("id", 1));
+        List<WriteModel<Document>> inserts = captureWrites("person");
+        assertEquals(1, inserts.size());
+        assertTrue(inserts.get(0) instanceof InsertOneModel);
+        assertEquals(1, writer.pendingCount());
+    }
+
+    @Test
+    public void testFlushWithoutData() {
+        writer.flush();
+        verify(client, never()).bulkWrite(anyString(), any());
+    }
+
+    @Test
+    public void testReplace() {
+        writer.replace("person", Filters.eq("id", 1), new Document("id", 1));
+        writer.flush();
+        List<WriteModel<Document>> models = captureWrites("person");
+        assertEquals(1, models.size());
+        assertTrue(models.get(0) instanceof ReplaceOneModel);
+    }
+
+    // private helpers -------------------------------------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private List<WriteModel<Document>> captureWrites(String collectionName) {
+        ArgumentCaptor<List<WriteModel<Document>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(client).bulkWrite(eq(collectionName), captor.capture());
+        return captor.getValue();
+    }
+
+}
@@ -0,0 +1,93 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.common.FileUtil;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link XLSXEntityExporter}.<br/><br/>
+ * Created: 28.03.2022 11:36:12
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XLSXEntityExporterTest extends XLSTest {
+
+  private static final File FILE = new File("target", XLSXEntityExporterTest.class.getSimpleName() + ".xlsx");
+
+  @Test
+  public void testEmpty() throws Exception {
+    try {
+      new XLSXEntityExporter(FILE.getAbsolutePath()).close();
+      assertTrue(FILE.exists());
+      try (XSSFWorkbook workbook = new XSSFWorkbook(FILE)) {
+        assertEquals(0, workbook.getNumberOfSheets());
+      }
+    } finally {
+      FileUtil.deleteIfExists(FILE);
+    }
+  }
+
+  @Test
+  public void testTwoEntities() throws Exception {
+    try {
+      XLSXEntityExporter exporter = new XLSXEntityExporter(FILE.getAbsolutePath());
+      exporter.setAutoSizeColumns(true);
+      exporter.startProductConsumption(PROD1);
+      exporter.startProductConsumption(PROD2);
+      exporter.startProductConsumption(PERSON1);
+      exporter.close();
+      try (XSSFWorkbook workbook = new XSSFWorkbook(FILE)) {
+        assertEquals(2, workbook.getNumberOfSheets());
+        Sheet products = workbook.getSheet("Product");
+        assertEquals("ean", products.getRow(0).getCell(0).getStringCellValue());
+        assertEquals("updated", products.getRow(0).getCell(4).getStringCellValue());
+        Row row = products.getRow(1);
+        assertEquals(EAN1, row.getCell(0).getStringCellValue());
+        assertEquals(PRICE1.doubleValue(), row.getCell(1).getNumericCellValue(), 0.000001);
+        assertEquals(DATE1, row.getCell(2).getDateCellValue());
+        assertEquals(AVAIL1, row.getCell(3).getBooleanCellValue());
+        assertEquals(UPDATED1.getTime(), row.getCell(4).getDateCellValue().getTime());
+        assertEquals(EAN2, products.getRow(2).getCell(0).getStringCellValue());
+        assertNull(products.getRow(3));
+        Sheet persons = workbook.getSheet("Person");
+        assertEquals(PERSON1_NAME, persons.getRow(1).getCell(0).getStringCellValue());
+        assertEquals(CellType.NUMERIC, persons.getRow(1).getCell(1).getCellType());
+      }
+    } finally {
+      FileUtil.deleteIfExists(FILE);
+    }
+  }
+
+  @Test
+  public void testRowsBeyondWindow() throws Exception {
+    try {
+      XLSXEntityExporter exporter = new XLSXEntityExporter(FILE.getAbsolutePath());
+      exporter.setWindowSize(10);
+      for (int i = 0; i < 1000; i++) {
+        exporter.startProductConsumption(PROD1);
+      }
+      exporter.close();
+      try (XSSFWorkbook workbook = new XSSFWorkbook(FILE)) {
+        Sheet sheet = workbook.getSheet("Product");
+        assertEquals(1000, sheet.getLastRowNum());
+        assertNotNull(sheet.getRow(1));
+        assertEquals(EAN1, sheet.getRow(1000).getCell(0).getStringCellValue());
+      }
+    } finally {
+      FileUtil.deleteIfExists(FILE);
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
+import com.rapiddweller.common.FileUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests the {@link XLSXEntityIterator}.<br/><br/>
+ * Created: 28.03.2022 11:58:40
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XLSXEntityIteratorTest extends XLSTest {
+
+  private static final String EXCEL_XLSX = "com/rapiddweller/platform/xls/excel-products.xlsx";
+
+  private static final File FILE = new File("target", XLSXEntityIteratorTest.class.getSimpleName() + ".xlsx");
+
+  private BeneratorContext context;
+
+  @Before
+  public void setUp() {
+    context = new DefaultBeneratorContext();
+    XLSXEntityExporter exporter = new XLSXEntityExporter(FILE.getAbsolutePath());
+    exporter.startProductConsumption(PROD1);
+    exporter.startProductConsumption(PROD2);
+    exporter.startProductConsumption(PERSON1);
+    exporter.close();
+  }
+
+  @After
+  public void tearDown() {
+    FileUtil.deleteIfExists(FILE);
+  }
+
+  @Test
+  public void testAllSheets() throws Exception {
+    List<Entity> entities = XLSXEntityIterator.parseAll(FILE.getPath(), null, null, null, context, false, null);
+    assertEquals(3, entities.size());
+    assertProduct(PROD1, entities.get(0));
+    assertProduct(PROD2, entities.get(1));
+    assertPerson(PERSON1, entities.get(2));
+  }
+
+  @Test
+  public void testSingleSheet() throws Exception {
+    try (XLSXEntityIterator iterator = new XLSXEntityIterator(
+        FILE.getPath(), "Person", null, PERSON_DESCRIPTOR, context, false, null)) {
+      DataContainer<Entity> container = iterator.next(new DataContainer<>());
+      assertNotNull(container);
+      assertPerson(PERSON1, container.getData());
+      assertUnavailable(iterator);
+    }
+  }
+
+  @Test
+  public void testFormatted() throws Exception {
+    List<Entity> entities = XLSXEntityIterator.parseAll(FILE.getPath(), "Person", null, null, context, true, null);
+    assertEquals(1, entities.size());
+    assertEquals("23", entities.get(0).get("age"));
+  }
+
+  @Test
+  public void testExcelFile() throws Exception {
+    // the file was saved by Excel, so it uses shared strings, number formats and date serials
+    List<Entity> entities = XLSXEntityIterator.parseAll(EXCEL_XLSX, "Product", null, null, context, false, "-");
+    assertEquals(3, entities.size());
+    Entity alpha = entities.get(0);
+    assertEquals("00012345", alpha.get("ean"));
+    assertEquals("Alpha", alpha.get("name"));
+    assertEquals(1.99, alpha.get("price"));
+    assertEquals(3L, alpha.get("count"));
+    assertEquals(true, alpha.get("available"));
+    assertEquals(date(2022, Calendar.MARCH, 28, 0, 0), alpha.get("created"));
+    assertEquals("", alpha.get("note"));
+    Entity beta = entities.get(1);
+    assertEquals("00067890", beta.get("ean"));
+    assertEquals("Beta & Gamma", beta.get("name")); // rich text with two runs
+    assertEquals(10L, beta.get("price"));
+    assertEquals(0L, beta.get("count"));
+    assertEquals(false, beta.get("available"));
+    assertEquals(date(2021, Calendar.DECEMBER, 31, 13, 45), beta.get("created"));
+    assertEquals(" padded ", beta.get("note"));
+    Entity third = entities.get(2);
+    assertEquals(0.5, third.get("price"));
+    assertEquals(-7L, third.get("count"));
+    assertEquals("00012345", third.get("note"));
+  }
+
+  @Test
+  public void testExcelFileFormatted() throws Exception {
+    List<Entity> entities = XLSXEntityIterator.parseAll(EXCEL_XLSX, "Product", null, null, context, true, null);
+    assertEquals(3, entities.size());
+    Entity alpha = entities.get(0);
+    assertEquals("1.99", alpha.get("price"));
+    assertEquals("3", alpha.get("count"));
+    assertEquals("TRUE", alpha.get("available"));
+    assertEquals("-", alpha.get("note"));
+    Entity beta = entities.get(1);
+    assertEquals("10.00", beta.get("price"));
+    assertEquals("2021-12-31 13:45", beta.get("created"));
+  }
+
+  @Test
+  public void testColumnIndex() {
+    assertEquals(0, XLSXEntityIterator.columnIndex("A1"));
+    assertEquals(25, XLSXEntityIterator.columnIndex("Z7"));
+    assertEquals(26, XLSXEntityIterator.columnIndex("AA100"));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static Date date(int year, int month, int day, int hour, int minute) {
+    return new GregorianCalendar(year, month, day, hour, minute).getTime();
+  }
+
+}
@@ -0,0 +1,55 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xml;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link StreamingXMLWriter}.<br/><br/>
+ * Created: 31.03.2022 15:58:21
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class StreamingXMLWriterTest {
+
+  @Test
+  public void testNestingAndEscaping() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StreamingXMLWriter writer = new StreamingXMLWriter(out, "UTF-8", 2);
+    writer.startDocument();
+    writer.startElement("orders");
+    writer.startElement("order");
+    writer.attribute("comment", "\"A&B\" <x>\n");
+    writer.endElement();
+    writer.startElement("note");
+    writer.text("1 < 2 & 3");
+    writer.endElement();
+    writer.endDocument();
+    writer.close();
+    assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<orders>\n" +
+        "  <order comment=\"&quot;A&amp;B&quot; &lt;x&gt;&#xA;\"/>\n" +
+        "  <note>1 &lt; 2 &amp; 3</note>\n" +
+        "</orders>\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testUnmappableCharacters() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StreamingXMLWriter writer = new StreamingXMLWriter(out, "ISO-8859-1", 0);
+    writer.startDocument();
+    writer.startElement("price");
+    writer.text("\u00E4 5\u20AC");
+    writer.endDocument();
+    writer.close();
+    assertEquals("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" +
+        "<price>\u00E4 5&#x20AC;</price>\n", new String(out.toByteArray(), StandardCharsets.ISO_8859_1));
+  }
+
+}
@@ -1,13 +1,30 @@
 package com.rapiddweller.platform.xml;
 
+import com.rapiddweller.benerator.test.ModelTest;
+import com.rapiddweller.common.FileUtil;
+import com.rapiddweller.common.xml.XMLUtil;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.Entity;
 import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import static org.junit.Assert.assertEquals;
 
 /**
  * The type Xml entity exporter test.
  */
-public class XMLEntityExporterTest {
+public class XMLEntityExporterTest extends ModelTest {
+
+  private static final File STREAMING_FILE = new File("target", "XMLEntityExporterTest-streaming.xml");
+  private static final File TRANSFORMER_FILE = new File("target", "XMLEntityExporterTest-transformer.xml");
+
   /**
    * Test constructor.
    */
@@ -43,5 +60,83 @@ public void testSetUri() {
   public void testToString() {
     assertEquals("XMLEntityExporter[export.xml]", (new XMLEntityExporter()).toString());
   }
-}
 
+  @Test
+  public void testStreaming() throws Exception {
+    try {
+      XMLEntityExporter streaming = new XMLEntityExporter(STREAMING_FILE.getPath(), "ISO-8859-1");
+      streaming.setStreaming(true);
+      streaming.setIndent(2);
+      exportShop(streaming);
+      assertEquals("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" +
+          "<shop name=\"A &amp; B &lt;&quot;Shop&quot;&gt;\">\n" +
+          "  <category id=\"1\">\n" +
+          "    <product id=\"11\" label=\"M\u00FCller's &quot;Tee&quot; &#x20AC;\" code=\"a&#x9;b&#xA;c\"/>\n" +
+          "    <product id=\"12\" label=\"x\"/>\n" +
+          "  </category>\n" +
+          "  <note>1 &lt; 2 &amp; 3 &gt; 2</note>\n" +
+          "</shop>\n",
+          new String(Files.readAllBytes(STREAMING_FILE.toPath()), StandardCharsets.ISO_8859_1));
+      // the JAXP transformer formats differently, but must produce the same document
+      XMLEntityExporter transformer = new XMLEntityExporter(TRANSFORMER_FILE.getPath(), "ISO-8859-1");
+      exportShop(transformer);
+      assertSameElement(XMLUtil.parse(TRANSFORMER_FILE.getPath()).getDocumentElement(),
+          XMLUtil.parse(STREAMING_FILE.getPath()).getDocumentElement());
+    } finally {
+      FileUtil.deleteIfExists(STREAMING_FILE);
+      FileUtil.deleteIfExists(TRANSFORMER_FILE);
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void exportShop(XMLEntityExporter exporter) {
+    Entity shop = createEntity("shop", "name", "A & B <\"Shop\">");
+    Entity category = createEntity("category", "id", 1);
+    Entity product1 = createEntity("product", "id", 11, "label", "M\u00FCller's \"Tee\" \u20AC", "code", "a\tb\nc");
+    Entity product2 = createEntity("product", "id", 12, "label", "x");
+    Entity note = createEntity("note", ComplexTypeDescriptor.__SIMPLE_CONTENT, "1 < 2 & 3 > 2");
+    exporter.startProductConsumption(shop);
+    exporter.startProductConsumption(category);
+    exporter.startProductConsumption(product1);
+    exporter.finishProductConsumption(product1);
+    exporter.startProductConsumption(product2);
+    exporter.finishProductConsumption(product2);
+    exporter.finishProductConsumption(category);
+    exporter.startProductConsumption(note);
+    exporter.finishProductConsumption(note);
+    exporter.finishProductConsumption(shop);
+    exporter.close();
+  }
+
+  private static void assertSameElement(Element expected, Element actual) {
+    assertEquals(expected.getNodeName(), actual.getNodeName());
+    NamedNodeMap expectedAttributes = expected.getAttributes();
+    assertEquals(expectedAttributes.getLength(), actual.getAttributes().getLength());
+    for (int i = 0; i < expectedAttributes.getLength(); i++) {
+      Node attribute = expectedAttributes.item(i);
+      assertEquals(attribute.getNodeValue(), actual.getAttribute(attribute.getNodeName()));
+    }
+    assertEquals(ownText(expected), ownText(actual));
+    Element[] expectedChildren = XMLUtil.getChildElements(expected);
+    Element[] actualChildren = XMLUtil.getChildElements(actual);
+    assertEquals(expectedChildren.length, actualChildren.length);
+    for (int i = 0; i < expectedChildren.length; i++) {
+      assertSameElement(expectedChildren[i], actualChildren[i]);
+    }
+  }
+
+  /** Concatenates the text nodes of an element, ignoring the whitespace used for indentation. */
+  private static String ownText(Element element) {
+    StringBuilder builder = new StringBuilder();
+    NodeList children = element.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      Node child = children.item(i);
+      if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+        builder.append(child.getNodeValue());
+      }
+    }
+    return builder.toString().trim();
+  }
+
+}
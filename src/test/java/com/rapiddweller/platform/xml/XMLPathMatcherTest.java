@@ -0,0 +1,64 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xml;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link XMLPathMatcher}.<br/><br/>
+ * Created: 31.03.2022 14:37:12
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XMLPathMatcherTest {
+
+  @Test
+  public void testAbsolutePath() {
+    XMLPathMatcher matcher = new XMLPathMatcher();
+    matcher.addPath("/root/customer/name");
+    XMLPathMatcher.State customer = matcher.root().child("root").child("customer");
+    assertNull(customer.textRules());
+    assertArrayEquals(new int[] { 0 }, customer.child("name").textRules());
+    assertNull(customer.child("other").textRules());
+    assertNull(matcher.root().child("name").textRules());
+    assertSame(customer.child("name"), customer.child("name"));
+  }
+
+  @Test
+  public void testDescendantAndWildcard() {
+    XMLPathMatcher matcher = new XMLPathMatcher();
+    matcher.addPath("//name");
+    matcher.addPath("/root/*/text()");
+    XMLPathMatcher.State root = matcher.root().child("root");
+    assertArrayEquals(new int[] { 1 }, root.child("x").textRules());
+    assertArrayEquals(new int[] { 0, 1 }, root.child("name").textRules());
+    assertArrayEquals(new int[] { 0 }, root.child("a").child("b").child("name").textRules());
+  }
+
+  @Test
+  public void testAttributes() {
+    XMLPathMatcher matcher = new XMLPathMatcher();
+    matcher.addPath("/root/customer/@id");
+    matcher.addPath("//@p:code");
+    XMLPathMatcher.State customer = matcher.root().child("root").child("customer");
+    assertTrue(customer.hasAttributeRules());
+    assertNull(customer.textRules());
+    assertArrayEquals(new int[] { 0 }, customer.attributeRules("id"));
+    assertArrayEquals(new int[] { 1 }, customer.attributeRules("p:code"));
+    assertEquals(0, customer.attributeRules("name").length);
+    assertFalse(matcher.root().child("root").attributeRules("id").length > 0);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testPredicate() {
+    new XMLPathMatcher().addPath("/root/customer[1]/name");
+  }
+
+}
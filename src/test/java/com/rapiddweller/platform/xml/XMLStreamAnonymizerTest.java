@@ -0,0 +1,86 @@
+/* (c) Copyright 2022 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xml;
+
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.DescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link XMLStreamAnonymizer}.<br/><br/>
+ * Created: 31.03.2022 14:52:03
+ * @author Volker Bergmann
+ * @since 2.1.0
+ */
+public class XMLStreamAnonymizerTest {
+
+  private static final String XML =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+      "<root xmlns:p=\"urn:p\">" +
+        "<customer id=\"c1\" p:code=\"A\"><name>Alice</name><note>a &amp; b</note></customer>" +
+        "<customer id=\"c2\"><name>Bob</name><name>Carl</name></customer>" +
+        "<other><name>Alice</name></other>" +
+      "</root>";
+
+  @Test
+  public void testQuery() throws IOException {
+    XMLStreamAnonymizer anonymizer = new XMLStreamAnonymizer(createInputFile("query"), null);
+    assertEquals("[Alice, Bob, Carl]", queryValues(anonymizer, "/root/customer/name").toString());
+    assertEquals("[c1, c2]", queryValues(anonymizer, "//@id").toString());
+    anonymizer.close();
+  }
+
+  @Test
+  public void testAnonymization() throws IOException {
+    DescriptorProvider dp = new DefaultDescriptorProvider("test", new DataModel());
+    XMLStreamAnonymizer anonymizer = new XMLStreamAnonymizer(createInputFile("anon"), null);
+    anonymizer.setOutputUri("target/xml-stream-anonymizer-anon-out.xml");
+    anonymizer.store(new Entity("name_map", dp, "source", "Alice", "target", "Xena"));
+    anonymizer.store(new Entity("name_map", dp, "source", "Bob", "target", "Yuri"));
+    anonymizer.store(new Entity("id_map", dp, "source", "c1", "target", "k1"));
+    anonymizer.anonymize("/root/customer/name", "name_map");
+    anonymizer.anonymize("/root/customer/@id", "id_map");
+    anonymizer.close();
+    String result = IOUtil.getContentOfURI(anonymizer.getOutputUri());
+    assertTrue(result.contains("<customer id=\"k1\" p:code=\"A\"><name>Xena</name><note>a &amp; b</note></customer>"));
+    assertTrue(result.contains("<customer id=\"c2\"><name>Yuri</name><name>Carl</name></customer>"));
+    assertTrue(result.contains("<other><name>Alice</name></other>"));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static String createInputFile(String name) throws IOException {
+    File file = new File("target", "xml-stream-anonymizer-" + name + ".xml");
+    Files.createDirectories(file.getParentFile().toPath());
+    Files.write(file.toPath(), XML.getBytes(StandardCharsets.UTF_8));
+    return file.getPath();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Object> queryValues(XMLStreamAnonymizer anonymizer, String path) {
+    List<Object> values = new ArrayList<>();
+    DataIterator<Object> iterator = (DataIterator<Object>) anonymizer.query(path, true, null).iterator();
+    DataContainer<Object> container = new DataContainer<>();
+    while ((container = iterator.next(container)) != null) {
+      values.add(container.getData());
+    }
+    iterator.close();
+    return values;
+  }
+
+}